@@ -86,7 +86,7 @@ run_tests() {
 # Function to run the application
 run_app() {
     echo -e "${YELLOW}Starting application...${NC}"
-    mvn spring-boot:run
+    mvn spring-boot:run -Dspring-boot.run.profiles=dev
 }
 
 # Function to check system health
@@ -196,6 +196,34 @@ EOF
     rm /tmp/search.json
 }
 
+# Function to compare the servlet, virtual-thread and reactive modes under the same load
+# Usage: compare_modes [concurrency] [seconds]
+compare_modes() {
+    local concurrency=${1:-64}
+    local seconds=${2:-30}
+    local jar=$(ls target/product-search-*.jar | grep -v original | head -1)
+    
+    echo -e "${YELLOW}Comparing execution modes (${concurrency} clients, ${seconds}s each)...${NC}"
+    mvn -q test-compile
+    
+    for mode in servlet virtual reactive; do
+        local profile="--spring.profiles.active=dev"
+        [ "$mode" != "servlet" ] && profile="$profile,$mode"
+        
+        java -jar "$jar" $profile --warmup.enabled=false --logging.level.com.search.product=INFO \
+            --logging.level.org.springframework.data=INFO > /tmp/product-search-$mode.log 2>&1 &
+        local pid=$!
+        until curl -sf http://localhost:8080/actuator/health/readiness > /dev/null; do sleep 1; done
+        
+        echo -e "${GREEN}== $mode ==${NC}"
+        java -cp target/test-classes com.search.product.benchmark.SearchLoadBenchmark \
+            http://localhost:8080 "$concurrency" "$seconds"
+        
+        kill $pid
+        wait $pid 2>/dev/null || true
+    done
+}
+
 # Main menu
 show_menu() {
     echo ""
@@ -210,6 +238,7 @@ show_menu() {
     echo "  8) View logs"
     echo "  9) Show metrics"
     echo " 10) Run benchmark"
+    echo " 11) Compare servlet / virtual / reactive modes"
     echo "  0) Exit"
     echo ""
     read -p "Enter option: " option
@@ -253,6 +282,11 @@ show_menu() {
             benchmark
             show_menu
             ;;
+        11)
+            build_app
+            compare_modes
+            show_menu
+            ;;
         0)
             echo -e "${GREEN}Goodbye!${NC}"
             exit 0
@@ -300,8 +334,11 @@ else
         benchmark)
             benchmark
             ;;
+        compare)
+            compare_modes "$2" "$3"
+            ;;
         *)
-            echo "Usage: $0 {start|stop|build|test|health|data|clean|logs|metrics|benchmark}"
+            echo "Usage: $0 {start|stop|build|test|health|data|clean|logs|metrics|benchmark|compare [concurrency] [seconds]}"
             exit 1
             ;;
     esac
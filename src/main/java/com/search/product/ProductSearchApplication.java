@@ -3,13 +3,9 @@ package com.search.product;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.data.mongodb.config.EnableMongoAuditing;
-import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
 @SpringBootApplication
 @EnableCaching
-@EnableMongoAuditing
-@EnableMongoRepositories(basePackages = "com.search.product.infrastructure.persistence")
 public class ProductSearchApplication {
 
     public static void main(String[] args) {
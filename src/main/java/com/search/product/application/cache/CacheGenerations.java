@@ -0,0 +1,121 @@
+package com.search.product.application.cache;
+
+import com.search.product.domain.model.Product;
+import com.search.product.domain.model.SearchCriteria;
+import com.search.product.domain.port.outbound.CacheRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generation counters versioning the search cache namespaces
+ *
+ * Every search key folds in the generations of the scopes it reads
+ * (its category and/or brand, or the global scope for unscoped searches)
+ * plus a global epoch. A product write bumps only the scopes it touches,
+ * so stale entries become unreachable in O(1) and simply age out by TTL.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheGenerations {
+
+    static final String EPOCH_KEY = "gen:epoch";
+    static final String ALL_KEY = "gen:all";
+    static final String CATEGORY_PREFIX = "gen:category:";
+    static final String BRAND_PREFIX = "gen:brand:";
+
+    private final CacheRepository cacheRepository;
+
+    /**
+     * Current generation token for the scopes read by the canonical criteria
+     */
+    public String token(SearchCriteria canonical) {
+        List<String> keys = scopeKeys(canonical);
+        return token(keys, cacheRepository.getCounters(keys));
+    }
+
+    /**
+     * Counter keys of the scopes read by the canonical criteria
+     * (callers reading counters on their own pass them back to token(keys, counters))
+     */
+    public static List<String> scopeKeys(SearchCriteria canonical) {
+        List<String> keys = new ArrayList<>(3);
+        keys.add(EPOCH_KEY);
+        if (canonical.getCategory() != null) {
+            keys.add(CATEGORY_PREFIX + canonical.getCategory());
+        }
+        if (canonical.getBrand() != null) {
+            keys.add(BRAND_PREFIX + canonical.getBrand());
+        }
+        if (keys.size() == 1) {
+            keys.add(ALL_KEY);
+        }
+        return keys;
+    }
+
+    /**
+     * Generation token from the counter values of the scope keys (missing counters are 0)
+     */
+    public static String token(List<String> keys, Map<String, Long> counters) {
+        StringBuilder token = new StringBuilder();
+        for (String key : keys) {
+            if (!token.isEmpty()) {
+                token.append(',');
+            }
+            token.append(counters.getOrDefault(key, 0L));
+        }
+        return token.toString();
+    }
+
+    /**
+     * Invalidate the searches affected by a product write
+     * Both the previous and the new version matter: a product moving out of a
+     * category must disappear from that category's cached searches
+     */
+    public void productChanged(Product before, Product after) {
+        productsChanged(before == null ? List.of() : List.of(before), after == null ? List.of() : List.of(after));
+    }
+
+    /**
+     * Invalidate the searches affected by a batch of product writes
+     * Each scope touched by the batch is bumped once, however many of its products changed
+     */
+    public void productsChanged(Collection<Product> before, Collection<Product> after) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(ALL_KEY);
+        before.forEach(product -> addProductScopes(keys, product));
+        after.forEach(product -> addProductScopes(keys, product));
+
+        keys.forEach(cacheRepository::increment);
+        log.debug("Bumped search cache generations: {}", keys);
+    }
+
+    /**
+     * Invalidate every cached search without touching other cache entries
+     */
+    public void invalidateAll() {
+        cacheRepository.increment(EPOCH_KEY);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private static void addProductScopes(Set<String> keys, Product product) {
+        if (product == null) {
+            return;
+        }
+        if (product.getCategory() != null) {
+            keys.add(CATEGORY_PREFIX + product.getCategory().trim());
+        }
+        if (product.getBrand() != null) {
+            keys.add(BRAND_PREFIX + product.getBrand().trim());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.search.product.application.cache;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Count-min sketch of recent key frequencies with periodic aging (TinyLFU)
+ *
+ * Each key maps to four counters in one table; its estimate is the minimum of
+ * them. Counters saturate at 15 and all of them are halved once the sample
+ * size is reached, so old popularity fades and new hot keys can take over.
+ * Lock-free and approximate: a racing reset may lose a few increments.
+ */
+public class FrequencySketch {
+
+    private static final int MAX_COUNT = 15;
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0x97cb3127L, 0xab9f8c5bL, 0x85ebca6bL, 0xc2b2ae35L
+    };
+
+    private final AtomicIntegerArray table;
+    private final int mask;
+    private final long sampleSize;
+    private final AtomicLong additions = new AtomicLong();
+
+    public FrequencySketch(int size) {
+        int width = Integer.highestOneBit(Math.max(16, size - 1)) << 1;
+        this.table = new AtomicIntegerArray(width);
+        this.mask = width - 1;
+        this.sampleSize = 10L * width;
+    }
+
+    /**
+     * Estimated number of occurrences of the key since the last agings
+     */
+    public int frequency(long hash) {
+        int min = MAX_COUNT;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, table.get(indexOf(hash, i)));
+        }
+        return min;
+    }
+
+    /**
+     * Record an occurrence of the key, returning the updated estimate
+     * Conservative update: only the counters at the current minimum grow
+     */
+    public int increment(long hash) {
+        int[] indexes = new int[DEPTH];
+        int min = MAX_COUNT;
+        for (int i = 0; i < DEPTH; i++) {
+            indexes[i] = indexOf(hash, i);
+            min = Math.min(min, table.get(indexes[i]));
+        }
+
+        if (min < MAX_COUNT) {
+            for (int index : indexes) {
+                table.compareAndSet(index, min, min + 1);
+            }
+            if (additions.incrementAndGet() >= sampleSize && additions.getAndSet(0) >= sampleSize) {
+                reset();
+            }
+            return min + 1;
+        }
+        return min;
+    }
+
+    /**
+     * Halve every counter (the thread that wins the sample-size race ages the table)
+     */
+    void reset() {
+        for (int i = 0; i < table.length(); i++) {
+            table.set(i, table.get(i) >>> 1);
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private int indexOf(long hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h ^= h >>> 32;
+        return (int) h & mask;
+    }
+}
@@ -0,0 +1,47 @@
+package com.search.product.application.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lookups of nonexistent products (cache.missing-keys.*): a Bloom filter of
+ * product IDs and SKUs plus short-lived negative cache entries
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache.missing-keys")
+public class MissingKeyProperties {
+
+    /**
+     * Skip the product cache for IDs absent from the filter (they still reach the database)
+     */
+    private boolean filterEnabled = true;
+
+    /**
+     * Products the filter is sized for at least; rebuilds grow it to twice the
+     * catalog size when the catalog outgrows this
+     */
+    private long expectedProducts = 1_000_000;
+
+    /**
+     * Target false-positive rate of the filter
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Full rebuild from the database (drops deleted keys, picks up writes made
+     * outside this service or lost on the way to this node)
+     */
+    private long rebuildIntervalMinutes = 60;
+
+    /**
+     * Pub/sub channel spreading new IDs and SKUs to the filters of the other nodes
+     */
+    private String channel = "product-search:product-keys";
+
+    /**
+     * Time to live of "does not exist" entries (seconds); 0 disables negative caching
+     */
+    private long negativeTtlSeconds = 30;
+}
@@ -0,0 +1,280 @@
+package com.search.product.application.cache;
+
+import com.search.product.domain.model.Product;
+import com.search.product.domain.port.outbound.ProductChangeNotifier;
+import com.search.product.domain.port.outbound.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Membership filter of existing product IDs and SKUs
+ *
+ * Lets findById skip the product cache for keys that are very likely absent.
+ * Built from the database after startup and rebuilt periodically; products
+ * written through this service are added right away on every node
+ * (ProductChangeNotifier). Until the first build completes, and when the
+ * filter is disabled, every key is reported as possibly present.
+ *
+ * A miss is never authoritative: products written directly to the database, or
+ * announcements lost on the way to a node, are absent until the next rebuild.
+ * Absent keys therefore still go to the negative cache and the database (which
+ * absorb repeated probes), and keys found there are added (counted as false
+ * negatives), so a product that exists is never answered as missing.
+ * Deleted keys stay in the filter until the next rebuild (they only cost a lookup).
+ */
+@Slf4j
+@Component
+public class ProductKeyFilter {
+
+    static final String ID_PREFIX = "i:";
+    static final String SKU_PREFIX = "s:";
+    private static final int STREAM_BATCH_SIZE = 5000;
+
+    private final ProductRepository productRepository;
+    private final ProductChangeNotifier changeNotifier;
+    private final MissingKeyProperties properties;
+    private final ScheduledExecutorService rebuilds;
+
+    // Null until the first build; building also receives keys added during a rebuild
+    private volatile BloomFilter filter;
+    private volatile BloomFilter building;
+    private volatile long catalogSize;
+
+    // Keys are added, building published and filter swapped under it, so no key misses the new build
+    private final Object handoff = new Object();
+
+    private final Counter idMisses;
+    private final Counter skuMisses;
+    private final Counter idFalsePositives;
+    private final Counter skuFalsePositives;
+    private final Counter idFalseNegatives;
+    private final Counter skuFalseNegatives;
+
+    public ProductKeyFilter(ProductRepository productRepository,
+                            ProductChangeNotifier changeNotifier,
+                            MissingKeyProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.changeNotifier = changeNotifier;
+        this.properties = properties;
+        this.rebuilds = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-key-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.idMisses = keyCounter(meterRegistry, "cache.missing.keys.filter.misses", "id",
+                "Lookups absent from the filter, checked against the negative cache and the database");
+        this.skuMisses = keyCounter(meterRegistry, "cache.missing.keys.filter.misses", "sku",
+                "Lookups absent from the filter, checked against the negative cache and the database");
+        this.idFalseNegatives = keyCounter(meterRegistry, "cache.missing.keys.false.negatives", "id",
+                "Existing keys absent from the filter, found by a lookup and added");
+        this.skuFalseNegatives = keyCounter(meterRegistry, "cache.missing.keys.false.negatives", "sku",
+                "Existing keys absent from the filter, found by a lookup and added");
+        this.idFalsePositives = keyCounter(meterRegistry, "cache.missing.keys.false.positives", "id",
+                "Nonexistent keys the filter let through to the database");
+        this.skuFalsePositives = keyCounter(meterRegistry, "cache.missing.keys.false.positives", "sku",
+                "Nonexistent keys the filter let through to the database");
+
+        Gauge.builder("cache.missing.keys.false.positive.rate", this, ProductKeyFilter::observedFalsePositiveRate)
+                .description("Share of nonexistent keys the filter let through (observed)")
+                .register(meterRegistry);
+        Gauge.builder("cache.missing.keys.expected.false.positive.rate", this,
+                        f -> f.filter != null ? f.filter.expectedFalsePositiveRate() : 0.0)
+                .description("False-positive rate predicted from the filter's fill")
+                .register(meterRegistry);
+        Gauge.builder("cache.missing.keys.size", this, f -> f.filter != null ? f.filter.insertions() : 0)
+                .description("Keys added to the filter since its last build")
+                .register(meterRegistry);
+
+        changeNotifier.subscribe(this::addLocally);
+    }
+
+    /**
+     * Build the filter once the application is up, then rebuild it periodically
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.isFilterEnabled()) {
+            return;
+        }
+        long interval = Math.max(1, properties.getRebuildIntervalMinutes());
+        rebuilds.scheduleWithFixedDelay(this::rebuildQuietly, 0, interval, TimeUnit.MINUTES);
+    }
+
+    /**
+     * False when the product ID is absent from the filter (the miss is counted)
+     * It then very likely does not exist, but must still be checked (see class doc)
+     */
+    public boolean mightContainId(String id) {
+        return mightContain(ID_PREFIX + id, idMisses);
+    }
+
+    /**
+     * False when the SKU is absent from the filter (the miss is counted)
+     * It then very likely does not exist, but must still be checked (see class doc)
+     */
+    public boolean mightContainSku(String sku) {
+        return mightContain(SKU_PREFIX + sku, skuMisses);
+    }
+
+    /**
+     * Record an ID found by a lookup; adds it on this node when the filter missed it
+     */
+    public void idFound(String id) {
+        found(ID_PREFIX + id, idFalseNegatives);
+    }
+
+    /**
+     * Record a SKU found by a lookup; adds it on this node when the filter missed it
+     */
+    public void skuFound(String sku) {
+        found(SKU_PREFIX + sku, skuFalseNegatives);
+    }
+
+    /**
+     * Record an ID the database did not find (a false positive when the filter holds it)
+     */
+    public void idNotFound(String id) {
+        notFound(ID_PREFIX + id, idFalsePositives);
+    }
+
+    /**
+     * Record a SKU the database did not find (a false positive when the filter holds it)
+     */
+    public void skuNotFound(String sku) {
+        notFound(SKU_PREFIX + sku, skuFalsePositives);
+    }
+
+    /**
+     * Add the keys of written products here and on every other node
+     */
+    public void productsWritten(Collection<String> ids, Collection<String> skus) {
+        List<String> keys = new ArrayList<>(ids.size() + skus.size());
+        ids.forEach(id -> keys.add(ID_PREFIX + id));
+        skus.forEach(sku -> keys.add(SKU_PREFIX + sku));
+        if (keys.isEmpty()) {
+            return;
+        }
+        // Locally first: the writing node must never reject its own new product
+        addLocally(keys);
+        changeNotifier.keysAdded(keys);
+    }
+
+    /**
+     * Build a fresh filter from the database and swap it in
+     * The new filter is published before the database is read: a key added
+     * earlier is already stored when the read starts, a key added later goes
+     * to both filters, so none is lost
+     */
+    public synchronized void rebuild() {
+        long capacity = Math.max(properties.getExpectedProducts(), catalogSize * 2);
+        BloomFilter next = BloomFilter.create(capacity * 2, properties.getFalsePositiveRate());
+        synchronized (handoff) {
+            building = next;
+        }
+        long startNanos = System.nanoTime();
+        long products = 0;
+        try (Stream<Product> identities = productRepository.streamIdentities(STREAM_BATCH_SIZE)) {
+            for (Product product : (Iterable<Product>) identities::iterator) {
+                next.put(ID_PREFIX + product.getId());
+                if (product.getSku() != null) {
+                    next.put(SKU_PREFIX + product.getSku());
+                }
+                products++;
+            }
+            synchronized (handoff) {
+                filter = next;
+            }
+            catalogSize = products;
+        } finally {
+            synchronized (handoff) {
+                building = null;
+            }
+        }
+        log.info("Product key filter built: {} products, {} bits, {} hashes, expected false-positive rate {} ({} ms)",
+                products, next.bitCount(), next.hashCount(),
+                String.format("%.4f", next.expectedFalsePositiveRate()),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilds.shutdownNow();
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private boolean mightContain(String key, Counter misses) {
+        BloomFilter current = filter;
+        if (!properties.isFilterEnabled() || current == null || current.mightContain(key)) {
+            return true;
+        }
+        misses.increment();
+        return false;
+    }
+
+    private void found(String key, Counter falseNegatives) {
+        BloomFilter current = filter;
+        if (properties.isFilterEnabled() && current != null && !current.mightContain(key)) {
+            falseNegatives.increment();
+            addLocally(List.of(key));
+        }
+    }
+
+    private void notFound(String key, Counter falsePositives) {
+        BloomFilter current = filter;
+        if (current != null && current.mightContain(key)) {
+            falsePositives.increment();
+        }
+    }
+
+    private void addLocally(List<String> keys) {
+        synchronized (handoff) {
+            for (String key : keys) {
+                if (filter != null) {
+                    filter.put(key);
+                }
+                if (building != null) {
+                    building.put(key);
+                }
+            }
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // Keep serving with the previous filter (or none) until the next attempt
+            log.error("Product key filter rebuild failed", e);
+        }
+    }
+
+    private double observedFalsePositiveRate() {
+        double falsePositives = idFalsePositives.count() + skuFalsePositives.count();
+        double negatives = falsePositives + idMisses.count() + skuMisses.count();
+        return negatives == 0 ? 0.0 : falsePositives / negatives;
+    }
+
+    private static Counter keyCounter(MeterRegistry registry, String name, String key, String description) {
+        return Counter.builder(name)
+                .tag("key", key)
+                .description(description)
+                .register(registry);
+    }
+}
@@ -0,0 +1,103 @@
+package com.search.product.application.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-key request coalescing (single-flight) for Mono loaders
+ * Non-blocking counterpart of SingleFlight: followers subscribe to the
+ * leader's result instead of parking a thread on it
+ */
+@Slf4j
+@Component
+@Profile("reactive")
+public class ReactiveSingleFlight {
+
+    private final ConcurrentHashMap<String, Sinks.One<Object>> inFlight = new ConcurrentHashMap<>();
+    private final int maxInFlight;
+    private final Duration waitTimeout;
+
+    private final Counter leaders;
+    private final Counter coalesced;
+    private final Counter timeouts;
+    private final Counter bypassed;
+
+    public ReactiveSingleFlight(MeterRegistry meterRegistry,
+                                @Value("${cache.single-flight.max-in-flight:10000}") int maxInFlight,
+                                @Value("${cache.single-flight.wait-timeout-ms:2000}") long waitTimeoutMillis) {
+        this.maxInFlight = maxInFlight;
+        this.waitTimeout = Duration.ofMillis(waitTimeoutMillis);
+
+        this.leaders = callCounter(meterRegistry, "leader");
+        this.coalesced = callCounter(meterRegistry, "coalesced");
+        this.timeouts = callCounter(meterRegistry, "timeout");
+        this.bypassed = callCounter(meterRegistry, "bypassed");
+        Gauge.builder("cache.single.flight.reactive.in.flight", inFlight, ConcurrentHashMap::size)
+                .description("Reactive loaders currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the loader for the key, or join the call already in flight for it.
+     * Followers wait at most the configured timeout and then load on their own,
+     * so a stuck (or cancelled) leader never holds callers indefinitely.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String key, Supplier<Mono<T>> loader) {
+        return Mono.defer(() -> {
+            Sinks.One<Object> existing = inFlight.get(key);
+            if (existing == null) {
+                if (inFlight.size() >= maxInFlight) {
+                    bypassed.increment();
+                    return loader.get();
+                }
+
+                Sinks.One<Object> sink = Sinks.one();
+                existing = inFlight.putIfAbsent(key, sink);
+                if (existing == null) {
+                    return (Mono<T>) lead(key, sink, (Mono<Object>) loader.get());
+                }
+            }
+
+            coalesced.increment();
+            return (Mono<T>) existing.asMono()
+                    .timeout(waitTimeout, Mono.defer(() -> {
+                        timeouts.increment();
+                        log.warn("Timed out waiting for in-flight load of key: {}", key);
+                        return (Mono<Object>) loader.get();
+                    }));
+        });
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private Mono<Object> lead(String key, Sinks.One<Object> sink, Mono<Object> loader) {
+        leaders.increment();
+        return loader
+                .doOnNext(sink::tryEmitValue)
+                .doOnSuccess(value -> {
+                    if (value == null) {
+                        sink.tryEmitEmpty();
+                    }
+                })
+                .doOnError(sink::tryEmitError)
+                .doFinally(signal -> inFlight.remove(key, sink));
+    }
+
+    private static Counter callCounter(MeterRegistry registry, String result) {
+        return Counter.builder("cache.single.flight.reactive.calls")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,78 @@
+package com.search.product.application.cache;
+
+import com.search.product.domain.model.SearchCriteria;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides which searches go through the search result cache
+ *
+ * FREQUENCY mode records every search in a FrequencySketch and admits only
+ * criteria seen at least minFrequency times recently, so one-off long-tail
+ * queries never reach Redis while hot unfiltered listings do. STATIC mode keeps
+ * the original query/category/brand heuristic. Both respect the page bounds.
+ */
+@Slf4j
+@Component
+public class SearchAdmissionPolicy {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final SearchCacheProperties.Admission settings;
+    private final FrequencySketch sketch;
+
+    private final Counter admitted;
+    private final Counter rejected;
+
+    public SearchAdmissionPolicy(SearchCacheProperties properties, MeterRegistry meterRegistry) {
+        this.settings = properties.getAdmission();
+        this.sketch = new FrequencySketch(settings.getSketchSize());
+        this.admitted = admissionCounter(meterRegistry, "admitted");
+        this.rejected = admissionCounter(meterRegistry, "rejected");
+        log.info("Search cache admission: {} (min frequency {})", settings.getMode(), settings.getMinFrequency());
+    }
+
+    /**
+     * Record the search and decide whether it should use the cache
+     */
+    public boolean admit(SearchCriteria canonical) {
+        boolean admit = withinBounds(canonical) && switch (settings.getMode()) {
+            case STATIC -> canonical.getQuery() != null
+                    || canonical.getCategory() != null
+                    || canonical.getBrand() != null;
+            case FREQUENCY -> sketch.increment(hash(SearchFingerprint.formOf(canonical)))
+                    >= settings.getMinFrequency();
+        };
+
+        (admit ? admitted : rejected).increment();
+        return admit;
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private boolean withinBounds(SearchCriteria canonical) {
+        return canonical.getPage() <= settings.getMaxPage()
+                && canonical.getSize() <= settings.getMaxSize();
+    }
+
+    /**
+     * 64-bit FNV-1a of the canonical form (sketch input, not a cache key)
+     */
+    private static long hash(String form) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < form.length(); i++) {
+            hash ^= form.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static Counter admissionCounter(MeterRegistry registry, String result) {
+        return Counter.builder("cache.search.admission")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,88 @@
+package com.search.product.application.cache;
+
+import com.search.product.domain.model.PageResult;
+import com.search.product.domain.model.ProductSummary;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Cached search result
+ * Carries the canonical form it was computed for, so a reader can verify
+ * the entry really belongs to its key before serving it
+ *
+ * In IDS mode the page holds metadata only and the summaries are
+ * hydrated from the summary entity cache by productIds
+ *
+ * softExpiresAt (epoch millis, 0 = never) marks when the entry should be
+ * refreshed; the hard expiry is the Redis TTL, recorded in hardExpiresAt
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchCacheEntry {
+
+    private String fingerprint;
+    private PageResult<ProductSummary> page;
+    private List<String> productIds;
+    private long softExpiresAt;
+    private long hardExpiresAt;
+
+    /**
+     * Entry holding the full page content
+     */
+    public static SearchCacheEntry full(SearchFingerprint fingerprint, PageResult<ProductSummary> page) {
+        return SearchCacheEntry.builder()
+                .fingerprint(fingerprint.getCanonicalForm())
+                .page(page)
+                .build();
+    }
+
+    /**
+     * Entry holding only the ordered product IDs and page metadata
+     */
+    public static SearchCacheEntry ids(SearchFingerprint fingerprint, PageResult<ProductSummary> page) {
+        List<String> ids = page.getContent().stream()
+                .map(ProductSummary::getId)
+                .toList();
+        return SearchCacheEntry.builder()
+                .fingerprint(fingerprint.getCanonicalForm())
+                .page(page.withContent(null))
+                .productIds(ids)
+                .build();
+    }
+
+    /**
+     * Check whether products must be hydrated from the entity cache
+     */
+    public boolean holdsIdsOnly() {
+        return productIds != null;
+    }
+
+    /**
+     * Check the entry was stored for the given fingerprint
+     */
+    public boolean matches(SearchFingerprint expected) {
+        return expected.getCanonicalForm().equals(fingerprint);
+    }
+
+    /**
+     * Record soft and hard expiry relative to now
+     */
+    public SearchCacheEntry expiring(long nowMillis, long softTtlSeconds, long hardTtlSeconds) {
+        this.softExpiresAt = softTtlSeconds > 0 ? nowMillis + softTtlSeconds * 1000 : 0;
+        this.hardExpiresAt = nowMillis + hardTtlSeconds * 1000;
+        return this;
+    }
+
+    /**
+     * Check whether the entry is due for a refresh
+     */
+    public boolean isSoftExpired(long nowMillis) {
+        return softExpiresAt > 0 && nowMillis >= softExpiresAt;
+    }
+}
@@ -0,0 +1,136 @@
+package com.search.product.application.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Search result cache settings (cache.search.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache.search")
+public class SearchCacheProperties {
+
+    /**
+     * How search results are stored
+     */
+    private Mode mode = Mode.IDS;
+
+    /**
+     * Time to live of search entries (seconds)
+     */
+    private long ttlSeconds = 300;
+
+    /**
+     * Time to live of facet entries (seconds); facets change slowly and are
+     * shared by every page and sort order of a filter, so they live longer
+     */
+    private long facetTtlSeconds = 1800;
+
+    /**
+     * Stale-while-revalidate settings for hot search keys
+     */
+    private RefreshAhead refreshAhead = new RefreshAhead();
+
+    /**
+     * Which searches are worth caching
+     */
+    private Admission admission = new Admission();
+
+    public enum Mode {
+        /**
+         * Full serialized product copies in every search entry
+         */
+        FULL,
+
+        /**
+         * Ordered product IDs + page metadata, hydrated from the product entity cache
+         */
+        IDS
+    }
+
+    /**
+     * Refresh-ahead settings (cache.search.refresh-ahead.*)
+     * Entries are soft-expired after softTtlSeconds and hard-expired (removed
+     * from Redis) after ttlSeconds; hot keys are served stale in between while
+     * one background refresh runs
+     */
+    @Data
+    public static class RefreshAhead {
+
+        private boolean enabled = true;
+
+        /**
+         * Age after which an entry is refreshed (must be below ttlSeconds)
+         */
+        private long softTtlSeconds = 240;
+
+        /**
+         * Window in which accesses count towards a key being hot
+         */
+        private long hotWindowSeconds = 60;
+
+        /**
+         * Accesses within the window for a key to be refreshed in the background
+         */
+        private int hotMinAccesses = 2;
+
+        /**
+         * Maximum number of tracked keys
+         */
+        private long trackedKeys = 10000;
+
+        /**
+         * Background refresh threads
+         */
+        private int threads = 2;
+
+        /**
+         * Refreshes waiting for a thread; further refreshes are dropped
+         */
+        private int queueCapacity = 100;
+    }
+
+    /**
+     * Admission settings (cache.search.admission.*)
+     */
+    @Data
+    public static class Admission {
+
+        private AdmissionMode mode = AdmissionMode.FREQUENCY;
+
+        /**
+         * Estimated occurrences (within the aging window) before a search is cached
+         */
+        private int minFrequency = 2;
+
+        /**
+         * Counters in the frequency sketch (rounded up to a power of two);
+         * counts are halved every 10 x this many recorded searches
+         */
+        private int sketchSize = 65536;
+
+        /**
+         * Deepest page that is ever cached
+         */
+        private int maxPage = 2;
+
+        /**
+         * Largest page size that is ever cached
+         */
+        private int maxSize = 50;
+    }
+
+    public enum AdmissionMode {
+        /**
+         * Cache searches seen repeatedly, tracked by a count-min sketch with aging
+         */
+        FREQUENCY,
+
+        /**
+         * Cache any search with a text query, category or brand (previous heuristic)
+         */
+        STATIC
+    }
+}
@@ -0,0 +1,206 @@
+package com.search.product.application.cache;
+
+import com.search.product.domain.model.SearchCriteria;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical, collision-safe identity of a search
+ * Equivalent criteria (case/whitespace of the text query, tag order, price scale,
+ * omitted defaults) share one canonical form; the cache key is a SHA-256 digest
+ * of that form, so every instance derives the same key for the same request
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class SearchFingerprint {
+
+    private static final String FORMAT_VERSION = "v1";
+    private static final String DEFAULT_SORT_FIELD = "createdAt";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Unambiguous textual form of the canonical criteria (stored with the entry)
+     */
+    String canonicalForm;
+
+    /**
+     * Cache key: prefix + URL-safe SHA-256 of the canonical form
+     */
+    String key;
+
+    /**
+     * Build the fingerprint of already canonicalized criteria
+     */
+    public static SearchFingerprint of(String keyPrefix, SearchCriteria canonical) {
+        return of(keyPrefix, canonical, null);
+    }
+
+    /**
+     * Build the fingerprint within a cache generation (see CacheGenerations)
+     */
+    public static SearchFingerprint of(String keyPrefix, SearchCriteria canonical, String generation) {
+        String form = canonicalForm(canonical, generation);
+        return new SearchFingerprint(form, keyPrefix + digest(form));
+    }
+
+    /**
+     * Canonical form of already canonicalized criteria, without computing the key
+     */
+    public static String formOf(SearchCriteria canonical) {
+        return canonicalForm(canonical, null);
+    }
+
+    /**
+     * Return a normalized copy of the criteria.
+     * The copy is what gets executed, so normalization never changes results:
+     * text search is case-insensitive, exact-match fields are only trimmed.
+     */
+    public static SearchCriteria canonicalize(SearchCriteria criteria) {
+        SearchCriteria canonical = SearchCriteria.builder()
+                .query(normalizeQuery(criteria.getQuery()))
+                .category(trimToNull(criteria.getCategory()))
+                .brand(trimToNull(criteria.getBrand()))
+                .tags(normalizeTags(criteria.getTags()))
+                .minPrice(normalizeDecimal(criteria.getMinPrice()))
+                .maxPrice(normalizeDecimal(criteria.getMaxPrice()))
+                .minRating(criteria.getMinRating())
+                .inStockOnly(Boolean.TRUE.equals(criteria.getInStockOnly()))
+                .activeOnly(criteria.getActiveOnly())
+                .sortBy(normalizeSortBy(criteria.getSortBy(), criteria.getQuery()))
+                .sortDirection(criteria.getSortDirection())
+                .page(criteria.getPage())
+                .size(criteria.getSize())
+                .cursor(trimToNull(criteria.getCursor()))
+                .countMode(criteria.getCountMode())
+                .build();
+        canonical.applyDefaults();
+        return canonical;
+    }
+
+    /**
+     * Filters-only copy of canonical criteria: facet counts do not depend on
+     * paging, sorting or counting, so every page and sort order shares them
+     */
+    public static SearchCriteria facetScope(SearchCriteria canonical) {
+        return SearchCriteria.builder()
+                .query(canonical.getQuery())
+                .category(canonical.getCategory())
+                .brand(canonical.getBrand())
+                .tags(canonical.getTags())
+                .minPrice(canonical.getMinPrice())
+                .maxPrice(canonical.getMaxPrice())
+                .minRating(canonical.getMinRating())
+                .inStockOnly(canonical.getInStockOnly())
+                .activeOnly(canonical.getActiveOnly())
+                .sortDirection(SearchCriteria.SortDirection.DESC)
+                .page(0)
+                .size(0)
+                .countMode(SearchCriteria.CountMode.NONE)
+                .build();
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Length-prefixed fields: no value can forge a delimiter of another field
+     */
+    private static String canonicalForm(SearchCriteria c, String generation) {
+        StringBuilder form = new StringBuilder(FORMAT_VERSION);
+        append(form, "q", c.getQuery());
+        append(form, "c", c.getCategory());
+        append(form, "b", c.getBrand());
+        append(form, "t", c.getTags() == null ? null : String.join("\u0000", c.getTags()));
+        append(form, "pmin", c.getMinPrice() == null ? null : c.getMinPrice().toPlainString());
+        append(form, "pmax", c.getMaxPrice() == null ? null : c.getMaxPrice().toPlainString());
+        append(form, "r", c.getMinRating() == null ? null : Double.toString(c.getMinRating()));
+        append(form, "stock", String.valueOf(c.getInStockOnly()));
+        append(form, "active", String.valueOf(c.getActiveOnly()));
+        append(form, "sort", c.getSortBy());
+        append(form, "dir", c.getSortDirection().name());
+        append(form, "page", String.valueOf(c.getPage()));
+        append(form, "size", String.valueOf(c.getSize()));
+        append(form, "cursor", c.getCursor());
+        append(form, "count", c.getCountMode().name());
+        append(form, "gen", generation);
+        return form.toString();
+    }
+
+    private static void append(StringBuilder form, String name, String value) {
+        form.append('|').append(name).append('=');
+        if (value == null) {
+            form.append('-');
+        } else {
+            form.append(value.length()).append(':').append(value);
+        }
+    }
+
+    private static String digest(String form) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(form.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String normalizeQuery(String query) {
+        String trimmed = trimToNull(query);
+        if (trimmed == null) {
+            return null;
+        }
+        return WHITESPACE.matcher(trimmed).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> normalizeTags(Set<String> tags) {
+        if (tags == null) {
+            return null;
+        }
+        TreeSet<String> normalized = new TreeSet<>();
+        for (String tag : tags) {
+            String trimmed = trimToNull(tag);
+            if (trimmed != null) {
+                normalized.add(trimmed);
+            }
+        }
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    private static BigDecimal normalizeDecimal(BigDecimal value) {
+        if (value == null) {
+            return null;
+        }
+        BigDecimal stripped = value.stripTrailingZeros();
+        return stripped.scale() < 0 ? stripped.setScale(0) : stripped;
+    }
+
+    /**
+     * Text queries without a sort field keep it empty: that is relevance order
+     * for the in-memory engine (MongoDB sorts them by createdAt either way)
+     */
+    private static String normalizeSortBy(String sortBy, String query) {
+        String trimmed = trimToNull(sortBy);
+        if (trimmed != null) {
+            return trimmed;
+        }
+        return trimToNull(query) == null ? DEFAULT_SORT_FIELD : null;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
@@ -0,0 +1,166 @@
+package com.search.product.application.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Refresh-ahead for hot search keys
+ * Tracks recent accesses per key and runs at most one background refresh per
+ * key on a bounded executor; when the executor is saturated the refresh is
+ * dropped and the entry simply hard-expires
+ *
+ * A key is hot while its last hotMinAccesses accesses all fall within the
+ * hot window (a sliding window), so a key read steadily but slowly never
+ * becomes hot however long it lives.
+ */
+@Slf4j
+@Component
+public class SearchRefresher {
+
+    private final SearchCacheProperties.RefreshAhead settings;
+    private final Ticker ticker;
+    private final long hotWindowNanos;
+    private final Cache<String, AccessTimes> recentAccesses;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor executor;
+
+    private final Counter scheduled;
+    private final Counter rejected;
+    private final Counter failed;
+
+    @Autowired
+    public SearchRefresher(SearchCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    SearchRefresher(SearchCacheProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.settings = properties.getRefreshAhead();
+        this.ticker = ticker;
+        this.hotWindowNanos = TimeUnit.SECONDS.toNanos(settings.getHotWindowSeconds());
+        // Keys idle for a whole window cannot be hot: let them go
+        this.recentAccesses = Caffeine.newBuilder()
+                .maximumSize(settings.getTrackedKeys())
+                .expireAfterAccess(Duration.ofSeconds(settings.getHotWindowSeconds()))
+                .ticker(ticker)
+                .build();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                settings.getThreads(), settings.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "search-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.scheduled = refreshCounter(meterRegistry, "scheduled");
+        this.rejected = refreshCounter(meterRegistry, "rejected");
+        this.failed = refreshCounter(meterRegistry, "failed");
+        Gauge.builder("cache.search.refresh.in.flight", refreshing, Set::size)
+                .description("Background search refreshes queued or running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Soft time to live of new entries (0 when refresh-ahead is disabled)
+     */
+    public long softTtlSeconds() {
+        return settings.isEnabled() ? settings.getSoftTtlSeconds() : 0;
+    }
+
+    /**
+     * Record an access to the key, returning whether the key is hot
+     */
+    public boolean recordAccess(String key) {
+        if (!settings.isEnabled()) {
+            return false;
+        }
+        return recentAccesses.get(key, k -> new AccessTimes(settings.getHotMinAccesses()))
+                .record(ticker.read(), hotWindowNanos);
+    }
+
+    /**
+     * Schedule a background refresh of the key unless one is already pending
+     */
+    public void refreshAsync(String key, Runnable refresh) {
+        if (!refreshing.add(key)) {
+            // Another request already triggered the refresh
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh.run();
+                } catch (Exception e) {
+                    failed.increment();
+                    log.warn("Background refresh failed for key: {}", key, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+            scheduled.increment();
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            rejected.increment();
+            log.debug("Refresh queue full, not refreshing key: {}", key);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private static Counter refreshCounter(MeterRegistry registry, String result) {
+        return Counter.builder("cache.search.refresh")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Times of the last accesses to a key (a ring of hotMinAccesses slots)
+     */
+    private static final class AccessTimes {
+
+        private final long[] times;
+        private int count;
+        private int next;
+
+        AccessTimes(int slots) {
+            this.times = new long[Math.max(1, slots)];
+        }
+
+        /**
+         * Record an access, returning whether every slot now holds one within the window
+         */
+        synchronized boolean record(long now, long windowNanos) {
+            times[next] = now;
+            next = (next + 1) % times.length;
+            count = Math.min(count + 1, times.length);
+            // Once the ring is full, next points at the oldest of the last accesses
+            return count == times.length && now - times[next] <= windowNanos;
+        }
+    }
+}
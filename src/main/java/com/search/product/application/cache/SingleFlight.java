@@ -0,0 +1,118 @@
+package com.search.product.application.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Per-key request coalescing (single-flight)
+ * Concurrent callers for the same key share one in-flight loader instead of
+ * all hitting the database when a hot cache entry expires
+ */
+@Slf4j
+@Component
+public class SingleFlight {
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final int maxInFlight;
+    private final long waitTimeoutMillis;
+
+    private final Counter leaders;
+    private final Counter coalesced;
+    private final Counter timeouts;
+    private final Counter bypassed;
+
+    public SingleFlight(MeterRegistry meterRegistry,
+                        @Value("${cache.single-flight.max-in-flight:10000}") int maxInFlight,
+                        @Value("${cache.single-flight.wait-timeout-ms:2000}") long waitTimeoutMillis) {
+        this.maxInFlight = maxInFlight;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+
+        this.leaders = callCounter(meterRegistry, "leader");
+        this.coalesced = callCounter(meterRegistry, "coalesced");
+        this.timeouts = callCounter(meterRegistry, "timeout");
+        this.bypassed = callCounter(meterRegistry, "bypassed");
+        Gauge.builder("cache.single.flight.in.flight", inFlight, ConcurrentHashMap::size)
+                .description("Loaders currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the loader for the key, or join the call already in flight for it.
+     * Followers wait at most the configured timeout and then load on their own,
+     * so a stuck leader never blocks callers indefinitely.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> loader) {
+        CompletableFuture<Object> existing = inFlight.get(key);
+        if (existing == null) {
+            if (inFlight.size() >= maxInFlight) {
+                bypassed.increment();
+                return loader.get();
+            }
+
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            existing = inFlight.putIfAbsent(key, future);
+            if (existing == null) {
+                return (T) lead(key, future, (Supplier<Object>) loader);
+            }
+        }
+
+        coalesced.increment();
+        return (T) await(key, existing, (Supplier<Object>) loader);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private Object lead(String key, CompletableFuture<Object> future, Supplier<Object> loader) {
+        leaders.increment();
+        try {
+            Object value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private Object await(String key, CompletableFuture<Object> future, Supplier<Object> loader) {
+        try {
+            return future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            log.warn("Timed out waiting for in-flight load of key: {}", key);
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for key: " + key, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Loader failed for key: " + key, cause);
+        }
+    }
+
+    private static Counter callCounter(MeterRegistry registry, String result) {
+        return Counter.builder("cache.single.flight.calls")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,48 @@
+package com.search.product.application.execution;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Concurrency inside a search request (search.execution.*)
+ * Whether threads are virtual follows spring.threads.virtual.enabled, which also
+ * switches request handling and the spring.task.execution pool
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "search.execution")
+public class ExecutionProperties {
+
+    /**
+     * Run independent stages of a search concurrently (page and total,
+     * page and facets); off runs them one after the other on the request thread
+     */
+    private boolean fanOut = false;
+
+    /**
+     * When the cache probe of an admitted search is slow, start the database
+     * search while it completes; a late hit interrupts the database search
+     */
+    private boolean speculativeSearch = false;
+
+    /**
+     * How long the cache probe may take before the database search is started (milliseconds)
+     */
+    private long speculativeDelayMillis = 20;
+
+    /**
+     * Fan-out pool size on platform threads (virtual threads are unbounded)
+     */
+    private int platformThreads = 32;
+
+    /**
+     * Fan-out queue capacity on platform threads; when full the caller runs the stage
+     */
+    private int queueCapacity = 256;
+
+    /**
+     * Maximum wait for a forked stage (milliseconds)
+     */
+    private long joinTimeoutMillis = 5000;
+}
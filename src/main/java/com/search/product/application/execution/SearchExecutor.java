@@ -0,0 +1,187 @@
+package com.search.product.application.execution;
+
+import com.search.product.domain.port.outbound.StageExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the stages of a search, timing each one (search.stage metric, tagged
+ * with the stage and the thread mode) and forking independent stages when
+ * fan-out is enabled
+ * On virtual threads every fork gets its own thread, so blocking driver calls
+ * cost no pool slot; on platform threads forks share a bounded pool and fall
+ * back to the caller when it is saturated. Cancelling a forked stage (discard,
+ * or a join timeout) interrupts its thread.
+ */
+@Slf4j
+@Component
+public class SearchExecutor implements StageExecutor {
+
+    private final ExecutionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final String mode;
+    private final ExecutorService executor;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Counter discarded;
+
+    public SearchExecutor(ExecutionProperties properties,
+                          MeterRegistry meterRegistry,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.mode = virtualThreads ? "virtual" : "platform";
+        this.executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("search-fork-", 0).factory())
+                : platformPool(properties);
+        this.discarded = Counter.builder("search.stage.discarded")
+                .description("Forked stages whose result was not needed (speculative searches on late cache hits)")
+                .register(meterRegistry);
+        log.info("Search execution: {} threads, fan-out {}, speculative search {}",
+                mode, properties.isFanOut(), properties.isSpeculativeSearch());
+    }
+
+    @Override
+    public boolean fanOut() {
+        return properties.isFanOut();
+    }
+
+    /**
+     * Whether a slow cache probe starts the database search before the cache answers
+     */
+    public boolean speculative() {
+        return properties.isFanOut() && properties.isSpeculativeSearch();
+    }
+
+    @Override
+    public <T> T time(String stage, Supplier<T> work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return work.get();
+        } finally {
+            sample.stop(timer(stage));
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> fork(String stage, Supplier<T> work) {
+        if (!fanOut()) {
+            try {
+                return CompletableFuture.completedFuture(time(stage, work));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(time(stage, work));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        // CompletableFuture.cancel never interrupts: pass cancellation on to the task
+        result.whenComplete((value, failure) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Wait up to the speculative delay for a forked stage, returning whether it completed
+     */
+    public boolean awaitSpeculativeDelay(CompletableFuture<?> stage) {
+        try {
+            stage.get(properties.getSpeculativeDelayMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            // Completed; the failure surfaces from join
+            return true;
+        }
+    }
+
+    @Override
+    public <T> T join(CompletableFuture<T> stage) {
+        try {
+            return stage.get(properties.getJoinTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            stage.cancel(true);
+            throw new IllegalStateException("Search stage timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a search stage", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Search stage failed", cause);
+        }
+    }
+
+    /**
+     * Give up on a forked stage whose result is no longer needed (null is ignored)
+     * A stage still running is interrupted
+     */
+    public void discard(CompletableFuture<?> stage) {
+        if (stage != null && stage.cancel(true)) {
+            discarded.increment();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private Timer timer(String stage) {
+        return timers.computeIfAbsent(stage, s -> Timer.builder("search.stage")
+                .description("Time spent in one stage of a search")
+                .tag("stage", s)
+                .tag("threads", mode)
+                .register(meterRegistry));
+    }
+
+    private static ExecutorService platformPool(ExecutionProperties properties) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                properties.getPlatformThreads(), properties.getPlatformThreads(), 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "search-fork-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
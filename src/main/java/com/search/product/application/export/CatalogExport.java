@@ -0,0 +1,124 @@
+package com.search.product.application.export;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.search.product.domain.model.ProductSummary;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Catalog export ready to be written: an open product cursor and the output format
+ * Products are written as they are read, so memory stays constant whatever the
+ * size of the catalog. The output is flushed after every cursor batch; a client
+ * that disconnects fails the next flush, which stops the export. The cursor is
+ * closed in every case. Products come in id order, so the id of the last product
+ * received is the resume token of an interrupted export.
+ */
+@Slf4j
+public class CatalogExport {
+
+    static final String CSV_HEADER = "id,sku,name,brand,category,price,currency,stock,active,rating,reviewCount,thumbnailUrl";
+
+    private final Stream<ProductSummary> products;
+    private final ExportFormat format;
+    private final ObjectWriter jsonWriter;
+    private final int flushEvery;
+
+    public CatalogExport(Stream<ProductSummary> products, ExportFormat format, ObjectWriter jsonWriter, int flushEvery) {
+        this.products = products;
+        this.format = format;
+        this.jsonWriter = jsonWriter;
+        this.flushEvery = Math.max(1, flushEvery);
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Write every product to the output, returning how many were written
+     */
+    public long writeTo(OutputStream output) throws IOException {
+        long written = 0;
+        String lastId = null;
+        try (Stream<ProductSummary> cursor = products) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+
+            Iterator<ProductSummary> iterator = cursor.iterator();
+            while (iterator.hasNext()) {
+                ProductSummary product = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsv(writer, product);
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(product));
+                    writer.write('\n');
+                }
+                lastId = product.getId();
+                if (++written % flushEvery == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            log.info("Export stopped after {} products (client gone?), resume after: {}", written, lastId);
+            throw e;
+        }
+
+        log.info("Exported {} products as {}", written, format);
+        return written;
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private static void writeCsv(Writer writer, ProductSummary product) throws IOException {
+        writer.write(csv(product.getId()));
+        writer.write(',');
+        writer.write(csv(product.getSku()));
+        writer.write(',');
+        writer.write(csv(product.getName()));
+        writer.write(',');
+        writer.write(csv(product.getBrand()));
+        writer.write(',');
+        writer.write(csv(product.getCategory()));
+        writer.write(',');
+        writer.write(csv(product.getPrice() != null ? product.getPrice().toPlainString() : null));
+        writer.write(',');
+        writer.write(csv(product.getCurrency()));
+        writer.write(',');
+        writer.write(csv(product.getStock()));
+        writer.write(',');
+        writer.write(csv(product.getActive()));
+        writer.write(',');
+        writer.write(csv(product.getRating()));
+        writer.write(',');
+        writer.write(csv(product.getReviewCount()));
+        writer.write(',');
+        writer.write(csv(product.getThumbnailUrl()));
+        writer.write('\n');
+    }
+
+    /**
+     * CSV field: empty for null, quoted (with doubled quotes) when it holds a separator
+     */
+    static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,40 @@
+package com.search.product.application.export;
+
+/**
+ * Output format of a catalog export
+ */
+public enum ExportFormat {
+
+    /**
+     * One product JSON object per line
+     */
+    NDJSON("application/x-ndjson"),
+
+    /**
+     * Header row, then one product per row (RFC 4180 quoting)
+     */
+    CSV("text/csv");
+
+    private final String contentType;
+
+    ExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * Format by name, case-insensitive
+     * Requests are validated first, so an unknown name here is a programming error
+     */
+    public static ExportFormat of(String name) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export format: " + name);
+    }
+}
@@ -0,0 +1,19 @@
+package com.search.product.application.export;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streaming catalog export settings (catalog.export.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "catalog.export")
+public class ExportProperties {
+
+    /**
+     * Documents fetched per cursor round trip; the response is flushed after each batch
+     */
+    private int batchSize = 500;
+}
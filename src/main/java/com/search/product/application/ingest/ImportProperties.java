@@ -0,0 +1,30 @@
+package com.search.product.application.ingest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk catalog import settings (catalog.import.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "catalog.import")
+public class ImportProperties {
+
+    /**
+     * Records per unordered bulk write
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Bulk writes running at once; reading the input pauses while all are busy,
+     * so memory stays bounded however large the input is
+     */
+    private int maxInFlightBatches = 4;
+
+    /**
+     * Rejected records listed in the report (all of them are counted)
+     */
+    private int maxReportedErrors = 100;
+}
@@ -0,0 +1,50 @@
+package com.search.product.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.search.product.application.export.CatalogExport;
+import com.search.product.application.export.ExportFormat;
+import com.search.product.application.export.ExportProperties;
+import com.search.product.domain.model.ProductSummary;
+import com.search.product.domain.model.SearchCriteria;
+import com.search.product.domain.port.outbound.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Product Export Service - Application Layer
+ * Full catalog exports for feed generators: one database cursor over the
+ * search filters instead of paging through the search endpoint with skip
+ */
+@Slf4j
+@Service
+public class ProductExportService {
+
+    private final ProductRepository productRepository;
+    private final ExportProperties properties;
+    private final ObjectWriter jsonWriter;
+
+    public ProductExportService(ProductRepository productRepository,
+                                ExportProperties properties,
+                                ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.properties = properties;
+        this.jsonWriter = objectMapper.writerFor(ProductSummary.class);
+    }
+
+    /**
+     * Open an export of every product matching the filters of the criteria
+     * The cursor is opened here, so invalid resume tokens and database errors
+     * surface before anything is written; the export must then be written
+     * (which closes it)
+     */
+    public CatalogExport export(SearchCriteria criteria, String resumeAfter, ExportFormat format) {
+        log.debug("Opening {} export with criteria: {}, after: {}", format, criteria, resumeAfter);
+        criteria.applyDefaults();
+
+        String after = resumeAfter == null || resumeAfter.isBlank() ? null : resumeAfter.trim();
+        int batchSize = Math.max(1, properties.getBatchSize());
+        return new CatalogExport(productRepository.streamSummaries(criteria, after, batchSize),
+                format, jsonWriter, batchSize);
+    }
+}
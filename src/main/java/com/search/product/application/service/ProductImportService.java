@@ -0,0 +1,344 @@
+package com.search.product.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.search.product.application.ingest.ImportProperties;
+import com.search.product.domain.model.BulkWriteOutcome;
+import com.search.product.domain.model.ImportReport;
+import com.search.product.domain.model.Product;
+import com.search.product.domain.port.outbound.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Product Import Service - Application Layer
+ * Streams an NDJSON catalog (one product per line) into the repository:
+ * lines are parsed and validated as they arrive, grouped by SKU into
+ * unordered bulk upserts, and the cache is invalidated once per batch.
+ *
+ * Each SKU always lands in the same partition and a partition writes one
+ * batch at a time, so repeated SKUs are applied in input order while the
+ * partitions write concurrently. At most maxInFlightBatches writes run or
+ * wait at once; beyond that, reading the input blocks (backpressure).
+ * Bad records are reported by line and never abort the load.
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+    private final ProductRepository productRepository;
+    private final ProductSearchService searchService;
+    private final ImportProperties properties;
+    private final ObjectReader productReader;
+    private final ExecutorService writers;
+    private final Timer batchTimer;
+    private final Counter importedRecords;
+    private final Counter failedRecords;
+
+    public ProductImportService(ProductRepository productRepository,
+                                ProductSearchService searchService,
+                                ImportProperties properties,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.searchService = searchService;
+        this.properties = properties;
+        this.productReader = objectMapper.readerFor(Product.class);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(Math.max(1, properties.getMaxInFlightBatches()), runnable -> {
+            Thread thread = new Thread(runnable, "product-import-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchTimer = Timer.builder("catalog.import.batch")
+                .description("Time to write one import batch and invalidate its cache entries")
+                .register(meterRegistry);
+        this.importedRecords = Counter.builder("catalog.import.records")
+                .tag("outcome", "imported")
+                .register(meterRegistry);
+        this.failedRecords = Counter.builder("catalog.import.records")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Import an NDJSON stream of products, inserting new SKUs and updating known ones
+     * The stream is read incrementally and not closed; blank lines are skipped
+     */
+    public ImportReport importNdjson(InputStream input) {
+        int partitionCount = Math.max(1, properties.getMaxInFlightBatches());
+        int batchSize = Math.max(1, properties.getBatchSize());
+        ImportRun run = new ImportRun(properties.getMaxReportedErrors());
+        Semaphore inFlight = new Semaphore(partitionCount);
+        List<Partition> partitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new Partition());
+        }
+
+        long startNanos = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                run.received.incrementAndGet();
+
+                ImportRecord record = parse(lineNumber, line, run);
+                if (record == null) {
+                    continue;
+                }
+
+                Partition partition = partitions.get(Math.floorMod(record.sku().hashCode(), partitionCount));
+                if (partition.pending.put(record.sku(), record) != null) {
+                    // Same SKU twice in one batch: the later record wins
+                    run.superseded.incrementAndGet();
+                }
+                if (partition.pending.size() >= batchSize) {
+                    submit(partition, run, inFlight);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Import input failed after line {}", lineNumber, e);
+            run.aborted = true;
+            run.fail(lineNumber + 1, null, "Input could not be read: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.aborted = true;
+        }
+
+        // Flush what was read, then wait for every partition to finish
+        for (Partition partition : partitions) {
+            if (!partition.pending.isEmpty()) {
+                inFlight.acquireUninterruptibly();
+                enqueue(partition, run, inFlight);
+            }
+        }
+        CompletableFuture.allOf(partitions.stream()
+                .map(partition -> partition.tail)
+                .toArray(CompletableFuture[]::new)).join();
+
+        ImportReport report = run.report(System.nanoTime() - startNanos);
+        log.info("Import finished: {} received, {} inserted, {} updated, {} failed in {} ms ({} records/s)",
+                report.getReceived(), report.getInserted(), report.getUpdated(), report.getFailed(),
+                report.getDurationMillis(), Math.round(report.getRecordsPerSecond()));
+        return report;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writers.shutdownNow();
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Parse and validate one line; rejected lines are recorded and yield null
+     */
+    private ImportRecord parse(long lineNumber, String line, ImportRun run) {
+        Product product;
+        try {
+            product = productReader.readValue(line);
+        } catch (IOException e) {
+            run.fail(lineNumber, null, "Malformed JSON: " + e.getMessage().lines().findFirst().orElse(""));
+            return null;
+        }
+        if (product == null) {
+            run.fail(lineNumber, null, "Not a product object");
+            return null;
+        }
+
+        String invalid = validate(product);
+        if (invalid != null) {
+            run.fail(lineNumber, product.getSku(), invalid);
+            return null;
+        }
+
+        // The SKU identifies the product; ids in the input are ignored
+        product.setSku(product.getSku().trim());
+        product.setId(null);
+        return new ImportRecord(lineNumber, product.getSku(), product);
+    }
+
+    /**
+     * Reason the product cannot be imported, or null when it is valid
+     */
+    static String validate(Product product) {
+        if (product.getSku() == null || product.getSku().isBlank()) {
+            return "sku is required";
+        }
+        if (product.getName() == null || product.getName().isBlank()) {
+            return "name is required";
+        }
+        if (product.getPrice() != null && product.getPrice().compareTo(BigDecimal.ZERO) < 0) {
+            return "price must not be negative";
+        }
+        if (product.getStock() != null && product.getStock() < 0) {
+            return "stock must not be negative";
+        }
+        if (product.getRating() != null && (product.getRating() < 0 || product.getRating() > 5)) {
+            return "rating must be between 0 and 5";
+        }
+        return null;
+    }
+
+    /**
+     * Hand the pending records of a partition to its writer, waiting for a free slot
+     */
+    private void submit(Partition partition, ImportRun run, Semaphore inFlight) throws InterruptedException {
+        inFlight.acquire();
+        enqueue(partition, run, inFlight);
+    }
+
+    private void enqueue(Partition partition, ImportRun run, Semaphore inFlight) {
+        List<ImportRecord> batch = new ArrayList<>(partition.pending.values());
+        partition.pending = new LinkedHashMap<>();
+        run.batches.incrementAndGet();
+
+        // Chained: a partition's batches are written in order, never concurrently
+        partition.tail = partition.tail.thenRunAsync(() -> {
+            try {
+                batchTimer.record(() -> writeBatch(batch, run));
+            } finally {
+                inFlight.release();
+            }
+        }, writers);
+    }
+
+    /**
+     * Upsert one batch and invalidate the cache entries of its products
+     * A failing batch marks its records as failed and the import goes on
+     */
+    private void writeBatch(List<ImportRecord> batch, ImportRun run) {
+        List<Product> products = batch.stream().map(ImportRecord::product).toList();
+        try {
+            // Previous versions decide which search scopes the products are leaving
+            List<Product> previous = productRepository.findScopesBySkus(
+                    batch.stream().map(ImportRecord::sku).toList());
+            BulkWriteOutcome outcome = productRepository.upsertAllBySku(products);
+
+            Set<Integer> failedIndexes = new HashSet<>();
+            for (BulkWriteOutcome.Failure failure : outcome.getFailures()) {
+                ImportRecord record = batch.get(failure.getIndex());
+                run.fail(record.line(), record.sku(), failure.getMessage());
+                failedIndexes.add(failure.getIndex());
+            }
+            List<Product> written = new ArrayList<>(products.size() - failedIndexes.size());
+            for (int i = 0; i < products.size(); i++) {
+                if (!failedIndexes.contains(i)) {
+                    written.add(products.get(i));
+                }
+            }
+
+            run.inserted.addAndGet(outcome.getInserted());
+            run.updated.addAndGet(outcome.getUpdated());
+            importedRecords.increment(written.size());
+            searchService.batchWritten(previous, written,
+                    outcome.getInsertedIds() != null ? outcome.getInsertedIds() : List.of());
+        } catch (RuntimeException e) {
+            log.error("Import batch of {} products failed", batch.size(), e);
+            for (ImportRecord record : batch) {
+                run.fail(record.line(), record.sku(), "Batch write failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Parsed product with the input line it came from
+     */
+    private record ImportRecord(long line, String sku, Product product) {
+    }
+
+    /**
+     * Records of one SKU partition waiting for a batch, and the partition's last write
+     * Only the reading thread touches pending
+     */
+    private static final class Partition {
+
+        private Map<String, ImportRecord> pending = new LinkedHashMap<>();
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Counters and reported errors of one import, shared by the reader and the writers
+     */
+    private final class ImportRun {
+
+        private final int maxReportedErrors;
+        private final AtomicLong received = new AtomicLong();
+        private final AtomicLong inserted = new AtomicLong();
+        private final AtomicLong updated = new AtomicLong();
+        private final AtomicLong superseded = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final List<ImportReport.RecordError> errors = new ArrayList<>();
+        private volatile boolean aborted;
+
+        private ImportRun(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void fail(long line, String sku, String message) {
+            failed.incrementAndGet();
+            failedRecords.increment();
+            synchronized (errors) {
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(new ImportReport.RecordError(line, sku, message));
+                }
+            }
+        }
+
+        private ImportReport report(long elapsedNanos) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            long imported = inserted.get() + updated.get();
+            List<ImportReport.RecordError> reported;
+            synchronized (errors) {
+                reported = errors.stream()
+                        .sorted(Comparator.comparingLong(ImportReport.RecordError::getLine))
+                        .toList();
+            }
+            return ImportReport.builder()
+                    .received(received.get())
+                    .inserted(inserted.get())
+                    .updated(updated.get())
+                    .superseded(superseded.get())
+                    .failed(failed.get())
+                    .batches(batches.get())
+                    .durationMillis(millis)
+                    .recordsPerSecond(imported * 1_000_000_000.0 / Math.max(1, elapsedNanos))
+                    .aborted(aborted ? true : null)
+                    .errors(reported)
+                    .errorsTruncated(failed.get() > reported.size() ? true : null)
+                    .build();
+        }
+    }
+}
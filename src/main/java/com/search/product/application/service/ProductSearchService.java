@@ -1,8 +1,21 @@
 package com.search.product.application.service;
 
+import com.search.product.application.cache.CacheGenerations;
+import com.search.product.application.cache.MissingKeyProperties;
+import com.search.product.application.cache.ProductKeyFilter;
+import com.search.product.application.cache.SearchAdmissionPolicy;
+import com.search.product.application.cache.SearchCacheEntry;
+import com.search.product.application.cache.SearchCacheProperties;
+import com.search.product.application.cache.SearchFingerprint;
+import com.search.product.application.cache.SearchRefresher;
+import com.search.product.application.cache.SingleFlight;
+import com.search.product.application.execution.SearchExecutor;
+import com.search.product.domain.exception.InvalidCursorException;
 import com.search.product.domain.model.PageResult;
 import com.search.product.domain.model.Product;
+import com.search.product.domain.model.ProductSummary;
 import com.search.product.domain.model.SearchCriteria;
+import com.search.product.domain.model.SearchFacets;
 import com.search.product.domain.port.outbound.CacheRepository;
 import com.search.product.domain.port.outbound.ProductRepository;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
@@ -10,8 +23,18 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 /**
  * Product Search Service - Application Layer
@@ -25,76 +48,111 @@ public class ProductSearchService {
     
     private final ProductRepository productRepository;
     private final CacheRepository cacheRepository;
+    private final SingleFlight singleFlight;
+    private final SearchCacheProperties searchCacheProperties;
+    private final CacheGenerations cacheGenerations;
+    private final SearchRefresher searchRefresher;
+    private final SearchAdmissionPolicy searchAdmissionPolicy;
+    private final SearchExecutor searchExecutor;
+    private final ProductKeyFilter productKeyFilter;
+    private final MissingKeyProperties missingKeyProperties;
     
     private static final String CACHE_PREFIX_PRODUCT = "product:";
+    private static final String CACHE_PREFIX_MISSING_ID = "missing:product:";
+    private static final String CACHE_PREFIX_MISSING_SKU = "missing:sku:";
+    private static final String CACHE_PREFIX_SUMMARY = "summary:";
     private static final String CACHE_PREFIX_SEARCH = "search:";
+    private static final String CACHE_PREFIX_FACETS = "facets:";
     private static final long CACHE_TTL_PRODUCT = 3600; // 1 hour
-    private static final long CACHE_TTL_SEARCH = 300; // 5 minutes
     
     /**
      * Find product by ID with caching
+     * IDs recently found missing never reach the database; IDs absent from the
+     * key filter skip the product cache but are still looked up
      */
     @CircuitBreaker(name = "productService", fallbackMethod = "findByIdFallback")
     public Optional<Product> findById(String id) {
         log.debug("Searching product by id: {}", id);
         
-        // Try cache first
+        // Try cache first, unless the key filter says the product is very likely absent
         String cacheKey = CACHE_PREFIX_PRODUCT + id;
-        Optional<Product> cachedProduct = cacheRepository.get(cacheKey, Product.class);
+        if (productKeyFilter.mightContainId(id)) {
+            Optional<Product> cachedProduct = cacheRepository.get(cacheKey, Product.class);
+            
+            if (cachedProduct.isPresent()) {
+                log.debug("Product found in cache: {}", id);
+                return cachedProduct;
+            }
+        } else {
+            log.debug("Product id absent from key filter: {}", id);
+        }
         
-        if (cachedProduct.isPresent()) {
-            log.debug("Product found in cache: {}", id);
-            return cachedProduct;
+        String missingKey = CACHE_PREFIX_MISSING_ID + id;
+        if (knownMissing(missingKey)) {
+            return Optional.empty();
         }
         
-        // If not in cache, query database
-        Optional<Product> product = productRepository.findById(id);
+        // If not in cache, query database (concurrent misses share one load)
+        return singleFlight.execute(cacheKey, () -> {
+            Optional<Product> product = productRepository.findById(id);
+            
+            // Cache the result, or remember for a short while that there is none
+            if (product.isPresent()) {
+                cacheRepository.put(cacheKey, product.get(), CACHE_TTL_PRODUCT);
+                productKeyFilter.idFound(id);
+            } else {
+                productKeyFilter.idNotFound(id);
+                rememberMissing(missingKey);
+            }
+            
+            return product;
+        });
+    }
+    
+    /**
+     * Check whether a product with the SKU exists
+     * SKUs recently found missing never reach the database
+     */
+    public boolean existsBySku(String sku) {
+        log.debug("Checking product SKU: {}", sku);
         
-        // Cache the result
-        product.ifPresent(p -> cacheRepository.put(cacheKey, p, CACHE_TTL_PRODUCT));
+        String missingKey = CACHE_PREFIX_MISSING_SKU + sku;
+        if (knownMissing(missingKey)) {
+            return false;
+        }
         
-        return product;
+        boolean exists = productRepository.existsBySku(sku);
+        if (exists) {
+            productKeyFilter.skuFound(sku);
+        } else {
+            productKeyFilter.skuNotFound(sku);
+            rememberMissing(missingKey);
+        }
+        return exists;
     }
     
     /**
      * Search products with criteria - Main search method
      */
     @CircuitBreaker(name = "productService", fallbackMethod = "searchFallback")
-    public PageResult<Product> search(SearchCriteria criteria) {
+    public PageResult<ProductSummary> search(SearchCriteria criteria) {
         log.debug("Searching products with criteria: {}", criteria);
-        
-        // Apply defaults
-        criteria.applyDefaults();
-        
-        // Generate cache key based on search criteria
-        String cacheKey = generateSearchCacheKey(criteria);
-        
-        // Try cache first for common searches
-        if (isCacheable(criteria)) {
-            @SuppressWarnings("unchecked")
-            Optional<PageResult<Product>> cachedResult = 
-                (Optional<PageResult<Product>>) (Optional<?>) cacheRepository.get(cacheKey, PageResult.class);
-            if (cachedResult.isPresent()) {
-                log.debug("Search result found in cache");
-                return cachedResult.get();
-            }
-        }
-        
-        // Execute search
-        PageResult<Product> result = productRepository.search(criteria);
-        
-        // Cache result for common searches
-        if (isCacheable(criteria)) {
-            cacheRepository.put(cacheKey, result, CACHE_TTL_SEARCH);
-        }
-        
-        return result;
+        return searchWithFacets(criteria, false);
+    }
+    
+    /**
+     * Run a search on behalf of the startup warm-up
+     * The result is cached regardless of how often the search was seen on this node
+     */
+    public PageResult<ProductSummary> warm(SearchCriteria criteria) {
+        log.debug("Warming search cache with criteria: {}", criteria);
+        return searchWithFacets(criteria, true);
     }
     
     /**
      * Autocomplete search for fast suggestions
      */
-    public List<Product> autocomplete(String query, int limit) {
+    public List<ProductSummary> autocomplete(String query, int limit) {
         log.debug("Autocomplete search: {}", query);
         
         if (query == null || query.trim().isEmpty()) {
@@ -107,17 +165,20 @@ public class ProductSearchService {
     /**
      * Find similar products for recommendations
      */
-    public List<Product> findSimilar(String productId, int limit) {
+    public List<ProductSummary> findSimilar(String productId, int limit) {
         log.debug("Finding similar products for: {}", productId);
         return productRepository.findSimilar(productId, Math.min(limit, 20));
     }
     
     /**
      * Get products by multiple IDs (bulk operation)
+     * Cached products are read in one round trip; only the missing IDs are
+     * loaded from the database and backfilled. The caller's ID order is kept.
      */
     public List<Product> findByIds(List<String> ids) {
         log.debug("Finding products by ids: {}", ids.size());
-        return productRepository.findByIds(ids);
+        return findCachedByIds(ids, CACHE_PREFIX_PRODUCT, Product.class,
+                productRepository::findByIds, Product::getId);
     }
     
     /**
@@ -126,12 +187,19 @@ public class ProductSearchService {
     public Product save(Product product) {
         log.debug("Saving product: {}", product.getSku());
         
+        // Previous version decides which search scopes the product is leaving
+        Product previous = product.getId() != null
+                ? productRepository.findById(product.getId()).orElse(null)
+                : null;
+        
         Product saved = productRepository.save(product);
         
         // Invalidate cache
         if (saved.getId() != null) {
-            cacheRepository.evict(CACHE_PREFIX_PRODUCT + saved.getId());
+            evictProduct(saved.getId());
         }
+        cacheGenerations.productChanged(previous, saved);
+        productsWritten(Collections.singletonList(saved.getId()), Collections.singletonList(saved.getSku()));
         
         return saved;
     }
@@ -141,34 +209,321 @@ public class ProductSearchService {
      */
     public void deleteById(String id) {
         log.debug("Deleting product: {}", id);
+        Product previous = productRepository.findById(id).orElse(null);
         productRepository.deleteById(id);
-        cacheRepository.evict(CACHE_PREFIX_PRODUCT + id);
+        evictProduct(id);
+        cacheGenerations.productChanged(previous, null);
+    }
+    
+    /**
+     * Bring the caches up to date after a batch write (bulk import)
+     * Previous versions are evicted in one call, each affected search scope is
+     * bumped once for the whole batch, and new IDs and SKUs become known
+     */
+    public void batchWritten(List<Product> previous, List<Product> written, List<String> insertedIds) {
+        List<String> keys = new ArrayList<>(previous.size() * 2);
+        for (Product product : previous) {
+            keys.add(CACHE_PREFIX_PRODUCT + product.getId());
+            keys.add(CACHE_PREFIX_SUMMARY + product.getId());
+        }
+        cacheRepository.evictAll(keys);
+        cacheGenerations.productsChanged(previous, written);
+        productsWritten(insertedIds, written.stream().map(Product::getSku).toList());
+    }
+    
+    /**
+     * Invalidate every cached search, leaving product entries in place
+     */
+    public void invalidateSearchCache() {
+        log.info("Invalidating all cached searches");
+        cacheGenerations.invalidateAll();
     }
     
     // ========== Private Helper Methods ==========
     
     /**
-     * Determine if search criteria should be cached
-     * Cache only simple, common searches to avoid cache pollution
+     * Page and, when the criteria ask for them, facet counts
+     * With fan-out the facets are computed while the page is being searched
      */
-    private boolean isCacheable(SearchCriteria criteria) {
-        // Cache only if:
-        // - Simple text search OR category/brand filter
-        // - First few pages (0-2)
-        // - Standard page size
-        return criteria.getPage() <= 2 && 
-               criteria.getSize() <= 50 &&
-               (criteria.getQuery() != null || 
-                criteria.getCategory() != null || 
-                criteria.getBrand() != null);
+    private PageResult<ProductSummary> searchWithFacets(SearchCriteria criteria, boolean forceAdmission) {
+        // Apply defaults
+        criteria.applyDefaults();
+        
+        if (!Boolean.TRUE.equals(criteria.getIncludeFacets())) {
+            return executeSearch(criteria, forceAdmission);
+        }
+        
+        CompletableFuture<SearchFacets> facets = searchExecutor.fanOut()
+                ? searchExecutor.fork("facets", () -> facetsFor(criteria))
+                : null;
+        PageResult<ProductSummary> page = executeSearch(criteria, forceAdmission);
+        return page.withFacets(facets != null
+                ? searchExecutor.join(facets)
+                : searchExecutor.time("facets", () -> facetsFor(criteria)));
     }
     
     /**
-     * Generate consistent cache key from search criteria
+     * Search through the cache; only admitted searches are written to it
      */
-    private String generateSearchCacheKey(SearchCriteria criteria) {
-        return CACHE_PREFIX_SEARCH + 
-               criteria.hashCode();
+    private PageResult<ProductSummary> executeSearch(SearchCriteria criteria, boolean forceAdmission) {
+        // Normalize equivalent criteria to one canonical form (this is what gets executed)
+        SearchCriteria canonical = SearchFingerprint.canonicalize(criteria);
+        
+        // Uncommon searches still read the cache (another node may have admitted them),
+        // but their results are not cached
+        boolean admitted = searchAdmissionPolicy.admit(canonical) || forceAdmission;
+        
+        // Generate collision-safe cache key from the canonical criteria and the current
+        // generations of the scopes it reads (writes to those scopes change the key)
+        SearchFingerprint fingerprint = searchExecutor.time("generations", () -> SearchFingerprint.of(
+                CACHE_PREFIX_SEARCH, canonical, cacheGenerations.token(canonical)));
+        
+        // Try cache first; only admitted searches count towards a background refresh
+        boolean hot = admitted && searchRefresher.recordAccess(fingerprint.getKey());
+        
+        // Hedge a slow cache probe: only when the cache has not answered within the
+        // speculative delay is the database search started alongside it
+        CompletableFuture<PageResult<ProductSummary>> speculative = null;
+        Optional<SearchCacheEntry> cachedEntry;
+        if (searchExecutor.speculative()) {
+            CompletableFuture<Optional<SearchCacheEntry>> probe =
+                    searchExecutor.fork("cache_probe", () -> readCachedEntry(fingerprint));
+            if (!searchExecutor.awaitSpeculativeDelay(probe)) {
+                speculative = searchExecutor.fork("db_search", () -> productRepository.search(canonical));
+            }
+            try {
+                cachedEntry = searchExecutor.join(probe);
+            } catch (RuntimeException e) {
+                searchExecutor.discard(speculative);
+                throw e;
+            }
+        } else {
+            cachedEntry = searchExecutor.time("cache_probe", () -> readCachedEntry(fingerprint));
+        }
+        
+        if (cachedEntry.isPresent()) {
+            SearchCacheEntry entry = cachedEntry.get();
+            if (!entry.isSoftExpired(System.currentTimeMillis())) {
+                log.debug("Search result found in cache");
+                searchExecutor.discard(speculative);
+                return hydrate(entry);
+            }
+            if (hot) {
+                // Serve the stale entry now, refresh it once in the background
+                log.debug("Serving stale search result, refreshing: {}", fingerprint.getKey());
+                searchExecutor.discard(speculative);
+                searchRefresher.refreshAsync(fingerprint.getKey(), () -> loadAndCache(canonical, fingerprint));
+                return hydrate(entry);
+            }
+            // Cold keys are not worth a background refresh: reload inline
+        }
+        
+        if (!admitted) {
+            return speculative != null
+                    ? searchExecutor.join(speculative)
+                    : searchExecutor.time("db_search", () -> productRepository.search(canonical));
+        }
+        if (speculative != null) {
+            return joinSpeculative(speculative, fingerprint);
+        }
+        return searchExecutor.time("db_search", () -> loadOnce(canonical, fingerprint));
+    }
+    
+    /**
+     * Cache the result of a speculative search, once for all concurrent misses
+     * Only the caller that leads the load uses (and caches) its own speculation;
+     * the others are interrupted once the shared result is in
+     */
+    private PageResult<ProductSummary> joinSpeculative(CompletableFuture<PageResult<ProductSummary>> speculative,
+                                                       SearchFingerprint fingerprint) {
+        try {
+            return singleFlight.execute(fingerprint.getKey(), () -> {
+                PageResult<ProductSummary> result = searchExecutor.join(speculative);
+                cacheSearchResult(fingerprint, result);
+                return result;
+            });
+        } finally {
+            searchExecutor.discard(speculative);
+        }
+    }
+    
+    /**
+     * Execute search once for all concurrent misses and cache the result
+     */
+    private PageResult<ProductSummary> loadOnce(SearchCriteria canonical, SearchFingerprint fingerprint) {
+        return singleFlight.execute(fingerprint.getKey(), () -> loadAndCache(canonical, fingerprint));
+    }
+    
+    /**
+     * Facet counts for the filters of the criteria
+     * Facets are cached apart from the page, keyed by the filters only, so all
+     * pages and sort orders of a filter share one entry (with a longer TTL)
+     */
+    private SearchFacets facetsFor(SearchCriteria criteria) {
+        SearchCriteria scope = SearchFingerprint.facetScope(SearchFingerprint.canonicalize(criteria));
+        SearchFingerprint fingerprint = SearchFingerprint.of(
+                CACHE_PREFIX_FACETS, scope, cacheGenerations.token(scope));
+        
+        Optional<SearchFacets> cached = cacheRepository.get(fingerprint.getKey(), SearchFacets.class);
+        if (cached.isPresent()) {
+            log.debug("Facets found in cache");
+            return cached.get();
+        }
+        
+        return singleFlight.execute(fingerprint.getKey(), () -> {
+            SearchFacets computed = productRepository.facets(scope);
+            cacheRepository.put(fingerprint.getKey(), computed, searchCacheProperties.getFacetTtlSeconds());
+            return computed;
+        });
+    }
+    
+    /**
+     * Read a cached search entry, ignoring entries stored for other criteria
+     */
+    private Optional<SearchCacheEntry> readCachedEntry(SearchFingerprint fingerprint) {
+        Optional<SearchCacheEntry> cachedEntry = cacheRepository.get(fingerprint.getKey(), SearchCacheEntry.class);
+        if (cachedEntry.isPresent() && !cachedEntry.get().matches(fingerprint)) {
+            log.warn("Search cache entry does not match its key, ignoring: {}", fingerprint.getKey());
+            return Optional.empty();
+        }
+        return cachedEntry;
+    }
+    
+    /**
+     * Resolve the page of a cached entry, hydrating ID-only entries from the summary cache
+     */
+    private PageResult<ProductSummary> hydrate(SearchCacheEntry entry) {
+        if (!entry.holdsIdsOnly()) {
+            return entry.getPage();
+        }
+        
+        // Current product versions, one batched read (deleted products drop out)
+        return entry.getPage().withContent(
+                searchExecutor.time("hydrate", () -> findSummariesByIds(entry.getProductIds())));
+    }
+    
+    /**
+     * Summaries by IDs through the summary cache (same strategy as findByIds)
+     */
+    private List<ProductSummary> findSummariesByIds(List<String> ids) {
+        return findCachedByIds(ids, CACHE_PREFIX_SUMMARY, ProductSummary.class,
+                productRepository::findSummariesByIds, ProductSummary::getId);
+    }
+    
+    /**
+     * Batched cache-aside read: one multi-get, one database query for the misses,
+     * one backfill write; results follow the caller's ID order
+     */
+    private <T> List<T> findCachedByIds(List<String> ids, String prefix, Class<T> type,
+                                        Function<List<String>, List<T>> loader, Function<T, String> idOf) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        Set<String> distinctIds = new LinkedHashSet<>(ids);
+        List<String> cacheKeys = distinctIds.stream()
+                .map(id -> prefix + id)
+                .toList();
+        
+        Map<String, T> cached = cacheRepository.getAll(cacheKeys, type);
+        Map<String, T> valuesById = new HashMap<>();
+        cached.forEach((key, value) -> valuesById.put(key.substring(prefix.length()), value));
+        
+        List<String> missingIds = new ArrayList<>();
+        for (String id : distinctIds) {
+            if (!valuesById.containsKey(id)) {
+                missingIds.add(id);
+            }
+        }
+        
+        if (!missingIds.isEmpty()) {
+            log.debug("Cached: {}, loading from database: {}", cached.size(), missingIds.size());
+            Map<String, T> backfill = new LinkedHashMap<>();
+            for (T value : loader.apply(missingIds)) {
+                valuesById.put(idOf.apply(value), value);
+                backfill.put(prefix + idOf.apply(value), value);
+            }
+            cacheRepository.putAll(backfill, CACHE_TTL_PRODUCT);
+        }
+        
+        return ids.stream()
+                .map(valuesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+    
+    /**
+     * Whether the key was recently found not to exist
+     */
+    private boolean knownMissing(String missingKey) {
+        if (missingKeyProperties.getNegativeTtlSeconds() <= 0) {
+            return false;
+        }
+        boolean missing = cacheRepository.get(missingKey, Boolean.class).isPresent();
+        if (missing) {
+            log.debug("Known missing key: {}", missingKey);
+        }
+        return missing;
+    }
+    
+    private void rememberMissing(String missingKey) {
+        if (missingKeyProperties.getNegativeTtlSeconds() > 0) {
+            cacheRepository.put(missingKey, Boolean.TRUE, missingKeyProperties.getNegativeTtlSeconds());
+        }
+    }
+    
+    /**
+     * Make written products known: add their keys to the filter (all nodes) and
+     * drop "does not exist" entries cached for them
+     */
+    private void productsWritten(List<String> ids, List<String> skus) {
+        List<String> presentIds = ids.stream().filter(Objects::nonNull).toList();
+        List<String> presentSkus = skus.stream().filter(Objects::nonNull).toList();
+        productKeyFilter.productsWritten(presentIds, presentSkus);
+        
+        if (missingKeyProperties.getNegativeTtlSeconds() > 0) {
+            List<String> missingKeys = new ArrayList<>(presentIds.size() + presentSkus.size());
+            presentIds.forEach(id -> missingKeys.add(CACHE_PREFIX_MISSING_ID + id));
+            presentSkus.forEach(sku -> missingKeys.add(CACHE_PREFIX_MISSING_SKU + sku));
+            cacheRepository.evictAll(missingKeys);
+        }
+    }
+    
+    /**
+     * Drop both cached representations of a product
+     */
+    private void evictProduct(String id) {
+        cacheRepository.evictAll(List.of(CACHE_PREFIX_PRODUCT + id, CACHE_PREFIX_SUMMARY + id));
+    }
+    
+    /**
+     * Run the search against the database and cache the result
+     */
+    private PageResult<ProductSummary> loadAndCache(SearchCriteria canonical, SearchFingerprint fingerprint) {
+        PageResult<ProductSummary> result = productRepository.search(canonical);
+        cacheSearchResult(fingerprint, result);
+        return result;
+    }
+    
+    /**
+     * Store a search result according to the configured cache mode
+     */
+    private void cacheSearchResult(SearchFingerprint fingerprint, PageResult<ProductSummary> result) {
+        long ttl = searchCacheProperties.getTtlSeconds();
+        long now = System.currentTimeMillis();
+        long softTtl = searchRefresher.softTtlSeconds();
+        
+        if (searchCacheProperties.getMode() == SearchCacheProperties.Mode.IDS) {
+            // Seed the summary cache so hydration hits; a search TTL bounds any race with writes
+            Map<String, ProductSummary> summaries = new LinkedHashMap<>();
+            result.getContent().forEach(p -> summaries.put(CACHE_PREFIX_SUMMARY + p.getId(), p));
+            cacheRepository.putAll(summaries, ttl);
+            cacheRepository.put(fingerprint.getKey(),
+                    SearchCacheEntry.ids(fingerprint, result).expiring(now, softTtl, ttl), ttl);
+        } else {
+            cacheRepository.put(fingerprint.getKey(),
+                    SearchCacheEntry.full(fingerprint, result).expiring(now, softTtl, ttl), ttl);
+        }
     }
     
     // ========== Fallback Methods ==========
@@ -186,7 +541,11 @@ public class ProductSearchService {
      * Fallback when circuit breaker is open for search
      */
     @SuppressWarnings("unused")
-    private PageResult<Product> searchFallback(SearchCriteria criteria, Exception e) {
+    private PageResult<ProductSummary> searchFallback(SearchCriteria criteria, Exception e) {
+        if (e instanceof InvalidCursorException invalidCursor) {
+            // Client error, not an outage: surface it instead of an empty page
+            throw invalidCursor;
+        }
         log.error("Circuit breaker activated for search", e);
         return PageResult.empty(criteria.getPage(), criteria.getSize());
     }
@@ -0,0 +1,343 @@
+package com.search.product.application.service;
+
+import com.search.product.application.cache.CacheGenerations;
+import com.search.product.application.cache.MissingKeyProperties;
+import com.search.product.application.cache.ProductKeyFilter;
+import com.search.product.application.cache.ReactiveSingleFlight;
+import com.search.product.application.cache.SearchAdmissionPolicy;
+import com.search.product.application.cache.SearchCacheEntry;
+import com.search.product.application.cache.SearchCacheProperties;
+import com.search.product.application.cache.SearchFingerprint;
+import com.search.product.application.cache.SearchRefresher;
+import com.search.product.domain.exception.InvalidCursorException;
+import com.search.product.domain.model.PageResult;
+import com.search.product.domain.model.Product;
+import com.search.product.domain.model.ProductSummary;
+import com.search.product.domain.model.SearchCriteria;
+import com.search.product.domain.model.SearchFacets;
+import com.search.product.domain.port.outbound.ReactiveCacheRepository;
+import com.search.product.domain.port.outbound.ReactiveProductRepository;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Reactive Product Search Service - Application Layer
+ * Read path of ProductSearchService on non-blocking ports (profile "reactive"):
+ * same cache keys, entries, admission, generations and refresh-ahead, so
+ * servlet and reactive nodes can share one Redis. Writes stay on ProductSearchService.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveProductSearchService {
+
+    private final ReactiveProductRepository productRepository;
+    private final ReactiveCacheRepository cacheRepository;
+    private final ReactiveSingleFlight singleFlight;
+    private final SearchCacheProperties searchCacheProperties;
+    private final SearchRefresher searchRefresher;
+    private final SearchAdmissionPolicy searchAdmissionPolicy;
+    private final ProductKeyFilter productKeyFilter;
+    private final MissingKeyProperties missingKeyProperties;
+
+    private static final String CACHE_PREFIX_PRODUCT = "product:";
+    private static final String CACHE_PREFIX_MISSING_ID = "missing:product:";
+    private static final String CACHE_PREFIX_SUMMARY = "summary:";
+    private static final String CACHE_PREFIX_SEARCH = "search:";
+    private static final String CACHE_PREFIX_FACETS = "facets:";
+    private static final long CACHE_TTL_PRODUCT = 3600; // 1 hour
+
+    /**
+     * Find product by ID with caching (empty when not found)
+     * IDs recently found missing never reach the database; IDs absent from the
+     * key filter skip the product cache but are still looked up
+     */
+    @CircuitBreaker(name = "productService", fallbackMethod = "findByIdFallback")
+    public Mono<Product> findById(String id) {
+        log.debug("Searching product by id: {}", id);
+
+        String cacheKey = CACHE_PREFIX_PRODUCT + id;
+        String missingKey = CACHE_PREFIX_MISSING_ID + id;
+        Mono<Product> cached = productKeyFilter.mightContainId(id)
+                ? cacheRepository.get(cacheKey, Product.class)
+                : Mono.empty();
+        return cached
+                .switchIfEmpty(Mono.defer(() -> knownMissing(missingKey)
+                        .flatMap(missing -> missing ? Mono.<Product>empty()
+                                : singleFlight.execute(cacheKey, () -> loadProduct(id, cacheKey, missingKey)))))
+                .doOnNext(product -> productKeyFilter.idFound(id));
+    }
+
+    /**
+     * Search products with criteria - Main search method
+     */
+    @CircuitBreaker(name = "productService", fallbackMethod = "searchFallback")
+    public Mono<PageResult<ProductSummary>> search(SearchCriteria criteria) {
+        log.debug("Searching products with criteria: {}", criteria);
+        return Mono.defer(() -> executeSearch(criteria))
+                .flatMap(page -> withRequestedFacets(criteria, page));
+    }
+
+    /**
+     * Autocomplete search for fast suggestions
+     */
+    public Mono<List<ProductSummary>> autocomplete(String query, int limit) {
+        log.debug("Autocomplete search: {}", query);
+
+        if (query == null || query.trim().isEmpty()) {
+            return Mono.just(List.of());
+        }
+
+        return productRepository.autocomplete(query.trim(), Math.min(limit, 10));
+    }
+
+    /**
+     * Find similar products for recommendations
+     */
+    public Mono<List<ProductSummary>> findSimilar(String productId, int limit) {
+        log.debug("Finding similar products for: {}", productId);
+        return productRepository.findSimilar(productId, Math.min(limit, 20));
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Search through the cache; only admitted searches are written to it
+     */
+    private Mono<PageResult<ProductSummary>> executeSearch(SearchCriteria criteria) {
+        // Apply defaults
+        criteria.applyDefaults();
+
+        // Normalize equivalent criteria to one canonical form (this is what gets executed)
+        SearchCriteria canonical = SearchFingerprint.canonicalize(criteria);
+
+        // Uncommon searches still read the cache (another node may have admitted them),
+        // but their results are not cached
+        boolean admitted = searchAdmissionPolicy.admit(canonical);
+
+        return fingerprint(CACHE_PREFIX_SEARCH, canonical).flatMap(fingerprint -> {
+            boolean hot = admitted && searchRefresher.recordAccess(fingerprint.getKey());
+            return readCachedEntry(fingerprint)
+                    .flatMap(entry -> {
+                        if (!entry.isSoftExpired(System.currentTimeMillis())) {
+                            log.debug("Search result found in cache");
+                            return hydrate(entry);
+                        }
+                        if (hot) {
+                            // Serve the stale entry now, refresh it once in the background
+                            // (the refresher runs on its own threads, blocking there is fine)
+                            log.debug("Serving stale search result, refreshing: {}", fingerprint.getKey());
+                            searchRefresher.refreshAsync(fingerprint.getKey(),
+                                    () -> loadAndCache(canonical, fingerprint).block());
+                            return hydrate(entry);
+                        }
+                        // Cold keys are not worth a background refresh: reload inline
+                        return Mono.empty();
+                    })
+                    // Execute search once for all concurrent misses and cache the result
+                    .switchIfEmpty(Mono.defer(() -> admitted
+                            ? singleFlight.execute(fingerprint.getKey(), () -> loadAndCache(canonical, fingerprint))
+                            : productRepository.search(canonical)));
+        });
+    }
+
+    /**
+     * Attach facet counts when the criteria ask for them
+     * Cached apart from the page, keyed by the filters only (see ProductSearchService)
+     */
+    private Mono<PageResult<ProductSummary>> withRequestedFacets(SearchCriteria criteria,
+                                                                 PageResult<ProductSummary> page) {
+        if (!Boolean.TRUE.equals(criteria.getIncludeFacets())) {
+            return Mono.just(page);
+        }
+
+        SearchCriteria scope = SearchFingerprint.facetScope(SearchFingerprint.canonicalize(criteria));
+        return fingerprint(CACHE_PREFIX_FACETS, scope).flatMap(fingerprint -> cacheRepository
+                        .get(fingerprint.getKey(), SearchFacets.class)
+                        .switchIfEmpty(Mono.defer(() -> singleFlight.execute(fingerprint.getKey(),
+                                () -> productRepository.facets(scope)
+                                        .flatMap(computed -> cacheRepository
+                                                .put(fingerprint.getKey(), computed,
+                                                        searchCacheProperties.getFacetTtlSeconds())
+                                                .thenReturn(computed))))))
+                .map(page::withFacets);
+    }
+
+    /**
+     * Cache key of the criteria under the current generations of the scopes it reads
+     */
+    private Mono<SearchFingerprint> fingerprint(String prefix, SearchCriteria canonical) {
+        List<String> scopeKeys = CacheGenerations.scopeKeys(canonical);
+        return cacheRepository.getCounters(scopeKeys)
+                .map(counters -> SearchFingerprint.of(prefix, canonical,
+                        CacheGenerations.token(scopeKeys, counters)));
+    }
+
+    /**
+     * Read a cached search entry, ignoring entries stored for other criteria
+     */
+    private Mono<SearchCacheEntry> readCachedEntry(SearchFingerprint fingerprint) {
+        return cacheRepository.get(fingerprint.getKey(), SearchCacheEntry.class)
+                .filter(entry -> {
+                    if (!entry.matches(fingerprint)) {
+                        log.warn("Search cache entry does not match its key, ignoring: {}", fingerprint.getKey());
+                        return false;
+                    }
+                    return true;
+                });
+    }
+
+    /**
+     * Resolve the page of a cached entry, hydrating ID-only entries from the summary cache
+     */
+    private Mono<PageResult<ProductSummary>> hydrate(SearchCacheEntry entry) {
+        if (!entry.holdsIdsOnly()) {
+            return Mono.just(entry.getPage());
+        }
+
+        // Current product versions, one batched read (deleted products drop out)
+        return findSummariesByIds(entry.getProductIds())
+                .map(summaries -> entry.getPage().withContent(summaries));
+    }
+
+    /**
+     * Summaries by IDs through the summary cache: one multi-get, one database
+     * query for the misses, one backfill; results follow the caller's ID order
+     */
+    private Mono<List<ProductSummary>> findSummariesByIds(List<String> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(List.of());
+        }
+
+        Set<String> distinctIds = new LinkedHashSet<>(ids);
+        List<String> cacheKeys = distinctIds.stream()
+                .map(id -> CACHE_PREFIX_SUMMARY + id)
+                .toList();
+
+        return cacheRepository.getAll(cacheKeys, ProductSummary.class).flatMap(cached -> {
+            Map<String, ProductSummary> valuesById = new HashMap<>();
+            cached.forEach((key, value) -> valuesById.put(key.substring(CACHE_PREFIX_SUMMARY.length()), value));
+
+            List<String> missingIds = new ArrayList<>();
+            for (String id : distinctIds) {
+                if (!valuesById.containsKey(id)) {
+                    missingIds.add(id);
+                }
+            }
+
+            if (missingIds.isEmpty()) {
+                return Mono.just(inOrder(ids, valuesById));
+            }
+
+            log.debug("Cached: {}, loading from database: {}", cached.size(), missingIds.size());
+            return productRepository.findSummariesByIds(missingIds).flatMap(loaded -> {
+                Map<String, ProductSummary> backfill = new LinkedHashMap<>();
+                for (ProductSummary summary : loaded) {
+                    valuesById.put(summary.getId(), summary);
+                    backfill.put(CACHE_PREFIX_SUMMARY + summary.getId(), summary);
+                }
+                return cacheRepository.putAll(backfill, CACHE_TTL_PRODUCT)
+                        .then(Mono.fromSupplier(() -> inOrder(ids, valuesById)));
+            });
+        });
+    }
+
+    private static List<ProductSummary> inOrder(List<String> ids, Map<String, ProductSummary> valuesById) {
+        return ids.stream()
+                .map(valuesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Load a product from the database and cache it, or remember for a short while that there is none
+     */
+    private Mono<Product> loadProduct(String id, String cacheKey, String missingKey) {
+        return productRepository.findById(id)
+                .flatMap(product -> cacheRepository.put(cacheKey, product, CACHE_TTL_PRODUCT).thenReturn(product))
+                .switchIfEmpty(Mono.defer(() -> {
+                    productKeyFilter.idNotFound(id);
+                    return rememberMissing(missingKey).then(Mono.empty());
+                }));
+    }
+
+    private Mono<Boolean> knownMissing(String missingKey) {
+        if (missingKeyProperties.getNegativeTtlSeconds() <= 0) {
+            return Mono.just(false);
+        }
+        return cacheRepository.get(missingKey, Boolean.class).hasElement();
+    }
+
+    private Mono<Void> rememberMissing(String missingKey) {
+        if (missingKeyProperties.getNegativeTtlSeconds() <= 0) {
+            return Mono.empty();
+        }
+        return cacheRepository.put(missingKey, Boolean.TRUE, missingKeyProperties.getNegativeTtlSeconds());
+    }
+
+    /**
+     * Run the search against the database and cache the result
+     */
+    private Mono<PageResult<ProductSummary>> loadAndCache(SearchCriteria canonical, SearchFingerprint fingerprint) {
+        return productRepository.search(canonical)
+                .flatMap(result -> cacheSearchResult(fingerprint, result).thenReturn(result));
+    }
+
+    /**
+     * Store a search result according to the configured cache mode
+     */
+    private Mono<Void> cacheSearchResult(SearchFingerprint fingerprint, PageResult<ProductSummary> result) {
+        long ttl = searchCacheProperties.getTtlSeconds();
+        long now = System.currentTimeMillis();
+        long softTtl = searchRefresher.softTtlSeconds();
+
+        if (searchCacheProperties.getMode() == SearchCacheProperties.Mode.IDS) {
+            // Seed the summary cache so hydration hits; a search TTL bounds any race with writes
+            Map<String, ProductSummary> summaries = new LinkedHashMap<>();
+            result.getContent().forEach(p -> summaries.put(CACHE_PREFIX_SUMMARY + p.getId(), p));
+            return cacheRepository.putAll(summaries, ttl)
+                    .then(cacheRepository.put(fingerprint.getKey(),
+                            SearchCacheEntry.ids(fingerprint, result).expiring(now, softTtl, ttl), ttl));
+        }
+        return cacheRepository.put(fingerprint.getKey(),
+                SearchCacheEntry.full(fingerprint, result).expiring(now, softTtl, ttl), ttl);
+    }
+
+    // ========== Fallback Methods ==========
+
+    /**
+     * Fallback when circuit breaker is open for findById
+     */
+    @SuppressWarnings("unused")
+    private Mono<Product> findByIdFallback(String id, Exception e) {
+        log.error("Circuit breaker activated for findById: {}", id, e);
+        return Mono.empty();
+    }
+
+    /**
+     * Fallback when circuit breaker is open for search
+     */
+    @SuppressWarnings("unused")
+    private Mono<PageResult<ProductSummary>> searchFallback(SearchCriteria criteria, Exception e) {
+        if (e instanceof InvalidCursorException) {
+            // Client error, not an outage: surface it instead of an empty page
+            return Mono.error(e);
+        }
+        log.error("Circuit breaker activated for search", e);
+        return Mono.just(PageResult.empty(criteria.getPage(), criteria.getSize()));
+    }
+}
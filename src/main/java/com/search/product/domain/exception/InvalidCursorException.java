@@ -0,0 +1,16 @@
+package com.search.product.domain.exception;
+
+/**
+ * Raised when a pagination cursor is malformed, tampered with, or does not
+ * belong to the search it is used with
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,41 @@
+package com.search.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bulk Write Outcome Value Object
+ * Result of one unordered bulk write: records are applied independently,
+ * so some may fail while the rest of the batch is written.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkWriteOutcome {
+
+    private int inserted;
+    private int updated;
+
+    // Ids assigned to the inserted products
+    private List<String> insertedIds;
+
+    // Records of the batch that were not written
+    private List<Failure> failures;
+
+    /**
+     * Record of the batch (by position) that was not written, and why
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Failure {
+        private int index;
+        private String message;
+    }
+}
@@ -0,0 +1,53 @@
+package com.search.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Import Report Value Object
+ * Outcome of a catalog import: record counts, throughput and the records
+ * that were rejected (malformed, invalid or not written), by input line.
+ * Only the first errors are listed; errorsTruncated is set beyond that.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReport {
+
+    // Non-blank input lines
+    private long received;
+    private long inserted;
+    private long updated;
+
+    // Records replaced by a later record with the same SKU in the same batch
+    private long superseded;
+    private long failed;
+    private long batches;
+
+    private long durationMillis;
+    private double recordsPerSecond;
+
+    // Set when the input could not be read to the end
+    private Boolean aborted;
+
+    private List<RecordError> errors;
+    private Boolean errorsTruncated;
+
+    /**
+     * Rejected input record
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecordError {
+        private long line;
+        private String sku;
+        private String message;
+    }
+}
@@ -19,6 +19,8 @@ public class PageResult<T> {
     
     private List<T> content;
     private Long totalElements;
+    // False when totalElements is a capped lower bound (null total: not counted)
+    private Boolean totalExact;
     private Integer totalPages;
     private Integer currentPage;
     private Integer pageSize;
@@ -29,10 +31,42 @@ public class PageResult<T> {
     private String nextCursor;
     private String previousCursor;
     
+    // Facet counts for the filters, when requested
+    private SearchFacets facets;
+    
+    /**
+     * Same page metadata with different content
+     */
+    public <U> PageResult<U> withContent(List<U> newContent) {
+        return PageResult.<U>builder()
+                .content(newContent)
+                .totalElements(totalElements)
+                .totalExact(totalExact)
+                .totalPages(totalPages)
+                .currentPage(currentPage)
+                .pageSize(pageSize)
+                .hasNext(hasNext)
+                .hasPrevious(hasPrevious)
+                .nextCursor(nextCursor)
+                .previousCursor(previousCursor)
+                .facets(facets)
+                .build();
+    }
+    
+    /**
+     * Copy of this page carrying the given facets
+     */
+    public PageResult<T> withFacets(SearchFacets newFacets) {
+        PageResult<T> copy = withContent(content);
+        copy.setFacets(newFacets);
+        return copy;
+    }
+    
     public static <T> PageResult<T> empty(Integer page, Integer size) {
         return PageResult.<T>builder()
                 .content(List.of())
                 .totalElements(0L)
+                .totalExact(true)
                 .totalPages(0)
                 .currentPage(page)
                 .pageSize(size)
@@ -0,0 +1,36 @@
+package com.search.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Product Summary - lightweight read model for list-style results
+ * Carries what a result row shows (no description, tags, attributes or
+ * extra images), so searches load and cache a fraction of each document.
+ * The full Product is only loaded for the product detail.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSummary {
+
+    private String id;
+    private String name;
+    private String sku;
+    private String brand;
+    private String category;
+    private BigDecimal price;
+    private String currency;
+    private Integer stock;
+    private Boolean active;
+    private Double rating;
+    private Integer reviewCount;
+    private String thumbnailUrl;
+    private LocalDateTime createdAt;
+}
@@ -42,10 +42,25 @@ public class SearchCriteria {
     // For cursor-based pagination (more efficient for large datasets)
     private String cursor;
     
+    // How the total is computed (counting is often costlier than fetching the page)
+    private CountMode countMode;
+    
+    // Return facet counts with the page (computed and cached separately)
+    private Boolean includeFacets;
+    
     public enum SortDirection {
         ASC, DESC
     }
     
+    public enum CountMode {
+        /** Exact total, computed in the same round trip as the page */
+        EXACT,
+        /** Total counted up to a configured cap; beyond it the total is a lower bound */
+        CAPPED,
+        /** No total; hasNext is derived from fetching one extra document */
+        NONE
+    }
+    
     /**
      * Apply default values
      */
@@ -62,5 +77,8 @@ public class SearchCriteria {
         if (activeOnly == null) {
             activeOnly = true;
         }
+        if (countMode == null) {
+            countMode = CountMode.EXACT;
+        }
     }
 }
@@ -0,0 +1,58 @@
+package com.search.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Search Facets Value Object
+ * Filter-sidebar counts for the documents matching a search's filters:
+ * top values per field and counts per price/rating range.
+ * Computed over at most a bounded number of documents; complete is false
+ * when that bound was hit and the counts describe a prefix of the matches.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchFacets {
+
+    private List<Bucket> brands;
+    private List<Bucket> categories;
+    private List<Bucket> tags;
+    private List<Range> priceRanges;
+    private List<Range> ratingRanges;
+
+    // Documents the counts were computed over
+    private Long scanned;
+    private Boolean complete;
+
+    /**
+     * Number of matching documents with a given value
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private String value;
+        private long count;
+    }
+
+    /**
+     * Number of matching documents in [from, to); to is null for the open last range
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Range {
+        private BigDecimal from;
+        private BigDecimal to;
+        private long count;
+    }
+}
@@ -1,5 +1,7 @@
 package com.search.product.domain.port.outbound;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -13,6 +15,12 @@ public interface CacheRepository {
      */
     <T> Optional<T> get(String key, Class<T> type);
     
+    /**
+     * Get multiple values from cache in one round trip
+     * Keys that are missing (or unreadable) are absent from the result
+     */
+    <T> Map<String, T> getAll(Collection<String> keys, Class<T> type);
+    
     /**
      * Put value in cache
      */
@@ -23,11 +31,32 @@ public interface CacheRepository {
      */
     <T> void put(String key, T value, long ttlSeconds);
     
+    /**
+     * Put multiple values in cache with TTL (seconds) in one round trip
+     */
+    <T> void putAll(Map<String, T> entries, long ttlSeconds);
+    
     /**
      * Remove value from cache
      */
     void evict(String key);
     
+    /**
+     * Remove multiple values from cache
+     */
+    void evictAll(Collection<String> keys);
+    
+    /**
+     * Atomically increment a counter, returning the new value
+     */
+    long increment(String key);
+    
+    /**
+     * Read counters in one round trip (missing counters are absent)
+     * Counters are always read from the shared store, never from a local copy
+     */
+    Map<String, Long> getCounters(Collection<String> keys);
+    
     /**
      * Clear all cache
      */
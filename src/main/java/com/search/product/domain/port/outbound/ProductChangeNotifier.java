@@ -0,0 +1,32 @@
+package com.search.product.domain.port.outbound;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Port (Interface) for spreading product changes across nodes
+ * Delivery is best effort (at most once); receivers must tolerate lost messages
+ */
+public interface ProductChangeNotifier {
+
+    /**
+     * Announce keys of products created or updated on this node
+     */
+    void keysAdded(Collection<String> keys);
+
+    /**
+     * Receive the keys announced by every node, this one included
+     */
+    void subscribe(Consumer<List<String>> listener);
+
+    /**
+     * Announce IDs of products created, updated or deleted on this node
+     */
+    void productsChanged(Collection<String> ids);
+
+    /**
+     * Receive the IDs announced by the other nodes (never this node's own)
+     */
+    void subscribeToChanges(Consumer<List<String>> listener);
+}
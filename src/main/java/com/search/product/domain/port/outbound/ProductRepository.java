@@ -1,11 +1,16 @@
 package com.search.product.domain.port.outbound;
 
+import com.search.product.domain.model.BulkWriteOutcome;
 import com.search.product.domain.model.PageResult;
 import com.search.product.domain.model.Product;
+import com.search.product.domain.model.ProductSummary;
 import com.search.product.domain.model.SearchCriteria;
+import com.search.product.domain.model.SearchFacets;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Port (Interface) for Product Repository
@@ -27,23 +32,54 @@ public interface ProductRepository {
     /**
      * Search products with criteria and pagination
      * This is the main search method optimized for performance
+     * Only the summary fields are loaded
      */
-    PageResult<Product> search(SearchCriteria criteria);
+    PageResult<ProductSummary> search(SearchCriteria criteria);
+    
+    /**
+     * Facet counts for the filters of the criteria (paging and sorting are ignored)
+     */
+    SearchFacets facets(SearchCriteria criteria);
+    
+    /**
+     * Summaries of every product matching the filters of the criteria, in id order,
+     * after the product with id resumeAfter (null: from the start); paging and sort
+     * are ignored. Read lazily, batchSize documents at a time; the stream holds a
+     * database cursor and must be closed.
+     */
+    Stream<ProductSummary> streamSummaries(SearchCriteria criteria, String resumeAfter, int batchSize);
+    
+    /**
+     * ID and SKU of every product, read lazily batchSize at a time
+     * The stream holds a database cursor and must be closed
+     */
+    Stream<Product> streamIdentities(int batchSize);
+    
+    /**
+     * Every product with all its fields, read lazily batchSize at a time
+     * The stream holds a database cursor and must be closed
+     */
+    Stream<Product> streamProducts(int batchSize);
     
     /**
      * Full-text search with autocomplete support
      */
-    List<Product> autocomplete(String query, int limit);
+    List<ProductSummary> autocomplete(String query, int limit);
     
     /**
      * Find products by IDs (bulk operation)
      */
     List<Product> findByIds(List<String> ids);
     
+    /**
+     * Find product summaries by IDs (bulk operation, summary fields only)
+     */
+    List<ProductSummary> findSummariesByIds(List<String> ids);
+    
     /**
      * Find similar products (for recommendations)
      */
-    List<Product> findSimilar(String productId, int limit);
+    List<ProductSummary> findSimilar(String productId, int limit);
     
     /**
      * Save or update product
@@ -55,6 +91,18 @@ public interface ProductRepository {
      */
     List<Product> saveAll(List<Product> products);
     
+    /**
+     * Insert or update products by SKU in one unordered bulk write
+     * Stored fields missing from a product are kept; failed records are
+     * reported in the outcome instead of failing the whole batch
+     */
+    BulkWriteOutcome upsertAllBySku(List<Product> products);
+    
+    /**
+     * Find products by SKUs, identity and scope fields only (id, sku, category, brand)
+     */
+    List<Product> findScopesBySkus(Collection<String> skus);
+    
     /**
      * Delete product by ID
      */
@@ -0,0 +1,50 @@
+package com.search.product.domain.port.outbound;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Non-blocking port for cache operations
+ * Same semantics as CacheRepository: cache failures never fail the caller,
+ * they surface as misses (or as completed writes)
+ */
+public interface ReactiveCacheRepository {
+    
+    /**
+     * Get value from cache (empty on a miss)
+     */
+    <T> Mono<T> get(String key, Class<T> type);
+    
+    /**
+     * Get multiple values from cache in one round trip
+     * Keys that are missing (or unreadable) are absent from the result
+     */
+    <T> Mono<Map<String, T>> getAll(Collection<String> keys, Class<T> type);
+    
+    /**
+     * Put value in cache with TTL (seconds)
+     */
+    <T> Mono<Void> put(String key, T value, long ttlSeconds);
+    
+    /**
+     * Put multiple values in cache with TTL (seconds)
+     */
+    <T> Mono<Void> putAll(Map<String, T> entries, long ttlSeconds);
+    
+    /**
+     * Remove multiple values from cache
+     */
+    Mono<Void> evictAll(Collection<String> keys);
+    
+    /**
+     * Atomically increment a counter, returning the new value
+     */
+    Mono<Long> increment(String key);
+    
+    /**
+     * Read counters in one round trip (missing counters are absent)
+     */
+    Mono<Map<String, Long>> getCounters(Collection<String> keys);
+}
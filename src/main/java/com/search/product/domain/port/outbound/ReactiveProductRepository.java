@@ -0,0 +1,48 @@
+package com.search.product.domain.port.outbound;
+
+import com.search.product.domain.model.PageResult;
+import com.search.product.domain.model.Product;
+import com.search.product.domain.model.ProductSummary;
+import com.search.product.domain.model.SearchCriteria;
+import com.search.product.domain.model.SearchFacets;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking port for the read path of ProductRepository
+ * Same semantics as the blocking port; used by the reactive deployment mode
+ */
+public interface ReactiveProductRepository {
+    
+    /**
+     * Find product by ID (empty when not found)
+     */
+    Mono<Product> findById(String id);
+    
+    /**
+     * Search products with criteria and pagination
+     * Only the summary fields are loaded
+     */
+    Mono<PageResult<ProductSummary>> search(SearchCriteria criteria);
+    
+    /**
+     * Facet counts for the filters of the criteria (paging and sorting are ignored)
+     */
+    Mono<SearchFacets> facets(SearchCriteria criteria);
+    
+    /**
+     * Full-text search with autocomplete support
+     */
+    Mono<List<ProductSummary>> autocomplete(String query, int limit);
+    
+    /**
+     * Find product summaries by IDs (bulk operation, summary fields only)
+     */
+    Mono<List<ProductSummary>> findSummariesByIds(List<String> ids);
+    
+    /**
+     * Find similar products (for recommendations)
+     */
+    Mono<List<ProductSummary>> findSimilar(String productId, int limit);
+}
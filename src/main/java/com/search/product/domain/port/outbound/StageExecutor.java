@@ -0,0 +1,33 @@
+package com.search.product.domain.port.outbound;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Port (Interface) for running the stages of a search
+ * Lets adapters time their stages and fork independent ones without knowing
+ * how (or on which threads) the application executes them
+ */
+public interface StageExecutor {
+
+    /**
+     * Whether independent stages run concurrently
+     */
+    boolean fanOut();
+
+    /**
+     * Run a stage on the calling thread, timing it
+     */
+    <T> T time(String stage, Supplier<T> work);
+
+    /**
+     * Start a stage concurrently (or run it now when fan-out is off)
+     * Failures surface from join, not from fork
+     */
+    <T> CompletableFuture<T> fork(String stage, Supplier<T> work);
+
+    /**
+     * Wait for a forked stage, rethrowing its failure
+     */
+    <T> T join(CompletableFuture<T> stage);
+}
@@ -7,8 +7,12 @@ import com.mongodb.client.MongoClients;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 import org.springframework.lang.NonNull;
 
 import java.util.concurrent.TimeUnit;
@@ -16,8 +20,12 @@ import java.util.concurrent.TimeUnit;
 /**
  * MongoDB Configuration
  * Optimized connection pool and timeout settings for high performance
+ * Auditing and repositories are enabled here rather than on the application
+ * class, so web slice tests (@WebMvcTest) load without MongoDB
  */
 @Configuration
+@EnableMongoAuditing
+@EnableMongoRepositories(basePackages = "com.search.product.infrastructure.persistence")
 @SuppressWarnings("null")
 public class MongoConfig extends AbstractMongoClientConfiguration {
 
@@ -37,9 +45,38 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
     @Bean
     @NonNull
     public MongoClient mongoClient() {
+        return MongoClients.create(clientSettings());
+    }
+
+    @Bean
+    @NonNull
+    public MongoTemplate mongoTemplate() {
+        return new MongoTemplate(mongoClient(), getDatabaseName());
+    }
+
+    /**
+     * Non-blocking client for the reactive request path (profile "reactive")
+     * Own connection pool with the same settings as the blocking client
+     */
+    @Bean
+    @Profile("reactive")
+    @NonNull
+    public com.mongodb.reactivestreams.client.MongoClient reactiveMongoClient() {
+        return com.mongodb.reactivestreams.client.MongoClients.create(clientSettings());
+    }
+
+    @Bean
+    @Profile("reactive")
+    @NonNull
+    public ReactiveMongoTemplate reactiveMongoTemplate(
+            com.mongodb.reactivestreams.client.MongoClient reactiveMongoClient) {
+        return new ReactiveMongoTemplate(reactiveMongoClient, getDatabaseName());
+    }
+
+    private MongoClientSettings clientSettings() {
         ConnectionString connectionString = new ConnectionString(mongoUri);
 
-        MongoClientSettings settings = MongoClientSettings.builder()
+        return MongoClientSettings.builder()
                 .applyConnectionString(connectionString)
                 .applyToConnectionPoolSettings(builder -> builder
                         .maxSize(100) // Max connections in pool
@@ -51,13 +88,5 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
                         .connectTimeout(5000, TimeUnit.MILLISECONDS)
                         .readTimeout(10000, TimeUnit.MILLISECONDS))
                 .build();
-
-        return MongoClients.create(settings);
-    }
-
-    @Bean
-    @NonNull
-    public MongoTemplate mongoTemplate() {
-        return new MongoTemplate(mongoClient(), getDatabaseName());
     }
 }
@@ -0,0 +1,21 @@
+package com.search.product.infrastructure.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Reactive deployment mode (profile "reactive")
+ * Tomcat is on the classpath for the servlet mode and would otherwise be
+ * picked for WebFlux too; the reactive mode runs on Netty's event loop
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig {
+    
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,178 @@
+package com.search.product.infrastructure.persistence.memory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable prefix trie over completion keys (name and brand terms), each
+ * node holding the best products among all keys below it
+ *
+ * Stored as flat arrays in breadth-first order: the children of a node are
+ * contiguous and sorted by character, so a lookup is one binary search per
+ * prefix character; the node's list is then read in place as a range of one
+ * shared int array, with no copy and no allocation. Products are added in
+ * descending weight order, so every node's list is already ranked.
+ */
+final class CompletionTrie {
+
+    static final CompletionTrie EMPTY = new Builder(1).build();
+
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] topOffsets;
+    private final int[] tops;
+
+    private CompletionTrie(char[] labels, int[] firstChild, int[] childCount, int[] topOffsets, int[] tops) {
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.topOffsets = topOffsets;
+        this.tops = tops;
+    }
+
+    /**
+     * Node reached by the prefix, or -1 when no key starts with it (or the prefix is empty)
+     */
+    int find(CharSequence prefix) {
+        if (prefix.isEmpty()) {
+            return -1;
+        }
+        int node = 0;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = child(node, prefix.charAt(i));
+            if (node < 0) {
+                return -1;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * First position of the ranked products of a node (read them with product)
+     */
+    int completionsStart(int node) {
+        return topOffsets[node];
+    }
+
+    /**
+     * Position after the last ranked product of a node
+     */
+    int completionsEnd(int node) {
+        return topOffsets[node + 1];
+    }
+
+    /**
+     * Product at a position of a node's range
+     */
+    int product(int position) {
+        return tops[position];
+    }
+
+    int nodeCount() {
+        return labels.length;
+    }
+
+    /**
+     * Bytes held by the arrays
+     */
+    long byteSize() {
+        return labels.length * 2L + (firstChild.length + childCount.length + topOffsets.length + tops.length) * 4L;
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private int child(int node, char label) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (labels[middle] < label) {
+                low = middle + 1;
+            } else if (labels[middle] > label) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Collects keys product by product, best product first, then flattens the trie
+     */
+    static final class Builder {
+
+        private final int perPrefix;
+        private final MutableNode root = new MutableNode('\0', 0);
+
+        Builder(int perPrefix) {
+            this.perPrefix = Math.max(1, perPrefix);
+        }
+
+        /**
+         * Add a key of a product; all keys of a product must be added before the
+         * next product, and products in descending weight order
+         */
+        void add(String key, int product) {
+            MutableNode node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), label -> new MutableNode(label, perPrefix));
+                // Keys of the same product share nodes; it is only listed once
+                if (node.topSize < perPrefix && (node.topSize == 0 || node.top[node.topSize - 1] != product)) {
+                    node.top[node.topSize++] = product;
+                }
+            }
+        }
+
+        CompletionTrie build() {
+            List<MutableNode> order = new ArrayList<>();
+            order.add(root);
+            int[] firstChild = new int[0];
+            int[] childCount = new int[0];
+            for (int i = 0; i < order.size(); i++) {
+                MutableNode node = order.get(i);
+                if (i == firstChild.length) {
+                    firstChild = Arrays.copyOf(firstChild, Math.max(16, i * 2));
+                    childCount = Arrays.copyOf(childCount, Math.max(16, i * 2));
+                }
+                firstChild[i] = order.size();
+                childCount[i] = node.children.size();
+                order.addAll(node.children.values());
+            }
+
+            int nodes = order.size();
+            char[] labels = new char[nodes];
+            int[] topOffsets = new int[nodes + 1];
+            int total = 0;
+            for (int i = 0; i < nodes; i++) {
+                labels[i] = order.get(i).label;
+                topOffsets[i] = total;
+                total += order.get(i).topSize;
+            }
+            topOffsets[nodes] = total;
+            int[] tops = new int[total];
+            for (int i = 0; i < nodes; i++) {
+                System.arraycopy(order.get(i).top, 0, tops, topOffsets[i], order.get(i).topSize);
+            }
+            return new CompletionTrie(labels, Arrays.copyOf(firstChild, nodes), Arrays.copyOf(childCount, nodes),
+                    topOffsets, tops);
+        }
+    }
+
+    private static final class MutableNode {
+
+        private final char label;
+        private final Map<Character, MutableNode> children = new TreeMap<>();
+        private final int[] top;
+        private int topSize;
+
+        private MutableNode(char label, int perPrefix) {
+            this.label = label;
+            this.top = new int[perPrefix];
+        }
+    }
+}
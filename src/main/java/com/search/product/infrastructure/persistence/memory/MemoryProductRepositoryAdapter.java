@@ -0,0 +1,392 @@
+package com.search.product.infrastructure.persistence.memory;
+
+import com.search.product.domain.model.BulkWriteOutcome;
+import com.search.product.domain.model.PageResult;
+import com.search.product.domain.model.Product;
+import com.search.product.domain.model.ProductSummary;
+import com.search.product.domain.model.SearchCriteria;
+import com.search.product.domain.model.SearchFacets;
+import com.search.product.domain.port.outbound.ProductChangeNotifier;
+import com.search.product.domain.port.outbound.ProductRepository;
+import com.search.product.infrastructure.persistence.mongodb.MongoProductRepositoryAdapter;
+import com.search.product.infrastructure.persistence.mongodb.entity.ProductDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.index.TextIndexed;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-process search engine implementation of ProductRepository (search.engine=memory)
+ *
+ * Searches, counts and autocomplete are answered by a ProductSearchIndex held in
+ * memory; MongoDB stays the system of record for lookups, facets, exports and
+ * every write. The index is loaded from MongoDB once the application is up and
+ * rebuilt periodically; writes made through this node are applied to it right
+ * after they reach MongoDB and announced to the other nodes, which reload the
+ * changed products. Until the first load completes, and for keyset cursors,
+ * searches go to MongoDB. Autocomplete completes word prefixes from the
+ * index's completion trie, rebuilt in the background once enough products
+ * changed since its last build.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "search.engine", havingValue = "memory")
+public class MemoryProductRepositoryAdapter implements ProductRepository {
+
+    private final MongoProductRepositoryAdapter store;
+    private final ProductChangeNotifier changeNotifier;
+    private final MemorySearchProperties properties;
+    private final ScheduledExecutorService rebuilds;
+    private final double nameWeight;
+    private final double descriptionWeight;
+
+    // Null until the first load; changes made while a rebuild runs are replayed on the new index
+    private final Object changeLock = new Object();
+    private volatile ProductSearchIndex index;
+    private List<Consumer<ProductSearchIndex>> pendingChanges;
+    private final AtomicBoolean completionRebuildQueued = new AtomicBoolean();
+
+    private final Counter memorySearches;
+    private final Counter databaseSearches;
+
+    public MemoryProductRepositoryAdapter(MongoProductRepositoryAdapter store,
+                                          ProductChangeNotifier changeNotifier,
+                                          MemorySearchProperties properties,
+                                          MeterRegistry meterRegistry) {
+        this.store = store;
+        this.changeNotifier = changeNotifier;
+        this.properties = properties;
+        this.rebuilds = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "memory-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Same relative weights as the MongoDB text index
+        this.nameWeight = textWeight("name");
+        this.descriptionWeight = textWeight("description");
+
+        this.memorySearches = Counter.builder("search.memory.searches")
+                .tag("served", "memory")
+                .description("Searches answered by the in-process index")
+                .register(meterRegistry);
+        this.databaseSearches = Counter.builder("search.memory.searches")
+                .tag("served", "database")
+                .description("Searches sent to MongoDB (index not loaded yet, or keyset cursor)")
+                .register(meterRegistry);
+        Gauge.builder("search.memory.products", this, a -> a.index != null ? a.index.size() : 0)
+                .description("Products in the in-process search index")
+                .register(meterRegistry);
+        Gauge.builder("search.memory.terms", this, a -> a.index != null ? a.index.termCount() : 0)
+                .description("Distinct terms in the in-process search index")
+                .register(meterRegistry);
+        Gauge.builder("search.memory.postings.bytes", this, a -> a.index != null ? a.index.postingBytes() : 0)
+                .description("Bytes held by the compressed posting lists")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        for (String field : List.of("category", "brand", "tags", "flags")) {
+            Gauge.builder("search.memory.filter.bytes", this, a -> a.index != null ? a.index.filterBytes(field) : 0)
+                    .tag("field", field)
+                    .description("Bytes held by the filter bitmaps of a field")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+        Gauge.builder("search.memory.columns.bytes", this, a -> a.index != null ? a.index.columnBytes() : 0)
+                .description("Bytes held by the price and rating columns")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("search.memory.completions.bytes", this, a -> a.index != null ? a.index.completionBytes() : 0)
+                .description("Bytes held by the autocomplete trie")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        changeNotifier.subscribeToChanges(this::reload);
+    }
+
+    /**
+     * Load the index once the application is up, then rebuild it periodically
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.getRebuildIntervalMinutes() > 0) {
+            rebuilds.scheduleWithFixedDelay(this::rebuildQuietly, 0,
+                    properties.getRebuildIntervalMinutes(), TimeUnit.MINUTES);
+        } else {
+            rebuilds.execute(this::rebuildQuietly);
+        }
+    }
+
+    /**
+     * Build a fresh index from MongoDB and swap it in
+     * Changes applied while the build runs are replayed on it, so none is lost
+     */
+    public synchronized void rebuild() {
+        ProductSearchIndex next = new ProductSearchIndex(nameWeight, descriptionWeight,
+                properties.getK1(), properties.getB(), properties.getCompletionsPerPrefix());
+        synchronized (changeLock) {
+            pendingChanges = new ArrayList<>();
+        }
+        long startNanos = System.nanoTime();
+        try (Stream<Product> products = store.streamProducts(properties.getLoadBatchSize())) {
+            products.forEach(next::upsert);
+            next.rebuildCompletions();
+            synchronized (changeLock) {
+                pendingChanges.forEach(change -> change.accept(next));
+                index = next;
+            }
+        } finally {
+            synchronized (changeLock) {
+                pendingChanges = null;
+            }
+        }
+        log.info("In-memory search index built: {} products, {} terms, {} posting bytes ({} ms)",
+                next.size(), next.termCount(), next.postingBytes(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilds.shutdownNow();
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        return store.findById(id);
+    }
+
+    @Override
+    public Optional<Product> findBySku(String sku) {
+        return store.findBySku(sku);
+    }
+
+    @Override
+    public PageResult<ProductSummary> search(SearchCriteria criteria) {
+        ProductSearchIndex current = index;
+        if (current == null || criteria.getCursor() != null) {
+            databaseSearches.increment();
+            return store.search(criteria);
+        }
+        memorySearches.increment();
+        return current.search(criteria);
+    }
+
+    @Override
+    public SearchFacets facets(SearchCriteria criteria) {
+        return store.facets(criteria);
+    }
+
+    @Override
+    public Stream<ProductSummary> streamSummaries(SearchCriteria criteria, String resumeAfter, int batchSize) {
+        return store.streamSummaries(criteria, resumeAfter, batchSize);
+    }
+
+    @Override
+    public Stream<Product> streamIdentities(int batchSize) {
+        return store.streamIdentities(batchSize);
+    }
+
+    @Override
+    public Stream<Product> streamProducts(int batchSize) {
+        return store.streamProducts(batchSize);
+    }
+
+    @Override
+    public List<ProductSummary> autocomplete(String query, int limit) {
+        ProductSearchIndex current = index;
+        if (current == null) {
+            return store.autocomplete(query, limit);
+        }
+        if (query == null || query.trim().isEmpty()) {
+            return List.of();
+        }
+        return current.autocomplete(query, limit);
+    }
+
+    @Override
+    public List<Product> findByIds(List<String> ids) {
+        return store.findByIds(ids);
+    }
+
+    @Override
+    public List<ProductSummary> findSummariesByIds(List<String> ids) {
+        return store.findSummariesByIds(ids);
+    }
+
+    @Override
+    public List<ProductSummary> findSimilar(String productId, int limit) {
+        return store.findSimilar(productId, limit);
+    }
+
+    @Override
+    public Product save(Product product) {
+        Product saved = store.save(product);
+        indexed(List.of(saved));
+        return saved;
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        List<Product> saved = store.saveAll(products);
+        indexed(saved);
+        return saved;
+    }
+
+    @Override
+    public BulkWriteOutcome upsertAllBySku(List<Product> products) {
+        BulkWriteOutcome outcome = store.upsertAllBySku(products);
+
+        // The input holds only the fields sent, so the written products are read back
+        Set<Integer> failed = new HashSet<>();
+        outcome.getFailures().forEach(failure -> failed.add(failure.getIndex()));
+        List<String> insertedIds = outcome.getInsertedIds() != null ? outcome.getInsertedIds() : List.of();
+        Set<String> ids = new HashSet<>(insertedIds);
+        List<String> unknownSkus = new ArrayList<>();
+        ProductSearchIndex current = index;
+        for (int i = 0; i < products.size(); i++) {
+            String sku = products.get(i).getSku();
+            if (failed.contains(i)) {
+                continue;
+            }
+            String id = current != null ? current.idOfSku(sku) : null;
+            if (id != null) {
+                ids.add(id);
+            } else {
+                unknownSkus.add(sku);
+            }
+        }
+        // SKUs new to the index are the inserted ones, unless the index missed some products
+        if (unknownSkus.size() > insertedIds.size()) {
+            store.findScopesBySkus(unknownSkus).forEach(product -> ids.add(product.getId()));
+        }
+        if (!ids.isEmpty()) {
+            indexed(store.findByIds(new ArrayList<>(ids)));
+        }
+        return outcome;
+    }
+
+    @Override
+    public List<Product> findScopesBySkus(Collection<String> skus) {
+        return store.findScopesBySkus(skus);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        store.deleteById(id);
+        apply(current -> current.delete(id));
+        changeNotifier.productsChanged(List.of(id));
+        scheduleCompletionRebuild();
+    }
+
+    @Override
+    public Long count(SearchCriteria criteria) {
+        ProductSearchIndex current = index;
+        return current != null ? current.count(criteria) : store.count(criteria);
+    }
+
+    @Override
+    public boolean existsBySku(String sku) {
+        return store.existsBySku(sku);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Index products just written to MongoDB and announce them to the other nodes
+     */
+    private void indexed(List<Product> written) {
+        if (written.isEmpty()) {
+            return;
+        }
+        apply(current -> written.forEach(current::upsert));
+        changeNotifier.productsChanged(written.stream().map(Product::getId).toList());
+        scheduleCompletionRebuild();
+    }
+
+    /**
+     * Products changed on another node: index their stored version, drop the deleted ones
+     */
+    private void reload(List<String> ids) {
+        try {
+            List<Product> found = store.findByIds(ids);
+            Set<String> deleted = new HashSet<>(ids);
+            found.forEach(product -> deleted.remove(product.getId()));
+            apply(current -> {
+                found.forEach(current::upsert);
+                deleted.forEach(current::delete);
+            });
+            scheduleCompletionRebuild();
+        } catch (Exception e) {
+            // The next rebuild picks the changes up
+            log.error("Reloading {} changed products into the search index failed", ids.size(), e);
+        }
+    }
+
+    private void apply(Consumer<ProductSearchIndex> change) {
+        synchronized (changeLock) {
+            if (index != null) {
+                change.accept(index);
+            }
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        }
+    }
+
+    /**
+     * Fold the products changed since the last trie build into a new trie, in the
+     * background, once there are enough of them to slow down every lookup
+     */
+    private void scheduleCompletionRebuild() {
+        ProductSearchIndex current = index;
+        if (current == null || current.completionBacklog() < properties.getCompletionRebuildThreshold()
+                || !completionRebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        rebuilds.execute(() -> {
+            completionRebuildQueued.set(false);
+            try {
+                index.rebuildCompletions();
+            } catch (Exception e) {
+                log.error("Autocomplete trie rebuild failed", e);
+            }
+        });
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // Keep serving with the previous index (or from MongoDB) until the next attempt
+            log.error("In-memory search index rebuild failed", e);
+        }
+    }
+
+    private static double textWeight(String field) {
+        try {
+            TextIndexed textIndexed = ProductDocument.class.getDeclaredField(field).getAnnotation(TextIndexed.class);
+            return textIndexed != null ? textIndexed.weight() : 1.0;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("ProductDocument has no field " + field, e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.search.product.infrastructure.persistence.memory;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process search engine settings (search.memory.*), used when search.engine=memory
+ * MongoDB stays the system of record; the index is loaded from it at startup,
+ * patched on every write and rebuilt periodically
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "search.memory")
+public class MemorySearchProperties {
+
+    /**
+     * Documents read per round trip while loading the index
+     */
+    private int loadBatchSize = 2000;
+
+    /**
+     * Full rebuild from the database (compacts the posting lists and picks up
+     * writes made outside this service or lost on the way to this node); 0 = startup only
+     */
+    private long rebuildIntervalMinutes = 60;
+
+    /**
+     * BM25 term-frequency saturation
+     */
+    private double k1 = 1.2;
+
+    /**
+     * BM25 length normalization (0 = none, 1 = full)
+     */
+    private double b = 0.75;
+
+    /**
+     * Autocomplete results kept per prefix in the completion trie (the most a lookup can return)
+     */
+    private int completionsPerPrefix = 10;
+
+    /**
+     * Products changed since the last trie build that trigger a background trie rebuild
+     * (until then they are checked one by one on every autocomplete lookup)
+     */
+    private int completionRebuildThreshold = 1000;
+
+    /**
+     * Pub/sub channel spreading the IDs of written products to the indexes of the other nodes
+     */
+    private String changesChannel = "product-search:product-changes";
+}
@@ -0,0 +1,353 @@
+package com.search.product.infrastructure.persistence.memory;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of product ordinals, in the Roaring layout
+ *
+ * Ordinals are split by their high 16 bits into chunks of 65536; a chunk
+ * holding few ordinals stores them as a sorted char array (2 bytes each), a
+ * dense chunk as a 1024-word bitset (8 KB), whichever is smaller. AND and OR
+ * work chunk by chunk on the matching representations, so intersecting a
+ * small set with a large one costs about the size of the small one.
+ *
+ * Not thread-safe; ProductSearchIndex guards it with its lock.
+ */
+final class OrdinalBitmap {
+
+    // Above this many values an array chunk is larger than a bitset chunk
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITSET_WORDS = 1024;
+
+    private char[] keys = new char[4];
+    private Object[] chunks = new Object[4];
+    private int[] cardinalities = new int[4];
+    private int size;
+
+    void add(int ordinal) {
+        char key = (char) (ordinal >>> 16);
+        char low = (char) ordinal;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            index = -index - 1;
+            insertChunk(index, key, new char[4]);
+        }
+        if (chunks[index] instanceof char[] values) {
+            int cardinality = cardinalities[index];
+            int position = Arrays.binarySearch(values, 0, cardinality, low);
+            if (position >= 0) {
+                return;
+            }
+            if (cardinality == ARRAY_MAX) {
+                long[] words = toWords(values, cardinality);
+                words[low >>> 6] |= 1L << low;
+                chunks[index] = words;
+            } else {
+                position = -position - 1;
+                if (cardinality == values.length) {
+                    values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+                    chunks[index] = values;
+                }
+                System.arraycopy(values, position, values, position + 1, cardinality - position);
+                values[position] = low;
+            }
+        } else {
+            long[] words = (long[]) chunks[index];
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) != 0) {
+                return;
+            }
+            words[low >>> 6] |= bit;
+        }
+        cardinalities[index]++;
+    }
+
+    void remove(int ordinal) {
+        int index = Arrays.binarySearch(keys, 0, size, (char) (ordinal >>> 16));
+        if (index < 0) {
+            return;
+        }
+        char low = (char) ordinal;
+        int cardinality = cardinalities[index];
+        if (chunks[index] instanceof char[] values) {
+            int position = Arrays.binarySearch(values, 0, cardinality, low);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(values, position + 1, values, position, cardinality - position - 1);
+            if (cardinality - 1 < values.length / 4 && values.length > 4) {
+                chunks[index] = Arrays.copyOf(values, values.length / 2);
+            }
+        } else {
+            long[] words = (long[]) chunks[index];
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) == 0) {
+                return;
+            }
+            words[low >>> 6] &= ~bit;
+            if (cardinality - 1 == ARRAY_MAX) {
+                chunks[index] = toValues(words, ARRAY_MAX);
+            }
+        }
+        cardinalities[index] = cardinality - 1;
+        if (cardinalities[index] == 0) {
+            removeChunk(index);
+        }
+    }
+
+    boolean contains(int ordinal) {
+        int index = Arrays.binarySearch(keys, 0, size, (char) (ordinal >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) ordinal;
+        if (chunks[index] instanceof char[] values) {
+            return Arrays.binarySearch(values, 0, cardinalities[index], low) >= 0;
+        }
+        return (((long[]) chunks[index])[low >>> 6] & (1L << low)) != 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += cardinalities[i];
+        }
+        return total;
+    }
+
+    /**
+     * Approximate heap bytes of the chunks and the chunk directory
+     */
+    long sizeInBytes() {
+        long bytes = keys.length * 2L + chunks.length * 8L + cardinalities.length * 4L;
+        for (int i = 0; i < size; i++) {
+            bytes += chunks[i] instanceof char[] values ? values.length * 2L : BITSET_WORDS * 8L;
+        }
+        return bytes;
+    }
+
+    /**
+     * Visit the ordinals in ascending order
+     */
+    void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            int high = keys[i] << 16;
+            if (chunks[i] instanceof char[] values) {
+                for (int j = 0; j < cardinalities[i]; j++) {
+                    action.accept(high | values[j]);
+                }
+            } else {
+                long[] words = (long[]) chunks[i];
+                for (int w = 0; w < BITSET_WORDS; w++) {
+                    long word = words[w];
+                    while (word != 0) {
+                        action.accept(high | (w << 6) | Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Ordinals present in both bitmaps
+     */
+    static OrdinalBitmap and(OrdinalBitmap left, OrdinalBitmap right) {
+        OrdinalBitmap result = new OrdinalBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < left.size && j < right.size) {
+            if (left.keys[i] < right.keys[j]) {
+                i++;
+            } else if (left.keys[i] > right.keys[j]) {
+                j++;
+            } else {
+                result.appendAnd(left.keys[i], left.chunks[i], left.cardinalities[i],
+                        right.chunks[j], right.cardinalities[j]);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ordinals present in either bitmap
+     */
+    static OrdinalBitmap or(OrdinalBitmap left, OrdinalBitmap right) {
+        OrdinalBitmap result = new OrdinalBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < left.size || j < right.size) {
+            if (j == right.size || (i < left.size && left.keys[i] < right.keys[j])) {
+                result.appendCopy(left.keys[i], left.chunks[i], left.cardinalities[i]);
+                i++;
+            } else if (i == left.size || left.keys[i] > right.keys[j]) {
+                result.appendCopy(right.keys[j], right.chunks[j], right.cardinalities[j]);
+                j++;
+            } else {
+                result.appendOr(left.keys[i], left.chunks[i], left.cardinalities[i],
+                        right.chunks[j], right.cardinalities[j]);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void appendAnd(char key, Object left, int leftCardinality, Object right, int rightCardinality) {
+        if (left instanceof char[] leftValues && right instanceof char[] rightValues) {
+            char[] values = new char[Math.min(leftCardinality, rightCardinality)];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < leftCardinality && j < rightCardinality) {
+                if (leftValues[i] < rightValues[j]) {
+                    i++;
+                } else if (leftValues[i] > rightValues[j]) {
+                    j++;
+                } else {
+                    values[count++] = leftValues[i];
+                    i++;
+                    j++;
+                }
+            }
+            appendValues(key, values, count);
+        } else if (left instanceof char[] || right instanceof char[]) {
+            char[] values = (char[]) (left instanceof char[] ? left : right);
+            int cardinality = left instanceof char[] ? leftCardinality : rightCardinality;
+            long[] words = (long[]) (left instanceof char[] ? right : left);
+            char[] kept = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if ((words[values[i] >>> 6] & (1L << values[i])) != 0) {
+                    kept[count++] = values[i];
+                }
+            }
+            appendValues(key, kept, count);
+        } else {
+            long[] words = new long[BITSET_WORDS];
+            long[] leftWords = (long[]) left;
+            long[] rightWords = (long[]) right;
+            int cardinality = 0;
+            for (int w = 0; w < BITSET_WORDS; w++) {
+                words[w] = leftWords[w] & rightWords[w];
+                cardinality += Long.bitCount(words[w]);
+            }
+            appendWords(key, words, cardinality);
+        }
+    }
+
+    private void appendOr(char key, Object left, int leftCardinality, Object right, int rightCardinality) {
+        if (left instanceof char[] leftValues && right instanceof char[] rightValues
+                && leftCardinality + rightCardinality <= ARRAY_MAX) {
+            char[] values = new char[leftCardinality + rightCardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < leftCardinality || j < rightCardinality) {
+                if (j == rightCardinality || (i < leftCardinality && leftValues[i] < rightValues[j])) {
+                    values[count++] = leftValues[i++];
+                } else if (i == leftCardinality || leftValues[i] > rightValues[j]) {
+                    values[count++] = rightValues[j++];
+                } else {
+                    values[count++] = leftValues[i++];
+                    j++;
+                }
+            }
+            appendValues(key, values, count);
+            return;
+        }
+        long[] words = left instanceof long[] leftWords ? leftWords.clone() : toWords((char[]) left, leftCardinality);
+        if (right instanceof long[] rightWords) {
+            for (int w = 0; w < BITSET_WORDS; w++) {
+                words[w] |= rightWords[w];
+            }
+        } else {
+            char[] rightValues = (char[]) right;
+            for (int i = 0; i < rightCardinality; i++) {
+                words[rightValues[i] >>> 6] |= 1L << rightValues[i];
+            }
+        }
+        int cardinality = 0;
+        for (long word : words) {
+            cardinality += Long.bitCount(word);
+        }
+        appendWords(key, words, cardinality);
+    }
+
+    private void appendCopy(char key, Object chunk, int cardinality) {
+        appendChunk(key, chunk instanceof char[] values ? Arrays.copyOf(values, cardinality)
+                : ((long[]) chunk).clone(), cardinality);
+    }
+
+    private void appendValues(char key, char[] values, int count) {
+        if (count > 0) {
+            appendChunk(key, count == values.length ? values : Arrays.copyOf(values, count), count);
+        }
+    }
+
+    private void appendWords(char key, long[] words, int cardinality) {
+        if (cardinality > ARRAY_MAX) {
+            appendChunk(key, words, cardinality);
+        } else if (cardinality > 0) {
+            appendChunk(key, toValues(words, cardinality), cardinality);
+        }
+    }
+
+    private void appendChunk(char key, Object chunk, int cardinality) {
+        insertChunk(size, key, chunk);
+        cardinalities[size - 1] = cardinality;
+    }
+
+    private void insertChunk(int index, char key, Object chunk) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            chunks = Arrays.copyOf(chunks, size * 2);
+            cardinalities = Arrays.copyOf(cardinalities, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(chunks, index, chunks, index + 1, size - index);
+        System.arraycopy(cardinalities, index, cardinalities, index + 1, size - index);
+        keys[index] = key;
+        chunks[index] = chunk;
+        cardinalities[index] = 0;
+        size++;
+    }
+
+    private void removeChunk(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(chunks, index + 1, chunks, index, size - index - 1);
+        System.arraycopy(cardinalities, index + 1, cardinalities, index, size - index - 1);
+        size--;
+        chunks[size] = null;
+    }
+
+    private static long[] toWords(char[] values, int cardinality) {
+        long[] words = new long[BITSET_WORDS];
+        for (int i = 0; i < cardinality; i++) {
+            words[values[i] >>> 6] |= 1L << values[i];
+        }
+        return words;
+    }
+
+    private static char[] toValues(long[] words, int cardinality) {
+        char[] values = new char[cardinality];
+        int count = 0;
+        for (int w = 0; w < BITSET_WORDS; w++) {
+            long word = words[w];
+            while (word != 0) {
+                values[count++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return values;
+    }
+}
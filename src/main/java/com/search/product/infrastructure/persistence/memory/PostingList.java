@@ -0,0 +1,124 @@
+package com.search.product.infrastructure.persistence.memory;
+
+import java.util.Arrays;
+
+/**
+ * Postings of one term: the ordinals of the products containing it, ascending,
+ * with the term's frequency in the name and in the description
+ *
+ * Stored as variable-length integers in one byte array, ordinals as the gap
+ * to the previous one, so a posting usually takes three bytes. Append-only:
+ * new and updated products always get a higher ordinal than any existing one.
+ */
+final class PostingList {
+
+    private byte[] bytes = new byte[8];
+    private int length;
+    private int size;
+    private int lastOrdinal = -1;
+
+    /**
+     * Append a posting; ordinal must be greater than the last one added
+     */
+    void add(int ordinal, int nameFrequency, int descriptionFrequency) {
+        if (ordinal <= lastOrdinal) {
+            throw new IllegalArgumentException("Ordinal " + ordinal + " added after " + lastOrdinal);
+        }
+        ensureCapacity(15);
+        writeVarInt(ordinal - lastOrdinal);
+        writeVarInt(nameFrequency);
+        writeVarInt(descriptionFrequency);
+        lastOrdinal = ordinal;
+        size++;
+    }
+
+    /**
+     * Postings added, including those of deleted or replaced products
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Bytes used by the encoded postings
+     */
+    int byteSize() {
+        return length;
+    }
+
+    /**
+     * New cursor positioned before the first posting
+     */
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    /**
+     * Forward-only reader over the postings present when it was created
+     */
+    final class Cursor {
+
+        private final int end = length;
+        private int position;
+        private int ordinal = -1;
+        private int nameFrequency;
+        private int descriptionFrequency;
+
+        /**
+         * Move to the next posting; false when there is none
+         */
+        boolean next() {
+            if (position >= end) {
+                ordinal = Integer.MAX_VALUE;
+                return false;
+            }
+            ordinal += readVarInt();
+            nameFrequency = readVarInt();
+            descriptionFrequency = readVarInt();
+            return true;
+        }
+
+        /**
+         * Ordinal of the current posting (Integer.MAX_VALUE once exhausted)
+         */
+        int ordinal() {
+            return ordinal;
+        }
+
+        int nameFrequency() {
+            return nameFrequency;
+        }
+
+        int descriptionFrequency() {
+            return descriptionFrequency;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = bytes[position++];
+                value |= (current & 0x7F) << shift;
+                shift += 7;
+            } while (current < 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.search.product.infrastructure.persistence.memory;
+
+import com.search.product.domain.model.ProductSummary;
+import com.search.product.domain.model.SearchCriteria;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Columnar side store of the fields range filters and sorts run on, one flat
+ * primitive array per field indexed by product ordinal: price in minor units
+ * (cents, rounded down) and rating as float, with sentinels for missing
+ * values, plus createdAt in epoch seconds and the first four characters of the name
+ *
+ * Range predicates run as branch-light loops over the arrays that build a
+ * selection bitset 64 ordinals per word, with no boxing and no object
+ * traversal; single ordinals are checked with two array reads. Prices cents
+ * cannot hold (sub-cent or out of the long range) are also kept exactly on
+ * the side, and those few ordinals are re-checked against the exact bounds.
+ *
+ * Sort keys are longs that never contradict the field's order (nulls first),
+ * but may tie where the field differs (sub-cent prices, float-rounded
+ * ratings, sub-second times, names sharing a prefix); callers break ties
+ * with an exact comparison.
+ *
+ * Not thread-safe; ProductSearchIndex guards it with its lock.
+ */
+public final class ProductColumns {
+
+    /**
+     * Minor units per currency unit (prices are kept to the cent)
+     */
+    public static final int PRICE_SCALE = 2;
+
+    private static final long NO_PRICE = Long.MIN_VALUE;
+
+    // Cents are clamped to [MIN_CENTS, MAX_CENTS]; a price stored at either end is kept exactly
+    private static final long MIN_CENTS = NO_PRICE + 1;
+    private static final long MAX_CENTS = Long.MAX_VALUE;
+
+    // Sort key of a missing value: before every present one, as MongoDB sorts nulls
+    private static final long NULL_KEY = Long.MIN_VALUE;
+
+    private long[] prices;
+    private float[] ratings;
+    private long[] createdAtSeconds;
+    private long[] namePrefixes;
+    private final Map<Integer, BigDecimal> exactPrices = new HashMap<>();
+    private int size;
+
+    public ProductColumns(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.prices = new long[capacity];
+        this.ratings = new float[capacity];
+        this.createdAtSeconds = new long[capacity];
+        this.namePrefixes = new long[capacity];
+    }
+
+    /**
+     * Store the values of an ordinal; null values never match a bound
+     */
+    public void set(int ordinal, ProductSummary product) {
+        if (ordinal >= prices.length) {
+            int capacity = Math.max(prices.length * 2, ordinal + 1);
+            prices = Arrays.copyOf(prices, capacity);
+            ratings = Arrays.copyOf(ratings, capacity);
+            createdAtSeconds = Arrays.copyOf(createdAtSeconds, capacity);
+            namePrefixes = Arrays.copyOf(namePrefixes, capacity);
+        }
+        BigDecimal price = product.getPrice();
+        prices[ordinal] = price != null ? toMinorUnits(price, RoundingMode.FLOOR) : NO_PRICE;
+        if (price != null && !representable(prices[ordinal], price)) {
+            exactPrices.put(ordinal, price);
+        } else {
+            exactPrices.remove(ordinal);
+        }
+        ratings[ordinal] = product.getRating() != null ? product.getRating().floatValue() : Float.NaN;
+        createdAtSeconds[ordinal] = product.getCreatedAt() != null
+                ? product.getCreatedAt().toEpochSecond(ZoneOffset.UTC) : NULL_KEY;
+        namePrefixes[ordinal] = product.getName() != null ? namePrefix(product.getName()) : NULL_KEY;
+        size = Math.max(size, ordinal + 1);
+    }
+
+    /**
+     * Ordinals stored so far (the highest plus one)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether the ordinal satisfies the bounds
+     */
+    public boolean matches(int ordinal, Range range) {
+        // NaN (no rating) fails the comparison
+        boolean rated = range.minRating == Float.NEGATIVE_INFINITY || ratings[ordinal] >= range.minRating;
+        BigDecimal exact = exactPrices.isEmpty() ? null : exactPrices.get(ordinal);
+        if (exact != null) {
+            return rated && range.admitsPrice(exact);
+        }
+        long price = prices[ordinal];
+        // NO_PRICE is below any price bound
+        return price >= range.minPrice && price <= range.maxPrice && rated;
+    }
+
+    /**
+     * Bitset (64 ordinals per word) of the ordinals in [0, size) satisfying the bounds
+     */
+    public long[] select(Range range) {
+        long[] words = new long[(size + 63) >>> 6];
+        long minPrice = range.minPrice;
+        long maxPrice = range.maxPrice;
+        if (range.minRating == Float.NEGATIVE_INFINITY) {
+            // Price only: one comparison pair per ordinal
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                long price = prices[ordinal];
+                long hit = price >= minPrice & price <= maxPrice ? 1L : 0L;
+                words[ordinal >>> 6] |= hit << ordinal;
+            }
+            return recheckExactPrices(words, range);
+        }
+        float minRating = range.minRating;
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            long price = prices[ordinal];
+            long hit = price >= minPrice & price <= maxPrice & ratings[ordinal] >= minRating ? 1L : 0L;
+            words[ordinal >>> 6] |= hit << ordinal;
+        }
+        return recheckExactPrices(words, range);
+    }
+
+    /**
+     * Ascending sort keys of a field (price, rating, name or createdAt) for the first
+     * count ordinals; every key is 0 for any other field
+     */
+    public void sortKeys(String field, int[] ordinals, int count, long[] into) {
+        switch (field) {
+            case "price" -> {
+                for (int i = 0; i < count; i++) {
+                    into[i] = prices[ordinals[i]];
+                }
+            }
+            case "rating" -> {
+                for (int i = 0; i < count; i++) {
+                    float rating = ratings[ordinals[i]];
+                    into[i] = Float.isNaN(rating) ? NULL_KEY : sortableBits(rating);
+                }
+            }
+            case "name" -> {
+                for (int i = 0; i < count; i++) {
+                    into[i] = namePrefixes[ordinals[i]];
+                }
+            }
+            case "createdAt" -> {
+                for (int i = 0; i < count; i++) {
+                    into[i] = createdAtSeconds[ordinals[i]];
+                }
+            }
+            default -> Arrays.fill(into, 0, count, 0L);
+        }
+    }
+
+    /**
+     * Bytes held by the columns
+     */
+    public long sizeInBytes() {
+        // An exact price costs roughly its map node, boxed key and BigDecimal
+        return prices.length * 8L + ratings.length * 4L + createdAtSeconds.length * 8L + namePrefixes.length * 8L
+                + exactPrices.size() * 96L;
+    }
+
+    /**
+     * Int whose signed order is the Float.compare order of the value
+     */
+    static int sortableBits(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+    }
+
+    /**
+     * Price in minor units, rounded as given when it has more decimals than PRICE_SCALE
+     * and clamped to [MIN_CENTS, MAX_CENTS] when it does not fit a long
+     */
+    public static long toMinorUnits(BigDecimal price, RoundingMode rounding) {
+        BigInteger cents = price.setScale(PRICE_SCALE, rounding).unscaledValue();
+        if (cents.bitLength() >= Long.SIZE) {
+            return cents.signum() > 0 ? MAX_CENTS : MIN_CENTS;
+        }
+        return Math.max(cents.longValue(), MIN_CENTS);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Whether the cents stored for the price compare with every bound as the price does
+     * Clamped ends are not: a bound beyond the long range clamps onto them too
+     */
+    private static boolean representable(long cents, BigDecimal price) {
+        return cents != MIN_CENTS && cents != MAX_CENTS
+                && price.compareTo(BigDecimal.valueOf(cents, PRICE_SCALE)) == 0;
+    }
+
+    /**
+     * Replace the bits of the exactly kept prices with an exact check
+     * (their cents are rounded down, so the loops can be wrong about them)
+     */
+    private long[] recheckExactPrices(long[] words, Range range) {
+        for (int ordinal : exactPrices.keySet()) {
+            long bit = 1L << ordinal;
+            if (matches(ordinal, range)) {
+                words[ordinal >>> 6] |= bit;
+            } else {
+                words[ordinal >>> 6] &= ~bit;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * First four chars as an unsigned 64-bit number (shorter names padded with 0),
+     * shifted so that signed order matches String.compareTo on the prefix
+     */
+    private static long namePrefix(String name) {
+        long prefix = 0;
+        for (int i = 0; i < 4; i++) {
+            prefix = prefix << 16 | (i < name.length() ? name.charAt(i) : 0);
+        }
+        return prefix ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Price and rating bounds of a search in column units, inclusive as in the MongoDB filter,
+     * with the exact price bounds (null when open) for prices the columns keep exactly
+     * Unset bounds are open; products without a price or rating never match a bound on it
+     */
+    public record Range(long minPrice, long maxPrice, float minRating,
+                        BigDecimal exactMinPrice, BigDecimal exactMaxPrice) {
+
+        /**
+         * Bounds of the criteria, or null when it sets none
+         */
+        public static Range of(SearchCriteria criteria) {
+            if (criteria.getMinPrice() == null && criteria.getMaxPrice() == null && criteria.getMinRating() == null) {
+                return null;
+            }
+            // Rounded inwards, so a bound between two cents keeps the inclusive semantics
+            boolean priced = criteria.getMinPrice() != null || criteria.getMaxPrice() != null;
+            long minPrice = criteria.getMinPrice() != null
+                    ? toMinorUnits(criteria.getMinPrice(), RoundingMode.CEILING)
+                    : priced ? MIN_CENTS : Long.MIN_VALUE;
+            long maxPrice = criteria.getMaxPrice() != null
+                    ? toMinorUnits(criteria.getMaxPrice(), RoundingMode.FLOOR) : Long.MAX_VALUE;
+            float minRating = criteria.getMinRating() != null
+                    ? nextDownIfRounded(criteria.getMinRating()) : Float.NEGATIVE_INFINITY;
+            return new Range(minPrice, maxPrice, minRating, criteria.getMinPrice(), criteria.getMaxPrice());
+        }
+
+        /**
+         * Whether an exact price is within the exact bounds
+         */
+        boolean admitsPrice(BigDecimal price) {
+            return (exactMinPrice == null || price.compareTo(exactMinPrice) >= 0)
+                    && (exactMaxPrice == null || price.compareTo(exactMaxPrice) <= 0);
+        }
+
+        /**
+         * Largest float not above the double bound, so ratings equal to it still match
+         */
+        private static float nextDownIfRounded(double bound) {
+            float value = (float) bound;
+            return value > bound ? Math.nextDown(value) : value;
+        }
+    }
+}
@@ -0,0 +1,862 @@
+package com.search.product.infrastructure.persistence.memory;
+
+import com.search.product.domain.model.PageResult;
+import com.search.product.domain.model.Product;
+import com.search.product.domain.model.ProductSummary;
+import com.search.product.domain.model.SearchCriteria;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * In-memory inverted index of the catalog, answering searches, counts and
+ * autocomplete without a database round trip
+ *
+ * Every indexed product version gets a dense ordinal; name and description
+ * terms point to their ordinals through compressed posting lists. Text
+ * queries match any of their terms (like MongoDB's $text) and are scored with
+ * BM25F, the name and description term frequencies weighted as in the text
+ * index. An update indexes the new version under a fresh ordinal and marks the
+ * old one dead; dead postings are skipped until the next rebuild drops them.
+ *
+ * Category, brand, tag, active and in-stock filters are answered by
+ * compressed bitmaps of the live ordinals (OrdinalBitmap), intersected
+ * smallest first. Price and rating bounds run on primitive columns
+ * (ProductColumns): a selective filter checks its few ordinals there, a broad
+ * one intersects with a full column scan.
+ *
+ * A page is picked from the matches by TopKSelector on primitive sort keys
+ * from the columns (or the score), never by sorting every match.
+ *
+ * Autocomplete completes the last query word as a prefix of a name or brand
+ * term through a CompletionTrie, ranked by rating and review count. Products
+ * indexed after the trie was built are kept in a short pending list that is
+ * merged into every lookup until rebuildCompletions folds them in. When
+ * earlier words must match too, the trie's short lists are not enough: the
+ * bitmaps of the active products per name or brand term are intersected
+ * instead, so no matching product is left out.
+ *
+ * Thread-safe: searches share a read lock, writes take the write lock.
+ */
+final class ProductSearchIndex {
+
+    // Bitmap of a filter value no product has; never modified
+    private static final OrdinalBitmap NONE = new OrdinalBitmap();
+    private static final int[] NO_ORDINALS = new int[0];
+
+    // A filter bitmap this many times smaller than the index checks ranges per ordinal instead of scanning
+    private static final int SCAN_RATIO = 16;
+
+    private final double nameWeight;
+    private final double descriptionWeight;
+    private final double k1;
+    private final double b;
+    private final int completionsPerPrefix;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<String, Integer> ordinalsById = new HashMap<>();
+    private final Map<String, String> idsBySku = new HashMap<>();
+    private final List<IndexedProduct> products = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private final Map<String, OrdinalBitmap> categories = new HashMap<>();
+    private final Map<String, OrdinalBitmap> brands = new HashMap<>();
+    private final Map<String, OrdinalBitmap> tags = new HashMap<>();
+    private final OrdinalBitmap active = new OrdinalBitmap();
+    private final OrdinalBitmap inStock = new OrdinalBitmap();
+    private final ProductColumns columns = new ProductColumns(1024);
+    private int liveCount;
+    private long nameLengthSum;
+    private long descriptionLengthSum;
+
+    private CompletionTrie completions = CompletionTrie.EMPTY;
+    private final List<PendingCompletion> pendingCompletions = new ArrayList<>();
+    private final NavigableMap<String, OrdinalBitmap> completionTerms = new TreeMap<>();
+    private int completionChanges;
+
+    ProductSearchIndex(double nameWeight, double descriptionWeight, double k1, double b, int completionsPerPrefix) {
+        this.nameWeight = nameWeight;
+        this.descriptionWeight = descriptionWeight;
+        this.k1 = k1;
+        this.b = b;
+        this.completionsPerPrefix = Math.max(1, completionsPerPrefix);
+    }
+
+    /**
+     * Index a product, replacing its previous version (products without an ID are ignored)
+     */
+    void upsert(Product product) {
+        if (product.getId() == null) {
+            return;
+        }
+        List<String> nameTerms = TextAnalyzer.terms(product.getName());
+        List<String> descriptionTerms = TextAnalyzer.terms(product.getDescription());
+        Map<String, int[]> frequencies = new LinkedHashMap<>();
+        nameTerms.forEach(term -> frequencies.computeIfAbsent(term, t -> new int[2])[0]++);
+        descriptionTerms.forEach(term -> frequencies.computeIfAbsent(term, t -> new int[2])[1]++);
+        String[] completionKeys = completionKeys(product.getName(), product.getBrand());
+
+        lock.writeLock().lock();
+        try {
+            remove(product.getId());
+            int ordinal = products.size();
+            frequencies.forEach((term, frequency) -> postings
+                    .computeIfAbsent(term, t -> new PostingList())
+                    .add(ordinal, frequency[0], frequency[1]));
+
+            ProductSummary summary = toSummary(product);
+            products.add(new IndexedProduct(summary,
+                    product.getTags() != null ? new HashSet<>(product.getTags()) : Set.of(),
+                    nameTerms.size(), descriptionTerms.size()));
+            live.set(ordinal);
+            liveCount++;
+            columns.set(ordinal, summary);
+            addTo(categories, product.getCategory(), ordinal);
+            addTo(brands, product.getBrand(), ordinal);
+            if (product.getTags() != null) {
+                product.getTags().forEach(tag -> addTo(tags, tag, ordinal));
+            }
+            if (Boolean.TRUE.equals(product.getActive())) {
+                active.add(ordinal);
+            }
+            if (product.getStock() != null && product.getStock() > 0) {
+                inStock.add(ordinal);
+            }
+            nameLengthSum += nameTerms.size();
+            descriptionLengthSum += descriptionTerms.size();
+            ordinalsById.put(product.getId(), ordinal);
+            if (product.getSku() != null) {
+                idsBySku.put(product.getSku(), product.getId());
+            }
+            if (Boolean.TRUE.equals(product.getActive())) {
+                pendingCompletions.add(new PendingCompletion(ordinal, completionKeys));
+                for (String key : completionKeys) {
+                    addTo(completionTerms, key, ordinal);
+                }
+            }
+            completionChanges++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a product from the results
+     */
+    void delete(String id) {
+        lock.writeLock().lock();
+        try {
+            remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * ID of the indexed product with the SKU, or null
+     */
+    String idOfSku(String sku) {
+        lock.readLock().lock();
+        try {
+            return idsBySku.get(sku);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One page of the products matching the criteria (defaults applied, no cursor)
+     * Text queries without sortBy are ordered by relevance
+     */
+    PageResult<ProductSummary> search(SearchCriteria criteria) {
+        lock.readLock().lock();
+        try {
+            Matches matches = match(criteria.getQuery(), criteria);
+            int total = matches.size;
+            int from = (int) Math.min((long) criteria.getPage() * criteria.getSize(), total);
+            int to = Math.min(from + criteria.getSize(), total);
+
+            long[] keys = new long[total];
+            TopKSelector.TieBreaker ties = order(criteria, matches, keys);
+            int[] page = TopKSelector.select(keys, total, ties, from, to);
+
+            List<ProductSummary> content = new ArrayList<>(page.length);
+            for (int position : page) {
+                content.add(copyOf(products.get(matches.ordinals[position]).summary()));
+            }
+            return toPage(content, total, criteria);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of products matching the criteria
+     */
+    long count(SearchCriteria criteria) {
+        lock.readLock().lock();
+        try {
+            return match(criteria.getQuery(), criteria).size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best-ranked active products with a name or brand term starting with the last
+     * word of the query and containing the previous words as whole terms
+     * The last word is only folded and lower-cased: it may be a partial word
+     */
+    List<ProductSummary> autocomplete(String query, int limit) {
+        List<String> words = TextAnalyzer.tokens(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String typed = words.get(words.size() - 1);
+        List<String> required = new ArrayList<>(words.size() - 1);
+        for (String word : words.subList(0, words.size() - 1)) {
+            String term = TextAnalyzer.term(word);
+            if (term != null) {
+                required.add(term);
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            // A complete plural ("laptops") is only indexed in its singular form
+            String stemmed = TextAnalyzer.term(typed);
+            String prefix = stemmed != null && !hasCompletionKey(typed) ? stemmed : typed;
+            if (required.isEmpty()) {
+                return completions(prefix, limit);
+            }
+
+            int[] ranked = completionsWithTerms(prefix, required, limit);
+            List<ProductSummary> results = new ArrayList<>(ranked.length);
+            for (int ordinal : ranked) {
+                results.add(copyOf(products.get(ordinal).summary()));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild the completion trie from the live active products and clear the pending list
+     * Keys are computed outside the lock; writes wait only for the snapshot and the swap
+     */
+    void rebuildCompletions() {
+        Map<Integer, ProductSummary> snapshot = new HashMap<>();
+        long[] ranked;
+        int builtBefore;
+        lock.readLock().lock();
+        try {
+            builtBefore = products.size();
+            ranked = new long[liveCount];
+            int count = 0;
+            for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+                ProductSummary summary = products.get(ordinal).summary();
+                if (Boolean.TRUE.equals(summary.getActive())) {
+                    // Weights are non-negative, so their float bits sort like the weights
+                    ranked[count++] = (long) Float.floatToIntBits((float) weight(summary)) << 32 | ordinal;
+                    snapshot.put(ordinal, summary);
+                }
+            }
+            ranked = Arrays.copyOf(ranked, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Arrays.sort(ranked);
+        CompletionTrie.Builder builder = new CompletionTrie.Builder(completionsPerPrefix);
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            int ordinal = (int) ranked[i];
+            ProductSummary summary = snapshot.get(ordinal);
+            for (String key : completionKeys(summary.getName(), summary.getBrand())) {
+                builder.add(key, ordinal);
+            }
+        }
+        CompletionTrie trie = builder.build();
+
+        lock.writeLock().lock();
+        try {
+            completions = trie;
+            pendingCompletions.removeIf(pending -> pending.ordinal() < builtBefore);
+            completionChanges = pendingCompletions.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Products written or deleted since the completion trie was built
+     */
+    int completionBacklog() {
+        lock.readLock().lock();
+        try {
+            return completionChanges;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes held by the completion trie and the completion term bitmaps
+     */
+    long completionBytes() {
+        lock.readLock().lock();
+        try {
+            return completions.byteSize() + bitmapBytes(completionTerms);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Live (searchable) products
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Distinct terms in the dictionary
+     */
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes held by the filter bitmaps of a field: category, brand, tags or flags (active and in stock)
+     */
+    long filterBytes(String field) {
+        lock.readLock().lock();
+        try {
+            return switch (field) {
+                case "category" -> bitmapBytes(categories);
+                case "brand" -> bitmapBytes(brands);
+                case "tags" -> bitmapBytes(tags);
+                case "flags" -> active.sizeInBytes() + inStock.sizeInBytes();
+                default -> throw new IllegalArgumentException("Unknown filter field " + field);
+            };
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes held by the price and rating columns
+     */
+    long columnBytes() {
+        lock.readLock().lock();
+        try {
+            return columns.sizeInBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes held by the encoded posting lists
+     */
+    long postingBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (PostingList list : postings.values()) {
+                bytes += list.byteSize();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void remove(String id) {
+        Integer ordinal = ordinalsById.remove(id);
+        if (ordinal == null || !live.get(ordinal)) {
+            return;
+        }
+        IndexedProduct previous = products.get(ordinal);
+        live.clear(ordinal);
+        liveCount--;
+        completionChanges++;
+        nameLengthSum -= previous.nameLength();
+        descriptionLengthSum -= previous.descriptionLength();
+        ProductSummary summary = previous.summary();
+        if (summary.getSku() != null) {
+            idsBySku.remove(summary.getSku(), id);
+        }
+        removeFrom(categories, summary.getCategory(), ordinal);
+        removeFrom(brands, summary.getBrand(), ordinal);
+        previous.tags().forEach(tag -> removeFrom(tags, tag, ordinal));
+        if (Boolean.TRUE.equals(summary.getActive())) {
+            for (String key : completionKeys(summary.getName(), summary.getBrand())) {
+                removeFrom(completionTerms, key, ordinal);
+            }
+        }
+        active.remove(ordinal);
+        inStock.remove(ordinal);
+    }
+
+    private static void addTo(Map<String, OrdinalBitmap> bitmaps, String value, int ordinal) {
+        if (value != null) {
+            bitmaps.computeIfAbsent(value, v -> new OrdinalBitmap()).add(ordinal);
+        }
+    }
+
+    private static void removeFrom(Map<String, OrdinalBitmap> bitmaps, String value, int ordinal) {
+        OrdinalBitmap bitmap = value != null ? bitmaps.get(value) : null;
+        if (bitmap != null) {
+            bitmap.remove(ordinal);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(value);
+            }
+        }
+    }
+
+    private static long bitmapBytes(Map<String, OrdinalBitmap> bitmaps) {
+        long bytes = 0;
+        for (OrdinalBitmap bitmap : bitmaps.values()) {
+            bytes += bitmap.sizeInBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Live products accepted by the filters of the criteria and, when the query has
+     * terms, containing at least one of them (with their BM25F score)
+     */
+    private Matches match(String query, SearchCriteria criteria) {
+        Matches matches = new Matches();
+        OrdinalBitmap filter = filterBitmap(criteria);
+        ProductColumns.Range range = ProductColumns.Range.of(criteria);
+        if (query == null || query.isBlank()) {
+            if (range == null && filter != null) {
+                filter.forEach(ordinal -> matches.add(ordinal, 0f));
+            } else if (range == null) {
+                for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+                    matches.add(ordinal, 0f);
+                }
+            } else if (filter != null && (long) filter.cardinality() * SCAN_RATIO < columns.size()) {
+                filter.forEach(ordinal -> {
+                    if (columns.matches(ordinal, range)) {
+                        matches.add(ordinal, 0f);
+                    }
+                });
+            } else {
+                long[] selected = columns.select(range);
+                for (int word = 0; word < selected.length; word++) {
+                    long bits = selected[word];
+                    while (bits != 0) {
+                        int ordinal = (word << 6) | Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                        if (live.get(ordinal) && (filter == null || filter.contains(ordinal))) {
+                            matches.add(ordinal, 0f);
+                        }
+                    }
+                }
+            }
+            return matches;
+        }
+
+        List<PostingList.Cursor> cursors = new ArrayList<>();
+        List<Double> idfs = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(TextAnalyzer.terms(query))) {
+            PostingList list = postings.get(term);
+            if (list != null) {
+                PostingList.Cursor cursor = list.cursor();
+                cursor.next();
+                cursors.add(cursor);
+                idfs.add(idf(list.size()));
+            }
+        }
+        double averageNameLength = Math.max(1.0, (double) nameLengthSum / Math.max(1, liveCount));
+        double averageDescriptionLength = Math.max(1.0, (double) descriptionLengthSum / Math.max(1, liveCount));
+
+        // Document at a time: every cursor on the lowest ordinal contributes to its score
+        while (true) {
+            int ordinal = Integer.MAX_VALUE;
+            for (PostingList.Cursor cursor : cursors) {
+                ordinal = Math.min(ordinal, cursor.ordinal());
+            }
+            if (ordinal == Integer.MAX_VALUE) {
+                return matches;
+            }
+
+            IndexedProduct product = products.get(ordinal);
+            boolean accepted = live.get(ordinal) && (filter == null || filter.contains(ordinal))
+                    && (range == null || columns.matches(ordinal, range));
+            double score = 0;
+            for (int i = 0; i < cursors.size(); i++) {
+                PostingList.Cursor cursor = cursors.get(i);
+                if (cursor.ordinal() == ordinal && !accepted) {
+                    cursor.next();
+                } else if (cursor.ordinal() == ordinal) {
+                    double frequency = nameWeight * cursor.nameFrequency()
+                            / (1 - b + b * product.nameLength() / averageNameLength)
+                            + descriptionWeight * cursor.descriptionFrequency()
+                            / (1 - b + b * product.descriptionLength() / averageDescriptionLength);
+                    score += idfs.get(i) * frequency * (k1 + 1) / (k1 + frequency);
+                    cursor.next();
+                }
+            }
+            if (accepted) {
+                matches.add(ordinal, (float) score);
+            }
+        }
+    }
+
+    /**
+     * Inverse document frequency; postings of dead versions still count until the next rebuild
+     */
+    private double idf(int documentFrequency) {
+        double n = Math.max(liveCount, documentFrequency);
+        return Math.log(1 + (n - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    /**
+     * Intersection of the bitmaps of the category, brand, tags (any of them), active and
+     * in-stock filters of the criteria, smallest first; null when none of them is set
+     * The result may be one of the index's own bitmaps and must not be modified
+     */
+    private OrdinalBitmap filterBitmap(SearchCriteria criteria) {
+        List<OrdinalBitmap> required = new ArrayList<>(5);
+        if (criteria.getCategory() != null) {
+            required.add(categories.getOrDefault(criteria.getCategory(), NONE));
+        }
+        if (criteria.getBrand() != null) {
+            required.add(brands.getOrDefault(criteria.getBrand(), NONE));
+        }
+        if (criteria.getTags() != null && !criteria.getTags().isEmpty()) {
+            OrdinalBitmap anyTag = null;
+            for (String tag : criteria.getTags()) {
+                OrdinalBitmap bitmap = tags.get(tag);
+                if (bitmap != null) {
+                    anyTag = anyTag == null ? bitmap : OrdinalBitmap.or(anyTag, bitmap);
+                }
+            }
+            required.add(anyTag != null ? anyTag : NONE);
+        }
+        if (Boolean.TRUE.equals(criteria.getActiveOnly())) {
+            required.add(active);
+        }
+        if (Boolean.TRUE.equals(criteria.getInStockOnly())) {
+            required.add(inStock);
+        }
+        if (required.isEmpty()) {
+            return null;
+        }
+
+        required.sort(Comparator.comparingInt(OrdinalBitmap::cardinality));
+        OrdinalBitmap result = required.get(0);
+        for (int i = 1; i < required.size() && !result.isEmpty(); i++) {
+            result = OrdinalBitmap.and(result, required.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Result order over positions in the matches: relevance (text query without
+     * sortBy) or the sort field, nulls first ascending as in MongoDB, then the ID
+     * Fills the primitive sort key of every position (smaller first) and returns
+     * the exact order, which the selection consults only between equal keys
+     */
+    private TopKSelector.TieBreaker order(SearchCriteria criteria, Matches matches, long[] keys) {
+        TopKSelector.TieBreaker byId = (left, right) -> products.get(matches.ordinals[left]).summary().getId()
+                .compareTo(products.get(matches.ordinals[right]).summary().getId());
+        boolean relevance = criteria.getSortBy() == null
+                && criteria.getQuery() != null && !criteria.getQuery().isBlank();
+        if (relevance) {
+            // Descending score; the key is exact, so only the ID is left
+            for (int i = 0; i < matches.size; i++) {
+                keys[i] = ~(long) ProductColumns.sortableBits(matches.scores[i]);
+            }
+            return byId;
+        }
+
+        String sortField = criteria.getSortBy() != null ? criteria.getSortBy() : "createdAt";
+        columns.sortKeys(sortField, matches.ordinals, matches.size, keys);
+        TopKSelector.TieBreaker byField = switch (sortField) {
+            case "price" -> byField(matches, ProductSummary::getPrice);
+            case "rating" -> byField(matches, ProductSummary::getRating);
+            case "name" -> byField(matches, ProductSummary::getName);
+            case "createdAt" -> byField(matches, ProductSummary::getCreatedAt);
+            default -> (left, right) -> 0;
+        };
+        TopKSelector.TieBreaker ascending = (left, right) -> {
+            int order = byField.compare(left, right);
+            return order != 0 ? order : byId.compare(left, right);
+        };
+        if (criteria.getSortDirection() == SearchCriteria.SortDirection.ASC) {
+            return ascending;
+        }
+        for (int i = 0; i < matches.size; i++) {
+            keys[i] = ~keys[i];
+        }
+        return (left, right) -> ascending.compare(right, left);
+    }
+
+    private <T extends Comparable<? super T>> TopKSelector.TieBreaker byField(
+            Matches matches, Function<ProductSummary, T> field) {
+        Comparator<T> nullsFirst = Comparator.nullsFirst(Comparator.naturalOrder());
+        return (left, right) -> nullsFirst.compare(field.apply(products.get(matches.ordinals[left]).summary()),
+                field.apply(products.get(matches.ordinals[right]).summary()));
+    }
+
+    /**
+     * Whether an active product has a name or brand term starting with the prefix
+     */
+    private boolean hasCompletionKey(String prefix) {
+        String key = completionTerms.ceilingKey(prefix);
+        return key != null && key.startsWith(prefix);
+    }
+
+    /**
+     * Live products of the trie node of the prefix merged with the matching pending
+     * ones, best first
+     * The trie's ranked list is read in place, so only the results are allocated
+     */
+    private List<ProductSummary> completions(String prefix, int limit) {
+        int node = completions.find(prefix);
+        int next = node < 0 ? 0 : completions.completionsStart(node);
+        int end = node < 0 ? 0 : completions.completionsEnd(node);
+        int[] pending = pendingCompletions(prefix);
+
+        List<ProductSummary> results = new ArrayList<>(Math.min(limit, end - next + pending.length));
+        int nextPending = 0;
+        while (results.size() < limit && (next < end || nextPending < pending.length)) {
+            int ordinal;
+            if (next < end) {
+                int indexed = completions.product(next);
+                // Dead: deleted, or replaced by a newer version (which is pending)
+                if (!live.get(indexed)) {
+                    next++;
+                    continue;
+                }
+                if (nextPending < pending.length && ranksBefore(pending[nextPending], indexed)) {
+                    ordinal = pending[nextPending++];
+                } else {
+                    ordinal = indexed;
+                    next++;
+                }
+            } else {
+                ordinal = pending[nextPending++];
+            }
+            results.add(copyOf(products.get(ordinal).summary()));
+        }
+        return results;
+    }
+
+    /**
+     * Live pending products completing the prefix, best first (the pending list is short)
+     */
+    private int[] pendingCompletions(String prefix) {
+        if (pendingCompletions.isEmpty()) {
+            return NO_ORDINALS;
+        }
+        int[] ranked = new int[pendingCompletions.size()];
+        int count = 0;
+        for (PendingCompletion pending : pendingCompletions) {
+            if (live.get(pending.ordinal()) && pending.completes(prefix)) {
+                // Insertion sort: a handful of products at most
+                int i = count++;
+                while (i > 0 && ranksBefore(pending.ordinal(), ranked[i - 1])) {
+                    ranked[i] = ranked[i - 1];
+                    i--;
+                }
+                ranked[i] = pending.ordinal();
+            }
+        }
+        return Arrays.copyOf(ranked, count);
+    }
+
+    /**
+     * Completion order: higher weight first, then ID
+     */
+    private boolean ranksBefore(int left, int right) {
+        ProductSummary leftSummary = products.get(left).summary();
+        ProductSummary rightSummary = products.get(right).summary();
+        int order = Double.compare(weight(rightSummary), weight(leftSummary));
+        return order != 0 ? order < 0 : leftSummary.getId().compareTo(rightSummary.getId()) < 0;
+    }
+
+    /**
+     * The best active products having every required term and a term starting with
+     * the prefix, from the completion term bitmaps (all of them are considered)
+     */
+    private int[] completionsWithTerms(String prefix, List<String> required, int limit) {
+        List<OrdinalBitmap> bitmaps = new ArrayList<>(required.size());
+        for (String term : required) {
+            bitmaps.add(completionTerms.getOrDefault(term, NONE));
+        }
+        bitmaps.sort(Comparator.comparingInt(OrdinalBitmap::cardinality));
+        OrdinalBitmap withTerms = bitmaps.get(0);
+        for (int i = 1; i < bitmaps.size() && !withTerms.isEmpty(); i++) {
+            withTerms = OrdinalBitmap.and(withTerms, bitmaps.get(i));
+        }
+
+        OrdinalBitmap matches = NONE;
+        if (!withTerms.isEmpty()) {
+            for (OrdinalBitmap keyed : completionTerms.subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+                    .values()) {
+                OrdinalBitmap both = OrdinalBitmap.and(withTerms, keyed);
+                if (!both.isEmpty()) {
+                    matches = matches.isEmpty() ? both : OrdinalBitmap.or(matches, both);
+                }
+            }
+        }
+
+        int count = matches.cardinality();
+        int[] ordinals = new int[count];
+        double[] weights = new double[count];
+        long[] keys = new long[count];
+        int[] position = new int[1];
+        matches.forEach(ordinal -> {
+            int i = position[0]++;
+            ordinals[i] = ordinal;
+            weights[i] = weight(products.get(ordinal).summary());
+            keys[i] = ~(long) ProductColumns.sortableBits((float) weights[i]);
+        });
+        int[] best = TopKSelector.select(keys, count, (left, right) -> {
+            int order = Double.compare(weights[right], weights[left]);
+            return order != 0 ? order : products.get(ordinals[left]).summary().getId()
+                    .compareTo(products.get(ordinals[right]).summary().getId());
+        }, 0, limit);
+
+        int[] ranked = new int[best.length];
+        for (int i = 0; i < best.length; i++) {
+            ranked[i] = ordinals[best[i]];
+        }
+        return ranked;
+    }
+
+    /**
+     * Completion ranking: rating (0 when unrated) damped by the log of the review count
+     */
+    private static double weight(ProductSummary summary) {
+        double rating = summary.getRating() != null ? Math.max(0, summary.getRating()) : 0;
+        int reviews = summary.getReviewCount() != null ? Math.max(0, summary.getReviewCount()) : 0;
+        return (1 + rating) * Math.log(2 + reviews);
+    }
+
+    /**
+     * Distinct terms of the name and the brand
+     */
+    private static String[] completionKeys(String name, String brand) {
+        Set<String> keys = new LinkedHashSet<>(TextAnalyzer.terms(name));
+        keys.addAll(TextAnalyzer.terms(brand));
+        return keys.toArray(String[]::new);
+    }
+
+    private static PageResult<ProductSummary> toPage(List<ProductSummary> content, long total,
+                                                     SearchCriteria criteria) {
+        boolean counted = criteria.getCountMode() != SearchCriteria.CountMode.NONE;
+        return PageResult.<ProductSummary>builder()
+                .content(content)
+                .totalElements(counted ? total : null)
+                .totalExact(counted ? true : null)
+                .totalPages(counted ? (int) Math.ceil((double) total / criteria.getSize()) : null)
+                .currentPage(criteria.getPage())
+                .pageSize(criteria.getSize())
+                .hasNext((long) (criteria.getPage() + 1) * criteria.getSize() < total)
+                .hasPrevious(criteria.getPage() > 0)
+                .build();
+    }
+
+    private static ProductSummary toSummary(Product product) {
+        return ProductSummary.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .sku(product.getSku())
+                .brand(product.getBrand())
+                .category(product.getCategory())
+                .price(product.getPrice())
+                .currency(product.getCurrency())
+                .stock(product.getStock())
+                .active(product.getActive())
+                .rating(product.getRating())
+                .reviewCount(product.getReviewCount())
+                .thumbnailUrl(product.getImageUrls() == null || product.getImageUrls().isEmpty()
+                        ? null : product.getImageUrls().get(0))
+                .createdAt(product.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * Results are handed out as copies; the indexed summaries are never exposed
+     */
+    private static ProductSummary copyOf(ProductSummary summary) {
+        return new ProductSummary(summary.getId(), summary.getName(), summary.getSku(), summary.getBrand(),
+                summary.getCategory(), summary.getPrice(), summary.getCurrency(), summary.getStock(),
+                summary.getActive(), summary.getRating(), summary.getReviewCount(), summary.getThumbnailUrl(),
+                summary.getCreatedAt());
+    }
+
+    /**
+     * Result row of one product version, the tags it is filtered on and its field lengths in terms
+     */
+    private record IndexedProduct(ProductSummary summary, Set<String> tags, int nameLength, int descriptionLength) {
+    }
+
+    /**
+     * Product indexed after the completion trie was built, with its completion keys
+     */
+    private record PendingCompletion(int ordinal, String[] keys) {
+
+        private boolean completes(String prefix) {
+            for (String key : keys) {
+                if (key.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Matching ordinals and their scores, in ordinal order
+     */
+    private static final class Matches {
+
+        private int[] ordinals = new int[64];
+        private float[] scores = new float[64];
+        private int size;
+
+        private void add(int ordinal, float score) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            ordinals[size] = ordinal;
+            scores[size] = score;
+            size++;
+        }
+    }
+}
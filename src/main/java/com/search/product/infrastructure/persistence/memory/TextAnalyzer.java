@@ -0,0 +1,77 @@
+package com.search.product.infrastructure.persistence.memory;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns product text into index terms, the same way for documents and queries:
+ * accents folded, lower-cased, split on anything but letters and digits,
+ * stop words dropped and plural "s" stripped (a light stand-in for the
+ * stemming of MongoDB's text index, so "laptops" still finds "laptop")
+ */
+final class TextAnalyzer {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "with",
+            "con", "de", "del", "el", "en", "la", "las", "los", "para", "por", "un", "una", "y");
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * Terms of the text in order, repeated terms included (empty for null)
+     */
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String token : tokens(text)) {
+            if (!STOP_WORDS.contains(token)) {
+                terms.add(stem(token));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Words of the text folded and lower-cased only, without dropping stop words or
+     * stemming: for a word still being typed, which may look like either ("la" of
+     * laptop, "por" of portable, "laptops" of a key indexed as "laptop")
+     */
+    static List<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Index form of a complete word (null for a stop word)
+     */
+    static String term(String token) {
+        return STOP_WORDS.contains(token) ? null : stem(token);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private static String stem(String token) {
+        if (token.length() > 3 && token.endsWith("s")
+                && !token.endsWith("ss") && !token.endsWith("us") && !token.endsWith("is")) {
+            return token.substring(0, token.length() - 1);
+        }
+        return token;
+    }
+}
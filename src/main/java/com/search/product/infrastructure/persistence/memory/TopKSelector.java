@@ -0,0 +1,186 @@
+package com.search.product.infrastructure.persistence.memory;
+
+import java.util.Arrays;
+
+/**
+ * Picks one page of a ranking without sorting every item
+ *
+ * Items are the positions 0..size-1, each with a primitive key; a smaller key
+ * ranks first and equal keys are ordered by a tie breaker (the exact order the
+ * keys approximate, ending in a unique field so the order is total). Pages
+ * ending within HEAP_LIMIT ranks keep a bounded max-heap of the best items,
+ * O(n log k); deeper pages run a partial quicksort that only recurses into
+ * partitions overlapping the page, expected O(n + page log page).
+ */
+public final class TopKSelector {
+
+    /**
+     * Deepest rank served by the heap (ten pages of 100)
+     */
+    public static final int HEAP_LIMIT = 1024;
+
+    // Partitions this small are finished with an insertion sort
+    private static final int INSERTION_SORT_SIZE = 16;
+
+    private final long[] keys;
+    private final int[] items;
+    private final TieBreaker ties;
+
+    private TopKSelector(long[] keys, int[] items, TieBreaker ties) {
+        this.keys = keys;
+        this.items = items;
+        this.ties = ties;
+    }
+
+    /**
+     * Items ranked [from, to) in order, clamped to size
+     * The keys array may be reordered
+     */
+    public static int[] select(long[] keys, int size, TieBreaker ties, int from, int to) {
+        to = Math.min(to, size);
+        if (from >= to) {
+            return new int[0];
+        }
+        if (to <= HEAP_LIMIT) {
+            return heapSelect(keys, size, ties, from, to);
+        }
+        int[] items = new int[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = i;
+        }
+        new TopKSelector(keys, items, ties).partialSort(0, size, from, to);
+        return Arrays.copyOfRange(items, from, to);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Max-heap (worst on top) of the best `to` items, then heapsorted
+     */
+    private static int[] heapSelect(long[] keys, int size, TieBreaker ties, int from, int to) {
+        int[] heap = new int[to];
+        long[] heapKeys = new long[to];
+        TopKSelector selector = new TopKSelector(heapKeys, heap, ties);
+        int count = 0;
+        for (int item = 0; item < size; item++) {
+            long key = keys[item];
+            if (count < to) {
+                heap[count] = item;
+                heapKeys[count] = key;
+                selector.siftUp(count++);
+            } else if (key < heapKeys[0] || (key == heapKeys[0] && ties.compare(item, heap[0]) < 0)) {
+                heap[0] = item;
+                heapKeys[0] = key;
+                selector.siftDown(0, to);
+            }
+        }
+        for (int end = to - 1; end > 0; end--) {
+            selector.swap(0, end);
+            selector.siftDown(0, end);
+        }
+        return Arrays.copyOfRange(heap, from, to);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(parent, index)) {
+                return;
+            }
+            swap(parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index, int size) {
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && before(child, child + 1)) {
+                child++;
+            }
+            if (!before(index, child)) {
+                return;
+            }
+            swap(index, child);
+            index = child;
+        }
+    }
+
+    /**
+     * Sort the ranks [from, to) that fall in [low, high), leaving the rest partitioned
+     */
+    private void partialSort(int low, int high, int from, int to) {
+        while (high - low > INSERTION_SORT_SIZE) {
+            int pivot = partition(low, high);
+            if (pivot < from) {
+                low = pivot + 1;
+            } else if (pivot >= to) {
+                high = pivot;
+            } else if (pivot - low < high - pivot) {
+                // The page spans both sides: recurse into the smaller one to bound the stack
+                partialSort(low, pivot, from, to);
+                low = pivot + 1;
+            } else {
+                partialSort(pivot + 1, high, from, to);
+                high = pivot;
+            }
+        }
+        for (int i = low + 1; i < high; i++) {
+            for (int j = i; j > low && before(j, j - 1); j--) {
+                swap(j, j - 1);
+            }
+        }
+    }
+
+    /**
+     * Partition [low, high) around the median of three; returns the pivot's final index
+     */
+    private int partition(int low, int high) {
+        int middle = (low + high) >>> 1;
+        int last = high - 1;
+        if (before(middle, low)) {
+            swap(middle, low);
+        }
+        if (before(last, low)) {
+            swap(last, low);
+        }
+        if (before(middle, last)) {
+            swap(middle, last);
+        }
+        // The median now sits at last
+        int store = low;
+        for (int i = low; i < last; i++) {
+            if (before(i, last)) {
+                swap(i, store++);
+            }
+        }
+        swap(store, last);
+        return store;
+    }
+
+    private boolean before(int left, int right) {
+        long leftKey = keys[left];
+        long rightKey = keys[right];
+        return leftKey < rightKey || (leftKey == rightKey && ties.compare(items[left], items[right]) < 0);
+    }
+
+    private void swap(int left, int right) {
+        long key = keys[left];
+        keys[left] = keys[right];
+        keys[right] = key;
+        int item = items[left];
+        items[left] = items[right];
+        items[right] = item;
+    }
+
+    /**
+     * Order of two items with the same key
+     */
+    @FunctionalInterface
+    public interface TieBreaker {
+        int compare(int left, int right);
+    }
+}
@@ -0,0 +1,44 @@
+package com.search.product.infrastructure.persistence.mongodb;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Facet aggregation settings (search.facets.*)
+ * Both limits keep broad searches cheap: the pipeline reads at most
+ * maxDocuments matches and returns at most topK values per field
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "search.facets")
+public class FacetProperties {
+
+    /**
+     * Values returned per field facet (brands, categories, tags)
+     */
+    private int topK = 10;
+
+    /**
+     * Matching documents the facets are computed over (0 = unbounded)
+     */
+    private long maxDocuments = 20000;
+
+    /**
+     * Lower bounds of the price ranges, ascending; the last range is open
+     */
+    private List<BigDecimal> priceBoundaries = new ArrayList<>(List.of(
+            new BigDecimal("0"), new BigDecimal("100"), new BigDecimal("250"), new BigDecimal("500"),
+            new BigDecimal("1000"), new BigDecimal("2000"), new BigDecimal("3000")));
+
+    /**
+     * Lower bounds of the rating ranges, ascending; the last range is open
+     */
+    private List<BigDecimal> ratingBoundaries = new ArrayList<>(List.of(
+            new BigDecimal("0"), new BigDecimal("1"), new BigDecimal("2"), new BigDecimal("3"),
+            new BigDecimal("4"), new BigDecimal("4.5")));
+}
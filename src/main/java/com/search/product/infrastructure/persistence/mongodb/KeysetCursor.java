@@ -0,0 +1,19 @@
+package com.search.product.infrastructure.persistence.mongodb;
+
+/**
+ * Position in a sorted result set for keyset pagination
+ *
+ * @param sortBy     sort field the position refers to
+ * @param descending sort direction of the search
+ * @param value      sort-key value of the boundary document (textual, null if the field is null)
+ * @param id         _id of the boundary document (tie-breaker)
+ * @param backward   true to read the page before the boundary, false for the page after it
+ * @param queryHash  digest of the filters, so a cursor cannot be replayed against another search
+ */
+public record KeysetCursor(String sortBy,
+                           boolean descending,
+                           String value,
+                           String id,
+                           boolean backward,
+                           String queryHash) {
+}
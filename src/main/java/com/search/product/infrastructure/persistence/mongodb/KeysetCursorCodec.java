@@ -0,0 +1,96 @@
+package com.search.product.infrastructure.persistence.mongodb;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.search.product.domain.exception.InvalidCursorException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Opaque, tamper-resistant encoding of keyset cursors
+ * Format: base64url(json) "." base64url(HMAC-SHA256(json), truncated to 128 bits).
+ * The secret must be shared by all nodes so cursors survive load balancing,
+ * and has no default: the application does not start without it.
+ */
+@Component
+public class KeysetCursorCodec {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 16;
+
+    private final ObjectMapper cursorMapper = new ObjectMapper();
+    private final SecretKeySpec key;
+
+    public KeysetCursorCodec(@Value("${search.cursor.secret:}") String secret) {
+        if (secret == null || secret.isBlank()) {
+            // A built-in key would let anyone forge cursors: refuse to start without one
+            throw new IllegalStateException(
+                    "search.cursor.secret is not set (SEARCH_CURSOR_SECRET, or the dev profile locally)");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    /**
+     * Encode and sign a cursor
+     */
+    public String encode(KeysetCursor cursor) {
+        try {
+            byte[] payload = cursorMapper.writeValueAsBytes(cursor);
+            Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+            return encoder.encodeToString(payload) + "." + encoder.encodeToString(sign(payload));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    /**
+     * Verify and decode a cursor
+     */
+    public KeysetCursor decode(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+
+        byte[] payload;
+        byte[] signature;
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            payload = decoder.decode(token.substring(0, dot));
+            signature = decoder.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor", e);
+        }
+
+        // Constant-time comparison
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            throw new InvalidCursorException("Cursor signature mismatch");
+        }
+
+        try {
+            return cursorMapper.readValue(payload, KeysetCursor.class);
+        } catch (IOException e) {
+            throw new InvalidCursorException("Malformed cursor", e);
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return Arrays.copyOf(mac.doFinal(payload), SIGNATURE_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+}
@@ -1,30 +1,42 @@
 package com.search.product.infrastructure.persistence.mongodb;
 
+import com.mongodb.bulk.BulkWriteResult;
+import com.search.product.domain.model.BulkWriteOutcome;
 import com.search.product.domain.model.PageResult;
 import com.search.product.domain.model.Product;
+import com.search.product.domain.model.ProductSummary;
 import com.search.product.domain.model.SearchCriteria;
+import com.search.product.domain.model.SearchFacets;
 import com.search.product.domain.port.outbound.ProductRepository;
+import com.search.product.domain.port.outbound.StageExecutor;
+import com.search.product.infrastructure.persistence.mongodb.SearchQueryBuilder.SearchPlan;
+import com.search.product.infrastructure.persistence.mongodb.SearchQueryBuilder.SearchSlice;
 import com.search.product.infrastructure.persistence.mongodb.entity.ProductDocument;
 import com.search.product.infrastructure.persistence.mongodb.mapper.ProductMapper;
 import com.search.product.infrastructure.persistence.mongodb.repository.MongoProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.*;
+import org.bson.Document;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.data.mongodb.core.query.TextCriteria;
-import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * MongoDB Implementation of ProductRepository
- * Uses MongoTemplate for complex queries and optimizations
+ * Uses MongoTemplate for complex queries and optimizations; the queries
+ * themselves come from SearchQueryBuilder
  */
 @Slf4j
 @Component
@@ -35,6 +47,8 @@ public class MongoProductRepositoryAdapter implements ProductRepository {
     private final MongoProductRepository mongoRepository;
     private final MongoTemplate mongoTemplate;
     private final ProductMapper mapper;
+    private final SearchQueryBuilder queryBuilder;
+    private final StageExecutor stageExecutor;
 
     @Override
     public Optional<Product> findById(String id) {
@@ -49,59 +63,66 @@ public class MongoProductRepositoryAdapter implements ProductRepository {
     }
 
     @Override
-    public PageResult<Product> search(SearchCriteria criteria) {
+    public PageResult<ProductSummary> search(SearchCriteria criteria) {
         log.debug("Executing optimized search with criteria: {}", criteria);
 
-        // Build dynamic query
-        Query query = buildSearchQuery(criteria);
+        SearchPlan plan = queryBuilder.plan(criteria);
+        SearchSlice slice;
+        if (plan.uncounted()) {
+            slice = new SearchSlice(findPage(plan), null, false);
+        } else {
+            // Count next to the page find (concurrently with fan-out): both are index-backed
+            // and the page sort walks a {sort, _id} index, which it never does inside $facet
+            CompletableFuture<Long> total = stageExecutor.fork("db_count",
+                    () -> mongoTemplate.count(queryBuilder.totalQuery(plan), ProductDocument.class));
+            List<ProductDocument> documents = findPage(plan);
+            slice = queryBuilder.sliceOf(documents, stageExecutor.join(total), plan);
+        }
+        return queryBuilder.toPage(plan, slice);
+    }
 
-        // Apply sorting
-        query.with(buildSort(criteria));
+    @Override
+    public SearchFacets facets(SearchCriteria criteria) {
+        log.debug("Computing facets for criteria: {}", criteria);
 
-        // Count total (only if needed for pagination)
-        long total = mongoTemplate.count(query, ProductDocument.class);
+        Document result = mongoTemplate.aggregate(queryBuilder.facetsAggregation(criteria), Document.class)
+                .getUniqueMappedResult();
+        return queryBuilder.readFacets(result);
+    }
 
-        // Apply pagination with projection for memory efficiency
-        query.skip((long) criteria.getPage() * criteria.getSize());
-        query.limit(criteria.getSize());
+    @Override
+    public Stream<ProductSummary> streamSummaries(SearchCriteria criteria, String resumeAfter, int batchSize) {
+        log.debug("Streaming summaries with criteria: {}, after: {}", criteria, resumeAfter);
 
-        // Execute query with field projection (load only necessary fields)
-        List<ProductDocument> documents = mongoTemplate.find(query, ProductDocument.class);
+        // The find runs now, so query errors surface before anything is streamed
+        return mongoTemplate.stream(queryBuilder.exportQuery(criteria, resumeAfter, batchSize), ProductDocument.class)
+                .map(mapper::toSummary);
+    }
 
-        // Map to domain
-        List<Product> products = documents.stream()
-                .map(mapper::toDomain)
-                .collect(Collectors.toList());
+    @Override
+    public Stream<Product> streamIdentities(int batchSize) {
+        Query query = new Query().cursorBatchSize(batchSize);
+        query.fields().include("id", "sku");
+        return mongoTemplate.stream(query, ProductDocument.class)
+                .map(mapper::toDomain);
+    }
 
-        // Build page result
-        return buildPageResult(products, total, criteria);
+    @Override
+    public Stream<Product> streamProducts(int batchSize) {
+        return mongoTemplate.stream(new Query().cursorBatchSize(batchSize), ProductDocument.class)
+                .map(mapper::toDomain);
     }
 
     @Override
-    public List<Product> autocomplete(String query, int limit) {
+    public List<ProductSummary> autocomplete(String query, int limit) {
         if (query == null || query.trim().isEmpty()) {
             return List.of();
         }
 
-        // Use text index for full-text search
-        TextCriteria textCriteria = TextCriteria.forDefaultLanguage()
-                .matchingAny(query.split("\\s+"));
-
-        Query searchQuery = TextQuery.queryText(textCriteria)
-                .sortByScore()
-                .with(PageRequest.of(0, limit));
-
-        searchQuery.addCriteria(Criteria.where("active").is(true));
+        List<ProductDocument> documents = mongoTemplate.find(
+                queryBuilder.autocompleteQuery(query, limit), ProductDocument.class);
 
-        // Project only necessary fields for autocomplete
-        searchQuery.fields()
-                .include("id", "name", "sku", "price", "imageUrls");
-
-        List<ProductDocument> documents = mongoTemplate.find(searchQuery, ProductDocument.class);
-
-        return documents.stream()
-                .map(mapper::toDomain)
-                .collect(Collectors.toList());
+        return queryBuilder.toSummaries(documents);
     }
 
     @Override
@@ -113,43 +134,25 @@ public class MongoProductRepositoryAdapter implements ProductRepository {
     }
 
     @Override
-    public List<Product> findSimilar(String productId, int limit) {
-        Optional<ProductDocument> productOpt = mongoRepository.findById(productId);
+    public List<ProductSummary> findSummariesByIds(List<String> ids) {
+        return queryBuilder.toSummaries(
+                mongoTemplate.find(queryBuilder.summariesByIdsQuery(ids), ProductDocument.class));
+    }
 
-        if (productOpt.isEmpty()) {
+    @Override
+    public List<ProductSummary> findSimilar(String productId, int limit) {
+        ProductDocument product = mongoTemplate.findOne(
+                queryBuilder.similarSourceQuery(productId), ProductDocument.class);
+
+        if (product == null) {
             return List.of();
         }
 
-        ProductDocument product = productOpt.get();
-
         // Find similar products based on category and tags
-        Query query = new Query();
-
-        List<Criteria> criteriaList = new ArrayList<>();
-
-        if (product.getCategory() != null) {
-            criteriaList.add(Criteria.where("category").is(product.getCategory()));
-        }
-
-        if (product.getTags() != null && !product.getTags().isEmpty()) {
-            criteriaList.add(Criteria.where("tags").in(product.getTags()));
-        }
-
-        if (!criteriaList.isEmpty()) {
-            query.addCriteria(new Criteria().orOperator(
-                    criteriaList.toArray(new Criteria[0])));
-        }
-
-        query.addCriteria(Criteria.where("id").ne(productId));
-        query.addCriteria(Criteria.where("active").is(true));
-        query.with(Sort.by(Sort.Direction.DESC, "rating"));
-        query.limit(limit);
-
-        List<ProductDocument> documents = mongoTemplate.find(query, ProductDocument.class);
+        List<ProductDocument> documents = mongoTemplate.find(
+                queryBuilder.similarQuery(product, productId, limit), ProductDocument.class);
 
-        return documents.stream()
-                .map(mapper::toDomain)
-                .collect(Collectors.toList());
+        return queryBuilder.toSummaries(documents);
     }
 
     @Override
@@ -172,6 +175,39 @@ public class MongoProductRepositoryAdapter implements ProductRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public BulkWriteOutcome upsertAllBySku(List<Product> products) {
+        if (products.isEmpty()) {
+            return BulkWriteOutcome.builder().failures(List.of()).build();
+        }
+
+        // Unordered: the server applies the upserts in parallel and keeps going past failed ones
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProductDocument.class);
+        LocalDateTime now = LocalDateTime.now();
+        for (Product product : products) {
+            bulk.upsert(new Query(Criteria.where("sku").is(product.getSku())), upsertUpdate(product, now));
+        }
+
+        try {
+            return outcome(bulk.execute(), List.of());
+        } catch (BulkOperationException e) {
+            List<BulkWriteOutcome.Failure> failures = e.getErrors().stream()
+                    .map(error -> new BulkWriteOutcome.Failure(error.getIndex(), error.getMessage()))
+                    .toList();
+            log.warn("Bulk upsert of {} products: {} failed", products.size(), failures.size());
+            return outcome(e.getResult(), failures);
+        }
+    }
+
+    @Override
+    public List<Product> findScopesBySkus(Collection<String> skus) {
+        Query query = new Query(Criteria.where("sku").in(skus));
+        query.fields().include("id", "sku", "category", "brand");
+        return mongoTemplate.find(query, ProductDocument.class).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public void deleteById(String id) {
         mongoRepository.deleteById(id);
@@ -179,8 +215,7 @@ public class MongoProductRepositoryAdapter implements ProductRepository {
 
     @Override
     public Long count(SearchCriteria criteria) {
-        Query query = buildSearchQuery(criteria);
-        return mongoTemplate.count(query, ProductDocument.class);
+        return mongoTemplate.count(queryBuilder.countQuery(criteria), ProductDocument.class);
     }
 
     @Override
@@ -190,98 +225,37 @@ public class MongoProductRepositoryAdapter implements ProductRepository {
 
     // ========== Private Helper Methods ==========
 
-    /**
-     * Build dynamic MongoDB query from search criteria
-     * Optimized to use indexes efficiently
-     */
-    private Query buildSearchQuery(SearchCriteria criteria) {
-        Query query = new Query();
-
-        List<Criteria> criteriaList = new ArrayList<>();
-
-        // Text search (uses text index)
-        if (criteria.getQuery() != null && !criteria.getQuery().trim().isEmpty()) {
-            TextCriteria textCriteria = TextCriteria.forDefaultLanguage()
-                    .matching(criteria.getQuery().trim());
-            query.addCriteria(textCriteria);
-        }
-
-        // Category filter (indexed)
-        if (criteria.getCategory() != null) {
-            criteriaList.add(Criteria.where("category").is(criteria.getCategory()));
-        }
-
-        // Brand filter (indexed)
-        if (criteria.getBrand() != null) {
-            criteriaList.add(Criteria.where("brand").is(criteria.getBrand()));
-        }
-
-        // Tags filter (indexed)
-        if (criteria.getTags() != null && !criteria.getTags().isEmpty()) {
-            criteriaList.add(Criteria.where("tags").in(criteria.getTags()));
-        }
-
-        // Price range filter (compound indexed with rating)
-        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null) {
-            criteriaList.add(Criteria.where("price")
-                    .gte(criteria.getMinPrice())
-                    .lte(criteria.getMaxPrice()));
-        } else if (criteria.getMinPrice() != null) {
-            criteriaList.add(Criteria.where("price").gte(criteria.getMinPrice()));
-        } else if (criteria.getMaxPrice() != null) {
-            criteriaList.add(Criteria.where("price").lte(criteria.getMaxPrice()));
-        }
-
-        // Rating filter (indexed)
-        if (criteria.getMinRating() != null) {
-            criteriaList.add(Criteria.where("rating").gte(criteria.getMinRating()));
-        }
-
-        // Stock filter (compound indexed with active)
-        if (criteria.getInStockOnly() != null && criteria.getInStockOnly()) {
-            criteriaList.add(Criteria.where("stock").gt(0));
-        }
-
-        // Active filter (indexed in multiple compounds)
-        if (criteria.getActiveOnly() != null && criteria.getActiveOnly()) {
-            criteriaList.add(Criteria.where("active").is(true));
-        }
-
-        // Combine all criteria
-        if (!criteriaList.isEmpty()) {
-            query.addCriteria(new Criteria().andOperator(
-                    criteriaList.toArray(new Criteria[0])));
-        }
-
-        return query;
+    private List<ProductDocument> findPage(SearchPlan plan) {
+        return stageExecutor.time("db_find",
+                () -> mongoTemplate.find(queryBuilder.pageQuery(plan), ProductDocument.class));
     }
 
     /**
-     * Build sort from criteria
+     * $set of every field the product carries (as the converter writes them), keeping
+     * the stored _id and createdAt of existing products
      */
-    private Sort buildSort(SearchCriteria criteria) {
-        String sortBy = criteria.getSortBy() != null ? criteria.getSortBy() : "createdAt";
-        Sort.Direction direction = criteria.getSortDirection() == SearchCriteria.SortDirection.ASC
-                ? Sort.Direction.ASC
-                : Sort.Direction.DESC;
-
-        return Sort.by(direction, sortBy);
+    private Update upsertUpdate(Product product, LocalDateTime now) {
+        Document fields = new Document();
+        mongoTemplate.getConverter().write(mapper.toDocument(product), fields);
+        fields.remove("_id");
+        fields.remove("createdAt");
+        fields.remove("updatedAt");
+
+        Update update = new Update();
+        fields.forEach(update::set);
+        return update.setOnInsert("createdAt", now).set("updatedAt", now);
     }
 
-    /**
-     * Build paginated result
-     */
-    private PageResult<Product> buildPageResult(List<Product> products, long total, SearchCriteria criteria) {
-        int totalPages = (int) Math.ceil((double) total / criteria.getSize());
-
-        return PageResult.<Product>builder()
-                .content(products)
-                .totalElements(total)
-                .totalPages(totalPages)
-                .currentPage(criteria.getPage())
-                .pageSize(criteria.getSize())
-                .hasNext(criteria.getPage() < totalPages - 1)
-                .hasPrevious(criteria.getPage() > 0)
+    private static BulkWriteOutcome outcome(BulkWriteResult result, List<BulkWriteOutcome.Failure> failures) {
+        return BulkWriteOutcome.builder()
+                .inserted(result.getUpserts().size())
+                .insertedIds(result.getUpserts().stream()
+                        .map(upsert -> upsert.getId().isObjectId()
+                                ? upsert.getId().asObjectId().getValue().toHexString()
+                                : upsert.getId().asString().getValue())
+                        .toList())
+                .updated(result.getMatchedCount())
+                .failures(failures)
                 .build();
     }
 }
@@ -0,0 +1,100 @@
+package com.search.product.infrastructure.persistence.mongodb;
+
+import com.search.product.domain.model.PageResult;
+import com.search.product.domain.model.Product;
+import com.search.product.domain.model.ProductSummary;
+import com.search.product.domain.model.SearchCriteria;
+import com.search.product.domain.model.SearchFacets;
+import com.search.product.domain.port.outbound.ReactiveProductRepository;
+import com.search.product.infrastructure.persistence.mongodb.SearchQueryBuilder.SearchSlice;
+import com.search.product.infrastructure.persistence.mongodb.entity.ProductDocument;
+import com.search.product.infrastructure.persistence.mongodb.mapper.ProductMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive MongoDB Implementation of ReactiveProductRepository
+ * Runs the same queries as MongoProductRepositoryAdapter (both come from
+ * SearchQueryBuilder) on the non-blocking driver
+ */
+@Slf4j
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+@SuppressWarnings("null")
+public class ReactiveMongoProductRepositoryAdapter implements ReactiveProductRepository {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ProductMapper mapper;
+    private final SearchQueryBuilder queryBuilder;
+
+    @Override
+    public Mono<Product> findById(String id) {
+        return mongoTemplate.findById(id, ProductDocument.class)
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public Mono<PageResult<ProductSummary>> search(SearchCriteria criteria) {
+        log.debug("Executing reactive search with criteria: {}", criteria);
+
+        // Planning decodes the cursor, so invalid cursors fail the Mono instead of the caller
+        return Mono.fromCallable(() -> queryBuilder.plan(criteria))
+                .flatMap(plan -> {
+                    Mono<List<ProductDocument>> page = mongoTemplate
+                            .find(queryBuilder.pageQuery(plan), ProductDocument.class)
+                            .collectList();
+                    // Count and page run concurrently, both index-backed
+                    Mono<SearchSlice> slice = plan.uncounted()
+                            ? page.map(documents -> new SearchSlice(documents, null, false))
+                            : Mono.zip(page, mongoTemplate.count(queryBuilder.totalQuery(plan), ProductDocument.class))
+                                    .map(pair -> queryBuilder.sliceOf(pair.getT1(), pair.getT2(), plan));
+                    return slice.map(s -> queryBuilder.toPage(plan, s));
+                });
+    }
+
+    @Override
+    public Mono<SearchFacets> facets(SearchCriteria criteria) {
+        log.debug("Computing facets for criteria: {}", criteria);
+
+        return mongoTemplate.aggregate(queryBuilder.facetsAggregation(criteria), Document.class)
+                .next()
+                .map(queryBuilder::readFacets)
+                .switchIfEmpty(Mono.fromSupplier(() -> queryBuilder.readFacets(null)));
+    }
+
+    @Override
+    public Mono<List<ProductSummary>> autocomplete(String query, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            return Mono.just(List.of());
+        }
+
+        return mongoTemplate.find(queryBuilder.autocompleteQuery(query, limit), ProductDocument.class)
+                .collectList()
+                .map(queryBuilder::toSummaries);
+    }
+
+    @Override
+    public Mono<List<ProductSummary>> findSummariesByIds(List<String> ids) {
+        return mongoTemplate.find(queryBuilder.summariesByIdsQuery(ids), ProductDocument.class)
+                .collectList()
+                .map(queryBuilder::toSummaries);
+    }
+
+    @Override
+    public Mono<List<ProductSummary>> findSimilar(String productId, int limit) {
+        return mongoTemplate.findOne(queryBuilder.similarSourceQuery(productId), ProductDocument.class)
+                .flatMap(product -> mongoTemplate
+                        .find(queryBuilder.similarQuery(product, productId, limit), ProductDocument.class)
+                        .collectList())
+                .map(queryBuilder::toSummaries)
+                .defaultIfEmpty(List.of());
+    }
+}
@@ -0,0 +1,658 @@
+package com.search.product.infrastructure.persistence.mongodb;
+
+import com.search.product.domain.exception.InvalidCursorException;
+import com.search.product.domain.model.PageResult;
+import com.search.product.domain.model.ProductSummary;
+import com.search.product.domain.model.SearchCriteria;
+import com.search.product.domain.model.SearchFacets;
+import com.search.product.infrastructure.persistence.mongodb.advisor.QueryShape;
+import com.search.product.infrastructure.persistence.mongodb.advisor.QueryShapeAdvisor;
+import com.search.product.infrastructure.persistence.mongodb.entity.ProductDocument;
+import com.search.product.infrastructure.persistence.mongodb.mapper.ProductMapper;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Field;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * MongoDB queries and aggregations of the product search port, and the
+ * reading of their results
+ * Shared by the blocking and the reactive adapter, so both execute exactly
+ * the same queries and only differ in how they talk to the driver.
+ */
+@Component
+public class SearchQueryBuilder {
+
+    /**
+     * Sort fields with a keyset (sort value + _id) index
+     */
+    private static final Set<String> KEYSET_SORT_FIELDS = Set.of("price", "rating", "name", "createdAt");
+
+    /**
+     * Fields loaded for list results (ProductSummary); imageUrls is cut to its first element
+     * The keyset sort fields must stay in this list, cursors are built from them
+     */
+    private static final String[] SUMMARY_FIELDS = {
+            "name", "sku", "brand", "category", "price", "currency",
+            "stock", "active", "rating", "reviewCount", "createdAt"
+    };
+    private static final String THUMBNAIL_SOURCE = "imageUrls";
+
+    private static final String TOTAL_FIELD = "count";
+
+    private static final String BRANDS_FACET = "brands";
+    private static final String CATEGORIES_FACET = "categories";
+    private static final String TAGS_FACET = "tags";
+    private static final String PRICE_FACET = "price";
+    private static final String RATING_FACET = "rating";
+    private static final String SCANNED_FACET = "scanned";
+    private static final String OUT_OF_RANGE = "other";
+
+    private final ProductMapper mapper;
+    private final KeysetCursorCodec cursorCodec;
+    private final FacetProperties facetProperties;
+    private final QueryShapeAdvisor shapeAdvisor;
+    private final long countCap;
+
+    public SearchQueryBuilder(ProductMapper mapper,
+                              KeysetCursorCodec cursorCodec,
+                              FacetProperties facetProperties,
+                              QueryShapeAdvisor shapeAdvisor,
+                              @Value("${search.count.cap:10000}") long countCap) {
+        this.mapper = mapper;
+        this.cursorCodec = cursorCodec;
+        this.facetProperties = facetProperties;
+        this.shapeAdvisor = shapeAdvisor;
+        this.countCap = countCap;
+    }
+
+    // ========== Search ==========
+
+    /**
+     * Work out how a search is executed: filter, keyset seek or offset, sort, fetch size and hint
+     */
+    public SearchPlan plan(SearchCriteria criteria) {
+        // Build dynamic query
+        Query filter = buildSearchQuery(criteria);
+        String sortField = sortField(criteria);
+        boolean descending = criteria.getSortDirection() != SearchCriteria.SortDirection.ASC;
+        String queryHash = queryHash(filter);
+
+        // Keyset page: seek past the cursor instead of skipping, so any page costs
+        // the same as the first one; backward cursors scan in reverse and flip the page
+        KeysetCursor cursor = criteria.getCursor() != null
+                ? decodeCursor(criteria.getCursor(), sortField, descending, queryHash)
+                : null;
+        boolean backward = cursor != null && cursor.backward();
+        boolean scanDescending = backward != descending;
+        Criteria seek = cursor != null
+                ? seekCriteria(sortField, scanDescending, parseSortValue(sortField, cursor.value()), cursor.id())
+                : null;
+        long skip = cursor != null ? 0 : (long) criteria.getPage() * criteria.getSize();
+
+        // One extra document tells whether there is a next page without counting
+        Sort sort = buildSort(sortField, scanDescending);
+        int fetch = criteria.getSize() + 1;
+
+        // Sample the plan of this query shape and apply its configured hint, if any
+        QueryShape shape = QueryShape.of(criteria, sortField);
+        shapeAdvisor.observe(shape, filter, sort, fetch);
+        String hint = shapeAdvisor.hintFor(shape).orElse(null);
+
+        return new SearchPlan(criteria, filter, sortField, descending, queryHash, cursor, seek, skip, sort, fetch, hint);
+    }
+
+    /**
+     * Page of the search: an index-backed find (keyset seek or skip, sort, limit)
+     */
+    public Query pageQuery(SearchPlan plan) {
+        Query query = buildSearchQuery(plan.criteria(), plan.seek());
+        if (plan.hint() != null) {
+            query.withHint(plan.hint());
+        }
+        query.with(plan.sort());
+        query.skip(plan.skip());
+        query.limit(plan.fetch());
+        summaryFields(query.fields());
+        return query;
+    }
+
+    /**
+     * Total of the search as its own count (capped at the count cap in CAPPED mode),
+     * run next to pageQuery rather than in one $facet with the page: inside $facet
+     * the page sort can never use an index and always sorts every match in memory
+     */
+    public Query totalQuery(SearchPlan plan) {
+        Query query = buildSearchQuery(plan.criteria());
+        if (plan.hint() != null) {
+            query.withHint(plan.hint());
+        }
+        if (plan.capped()) {
+            query.limit((int) Math.min(countCap, Integer.MAX_VALUE));
+        }
+        return query;
+    }
+
+    /**
+     * Slice of a page fetched with pageQuery and a total counted with totalQuery
+     */
+    public SearchSlice sliceOf(List<ProductDocument> documents, long total, SearchPlan plan) {
+        return new SearchSlice(documents, total, !plan.capped() || total < countCap);
+    }
+
+    /**
+     * Turn the fetched slice into the page: drop the look-ahead document, restore
+     * the order of backward scans, derive hasNext/hasPrevious and the cursors
+     */
+    public PageResult<ProductSummary> toPage(SearchPlan plan, SearchSlice slice) {
+        SearchCriteria criteria = plan.criteria();
+        List<ProductDocument> documents = new ArrayList<>(slice.documents());
+        boolean more = documents.size() > criteria.getSize();
+        if (more) {
+            documents.remove(documents.size() - 1);
+        }
+        if (plan.backward()) {
+            Collections.reverse(documents);
+        }
+
+        boolean hasNext = plan.backward() || more;
+        boolean hasPrevious = plan.cursor() != null ? !plan.backward() || more : criteria.getPage() > 0;
+
+        // Build page result
+        PageResult<ProductSummary> result = buildPageResult(toSummaries(documents), slice, criteria,
+                hasNext, hasPrevious);
+        if (KEYSET_SORT_FIELDS.contains(plan.sortField()) && !documents.isEmpty()) {
+            // Cursors are offered from offset pages too, so clients can switch to keyset navigation
+            result.setNextCursor(hasNext
+                    ? cursorAt(documents.get(documents.size() - 1), plan, false)
+                    : null);
+            result.setPreviousCursor(hasPrevious
+                    ? cursorAt(documents.get(0), plan, true)
+                    : null);
+        }
+        return result;
+    }
+
+    /**
+     * Count query for the criteria
+     */
+    public Query countQuery(SearchCriteria criteria) {
+        return buildSearchQuery(criteria);
+    }
+
+    // ========== Facets ==========
+
+    /**
+     * All facets in one aggregation over the filtered documents:
+     * $match(filter) -> ($limit maxDocuments) -> $facet {
+     *   brands/categories: [$sortByCount, $limit topK], tags: [$unwind, $sortByCount, $limit topK],
+     *   price/rating: [$bucket], scanned: [$count] }
+     */
+    public TypedAggregation<ProductDocument> facetsAggregation(SearchCriteria criteria) {
+        int topK = facetProperties.getTopK();
+        long maxDocuments = facetProperties.getMaxDocuments();
+
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(matchStage(buildSearchQuery(criteria)));
+        if (maxDocuments > 0) {
+            stages.add(Aggregation.limit(maxDocuments));
+        }
+        stages.add(Aggregation
+                .facet(Aggregation.sortByCount("brand"), Aggregation.limit(topK)).as(BRANDS_FACET)
+                .and(Aggregation.sortByCount("category"), Aggregation.limit(topK)).as(CATEGORIES_FACET)
+                .and(Aggregation.unwind("tags"), Aggregation.sortByCount("tags"), Aggregation.limit(topK))
+                .as(TAGS_FACET)
+                // Prices may be stored as strings (BigDecimal mapping) or numbers
+                .and(Aggregation.bucket(ConvertOperators.valueOf("price").convertToDouble())
+                        .withBoundaries(upperBounded(facetProperties.getPriceBoundaries()))
+                        .withDefaultBucket(OUT_OF_RANGE))
+                .as(PRICE_FACET)
+                .and(Aggregation.bucket("rating")
+                        .withBoundaries(upperBounded(facetProperties.getRatingBoundaries()))
+                        .withDefaultBucket(OUT_OF_RANGE))
+                .as(RATING_FACET)
+                .and(Aggregation.count().as(TOTAL_FIELD)).as(SCANNED_FACET));
+
+        return Aggregation.newAggregation(ProductDocument.class, stages);
+    }
+
+    /**
+     * Read the result of facetsAggregation (null when the pipeline returned nothing)
+     */
+    public SearchFacets readFacets(Document result) {
+        if (result == null) {
+            return SearchFacets.builder().scanned(0L).complete(true).build();
+        }
+
+        long maxDocuments = facetProperties.getMaxDocuments();
+        List<Document> scannedCount = result.getList(SCANNED_FACET, Document.class);
+        long scanned = scannedCount.isEmpty() ? 0L : ((Number) scannedCount.get(0).get(TOTAL_FIELD)).longValue();
+        return SearchFacets.builder()
+                .brands(toBuckets(result.getList(BRANDS_FACET, Document.class)))
+                .categories(toBuckets(result.getList(CATEGORIES_FACET, Document.class)))
+                .tags(toBuckets(result.getList(TAGS_FACET, Document.class)))
+                .priceRanges(toRanges(result.getList(PRICE_FACET, Document.class),
+                        facetProperties.getPriceBoundaries()))
+                .ratingRanges(toRanges(result.getList(RATING_FACET, Document.class),
+                        facetProperties.getRatingBoundaries()))
+                .scanned(scanned)
+                .complete(maxDocuments <= 0 || scanned < maxDocuments)
+                .build();
+    }
+
+    // ========== Lists ==========
+
+    /**
+     * Text-index suggestions for a non-blank query
+     */
+    public Query autocompleteQuery(String query, int limit) {
+        // Use text index for full-text search
+        TextCriteria textCriteria = TextCriteria.forDefaultLanguage()
+                .matchingAny(query.split("\\s+"));
+
+        Query searchQuery = TextQuery.queryText(textCriteria)
+                .sortByScore()
+                .with(PageRequest.of(0, limit));
+
+        searchQuery.addCriteria(Criteria.where("active").is(true));
+
+        // Project only necessary fields for autocomplete
+        searchQuery.fields()
+                .include("id", "name", "sku", "price", "currency")
+                .slice(THUMBNAIL_SOURCE, 1);
+        return searchQuery;
+    }
+
+    /**
+     * Summary fields of the given products
+     */
+    public Query summariesByIdsQuery(List<String> ids) {
+        Query query = new Query(Criteria.where("id").in(ids));
+        summaryFields(query.fields());
+        return query;
+    }
+
+    /**
+     * Every summary matching the filters of the criteria, in _id order, after the
+     * resume token (the id of the last exported product); paging and sort are ignored
+     * Read as a server-side cursor fetching batchSize documents per round trip. The
+     * cursor is exempt from the idle timeout because a slow client can pause it for
+     * longer; callers must close it.
+     */
+    public Query exportQuery(SearchCriteria criteria, String resumeAfter, int batchSize) {
+        Criteria seek = null;
+        if (resumeAfter != null) {
+            if (!ObjectId.isValid(resumeAfter)) {
+                throw new InvalidCursorException("Invalid export resume token");
+            }
+            seek = Criteria.where("id").gt(new ObjectId(resumeAfter));
+        }
+
+        Query query = buildSearchQuery(criteria, seek);
+        query.with(Sort.by(Sort.Direction.ASC, "id"));
+        summaryFields(query.fields());
+        return query.cursorBatchSize(batchSize).noCursorTimeout();
+    }
+
+    /**
+     * Only the fields similarity is based on
+     */
+    public Query similarSourceQuery(String productId) {
+        Query source = new Query(Criteria.where("id").is(productId));
+        source.fields().include("category", "tags");
+        return source;
+    }
+
+    /**
+     * Similar products: same category or a shared tag, best rated first
+     */
+    public Query similarQuery(ProductDocument product, String productId, int limit) {
+        Query query = new Query();
+
+        List<Criteria> criteriaList = new ArrayList<>();
+
+        if (product.getCategory() != null) {
+            criteriaList.add(Criteria.where("category").is(product.getCategory()));
+        }
+
+        if (product.getTags() != null && !product.getTags().isEmpty()) {
+            criteriaList.add(Criteria.where("tags").in(product.getTags()));
+        }
+
+        if (!criteriaList.isEmpty()) {
+            query.addCriteria(new Criteria().orOperator(
+                    criteriaList.toArray(new Criteria[0])));
+        }
+
+        query.addCriteria(Criteria.where("id").ne(productId));
+        query.addCriteria(Criteria.where("active").is(true));
+        query.with(Sort.by(Sort.Direction.DESC, "rating"));
+        query.limit(limit);
+        summaryFields(query.fields());
+        return query;
+    }
+
+    public List<ProductSummary> toSummaries(List<ProductDocument> documents) {
+        return documents.stream()
+                .map(mapper::toSummary)
+                .collect(Collectors.toList());
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Build dynamic MongoDB query from search criteria
+     * Optimized to use indexes efficiently
+     */
+    private Query buildSearchQuery(SearchCriteria criteria) {
+        return buildSearchQuery(criteria, null);
+    }
+
+    /**
+     * Build the search query with an additional condition (keyset seek)
+     */
+    private Query buildSearchQuery(SearchCriteria criteria, Criteria additional) {
+        Query query = new Query();
+
+        List<Criteria> criteriaList = new ArrayList<>();
+        if (additional != null) {
+            criteriaList.add(additional);
+        }
+
+        // Text search (uses text index)
+        if (criteria.getQuery() != null && !criteria.getQuery().trim().isEmpty()) {
+            TextCriteria textCriteria = TextCriteria.forDefaultLanguage()
+                    .matching(criteria.getQuery().trim());
+            query.addCriteria(textCriteria);
+        }
+
+        // Category filter (indexed)
+        if (criteria.getCategory() != null) {
+            criteriaList.add(Criteria.where("category").is(criteria.getCategory()));
+        }
+
+        // Brand filter (indexed)
+        if (criteria.getBrand() != null) {
+            criteriaList.add(Criteria.where("brand").is(criteria.getBrand()));
+        }
+
+        // Tags filter (indexed)
+        if (criteria.getTags() != null && !criteria.getTags().isEmpty()) {
+            criteriaList.add(Criteria.where("tags").in(criteria.getTags()));
+        }
+
+        // Price range filter (compound indexed with rating)
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null) {
+            criteriaList.add(Criteria.where("price")
+                    .gte(criteria.getMinPrice())
+                    .lte(criteria.getMaxPrice()));
+        } else if (criteria.getMinPrice() != null) {
+            criteriaList.add(Criteria.where("price").gte(criteria.getMinPrice()));
+        } else if (criteria.getMaxPrice() != null) {
+            criteriaList.add(Criteria.where("price").lte(criteria.getMaxPrice()));
+        }
+
+        // Rating filter (indexed)
+        if (criteria.getMinRating() != null) {
+            criteriaList.add(Criteria.where("rating").gte(criteria.getMinRating()));
+        }
+
+        // Stock filter (compound indexed with active)
+        if (criteria.getInStockOnly() != null && criteria.getInStockOnly()) {
+            criteriaList.add(Criteria.where("stock").gt(0));
+        }
+
+        // Active filter (indexed in multiple compounds)
+        if (criteria.getActiveOnly() != null && criteria.getActiveOnly()) {
+            criteriaList.add(Criteria.where("active").is(true));
+        }
+
+        // Combine all criteria
+        if (!criteriaList.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(
+                    criteriaList.toArray(new Criteria[0])));
+        }
+
+        return query;
+    }
+
+    /**
+     * $match of a query; the filter may hold $text, which must be the first stage of the pipeline
+     */
+    private static AggregationOperation matchStage(Query filter) {
+        return context -> new Document("$match", context.getMappedObject(filter.getQueryObject()));
+    }
+
+    /**
+     * Restrict a find to the summary fields
+     */
+    private static void summaryFields(Field fields) {
+        fields.include(SUMMARY_FIELDS).slice(THUMBNAIL_SOURCE, 1);
+    }
+
+    private KeysetCursor decodeCursor(String token, String sortField, boolean descending, String queryHash) {
+        KeysetCursor cursor = cursorCodec.decode(token);
+        if (!sortField.equals(cursor.sortBy()) || descending != cursor.descending()
+                || !queryHash.equals(cursor.queryHash())) {
+            throw new InvalidCursorException("Cursor does not belong to this search");
+        }
+        return cursor;
+    }
+
+    /**
+     * Documents strictly after (value, id) in the scan order
+     * Nulls sort first ascending and last descending, as MongoDB orders them
+     */
+    private Criteria seekCriteria(String sortField, boolean descending, Object value, String id) {
+        Criteria tie = descending ? Criteria.where("id").lt(id) : Criteria.where("id").gt(id);
+
+        if (value == null) {
+            Criteria sameNull = new Criteria().andOperator(Criteria.where(sortField).is(null), tie);
+            return descending
+                    ? new Criteria().orOperator(sameNull)
+                    : new Criteria().orOperator(sameNull, Criteria.where(sortField).ne(null));
+        }
+
+        Criteria beyond = descending ? Criteria.where(sortField).lt(value) : Criteria.where(sortField).gt(value);
+        Criteria sameValue = new Criteria().andOperator(Criteria.where(sortField).is(value), tie);
+        return descending
+                ? new Criteria().orOperator(beyond, sameValue, Criteria.where(sortField).is(null))
+                : new Criteria().orOperator(beyond, sameValue);
+    }
+
+    /**
+     * Sort field of the criteria (createdAt when not given)
+     */
+    private static String sortField(SearchCriteria criteria) {
+        return criteria.getSortBy() != null ? criteria.getSortBy() : "createdAt";
+    }
+
+    /**
+     * Build sort with the _id tie-breaker
+     */
+    private static Sort buildSort(String sortField, boolean descending) {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, sortField).and(Sort.by(direction, "id"));
+    }
+
+    private String cursorAt(ProductDocument document, SearchPlan plan, boolean backward) {
+        return cursorCodec.encode(new KeysetCursor(plan.sortField(), plan.descending(),
+                formatSortValue(plan.sortField(), document), document.getId(), backward, plan.queryHash()));
+    }
+
+    private static String formatSortValue(String sortField, ProductDocument document) {
+        Object value = switch (sortField) {
+            case "price" -> document.getPrice() == null ? null : document.getPrice().toPlainString();
+            case "rating" -> document.getRating();
+            case "name" -> document.getName();
+            case "createdAt" -> document.getCreatedAt();
+            default -> throw new IllegalArgumentException("Keyset pagination not supported for: " + sortField);
+        };
+        return value == null ? null : value.toString();
+    }
+
+    private static Object parseSortValue(String sortField, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return switch (sortField) {
+                case "price" -> new BigDecimal(value);
+                case "rating" -> Double.valueOf(value);
+                case "name" -> value;
+                case "createdAt" -> LocalDateTime.parse(value);
+                default -> throw new InvalidCursorException("Keyset pagination not supported for: " + sortField);
+            };
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new InvalidCursorException("Malformed cursor value", e);
+        }
+    }
+
+    /**
+     * Short digest of the filters (cursors are only valid for the search they came from)
+     */
+    private static String queryHash(Query query) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(query.getQueryObject().toJson().getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 12));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * $bucket boundaries: the configured lower bounds plus an upper bound above any value,
+     * so the last range is open; values below the first bound or missing go to OUT_OF_RANGE
+     */
+    private static Object[] upperBounded(List<BigDecimal> lowerBounds) {
+        Object[] boundaries = new Object[lowerBounds.size() + 1];
+        for (int i = 0; i < lowerBounds.size(); i++) {
+            boundaries[i] = lowerBounds.get(i).doubleValue();
+        }
+        boundaries[lowerBounds.size()] = Double.MAX_VALUE;
+        return boundaries;
+    }
+
+    /**
+     * $sortByCount output ({_id: value, count}) to buckets, skipping documents without the field
+     */
+    private static List<SearchFacets.Bucket> toBuckets(List<Document> counts) {
+        return counts.stream()
+                .filter(count -> count.get("_id") != null)
+                .map(count -> new SearchFacets.Bucket(count.get("_id").toString(),
+                        ((Number) count.get(TOTAL_FIELD)).longValue()))
+                .toList();
+    }
+
+    /**
+     * $bucket output ({_id: lower bound, count}) to ranges in boundary order, empty ranges included
+     */
+    private static List<SearchFacets.Range> toRanges(List<Document> buckets, List<BigDecimal> lowerBounds) {
+        long[] counts = new long[lowerBounds.size()];
+        for (Document bucket : buckets) {
+            if (bucket.get("_id") instanceof Number lowerBound) {
+                for (int i = 0; i < lowerBounds.size(); i++) {
+                    if (lowerBounds.get(i).doubleValue() == lowerBound.doubleValue()) {
+                        counts[i] = ((Number) bucket.get(TOTAL_FIELD)).longValue();
+                    }
+                }
+            }
+        }
+
+        List<SearchFacets.Range> ranges = new ArrayList<>(lowerBounds.size());
+        for (int i = 0; i < lowerBounds.size(); i++) {
+            BigDecimal to = i + 1 < lowerBounds.size() ? lowerBounds.get(i + 1) : null;
+            ranges.add(new SearchFacets.Range(lowerBounds.get(i), to, counts[i]));
+        }
+        return ranges;
+    }
+
+    /**
+     * Build paginated result
+     */
+    private PageResult<ProductSummary> buildPageResult(List<ProductSummary> products, SearchSlice slice,
+                                                       SearchCriteria criteria, boolean hasNext, boolean hasPrevious) {
+        Integer totalPages = slice.total() == null
+                ? null
+                : (int) Math.ceil((double) slice.total() / criteria.getSize());
+
+        return PageResult.<ProductSummary>builder()
+                .content(products)
+                .totalElements(slice.total())
+                .totalExact(slice.total() == null ? null : slice.totalExact())
+                .totalPages(totalPages)
+                .currentPage(criteria.getPage())
+                .pageSize(criteria.getSize())
+                .hasNext(hasNext)
+                .hasPrevious(hasPrevious)
+                .build();
+    }
+
+    /**
+     * How one search is executed
+     *
+     * @param cursor decoded keyset cursor (null for offset pages)
+     * @param seek   keyset condition past the cursor (null for offset pages)
+     * @param fetch  page size + 1 (the extra document tells whether there is a next page)
+     * @param hint   index hint configured for the query shape (null for none)
+     */
+    public record SearchPlan(SearchCriteria criteria,
+                             Query filter,
+                             String sortField,
+                             boolean descending,
+                             String queryHash,
+                             KeysetCursor cursor,
+                             Criteria seek,
+                             long skip,
+                             Sort sort,
+                             int fetch,
+                             String hint) {
+
+        public boolean backward() {
+            return cursor != null && cursor.backward();
+        }
+
+        /**
+         * Page without a total (plain find instead of the $facet aggregation)
+         */
+        public boolean uncounted() {
+            return criteria.getCountMode() == SearchCriteria.CountMode.NONE;
+        }
+
+        public boolean capped() {
+            return criteria.getCountMode() == SearchCriteria.CountMode.CAPPED;
+        }
+    }
+
+    /**
+     * Fetched documents (up to size + 1) and the total, if counted
+     */
+    public record SearchSlice(List<ProductDocument> documents, Long total, boolean totalExact) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.search.product.infrastructure.persistence.mongodb.advisor;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What one explain("executionStats") says about a query
+ *
+ * @param stages       stages of the winning plan, root first
+ * @param indexName    index scanned by the winning plan (null for a collection scan)
+ * @param returned     documents returned
+ * @param keysExamined index keys examined
+ * @param docsExamined documents fetched
+ * @param millis       server execution time
+ */
+public record ExplainSummary(List<String> stages,
+                             String indexName,
+                             long returned,
+                             long keysExamined,
+                             long docsExamined,
+                             long millis) {
+
+    /**
+     * Parse explain output (classic and slot-based engine layouts)
+     */
+    public static ExplainSummary parse(Document explain) {
+        Document planner = explain.get("queryPlanner", Document.class);
+        Document winningPlan = planner == null ? null : planner.get("winningPlan", Document.class);
+        if (winningPlan != null && winningPlan.containsKey("queryPlan")) {
+            winningPlan = winningPlan.get("queryPlan", Document.class);
+        }
+
+        List<String> stages = new ArrayList<>();
+        String[] indexName = new String[1];
+        walk(winningPlan, stages, indexName);
+
+        Document stats = explain.get("executionStats", Document.class);
+        return new ExplainSummary(stages, indexName[0],
+                number(stats, "nReturned"),
+                number(stats, "totalKeysExamined"),
+                number(stats, "totalDocsExamined"),
+                number(stats, "executionTimeMillis"));
+    }
+
+    /**
+     * The sort was done in memory instead of by walking an index in order
+     */
+    public boolean inMemorySort() {
+        return stages.contains("SORT");
+    }
+
+    public boolean collectionScan() {
+        return stages.contains("COLLSCAN");
+    }
+
+    public double keysPerReturned() {
+        return (double) keysExamined / Math.max(1, returned);
+    }
+
+    public double docsPerReturned() {
+        return (double) docsExamined / Math.max(1, returned);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private static void walk(Document stage, List<String> stages, String[] indexName) {
+        if (stage == null) {
+            return;
+        }
+        stages.add(stage.getString("stage"));
+        if (indexName[0] == null && stage.getString("indexName") != null) {
+            indexName[0] = stage.getString("indexName");
+        }
+        walk(stage.get("inputStage", Document.class), stages, indexName);
+        List<Document> inputs = stage.getList("inputStages", Document.class);
+        if (inputs != null) {
+            inputs.forEach(input -> walk(input, stages, indexName));
+        }
+    }
+
+    private static long number(Document document, String field) {
+        if (document == null || !(document.get(field) instanceof Number value)) {
+            return 0;
+        }
+        return value.longValue();
+    }
+}
@@ -0,0 +1,54 @@
+package com.search.product.infrastructure.persistence.mongodb.advisor;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Query-shape index advisor settings (search.index-advisor.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "search.index-advisor")
+public class IndexAdvisorProperties {
+
+    /**
+     * Sample explain() output per query shape
+     */
+    private boolean enabled = true;
+
+    /**
+     * Fraction of queries of an already explained shape that are explained again
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Minimum time between two explains of the same shape (seconds)
+     */
+    private long minIntervalSeconds = 60;
+
+    /**
+     * Maximum number of distinct shapes tracked
+     */
+    private int maxShapes = 1000;
+
+    /**
+     * Pending explains; further samples are dropped while the queue is full
+     */
+    private int queueCapacity = 50;
+
+    /**
+     * Keys (or documents) examined per returned document above which a shape is flagged
+     */
+    private double examinedPerReturnedThreshold = 10.0;
+
+    /**
+     * Index name to hint per shape key, e.g.
+     * search.index-advisor.hints[eq:active,category;sort:price;range:-]=category_active_price_id_idx
+     * Text shapes are never hinted.
+     */
+    private Map<String, String> hints = new LinkedHashMap<>();
+}
@@ -0,0 +1,88 @@
+package com.search.product.infrastructure.persistence.mongodb.advisor;
+
+import com.search.product.domain.model.SearchCriteria;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Shape of a search query: which fields are filtered by equality, which by
+ * range, what it sorts on and whether it is a text search. Values are left
+ * out, so every query with the same shape can use the same index.
+ *
+ * A multi-value tags $in counts as a range: like a range, it breaks the sort
+ * order of an index prefix (equality-sort-range rule).
+ *
+ * @param equality equality-filtered fields, sorted
+ * @param sort     sort field (the _id tie-breaker is implied)
+ * @param range    range-filtered fields, sorted
+ * @param text     $text search (the text index is mandatory, hints are not allowed)
+ */
+public record QueryShape(List<String> equality, String sort, List<String> range, boolean text) {
+
+    /**
+     * Classify the criteria of a search sorted by sortField
+     */
+    public static QueryShape of(SearchCriteria criteria, String sortField) {
+        TreeSet<String> equality = new TreeSet<>();
+        TreeSet<String> range = new TreeSet<>();
+
+        if (criteria.getCategory() != null) {
+            equality.add("category");
+        }
+        if (criteria.getBrand() != null) {
+            equality.add("brand");
+        }
+        if (Boolean.TRUE.equals(criteria.getActiveOnly())) {
+            equality.add("active");
+        }
+        if (criteria.getTags() != null && !criteria.getTags().isEmpty()) {
+            (criteria.getTags().size() == 1 ? equality : range).add("tags");
+        }
+        if (criteria.getMinPrice() != null || criteria.getMaxPrice() != null) {
+            range.add("price");
+        }
+        if (criteria.getMinRating() != null) {
+            range.add("rating");
+        }
+        if (Boolean.TRUE.equals(criteria.getInStockOnly())) {
+            range.add("stock");
+        }
+
+        boolean text = criteria.getQuery() != null && !criteria.getQuery().isBlank();
+        return new QueryShape(List.copyOf(equality), sortField, List.copyOf(range), text);
+    }
+
+    /**
+     * Stable textual key, e.g. "eq:active,category;sort:price;range:rating"
+     * (also the key of configured hints)
+     */
+    public String key() {
+        return (text ? "text;" : "")
+                + "eq:" + join(equality)
+                + ";sort:" + sort
+                + ";range:" + join(range);
+    }
+
+    /**
+     * Index keys following the equality-sort-range rule:
+     * equality fields, then the sort field and the _id tie-breaker, then the
+     * remaining range fields (a range on the sort field is served by the sort key)
+     */
+    public List<String> esrIndexKeys() {
+        List<String> keys = new ArrayList<>(equality);
+        keys.add(sort);
+        keys.add("_id");
+        for (String field : range) {
+            if (!field.equals(sort)) {
+                keys.add(field);
+            }
+        }
+        return keys;
+    }
+
+    private static String join(List<String> fields) {
+        return fields.isEmpty() ? "-" : String.join(",", fields);
+    }
+}
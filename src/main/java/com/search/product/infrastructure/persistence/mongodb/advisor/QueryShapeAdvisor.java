@@ -0,0 +1,306 @@
+package com.search.product.infrastructure.persistence.mongodb.advisor;
+
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.FindIterable;
+import com.search.product.infrastructure.persistence.mongodb.entity.ProductDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Query-shape index advisor
+ * Classifies every search by shape (see QueryShape), explains a sample of each
+ * shape in the background, flags shapes whose plan sorts in memory, scans the
+ * collection or examines too many keys per returned document, and recommends
+ * an equality-sort-range compound index for them. Also hands out the index
+ * hints configured per shape.
+ */
+@Slf4j
+@Component
+public class QueryShapeAdvisor {
+
+    public static final String IN_MEMORY_SORT = "IN_MEMORY_SORT";
+    public static final String COLLECTION_SCAN = "COLLECTION_SCAN";
+    public static final String KEYS_PER_RETURNED = "KEYS_EXAMINED_PER_RETURNED";
+    public static final String DOCS_PER_RETURNED = "DOCS_EXAMINED_PER_RETURNED";
+
+    private final MongoTemplate mongoTemplate;
+    private final IndexAdvisorProperties properties;
+    private final ConcurrentMap<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainer;
+    private final Counter explained;
+    private final Counter failed;
+    private final Counter dropped;
+
+    public QueryShapeAdvisor(MongoTemplate mongoTemplate,
+                             IndexAdvisorProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        this.explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "query-shape-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.explained = explainCounter(meterRegistry, "ok");
+        this.failed = explainCounter(meterRegistry, "failed");
+        this.dropped = explainCounter(meterRegistry, "dropped");
+
+        Gauge.builder("search.index.advisor.shapes", shapes, Map::size)
+                .description("Distinct query shapes tracked")
+                .register(meterRegistry);
+        Gauge.builder("search.index.advisor.flagged", shapes,
+                        s -> s.values().stream().filter(stats -> !flags(stats.lastExplain.get()).isEmpty()).count())
+                .description("Query shapes whose last sampled plan was flagged")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Configured index hint for the shape (never for text searches)
+     */
+    public Optional<String> hintFor(QueryShape shape) {
+        if (shape.text()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(properties.getHints().get(shape.key()));
+    }
+
+    /**
+     * Count an execution of the shape and, if it is due for a sample, queue an
+     * explain of the equivalent find (filter, sort, limit) off the request thread
+     */
+    public void observe(QueryShape shape, Query filter, Sort sort, int limit) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        ShapeStats stats = shapes.get(shape.key());
+        if (stats == null) {
+            if (shapes.size() >= properties.getMaxShapes()) {
+                return;
+            }
+            stats = shapes.computeIfAbsent(shape.key(), key -> new ShapeStats(shape));
+        }
+        stats.executions.incrementAndGet();
+
+        if (!stats.claimSample(System.currentTimeMillis(), properties)) {
+            return;
+        }
+        String hint = hintFor(shape).orElse(null);
+        try {
+            explainer.execute(() -> explain(shape, filter, sort, limit, hint));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * All tracked shapes, flagged ones first, then by number of executions
+     */
+    public List<ShapeReport> report() {
+        List<List<String>> existingIndexes = existingIndexKeys();
+        return shapes.values().stream()
+                .map(stats -> toReport(stats, existingIndexes))
+                .sorted(Comparator.comparing((ShapeReport report) -> report.flags().isEmpty())
+                        .thenComparing(ShapeReport::executions, Comparator.reverseOrder()))
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainer.shutdownNow();
+    }
+
+    /**
+     * Record an explain result for the shape
+     */
+    void record(QueryShape shape, Document explain) {
+        ShapeStats stats = shapes.computeIfAbsent(shape.key(), key -> new ShapeStats(shape));
+        ExplainSummary summary = ExplainSummary.parse(explain);
+        stats.lastExplain.set(summary);
+        stats.samples.incrementAndGet();
+
+        List<String> flags = flags(summary);
+        if (!flags.isEmpty()) {
+            log.info("Query shape {} flagged {}: plan={}, index={}, keys/returned={}",
+                    shape.key(), flags, summary.stages(), summary.indexName(), summary.keysPerReturned());
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void explain(QueryShape shape, Query filter, Sort sort, int limit, String hint) {
+        try {
+            MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                    .getRequiredPersistentEntity(ProductDocument.class);
+            QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+            Document mappedFilter = queryMapper.getMappedObject(filter.getQueryObject(), entity);
+            Document mappedSort = queryMapper.getMappedSort(new Query().with(sort).getSortObject(), entity);
+
+            FindIterable<Document> find = mongoTemplate.getCollection(mongoTemplate.getCollectionName(ProductDocument.class))
+                    .find(mappedFilter)
+                    .sort(mappedSort)
+                    .limit(limit);
+            if (hint != null) {
+                find.hintString(hint);
+            }
+            record(shape, find.explain(ExplainVerbosity.EXECUTION_STATS));
+            explained.increment();
+        } catch (Exception e) {
+            log.debug("Could not explain query shape {}", shape.key(), e);
+            failed.increment();
+        }
+    }
+
+    private List<String> flags(ExplainSummary summary) {
+        List<String> flags = new ArrayList<>();
+        if (summary == null) {
+            return flags;
+        }
+        if (summary.inMemorySort()) {
+            flags.add(IN_MEMORY_SORT);
+        }
+        if (summary.collectionScan()) {
+            flags.add(COLLECTION_SCAN);
+        }
+        if (summary.keysPerReturned() > properties.getExaminedPerReturnedThreshold()) {
+            flags.add(KEYS_PER_RETURNED);
+        }
+        if (summary.docsPerReturned() > properties.getExaminedPerReturnedThreshold()) {
+            flags.add(DOCS_PER_RETURNED);
+        }
+        return flags;
+    }
+
+    private ShapeReport toReport(ShapeStats stats, List<List<String>> existingIndexes) {
+        ExplainSummary summary = stats.lastExplain.get();
+        List<String> flags = flags(summary);
+        IndexRecommendation recommendation = flags.isEmpty() || stats.shape.text()
+                ? null
+                : recommend(stats.shape, existingIndexes);
+        return new ShapeReport(stats.shape.key(), stats.executions.get(), stats.samples.get(), summary,
+                flags, hintFor(stats.shape).orElse(null), recommendation);
+    }
+
+    /**
+     * ESR index for the shape, unless an existing index already starts with those keys
+     * (equality keys in any order)
+     */
+    IndexRecommendation recommend(QueryShape shape, List<List<String>> existingIndexes) {
+        List<String> keys = shape.esrIndexKeys();
+        int equalities = shape.equality().size();
+        for (List<String> existing : existingIndexes) {
+            if (existing.size() >= keys.size()
+                    && Set.copyOf(existing.subList(0, equalities)).equals(Set.copyOf(shape.equality()))
+                    && existing.subList(equalities, keys.size()).equals(keys.subList(equalities, keys.size()))) {
+                return null;
+            }
+        }
+
+        Map<String, Integer> definition = new LinkedHashMap<>();
+        keys.forEach(key -> definition.put(key, 1));
+        String name = keys.stream()
+                .map(key -> key.equals("_id") ? "id" : key)
+                .collect(Collectors.joining("_")) + "_esr_idx";
+        return new IndexRecommendation(name, definition);
+    }
+
+    private List<List<String>> existingIndexKeys() {
+        try {
+            return mongoTemplate.indexOps(ProductDocument.class).getIndexInfo().stream()
+                    .map(IndexInfo::getIndexFields)
+                    .map(fields -> fields.stream().map(IndexField::getKey).toList())
+                    .toList();
+        } catch (Exception e) {
+            log.debug("Could not list indexes", e);
+            return List.of();
+        }
+    }
+
+    private static Counter explainCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("search.index.advisor.explains")
+                .description("Sampled explain() runs by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Per-shape state: executions, sampling clock and the last explain
+     */
+    private static final class ShapeStats {
+
+        private final QueryShape shape;
+        private final AtomicLong executions = new AtomicLong();
+        private final AtomicLong samples = new AtomicLong();
+        private final AtomicLong lastSampleAt = new AtomicLong();
+        private final AtomicReference<ExplainSummary> lastExplain = new AtomicReference<>();
+
+        private ShapeStats(QueryShape shape) {
+            this.shape = shape;
+        }
+
+        /**
+         * First execution always, later ones at the sample rate and no more than once per interval
+         */
+        private boolean claimSample(long now, IndexAdvisorProperties properties) {
+            long last = lastSampleAt.get();
+            if (last != 0) {
+                if (now - last < TimeUnit.SECONDS.toMillis(properties.getMinIntervalSeconds())
+                        || ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+                    return false;
+                }
+            }
+            return lastSampleAt.compareAndSet(last, now);
+        }
+    }
+
+    /**
+     * Advisor view of one query shape
+     */
+    public record ShapeReport(String shape,
+                              long executions,
+                              long samples,
+                              ExplainSummary lastExplain,
+                              List<String> flags,
+                              String hint,
+                              IndexRecommendation recommendedIndex) {
+    }
+
+    /**
+     * Compound index to create, e.g. {category: 1, active: 1, price: 1, _id: 1}
+     */
+    public record IndexRecommendation(String name, Map<String, Integer> keys) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.search.product.infrastructure.persistence.mongodb.advisor;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint (/actuator/queryshapes) listing search query shapes,
+ * their sampled plans, flags and recommended indexes
+ */
+@Component
+@Endpoint(id = "queryshapes")
+@RequiredArgsConstructor
+public class QueryShapeEndpoint {
+
+    private final QueryShapeAdvisor advisor;
+
+    @ReadOperation
+    public List<QueryShapeAdvisor.ShapeReport> shapes() {
+        return advisor.report();
+    }
+}
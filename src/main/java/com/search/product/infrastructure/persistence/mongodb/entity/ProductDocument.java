@@ -33,7 +33,14 @@ import java.util.Set;
     @CompoundIndex(name = "brand_active_idx", def = "{'brand': 1, 'active': 1}"),
     @CompoundIndex(name = "price_rating_idx", def = "{'price': 1, 'rating': -1}"),
     @CompoundIndex(name = "category_price_idx", def = "{'category': 1, 'price': 1}"),
-    @CompoundIndex(name = "active_stock_idx", def = "{'active': 1, 'stock': 1}")
+    @CompoundIndex(name = "active_stock_idx", def = "{'active': 1, 'stock': 1}"),
+    // Equality-sort-range for the most common shape: category + active sorted by price
+    @CompoundIndex(name = "category_active_price_id_idx", def = "{'category': 1, 'active': 1, 'price': 1, '_id': 1}"),
+    // Keyset pagination: sort value + _id tie-breaker
+    @CompoundIndex(name = "price_id_idx", def = "{'price': 1, '_id': 1}"),
+    @CompoundIndex(name = "rating_id_idx", def = "{'rating': 1, '_id': 1}"),
+    @CompoundIndex(name = "name_id_idx", def = "{'name': 1, '_id': 1}"),
+    @CompoundIndex(name = "created_id_idx", def = "{'createdAt': 1, '_id': 1}")
 })
 public class ProductDocument {
     
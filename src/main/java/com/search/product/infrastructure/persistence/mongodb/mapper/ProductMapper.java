@@ -2,10 +2,13 @@ package com.search.product.infrastructure.persistence.mongodb.mapper;
 
 import com.search.product.domain.model.Product;
 import com.search.product.domain.model.ProductAttributes;
+import com.search.product.domain.model.ProductSummary;
 import com.search.product.infrastructure.persistence.mongodb.entity.ProductDocument;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.util.List;
+
 /**
  * MapStruct Mapper for efficient conversion between Domain and Document
  * MapStruct generates implementation at compile time (zero reflection overhead)
@@ -19,6 +22,12 @@ public interface ProductMapper {
     @Mapping(target = "attributes", source = "attributes")
     Product toDomain(ProductDocument document);
     
+    /**
+     * Convert a (projected) Document to the summary read model
+     */
+    @Mapping(target = "thumbnailUrl", expression = "java(firstImage(document.getImageUrls()))")
+    ProductSummary toSummary(ProductDocument document);
+    
     /**
      * Convert Domain Entity to Document
      */
@@ -34,4 +43,11 @@ public interface ProductMapper {
      * Map embedded attributes
      */
     ProductDocument.ProductAttributesEmbedded toDocumentAttributes(ProductAttributes attributes);
+    
+    /**
+     * First image URL, the list thumbnail
+     */
+    default String firstImage(List<String> imageUrls) {
+        return imageUrls == null || imageUrls.isEmpty() ? null : imageUrls.get(0);
+    }
 }
@@ -0,0 +1,386 @@
+package com.search.product.infrastructure.persistence.redis;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.search.product.domain.port.outbound.CacheRepository;
+import com.search.product.infrastructure.persistence.redis.RedisCacheRepositoryAdapter.Encoded;
+import com.search.product.infrastructure.persistence.redis.codec.CacheValueSerializer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Two-tier (L1 in-process + L2 Redis) implementation of CacheRepository
+ * Hot entries are served from a bounded local cache holding the encoded bytes, so
+ * every hit decodes a fresh object and callers never share a mutable instance;
+ * evictions are broadcast to the other nodes over Redis pub/sub
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "cache.near.enabled", havingValue = "true", matchIfMissing = true)
+@SuppressWarnings("null")
+public class NearCacheRepositoryAdapter implements CacheRepository, MessageListener {
+
+    private static final String CLEAR_ALL = "*";
+    private static final String SEPARATOR = "|";
+    private static final String KEY_SEPARATOR = "\n";
+    private static final int INVALIDATION_STRIPES = 256;
+
+    private final RedisCacheRepositoryAdapter remoteCache;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final CacheValueSerializer valueSerializer;
+    private final String invalidationChannel;
+    private final long localTtlNanos;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Cache<String, LocalEntry> localCache;
+
+    /**
+     * Invalidation generations, striped by key hash: a Redis read only fills L1
+     * if no invalidation of its stripe arrived while it was in flight
+     */
+    private final AtomicLongArray invalidations = new AtomicLongArray(INVALIDATION_STRIPES);
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+
+    public NearCacheRepositoryAdapter(RedisCacheRepositoryAdapter remoteCache,
+                                      RedisTemplate<String, String> redisTemplate,
+                                      CacheValueSerializer valueSerializer,
+                                      RedisMessageListenerContainer listenerContainer,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${cache.near.maximum-size:10000}") long maximumSize,
+                                      @Value("${cache.near.ttl-seconds:60}") long localTtlSeconds,
+                                      @Value("${cache.near.invalidation-channel:product-search:cache-invalidation}")
+                                      String invalidationChannel) {
+        this.remoteCache = remoteCache;
+        this.redisTemplate = redisTemplate;
+        this.valueSerializer = valueSerializer;
+        this.invalidationChannel = invalidationChannel;
+        this.localTtlNanos = TimeUnit.SECONDS.toNanos(localTtlSeconds);
+
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new LocalEntryExpiry())
+                .recordStats()
+                .build();
+
+        this.l1Hits = tierCounter(meterRegistry, "l1", "hit");
+        this.l1Misses = tierCounter(meterRegistry, "l1", "miss");
+        this.l2Hits = tierCounter(meterRegistry, "l2", "hit");
+        this.l2Misses = tierCounter(meterRegistry, "l2", "miss");
+
+        Gauge.builder("cache.near.hit.ratio", this, adapter -> ratio(adapter.l1Hits, adapter.l1Misses))
+                .tag("tier", "l1")
+                .description("Fraction of lookups answered by the in-process cache")
+                .register(meterRegistry);
+        Gauge.builder("cache.near.hit.ratio", this, adapter -> ratio(adapter.l2Hits, adapter.l2Misses))
+                .tag("tier", "l2")
+                .description("Fraction of L1 misses answered by Redis")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "near-cache");
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(invalidationChannel));
+    }
+
+    @Override
+    public <T> Optional<T> get(String key, Class<T> type) {
+        T local = getLocally(key, type);
+        if (local != null) {
+            l1Hits.increment();
+            return Optional.of(local);
+        }
+        l1Misses.increment();
+
+        long stamp = invalidations.get(stripe(key));
+        Encoded remote = remoteCache.getAllEncoded(List.of(key)).get(key);
+        T value = remote != null ? decode(key, remote.data(), type) : null;
+        if (value == null) {
+            l2Misses.increment();
+            return Optional.empty();
+        }
+        l2Hits.increment();
+        cacheLocally(key, remote, stamp);
+        return Optional.of(value);
+    }
+
+    @Override
+    public <T> Map<String, T> getAll(Collection<String> keys, Class<T> type) {
+        Map<String, T> result = new HashMap<>();
+        List<String> remoteKeys = new ArrayList<>();
+
+        for (String key : keys) {
+            T local = getLocally(key, type);
+            if (local != null) {
+                result.put(key, local);
+            } else {
+                remoteKeys.add(key);
+            }
+        }
+        l1Hits.increment(result.size());
+        l1Misses.increment(remoteKeys.size());
+
+        if (!remoteKeys.isEmpty()) {
+            long[] stamps = new long[remoteKeys.size()];
+            for (int i = 0; i < stamps.length; i++) {
+                stamps[i] = invalidations.get(stripe(remoteKeys.get(i)));
+            }
+            Map<String, Encoded> remote = remoteCache.getAllEncoded(remoteKeys);
+
+            int remoteHits = 0;
+            for (int i = 0; i < stamps.length; i++) {
+                String key = remoteKeys.get(i);
+                Encoded entry = remote.get(key);
+                T value = entry != null ? decode(key, entry.data(), type) : null;
+                if (value != null) {
+                    cacheLocally(key, entry, stamps[i]);
+                    result.put(key, value);
+                    remoteHits++;
+                }
+            }
+            l2Hits.increment(remoteHits);
+            l2Misses.increment(remoteKeys.size() - remoteHits);
+        }
+        return result;
+    }
+
+    @Override
+    public <T> void put(String key, T value) {
+        byte[] data = encode(key, value);
+        if (data != null) {
+            remoteCache.putEncoded(key, data, 0);
+            localCache.put(key, new LocalEntry(data, localTtlNanos));
+        }
+    }
+
+    @Override
+    public <T> void put(String key, T value, long ttlSeconds) {
+        byte[] data = encode(key, value);
+        if (data != null) {
+            remoteCache.putEncoded(key, data, ttlSeconds);
+            // Never keep a local copy longer than the entry lives in Redis
+            localCache.put(key, new LocalEntry(data, Math.min(localTtlNanos, TimeUnit.SECONDS.toNanos(ttlSeconds))));
+        }
+    }
+
+    @Override
+    public <T> void putAll(Map<String, T> entries, long ttlSeconds) {
+        Map<String, byte[]> encoded = new HashMap<>();
+        entries.forEach((key, value) -> {
+            byte[] data = encode(key, value);
+            if (data != null) {
+                encoded.put(key, data);
+            }
+        });
+        remoteCache.putAllEncoded(encoded, ttlSeconds);
+        long ttlNanos = Math.min(localTtlNanos, TimeUnit.SECONDS.toNanos(ttlSeconds));
+        encoded.forEach((key, data) -> localCache.put(key, new LocalEntry(data, ttlNanos)));
+    }
+
+    @Override
+    public void evict(String key) {
+        remoteCache.evict(key);
+        invalidateLocally(List.of(key));
+        publishInvalidation(key);
+    }
+
+    @Override
+    public void evictAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        remoteCache.evictAll(keys);
+        invalidateLocally(keys);
+        publishInvalidation(String.join(KEY_SEPARATOR, keys));
+    }
+
+    @Override
+    public long increment(String key) {
+        return remoteCache.increment(key);
+    }
+
+    @Override
+    public Map<String, Long> getCounters(Collection<String> keys) {
+        return remoteCache.getCounters(keys);
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        invalidateAllLocally();
+        publishInvalidation(CLEAR_ALL);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return localCache.getIfPresent(key) != null || remoteCache.exists(key);
+    }
+
+    /**
+     * Handle invalidations published by other nodes
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = payload.indexOf(SEPARATOR);
+        if (separator < 0) {
+            log.warn("Ignoring malformed cache invalidation message: {}", payload);
+            return;
+        }
+
+        String sender = payload.substring(0, separator);
+        if (nodeId.equals(sender)) {
+            return;
+        }
+
+        String keys = payload.substring(separator + 1);
+        if (CLEAR_ALL.equals(keys)) {
+            invalidateAllLocally();
+        } else {
+            invalidateLocally(List.of(keys.split(KEY_SEPARATOR)));
+        }
+        log.debug("Near cache invalidated by node {}: {}", sender, keys);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Decode the local copy of a key, or null when there is none (or it is not a T)
+     */
+    private <T> T getLocally(String key, Class<T> type) {
+        LocalEntry local = localCache.getIfPresent(key);
+        return local != null ? decode(key, local.data(), type) : null;
+    }
+
+    /**
+     * Keep a copy of a Redis entry no longer than the local TTL nor its remaining Redis TTL,
+     * unless the key was invalidated since its stamp was read (before the Redis read)
+     */
+    private void cacheLocally(String key, Encoded entry, long stamp) {
+        long ttlNanos = entry.ttlMillis() >= 0
+                ? Math.min(localTtlNanos, TimeUnit.MILLISECONDS.toNanos(entry.ttlMillis()))
+                : localTtlNanos;
+        int stripe = stripe(key);
+        if (ttlNanos <= 0 || invalidations.get(stripe) != stamp) {
+            return;
+        }
+        localCache.put(key, new LocalEntry(entry.data(), ttlNanos));
+        // An invalidation that slipped in between the check and the put must still win
+        if (invalidations.get(stripe) != stamp) {
+            localCache.invalidate(key);
+        }
+    }
+
+    /**
+     * Bump the generation before dropping the entries, so in-flight Redis reads do not refill them
+     */
+    private void invalidateLocally(Collection<String> keys) {
+        for (String key : keys) {
+            invalidations.incrementAndGet(stripe(key));
+        }
+        localCache.invalidateAll(keys);
+    }
+
+    private void invalidateAllLocally() {
+        for (int i = 0; i < INVALIDATION_STRIPES; i++) {
+            invalidations.incrementAndGet(i);
+        }
+        localCache.invalidateAll();
+    }
+
+    private static int stripe(String key) {
+        return key.hashCode() & (INVALIDATION_STRIPES - 1);
+    }
+
+    private byte[] encode(String key, Object value) {
+        try {
+            return valueSerializer.serialize(value);
+        } catch (IOException e) {
+            log.error("Error serializing cache value for key: {}", key, e);
+            return null;
+        }
+    }
+
+    private <T> T decode(String key, byte[] data, Class<T> type) {
+        try {
+            return valueSerializer.deserialize(data, type);
+        } catch (IOException e) {
+            log.debug("Cache value for key {} is not a {}", key, type.getSimpleName(), e);
+            return null;
+        }
+    }
+
+    private void publishInvalidation(String key) {
+        try {
+            redisTemplate.convertAndSend(invalidationChannel, nodeId + SEPARATOR + key);
+        } catch (Exception e) {
+            log.error("Error publishing cache invalidation for key: {}", key, e);
+        }
+    }
+
+    private static Counter tierCounter(MeterRegistry registry, String tier, String result) {
+        return Counter.builder("cache.near.requests")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static double ratio(Counter hits, Counter misses) {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+
+    /**
+     * Local entry holding the encoded value and its own time-to-live
+     */
+    private record LocalEntry(byte[] data, long ttlNanos) {
+    }
+
+    /**
+     * Per-entry expiry so short-lived Redis entries are not outlived locally
+     */
+    private static final class LocalEntryExpiry implements Expiry<String, LocalEntry> {
+
+        @Override
+        public long expireAfterCreate(String key, LocalEntry entry, long currentTime) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, LocalEntry entry, long currentTime, long currentDuration) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, LocalEntry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
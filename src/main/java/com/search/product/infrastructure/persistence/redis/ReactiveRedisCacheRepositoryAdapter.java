@@ -0,0 +1,173 @@
+package com.search.product.infrastructure.persistence.redis;
+
+import com.search.product.domain.port.outbound.ReactiveCacheRepository;
+import com.search.product.infrastructure.persistence.redis.codec.CacheValueSerializer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive Redis Implementation of ReactiveCacheRepository
+ * Same binary entries (CacheValueSerializer) and keys as RedisCacheRepositoryAdapter,
+ * so both deployment modes can share one Redis
+ * Batched writes are issued concurrently; Lettuce pipelines them on the shared connection
+ */
+@Slf4j
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+@SuppressWarnings("null")
+public class ReactiveRedisCacheRepositoryAdapter implements ReactiveCacheRepository {
+
+    private final ReactiveRedisTemplate<String, byte[]> reactiveBinaryRedisTemplate;
+    private final CacheValueSerializer valueSerializer;
+
+    @Override
+    public <T> Mono<T> get(String key, Class<T> type) {
+        return reactiveBinaryRedisTemplate.opsForValue().get(key)
+                .flatMap(value -> decode(key, value, type))
+                .onErrorResume(e -> {
+                    log.error("Error getting value from cache for key: {}", key, e);
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public <T> Mono<Map<String, T>> getAll(Collection<String> keys, Class<T> type) {
+        if (keys.isEmpty()) {
+            return Mono.just(new HashMap<>());
+        }
+
+        List<String> keyList = new ArrayList<>(keys);
+        return reactiveBinaryRedisTemplate.opsForValue().multiGet(keyList)
+                .map(values -> {
+                    Map<String, T> result = new HashMap<>();
+                    for (int i = 0; i < keyList.size(); i++) {
+                        byte[] value = values.get(i);
+                        if (value == null) {
+                            continue;
+                        }
+                        try {
+                            result.put(keyList.get(i), valueSerializer.deserialize(value, type));
+                        } catch (IOException e) {
+                            log.error("Error deserializing cache value for key: {}", keyList.get(i), e);
+                        }
+                    }
+                    return result;
+                })
+                .onErrorResume(e -> {
+                    log.error("Error getting {} values from cache", keys.size(), e);
+                    return Mono.just(new HashMap<>());
+                });
+    }
+
+    @Override
+    public <T> Mono<Void> put(String key, T value, long ttlSeconds) {
+        return encode(key, value)
+                .flatMap(encoded -> reactiveBinaryRedisTemplate.opsForValue()
+                        .set(key, encoded, Duration.ofSeconds(ttlSeconds)))
+                .onErrorResume(e -> {
+                    log.error("Error putting value in cache with TTL for key: {}", key, e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    @Override
+    public <T> Mono<Void> putAll(Map<String, T> entries, long ttlSeconds) {
+        if (entries.isEmpty()) {
+            return Mono.empty();
+        }
+
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        return Flux.fromIterable(entries.entrySet())
+                .flatMap(entry -> encode(entry.getKey(), entry.getValue())
+                        .flatMap(encoded -> reactiveBinaryRedisTemplate.opsForValue()
+                                .set(entry.getKey(), encoded, ttl)))
+                .onErrorResume(e -> {
+                    log.error("Error putting {} values in cache", entries.size(), e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    @Override
+    public Mono<Void> evictAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return reactiveBinaryRedisTemplate.delete(keys.toArray(new String[0]))
+                .onErrorResume(e -> {
+                    log.error("Error evicting {} cache keys", keys.size(), e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    @Override
+    public Mono<Long> increment(String key) {
+        return reactiveBinaryRedisTemplate.opsForValue().increment(key)
+                .onErrorResume(e -> {
+                    log.error("Error incrementing counter: {}", key, e);
+                    return Mono.just(0L);
+                });
+    }
+
+    @Override
+    public Mono<Map<String, Long>> getCounters(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Mono.just(new HashMap<>());
+        }
+
+        List<String> keyList = new ArrayList<>(keys);
+        return reactiveBinaryRedisTemplate.opsForValue().multiGet(keyList)
+                .map(values -> {
+                    Map<String, Long> result = new HashMap<>();
+                    for (int i = 0; i < keyList.size(); i++) {
+                        byte[] value = values.get(i);
+                        if (value != null) {
+                            result.put(keyList.get(i), Long.parseLong(new String(value, StandardCharsets.US_ASCII)));
+                        }
+                    }
+                    return result;
+                })
+                .onErrorResume(e -> {
+                    log.error("Error reading {} counters", keys.size(), e);
+                    return Mono.just(new HashMap<>());
+                });
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private <T> Mono<T> decode(String key, byte[] value, Class<T> type) {
+        try {
+            return Mono.just(valueSerializer.deserialize(value, type));
+        } catch (IOException e) {
+            log.error("Error deserializing cache value for key: {}", key, e);
+            return Mono.empty();
+        }
+    }
+
+    private Mono<byte[]> encode(String key, Object value) {
+        try {
+            return Mono.just(valueSerializer.serialize(value));
+        } catch (IOException e) {
+            log.error("Error serializing cache value for key: {}", key, e);
+            return Mono.empty();
+        }
+    }
+}
@@ -1,19 +1,29 @@
 package com.search.product.infrastructure.persistence.redis;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.search.product.domain.port.outbound.CacheRepository;
+import com.search.product.infrastructure.persistence.redis.codec.CacheValueSerializer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Redis Implementation of CacheRepository
  * Provides distributed caching capabilities
+ * Values are stored as binary entries produced by CacheValueSerializer
  */
 @Slf4j
 @Component
@@ -21,21 +31,21 @@ import java.util.concurrent.TimeUnit;
 @SuppressWarnings("null")
 public class RedisCacheRepositoryAdapter implements CacheRepository {
 
-    private final RedisTemplate<String, String> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+    private final CacheValueSerializer valueSerializer;
 
     @Override
     public <T> Optional<T> get(String key, Class<T> type) {
         try {
-            String value = redisTemplate.opsForValue().get(key);
+            byte[] value = binaryRedisTemplate.opsForValue().get(key);
             if (value == null) {
                 return Optional.empty();
             }
 
-            T object = objectMapper.readValue(value, type);
+            T object = valueSerializer.deserialize(value, type);
             return Optional.of(object);
 
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             log.error("Error deserializing cache value for key: {}", key, e);
             return Optional.empty();
         } catch (Exception e) {
@@ -44,12 +54,111 @@ public class RedisCacheRepositoryAdapter implements CacheRepository {
         }
     }
 
+    @Override
+    public <T> Map<String, T> getAll(Collection<String> keys, Class<T> type) {
+        Map<String, T> result = new HashMap<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+
+        try {
+            List<String> keyList = new ArrayList<>(keys);
+            List<byte[]> values = binaryRedisTemplate.opsForValue().multiGet(keyList);
+            if (values == null) {
+                return result;
+            }
+
+            for (int i = 0; i < keyList.size(); i++) {
+                byte[] value = values.get(i);
+                if (value == null) {
+                    continue;
+                }
+                try {
+                    result.put(keyList.get(i), valueSerializer.deserialize(value, type));
+                } catch (IOException e) {
+                    log.error("Error deserializing cache value for key: {}", keyList.get(i), e);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error getting {} values from cache", keys.size(), e);
+        }
+        return result;
+    }
+
+    /**
+     * Get multiple encoded values from cache with their remaining time to live
+     * GET and PTTL of every key go in one pipelined round trip
+     */
+    public Map<String, Encoded> getAllEncoded(Collection<String> keys) {
+        Map<String, Encoded> result = new HashMap<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+
+        try {
+            List<String> keyList = new ArrayList<>(keys);
+            List<Object> replies = binaryRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : keyList) {
+                    byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+                    connection.stringCommands().get(rawKey);
+                    connection.keyCommands().pTtl(rawKey);
+                }
+                return null;
+            });
+
+            for (int i = 0; i < keyList.size(); i++) {
+                if (replies.get(2 * i) instanceof byte[] data && replies.get(2 * i + 1) instanceof Long ttlMillis) {
+                    result.put(keyList.get(i), new Encoded(data, ttlMillis));
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error getting {} encoded values from cache", keys.size(), e);
+        }
+        return result;
+    }
+
+    /**
+     * Put an already encoded value in cache (ttlSeconds <= 0 keeps it without expiry)
+     */
+    public void putEncoded(String key, byte[] data, long ttlSeconds) {
+        try {
+            if (ttlSeconds > 0) {
+                binaryRedisTemplate.opsForValue().set(key, data, ttlSeconds, TimeUnit.SECONDS);
+            } else {
+                binaryRedisTemplate.opsForValue().set(key, data);
+            }
+        } catch (Exception e) {
+            log.error("Error putting encoded value in cache for key: {}", key, e);
+        }
+    }
+
+    /**
+     * Put already encoded values in cache with TTL (seconds), one pipelined round trip
+     */
+    public void putAllEncoded(Map<String, byte[]> entries, long ttlSeconds) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        try {
+            // Pipelined SET EX: one round trip for the whole batch
+            Expiration expiration = Expiration.seconds(ttlSeconds);
+            binaryRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                entries.forEach((key, value) -> connection.stringCommands()
+                        .set(key.getBytes(StandardCharsets.UTF_8), value, expiration, SetOption.upsert()));
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("Error putting {} values in cache", entries.size(), e);
+        }
+    }
+
     @Override
     public <T> void put(String key, T value) {
         try {
-            String jsonValue = objectMapper.writeValueAsString(value);
-            redisTemplate.opsForValue().set(key, jsonValue);
-        } catch (JsonProcessingException e) {
+            byte[] encoded = valueSerializer.serialize(value);
+            binaryRedisTemplate.opsForValue().set(key, encoded);
+        } catch (IOException e) {
             log.error("Error serializing cache value for key: {}", key, e);
         } catch (Exception e) {
             log.error("Error putting value in cache for key: {}", key, e);
@@ -59,28 +168,91 @@ public class RedisCacheRepositoryAdapter implements CacheRepository {
     @Override
     public <T> void put(String key, T value, long ttlSeconds) {
         try {
-            String jsonValue = objectMapper.writeValueAsString(value);
-            redisTemplate.opsForValue().set(key, jsonValue, ttlSeconds, TimeUnit.SECONDS);
-        } catch (JsonProcessingException e) {
+            byte[] encoded = valueSerializer.serialize(value);
+            binaryRedisTemplate.opsForValue().set(key, encoded, ttlSeconds, TimeUnit.SECONDS);
+        } catch (IOException e) {
             log.error("Error serializing cache value for key: {}", key, e);
         } catch (Exception e) {
             log.error("Error putting value in cache with TTL for key: {}", key, e);
         }
     }
 
+    @Override
+    public <T> void putAll(Map<String, T> entries, long ttlSeconds) {
+        Map<String, byte[]> encoded = new HashMap<>();
+        for (Map.Entry<String, T> entry : entries.entrySet()) {
+            try {
+                encoded.put(entry.getKey(), valueSerializer.serialize(entry.getValue()));
+            } catch (IOException e) {
+                log.error("Error serializing cache value for key: {}", entry.getKey(), e);
+            }
+        }
+        putAllEncoded(encoded, ttlSeconds);
+    }
+
     @Override
     public void evict(String key) {
         try {
-            redisTemplate.delete(key);
+            binaryRedisTemplate.delete(key);
         } catch (Exception e) {
             log.error("Error evicting cache for key: {}", key, e);
         }
     }
 
+    @Override
+    public void evictAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        try {
+            binaryRedisTemplate.delete(keys);
+        } catch (Exception e) {
+            log.error("Error evicting {} cache keys", keys.size(), e);
+        }
+    }
+
+    @Override
+    public long increment(String key) {
+        try {
+            Long value = binaryRedisTemplate.opsForValue().increment(key);
+            return value != null ? value : 0L;
+        } catch (Exception e) {
+            log.error("Error incrementing counter: {}", key, e);
+            return 0L;
+        }
+    }
+
+    @Override
+    public Map<String, Long> getCounters(Collection<String> keys) {
+        Map<String, Long> result = new HashMap<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+
+        try {
+            List<String> keyList = new ArrayList<>(keys);
+            List<byte[]> values = binaryRedisTemplate.opsForValue().multiGet(keyList);
+            if (values == null) {
+                return result;
+            }
+
+            for (int i = 0; i < keyList.size(); i++) {
+                byte[] value = values.get(i);
+                if (value != null) {
+                    result.put(keyList.get(i), Long.parseLong(new String(value, StandardCharsets.US_ASCII)));
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error reading {} counters", keys.size(), e);
+        }
+        return result;
+    }
+
     @Override
     public void clear() {
         try {
-            redisTemplate.getConnectionFactory().getConnection().serverCommands().flushDb();
+            binaryRedisTemplate.getConnectionFactory().getConnection().serverCommands().flushDb();
         } catch (Exception e) {
             log.error("Error clearing all cache", e);
         }
@@ -89,10 +261,16 @@ public class RedisCacheRepositoryAdapter implements CacheRepository {
     @Override
     public boolean exists(String key) {
         try {
-            return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+            return Boolean.TRUE.equals(binaryRedisTemplate.hasKey(key));
         } catch (Exception e) {
             log.error("Error checking key existence: {}", key, e);
             return false;
         }
     }
+
+    /**
+     * Encoded cache value and its remaining time to live in milliseconds (negative when it has none)
+     */
+    public record Encoded(byte[] data, long ttlMillis) {
+    }
 }
@@ -0,0 +1,87 @@
+package com.search.product.infrastructure.persistence.redis;
+
+import com.search.product.application.cache.MissingKeyProperties;
+import com.search.product.domain.port.outbound.ProductChangeNotifier;
+import com.search.product.infrastructure.persistence.memory.MemorySearchProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Redis pub/sub implementation of ProductChangeNotifier
+ * One message per call, keys separated by newlines; change messages start
+ * with the ID of the sending node, so a node skips its own changes
+ */
+@Slf4j
+@Component
+@SuppressWarnings("null")
+public class RedisProductChangeNotifier implements ProductChangeNotifier {
+
+    private static final String KEY_SEPARATOR = "\n";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final String channel;
+    private final String changesChannel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public RedisProductChangeNotifier(RedisTemplate<String, String> redisTemplate,
+                                      RedisMessageListenerContainer listenerContainer,
+                                      MissingKeyProperties properties,
+                                      MemorySearchProperties memoryProperties) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.channel = properties.getChannel();
+        this.changesChannel = memoryProperties.getChangesChannel();
+    }
+
+    @Override
+    public void keysAdded(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(channel, String.join(KEY_SEPARATOR, keys));
+        } catch (Exception e) {
+            log.error("Error publishing {} product keys", keys.size(), e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<List<String>> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+            listener.accept(List.of(payload.split(KEY_SEPARATOR)));
+        }, new ChannelTopic(channel));
+    }
+
+    @Override
+    public void productsChanged(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(changesChannel, nodeId + KEY_SEPARATOR + String.join(KEY_SEPARATOR, ids));
+        } catch (Exception e) {
+            log.error("Error publishing {} changed product IDs", ids.size(), e);
+        }
+    }
+
+    @Override
+    public void subscribeToChanges(Consumer<List<String>> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String[] lines = new String(message.getBody(), StandardCharsets.UTF_8).split(KEY_SEPARATOR);
+            if (lines.length > 1 && !nodeId.equals(lines[0])) {
+                listener.accept(List.of(lines).subList(1, lines.length));
+            }
+        }, new ChannelTopic(changesChannel));
+    }
+}
@@ -0,0 +1,31 @@
+package com.search.product.infrastructure.persistence.redis.codec;
+
+import java.io.IOException;
+
+/**
+ * Serialization format for cache values
+ * Each codec owns a stable id that is written into the entry header,
+ * so entries written by any codec stay readable after the writer changes
+ */
+public interface CacheValueCodec {
+
+    /**
+     * Stable identifier stored in the entry header (never reuse a retired id)
+     */
+    byte id();
+
+    /**
+     * Configuration name of the codec
+     */
+    String name();
+
+    /**
+     * Encode a value to bytes
+     */
+    byte[] encode(Object value) throws IOException;
+
+    /**
+     * Decode a value from a slice of bytes
+     */
+    <T> T decode(byte[] data, int offset, int length, Class<T> type) throws IOException;
+}
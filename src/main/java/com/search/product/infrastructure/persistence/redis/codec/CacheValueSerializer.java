@@ -0,0 +1,152 @@
+package com.search.product.infrastructure.persistence.redis.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Versioned envelope around the cache value codecs
+ *
+ * Layout: [magic][version][codec id][flags][original length (int), only if compressed][payload]
+ * Values without the magic byte are legacy plain JSON strings, so codecs can be
+ * rolled out (or rolled back) without flushing the cache
+ */
+@Slf4j
+@Component
+public class CacheValueSerializer {
+
+    static final byte MAGIC = (byte) 0xCE;
+    static final byte FORMAT_VERSION = 1;
+    static final byte FLAG_DEFLATE = 0x01;
+    private static final int HEADER_SIZE = 4;
+
+    private final CacheValueCodec[] codecsById = new CacheValueCodec[Byte.MAX_VALUE + 1];
+    private final CacheValueCodec writeCodec;
+    private final CacheValueCodec legacyCodec;
+    private final boolean compressionEnabled;
+    private final int compressionThreshold;
+
+    public CacheValueSerializer(ObjectMapper objectMapper,
+                                @Value("${cache.codec.format:smile}") String format,
+                                @Value("${cache.codec.compression.enabled:true}") boolean compressionEnabled,
+                                @Value("${cache.codec.compression.threshold-bytes:2048}") int compressionThreshold) {
+        // Entries must survive schema changes (and derived getters such as Product.isInStock)
+        ObjectMapper cacheMapper = objectMapper.copy()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.legacyCodec = new JsonCacheValueCodec(cacheMapper);
+        List<CacheValueCodec> codecs = List.of(legacyCodec, new SmileCacheValueCodec(cacheMapper));
+        for (CacheValueCodec codec : codecs) {
+            codecsById[codec.id()] = codec;
+        }
+
+        this.writeCodec = codecs.stream()
+                .filter(codec -> codec.name().equalsIgnoreCase(format))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown cache codec: " + format));
+        this.compressionEnabled = compressionEnabled;
+        this.compressionThreshold = compressionThreshold;
+        log.info("Cache values written with codec '{}' (compression {} above {} bytes)",
+                writeCodec.name(), compressionEnabled ? "enabled" : "disabled", compressionThreshold);
+    }
+
+    /**
+     * Encode a value with the configured codec, compressing large payloads
+     */
+    public byte[] serialize(Object value) throws IOException {
+        byte[] payload = writeCodec.encode(value);
+
+        if (compressionEnabled && payload.length >= compressionThreshold) {
+            byte[] compressed = deflate(payload);
+            if (compressed.length + Integer.BYTES < payload.length) {
+                return ByteBuffer.allocate(HEADER_SIZE + Integer.BYTES + compressed.length)
+                        .put(MAGIC).put(FORMAT_VERSION).put(writeCodec.id()).put(FLAG_DEFLATE)
+                        .putInt(payload.length)
+                        .put(compressed)
+                        .array();
+            }
+        }
+
+        return ByteBuffer.allocate(HEADER_SIZE + payload.length)
+                .put(MAGIC).put(FORMAT_VERSION).put(writeCodec.id()).put((byte) 0)
+                .put(payload)
+                .array();
+    }
+
+    /**
+     * Decode a value written by any known codec (or a legacy JSON string)
+     */
+    public <T> T deserialize(byte[] data, Class<T> type) throws IOException {
+        if (data.length < HEADER_SIZE || data[0] != MAGIC) {
+            return legacyCodec.decode(data, 0, data.length, type);
+        }
+        if (data[1] != FORMAT_VERSION) {
+            throw new IOException("Unsupported cache entry version: " + data[1]);
+        }
+
+        CacheValueCodec codec = data[2] >= 0 ? codecsById[data[2]] : null;
+        if (codec == null) {
+            throw new IOException("Unknown cache codec id: " + data[2]);
+        }
+
+        if ((data[3] & FLAG_DEFLATE) != 0) {
+            int originalLength = ByteBuffer.wrap(data, HEADER_SIZE, Integer.BYTES).getInt();
+            int offset = HEADER_SIZE + Integer.BYTES;
+            byte[] payload = inflate(data, offset, data.length - offset, originalLength);
+            return codec.decode(payload, 0, payload.length, type);
+        }
+        return codec.decode(data, HEADER_SIZE, data.length - HEADER_SIZE, type);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private static byte[] deflate(byte[] payload) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int written = deflater.deflate(buffer);
+                out.write(buffer, 0, written);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int offset, int length, int originalLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, offset, length);
+            byte[] payload = new byte[originalLength];
+            int read = 0;
+            while (read < originalLength && !inflater.finished()) {
+                int inflated = inflater.inflate(payload, read, originalLength - read);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                read += inflated;
+            }
+            if (read != originalLength) {
+                throw new IOException("Truncated compressed cache entry");
+            }
+            return payload;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt compressed cache entry", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.search.product.infrastructure.persistence.redis.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * JSON codec - same representation as the original String cache values
+ */
+@RequiredArgsConstructor
+public class JsonCacheValueCodec implements CacheValueCodec {
+
+    public static final byte ID = 1;
+    public static final String NAME = "json";
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] data, int offset, int length, Class<T> type) throws IOException {
+        return objectMapper.readValue(data, offset, length, type);
+    }
+}
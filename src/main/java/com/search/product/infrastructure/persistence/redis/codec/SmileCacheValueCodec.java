@@ -0,0 +1,48 @@
+package com.search.product.infrastructure.persistence.redis.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import java.io.IOException;
+
+/**
+ * Compact binary codec (Jackson Smile)
+ * Same object model and modules as the JSON codec, but with binary numbers,
+ * length-prefixed strings and back-references for repeated field names
+ */
+public class SmileCacheValueCodec implements CacheValueCodec {
+
+    public static final byte ID = 2;
+    public static final String NAME = "smile";
+
+    private final ObjectMapper smileMapper;
+
+    public SmileCacheValueCodec(ObjectMapper objectMapper) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        this.smileMapper = objectMapper.copyWith(smileFactory);
+    }
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        return smileMapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] data, int offset, int length, Class<T> type) throws IOException {
+        return smileMapper.readValue(data, offset, length, type);
+    }
+}
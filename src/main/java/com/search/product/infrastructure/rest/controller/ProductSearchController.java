@@ -1,33 +1,49 @@
 package com.search.product.infrastructure.rest.controller;
 
+import com.search.product.application.export.CatalogExport;
+import com.search.product.application.export.ExportFormat;
+import com.search.product.application.service.ProductExportService;
+import com.search.product.application.service.ProductImportService;
 import com.search.product.application.service.ProductSearchService;
+import com.search.product.domain.exception.InvalidCursorException;
 import com.search.product.domain.model.PageResult;
-import com.search.product.domain.model.Product;
+import com.search.product.domain.model.ProductSummary;
 import com.search.product.domain.model.SearchCriteria;
+import com.search.product.infrastructure.rest.dto.ImportReportResponse;
 import com.search.product.infrastructure.rest.dto.PageResponse;
 import com.search.product.infrastructure.rest.dto.ProductResponse;
+import com.search.product.infrastructure.rest.dto.ProductSummaryResponse;
 import com.search.product.infrastructure.rest.dto.SearchRequest;
 import com.search.product.infrastructure.rest.mapper.RestMapper;
+import com.search.product.infrastructure.warmup.QueryLogRecorder;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for Product Search
  * Provides endpoints for efficient product search operations
+ * Servlet deployment mode; ReactiveProductSearchController serves the same contract under profile "reactive"
  */
 @Slf4j
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/products")
 @RequiredArgsConstructor
 @Validated
@@ -35,7 +51,10 @@ import java.util.List;
 public class ProductSearchController {
     
     private final ProductSearchService searchService;
+    private final ProductImportService importService;
+    private final ProductExportService exportService;
     private final RestMapper mapper;
+    private final QueryLogRecorder queryLogRecorder;
     
     /**
      * Search products with filters and pagination
@@ -44,10 +63,11 @@ public class ProductSearchController {
     @Operation(
         summary = "Search products",
         description = "Search products with advanced filters, sorting, and pagination. " +
+                     "Returns product summaries; use GET /{id} for the full product. " +
                      "Optimized for high-throughput scenarios with caching and efficient queries."
     )
     @ApiResponse(responseCode = "200", description = "Successful search")
-    public ResponseEntity<PageResponse<ProductResponse>> search(
+    public ResponseEntity<PageResponse<ProductSummaryResponse>> search(
             @Valid @RequestBody SearchRequest request) {
         
         log.info("Search request received: {}", request);
@@ -55,12 +75,15 @@ public class ProductSearchController {
         // Convert DTO to domain model
         SearchCriteria criteria = mapper.toCriteria(request);
         
+        // Record for the startup warm-up of other nodes
+        queryLogRecorder.record(criteria);
+        
         // Execute search
-        PageResult<Product> result = searchService.search(criteria);
+        PageResult<ProductSummary> result = searchService.search(criteria);
         
         // Convert to response DTO
-        List<ProductResponse> responseList = mapper.toResponseList(result.getContent());
-        PageResponse<ProductResponse> response = mapper.toPageResponse(result, responseList);
+        List<ProductSummaryResponse> responseList = mapper.toSummaryResponseList(result.getContent());
+        PageResponse<ProductSummaryResponse> response = mapper.toPageResponse(result, responseList);
         
         return ResponseEntity.ok(response);
     }
@@ -93,7 +116,7 @@ public class ProductSearchController {
         description = "Fast autocomplete for search suggestions. Returns up to 10 results."
     )
     @ApiResponse(responseCode = "200", description = "Autocomplete results")
-    public ResponseEntity<List<ProductResponse>> autocomplete(
+    public ResponseEntity<List<ProductSummaryResponse>> autocomplete(
             @Parameter(description = "Search query", example = "laptop")
             @RequestParam String query,
             @Parameter(description = "Max results (default: 10)")
@@ -101,8 +124,8 @@ public class ProductSearchController {
         
         log.info("Autocomplete request: {}", query);
         
-        List<Product> products = searchService.autocomplete(query, limit);
-        List<ProductResponse> response = mapper.toResponseList(products);
+        List<ProductSummary> products = searchService.autocomplete(query, limit);
+        List<ProductSummaryResponse> response = mapper.toSummaryResponseList(products);
         
         return ResponseEntity.ok(response);
     }
@@ -116,7 +139,7 @@ public class ProductSearchController {
         description = "Find products similar to the given product based on category and tags"
     )
     @ApiResponse(responseCode = "200", description = "Similar products found")
-    public ResponseEntity<List<ProductResponse>> findSimilar(
+    public ResponseEntity<List<ProductSummaryResponse>> findSimilar(
             @Parameter(description = "Product ID")
             @PathVariable String id,
             @Parameter(description = "Max results (default: 10)")
@@ -124,12 +147,78 @@ public class ProductSearchController {
         
         log.info("Find similar products for: {}", id);
         
-        List<Product> products = searchService.findSimilar(id, limit);
-        List<ProductResponse> response = mapper.toResponseList(products);
+        List<ProductSummary> products = searchService.findSimilar(id, limit);
+        List<ProductSummaryResponse> response = mapper.toSummaryResponseList(products);
         
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Bulk import of an NDJSON catalog (one product per line)
+     */
+    @PostMapping(value = "/import", consumes = "application/x-ndjson", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Bulk import products",
+        description = "Streams an NDJSON body (one product JSON per line) into the catalog. " +
+                     "Products are inserted or updated by SKU in unordered bulk writes; " +
+                     "invalid records are reported by line without aborting the import."
+    )
+    @ApiResponse(responseCode = "200", description = "Import finished (see failed and errors for rejected records)")
+    public ResponseEntity<ImportReportResponse> importProducts(InputStream body) {
+        
+        log.info("Bulk import request received");
+        
+        return ResponseEntity.ok(mapper.toImportResponse(importService.importNdjson(body)));
+    }
+    
+    /**
+     * Streaming export of every product matching the search filters
+     */
+    @PostMapping(value = "/export", produces = {"application/x-ndjson", "text/csv"})
+    @Operation(
+        summary = "Export products",
+        description = "Streams every product matching the search filters (paging and sort are ignored) " +
+                     "as NDJSON or CSV, in id order, from one database cursor. " +
+                     "To resume an interrupted export, pass the id of the last product received as resumeAfter."
+    )
+    @ApiResponse(responseCode = "200", description = "Export stream")
+    @ApiResponse(responseCode = "400", description = "Invalid resume token or format")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Valid @RequestBody(required = false) SearchRequest request,
+            @Parameter(description = "Output format: ndjson (default) or csv", example = "csv")
+            @RequestParam(defaultValue = "ndjson")
+            @Pattern(regexp = "(?i)ndjson|csv", message = "must be ndjson or csv") String format,
+            @Parameter(description = "Id of the last product received by an interrupted export")
+            @RequestParam(required = false) String resumeAfter) {
+        
+        log.info("Export request received: {}, format {}, after {}", request, format, resumeAfter);
+        
+        SearchCriteria criteria = request != null ? mapper.toCriteria(request) : new SearchCriteria();
+        CatalogExport export = exportService.export(criteria, resumeAfter, ExportFormat.of(format));
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(export.getFormat().contentType()))
+                .body(export::writeTo);
+    }
+    
+    /**
+     * Tampered, malformed or foreign pagination cursor
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidCursor(InvalidCursorException e) {
+        log.warn("Rejected search cursor: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+    
+    /**
+     * Invalid request parameter, such as an unknown export format
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Map<String, String>> handleConstraintViolation(ConstraintViolationException e) {
+        log.warn("Rejected request parameter: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+    
     /**
      * Health check endpoint
      */
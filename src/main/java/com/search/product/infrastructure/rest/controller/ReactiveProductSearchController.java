@@ -0,0 +1,153 @@
+package com.search.product.infrastructure.rest.controller;
+
+import com.search.product.application.service.ReactiveProductSearchService;
+import com.search.product.domain.exception.InvalidCursorException;
+import com.search.product.domain.model.SearchCriteria;
+import com.search.product.infrastructure.rest.dto.PageResponse;
+import com.search.product.infrastructure.rest.dto.ProductResponse;
+import com.search.product.infrastructure.rest.dto.ProductSummaryResponse;
+import com.search.product.infrastructure.rest.dto.SearchRequest;
+import com.search.product.infrastructure.rest.mapper.RestMapper;
+import com.search.product.infrastructure.warmup.QueryLogRecorder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WebFlux REST Controller for Product Search (profile "reactive")
+ * Same /api/v1/products contract as ProductSearchController, served without
+ * blocking the event loop
+ */
+@Slf4j
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "Product Search", description = "Ultra-efficient product search API")
+public class ReactiveProductSearchController {
+    
+    private final ReactiveProductSearchService searchService;
+    private final RestMapper mapper;
+    private final QueryLogRecorder queryLogRecorder;
+    
+    /**
+     * Search products with filters and pagination
+     */
+    @PostMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Search products",
+        description = "Search products with advanced filters, sorting, and pagination. " +
+                     "Returns product summaries; use GET /{id} for the full product."
+    )
+    @ApiResponse(responseCode = "200", description = "Successful search")
+    public Mono<ResponseEntity<PageResponse<ProductSummaryResponse>>> search(
+            @Valid @RequestBody SearchRequest request) {
+        
+        log.info("Search request received: {}", request);
+        
+        SearchCriteria criteria = mapper.toCriteria(request);
+        
+        // Record for the startup warm-up of other nodes (non-blocking hand-off)
+        queryLogRecorder.record(criteria);
+        
+        return searchService.search(criteria)
+                .map(result -> mapper.toPageResponse(result, mapper.toSummaryResponseList(result.getContent())))
+                .map(ResponseEntity::ok);
+    }
+    
+    /**
+     * Get product by ID
+     */
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get product by ID", description = "Retrieve a single product by its unique identifier")
+    @ApiResponse(responseCode = "200", description = "Product found")
+    @ApiResponse(responseCode = "404", description = "Product not found")
+    public Mono<ResponseEntity<ProductResponse>> getById(
+            @Parameter(description = "Product ID")
+            @PathVariable String id) {
+        
+        log.info("Get product by id: {}", id);
+        
+        return searchService.findById(id)
+                .map(mapper::toResponse)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Autocomplete for search suggestions
+     */
+    @GetMapping(value = "/autocomplete", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Autocomplete search",
+        description = "Fast autocomplete for search suggestions. Returns up to 10 results."
+    )
+    @ApiResponse(responseCode = "200", description = "Autocomplete results")
+    public Mono<ResponseEntity<List<ProductSummaryResponse>>> autocomplete(
+            @Parameter(description = "Search query", example = "laptop")
+            @RequestParam String query,
+            @Parameter(description = "Max results (default: 10)")
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        log.info("Autocomplete request: {}", query);
+        
+        return searchService.autocomplete(query, limit)
+                .map(mapper::toSummaryResponseList)
+                .map(ResponseEntity::ok);
+    }
+    
+    /**
+     * Find similar products
+     */
+    @GetMapping(value = "/{id}/similar", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Find similar products",
+        description = "Find products similar to the given product based on category and tags"
+    )
+    @ApiResponse(responseCode = "200", description = "Similar products found")
+    public Mono<ResponseEntity<List<ProductSummaryResponse>>> findSimilar(
+            @Parameter(description = "Product ID")
+            @PathVariable String id,
+            @Parameter(description = "Max results (default: 10)")
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        log.info("Find similar products for: {}", id);
+        
+        return searchService.findSimilar(id, limit)
+                .map(mapper::toSummaryResponseList)
+                .map(ResponseEntity::ok);
+    }
+    
+    /**
+     * Tampered, malformed or foreign pagination cursor
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidCursor(InvalidCursorException e) {
+        log.warn("Rejected search cursor: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+    
+    /**
+     * Health check endpoint
+     */
+    @GetMapping(value = "/health", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Health check", description = "Check if the service is healthy")
+    @ApiResponse(responseCode = "200", description = "Service is healthy")
+    public Mono<ResponseEntity<String>> health() {
+        return Mono.just(ResponseEntity.ok("{\"status\": \"UP\"}"));
+    }
+}
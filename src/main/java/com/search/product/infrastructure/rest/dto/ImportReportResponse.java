@@ -0,0 +1,74 @@
+package com.search.product.infrastructure.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Import Report Response DTO
+ * Outcome of a bulk catalog import
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Bulk import outcome")
+public class ImportReportResponse {
+
+    @Schema(description = "Non-blank input lines", example = "10000")
+    private long received;
+
+    @Schema(description = "Products created (new SKUs)", example = "9500")
+    private long inserted;
+
+    @Schema(description = "Existing products updated (known SKUs)", example = "480")
+    private long updated;
+
+    @Schema(description = "Records replaced by a later record with the same SKU in the same batch", example = "5")
+    private long superseded;
+
+    @Schema(description = "Rejected records (malformed, invalid or not written)", example = "15")
+    private long failed;
+
+    @Schema(description = "Bulk writes issued", example = "10")
+    private long batches;
+
+    @Schema(description = "Import duration in milliseconds", example = "1850")
+    private long durationMillis;
+
+    @Schema(description = "Imported records per second", example = "5394.6")
+    private double recordsPerSecond;
+
+    @Schema(description = "True when the input could not be read to the end")
+    private Boolean aborted;
+
+    @Schema(description = "First rejected records, by input line")
+    private List<RecordError> errors;
+
+    @Schema(description = "True when more records failed than are listed")
+    private Boolean errorsTruncated;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Rejected input record")
+    public static class RecordError {
+
+        @Schema(description = "Input line (1-based)", example = "42")
+        private long line;
+
+        @Schema(description = "SKU of the record, when it could be read", example = "DEL-0000042")
+        private String sku;
+
+        @Schema(description = "Why the record was rejected", example = "name is required")
+        private String message;
+    }
+}
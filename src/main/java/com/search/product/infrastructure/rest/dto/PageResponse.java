@@ -27,6 +27,9 @@ public class PageResponse<T> {
     @Schema(description = "Total number of elements", example = "1500")
     private Long totalElements;
     
+    @Schema(description = "False when totalElements is a capped lower bound")
+    private Boolean totalExact;
+    
     @Schema(description = "Total number of pages", example = "75")
     private Integer totalPages;
     
@@ -41,4 +44,13 @@ public class PageResponse<T> {
     
     @Schema(description = "Has previous page")
     private Boolean hasPrevious;
+    
+    @Schema(description = "Cursor of the next page (keyset pagination)")
+    private String nextCursor;
+    
+    @Schema(description = "Cursor of the previous page (keyset pagination)")
+    private String previousCursor;
+    
+    @Schema(description = "Facet counts for the filters (only when includeFacets was requested)")
+    private SearchFacetsResponse facets;
 }
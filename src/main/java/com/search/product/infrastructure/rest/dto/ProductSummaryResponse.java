@@ -0,0 +1,63 @@
+package com.search.product.infrastructure.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Product Summary Response DTO
+ * One row of a result list; the full product is served by GET /{id}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Product summary for result lists")
+public class ProductSummaryResponse {
+
+    @Schema(description = "Product unique identifier", example = "60d5ec49f1b2c8b1f8e4e1a1")
+    private String id;
+
+    @Schema(description = "Product name", example = "Laptop Dell XPS 15")
+    private String name;
+
+    @Schema(description = "Stock Keeping Unit", example = "DELL-XPS15-2024")
+    private String sku;
+
+    @Schema(description = "Brand name", example = "Dell")
+    private String brand;
+
+    @Schema(description = "Product category", example = "Electronics")
+    private String category;
+
+    @Schema(description = "Product price", example = "1299.99")
+    private BigDecimal price;
+
+    @Schema(description = "Currency code", example = "USD")
+    private String currency;
+
+    @Schema(description = "Available stock quantity", example = "45")
+    private Integer stock;
+
+    @Schema(description = "Product active status")
+    private Boolean active;
+
+    @Schema(description = "Average rating", example = "4.5")
+    private Double rating;
+
+    @Schema(description = "Number of reviews", example = "128")
+    private Integer reviewCount;
+
+    @Schema(description = "Main product image URL")
+    private String thumbnailUrl;
+
+    @Schema(description = "Creation timestamp")
+    private LocalDateTime createdAt;
+}
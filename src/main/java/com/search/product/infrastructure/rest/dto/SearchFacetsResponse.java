@@ -0,0 +1,77 @@
+package com.search.product.infrastructure.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Search Facets Response DTO
+ * Filter-sidebar counts returned with a search page when includeFacets is set
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Facet counts for the current filters")
+public class SearchFacetsResponse {
+
+    @Schema(description = "Top brands by number of matching products")
+    private List<Bucket> brands;
+
+    @Schema(description = "Top categories by number of matching products")
+    private List<Bucket> categories;
+
+    @Schema(description = "Top tags by number of matching products")
+    private List<Bucket> tags;
+
+    @Schema(description = "Matching products per price range")
+    private List<Range> priceRanges;
+
+    @Schema(description = "Matching products per rating range")
+    private List<Range> ratingRanges;
+
+    @Schema(description = "Number of products the counts were computed over", example = "1500")
+    private Long scanned;
+
+    @Schema(description = "False when the counts cover only the first scanned products")
+    private Boolean complete;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Facet value and its count")
+    public static class Bucket {
+
+        @Schema(description = "Facet value", example = "Dell")
+        private String value;
+
+        @Schema(description = "Number of matching products", example = "42")
+        private long count;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Range [from, to) and its count")
+    public static class Range {
+
+        @Schema(description = "Inclusive lower bound", example = "500")
+        private BigDecimal from;
+
+        @Schema(description = "Exclusive upper bound (absent for the last range)", example = "1000")
+        private BigDecimal to;
+
+        @Schema(description = "Number of matching products", example = "42")
+        private long count;
+    }
+}
@@ -3,6 +3,7 @@ package com.search.product.infrastructure.rest.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -65,4 +66,16 @@ public class SearchRequest {
     @Min(1)
     @Max(100)
     private Integer size;
+    
+    @Schema(description = "Opaque keyset cursor (nextCursor/previousCursor of a previous response); "
+            + "when set, page is ignored and pages cost the same at any depth")
+    private String cursor;
+    
+    @Schema(description = "Total count mode: EXACT (default), CAPPED (count up to a limit) "
+            + "or NONE (no total, cheapest)", example = "CAPPED")
+    @Pattern(regexp = "(?i)EXACT|CAPPED|NONE", message = "must be one of EXACT, CAPPED or NONE")
+    private String countMode;
+    
+    @Schema(description = "Also return brand/category/tag counts and price/rating ranges for the filters")
+    private Boolean includeFacets;
 }
@@ -1,10 +1,16 @@
 package com.search.product.infrastructure.rest.mapper;
 
+import com.search.product.domain.model.ImportReport;
 import com.search.product.domain.model.PageResult;
 import com.search.product.domain.model.Product;
+import com.search.product.domain.model.ProductSummary;
 import com.search.product.domain.model.SearchCriteria;
+import com.search.product.domain.model.SearchFacets;
+import com.search.product.infrastructure.rest.dto.ImportReportResponse;
 import com.search.product.infrastructure.rest.dto.PageResponse;
 import com.search.product.infrastructure.rest.dto.ProductResponse;
+import com.search.product.infrastructure.rest.dto.ProductSummaryResponse;
+import com.search.product.infrastructure.rest.dto.SearchFacetsResponse;
 import com.search.product.infrastructure.rest.dto.SearchRequest;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -30,13 +36,33 @@ public interface RestMapper {
      */
     List<ProductResponse> toResponseList(List<Product> products);
     
+    /**
+     * Convert ProductSummary to ProductSummaryResponse
+     */
+    ProductSummaryResponse toSummaryResponse(ProductSummary summary);
+    
+    /**
+     * Convert list of ProductSummaries to ProductSummaryResponses
+     */
+    List<ProductSummaryResponse> toSummaryResponseList(List<ProductSummary> summaries);
+    
     /**
      * Convert SearchRequest to SearchCriteria
      */
     @Mapping(target = "sortDirection", expression = "java(mapSortDirection(request.getSortDirection()))")
-    @Mapping(target = "cursor", ignore = true)
+    @Mapping(target = "countMode", expression = "java(mapCountMode(request.getCountMode()))")
     SearchCriteria toCriteria(SearchRequest request);
     
+    /**
+     * Convert SearchFacets to SearchFacetsResponse
+     */
+    SearchFacetsResponse toFacetsResponse(SearchFacets facets);
+    
+    /**
+     * Convert ImportReport to ImportReportResponse
+     */
+    ImportReportResponse toImportResponse(ImportReport report);
+    
     /**
      * Convert PageResult to PageResponse
      */
@@ -44,11 +70,15 @@ public interface RestMapper {
         return PageResponse.<R>builder()
                 .content(content)
                 .totalElements(pageResult.getTotalElements())
+                .totalExact(pageResult.getTotalExact())
                 .totalPages(pageResult.getTotalPages())
                 .currentPage(pageResult.getCurrentPage())
                 .pageSize(pageResult.getPageSize())
                 .hasNext(pageResult.getHasNext())
                 .hasPrevious(pageResult.getHasPrevious())
+                .nextCursor(pageResult.getNextCursor())
+                .previousCursor(pageResult.getPreviousCursor())
+                .facets(toFacetsResponse(pageResult.getFacets()))
                 .build();
     }
     
@@ -88,4 +118,21 @@ public interface RestMapper {
                 ? SearchCriteria.SortDirection.ASC 
                 : SearchCriteria.SortDirection.DESC;
     }
+    
+    /**
+     * Map count mode string to enum
+     * Requests are validated first, so an unknown value here is a programming error
+     */
+    default SearchCriteria.CountMode mapCountMode(String countMode) {
+        if (countMode == null) {
+            return null;
+        }
+        
+        for (SearchCriteria.CountMode mode : SearchCriteria.CountMode.values()) {
+            if (mode.name().equalsIgnoreCase(countMode)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown count mode: " + countMode);
+    }
 }
@@ -0,0 +1,206 @@
+package com.search.product.infrastructure.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.search.product.application.cache.SearchFingerprint;
+import com.search.product.application.service.ProductSearchService;
+import com.search.product.domain.model.SearchCriteria;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Startup warm-up
+ * Replays the recorded query log through ProductSearchService with bounded
+ * concurrency, filling the search and product caches and paging the indexes
+ * and documents those searches touch into the MongoDB working set.
+ * Readiness stays OUT_OF_SERVICE (see WarmupHealthIndicator) until it finishes.
+ */
+@Slf4j
+@Component
+public class CacheWarmer {
+
+    private final ProductSearchService searchService;
+    private final ObjectMapper objectMapper;
+    private final WarmupProperties properties;
+    private final WarmupProgress progress = new WarmupProgress();
+    private final Timer duration;
+
+    public CacheWarmer(ProductSearchService searchService,
+                       ObjectMapper objectMapper,
+                       WarmupProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.searchService = searchService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.duration = Timer.builder("warmup.duration")
+                .description("Time spent warming caches on startup")
+                .register(meterRegistry);
+
+        Gauge.builder("warmup.queries", progress, p -> p.getTotal())
+                .tag("state", "total")
+                .register(meterRegistry);
+        Gauge.builder("warmup.queries", progress, p -> p.getCompleted())
+                .tag("state", "completed")
+                .register(meterRegistry);
+        Gauge.builder("warmup.queries", progress, p -> p.getFailed())
+                .tag("state", "failed")
+                .register(meterRegistry);
+        Gauge.builder("warmup.progress", progress, WarmupProgress::ratio)
+                .description("Fraction of warm-up queries executed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start the warm-up once the application is up, off the startup thread
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(this::warmUp, "cache-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Run the warm-up to completion (or timeout)
+     */
+    public void warmUp() {
+        if (!properties.isEnabled()) {
+            progress.finish(WarmupProgress.State.SKIPPED);
+            return;
+        }
+
+        List<SearchCriteria> queries = loadQueries(Path.of(properties.getQueryLog()));
+        if (queries.isEmpty()) {
+            log.info("No recorded queries to warm up from: {}", properties.getQueryLog());
+            progress.finish(WarmupProgress.State.SKIPPED);
+            return;
+        }
+
+        log.info("Warming up with {} queries ({} mode, concurrency {})",
+                queries.size(), properties.getMode(), properties.getConcurrency());
+        progress.start(queries.size());
+        long startNanos = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getConcurrency()));
+        try {
+            for (SearchCriteria criteria : queries) {
+                executor.execute(() -> execute(criteria));
+            }
+            executor.shutdown();
+
+            boolean finished = executor.awaitTermination(properties.getTimeoutSeconds(), TimeUnit.SECONDS);
+            progress.finish(finished ? WarmupProgress.State.COMPLETED : WarmupProgress.State.TIMED_OUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progress.finish(WarmupProgress.State.TIMED_OUT);
+        } finally {
+            executor.shutdownNow();
+            duration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+
+        log.info("Warm-up {}: {}/{} queries in {} ms ({} failed)", progress.getState(),
+                progress.getCompleted(), progress.getTotal(), progress.elapsedMillis(), progress.getFailed());
+    }
+
+    public WarmupProgress getProgress() {
+        return progress;
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void execute(SearchCriteria criteria) {
+        try {
+            searchService.warm(criteria);
+            progress.completed();
+        } catch (Exception e) {
+            log.debug("Warm-up query failed: {}", criteria, e);
+            progress.failed();
+        }
+    }
+
+    /**
+     * Read the log and pick the queries to replay according to the mode
+     */
+    List<SearchCriteria> loadQueries(Path logFile) {
+        if (!Files.isReadable(logFile)) {
+            return List.of();
+        }
+
+        boolean replay = properties.getMode() == WarmupProperties.Mode.REPLAY;
+        List<SearchCriteria> inOrder = new ArrayList<>();
+        Map<String, Shape> shapes = new HashMap<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                SearchCriteria criteria;
+                try {
+                    criteria = objectMapper.readValue(line, SearchCriteria.class);
+                } catch (IOException e) {
+                    log.debug("Skipping malformed query log line: {}", line);
+                    continue;
+                }
+
+                if (replay) {
+                    inOrder.add(criteria);
+                    if (inOrder.size() >= properties.getMaxQueries()) {
+                        break;
+                    }
+                } else {
+                    // Equivalent criteria share one canonical form and count as one shape
+                    criteria.applyDefaults();
+                    SearchCriteria canonical = SearchFingerprint.canonicalize(criteria);
+                    String form = SearchFingerprint.formOf(canonical);
+                    shapes.computeIfAbsent(form, f -> new Shape(canonical)).hits.incrementAndGet();
+                }
+            }
+        } catch (IOException e) {
+            log.error("Could not read query log: {}", logFile, e);
+        }
+
+        if (replay) {
+            return inOrder;
+        }
+        return shapes.values().stream()
+                .sorted(Comparator.comparingInt((Shape shape) -> shape.hits.get()).reversed())
+                .limit(properties.getTopN())
+                .map(shape -> shape.criteria)
+                .toList();
+    }
+
+    /**
+     * Distinct canonical query with its number of occurrences in the log
+     */
+    private static final class Shape {
+
+        private final SearchCriteria criteria;
+        private final AtomicInteger hits = new AtomicInteger();
+
+        private Shape(SearchCriteria criteria) {
+            this.criteria = criteria;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.search.product.infrastructure.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.search.product.domain.model.SearchCriteria;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Records search criteria to the NDJSON query log replayed by CacheWarmer
+ * Requests only enqueue a line; a single background writer appends to the
+ * file, so a slow disk never adds latency to searches
+ */
+@Slf4j
+@Component
+public class QueryLogRecorder {
+
+    private final WarmupProperties.Record settings;
+    private final ObjectMapper objectMapper;
+    private final Path logFile;
+    private final BlockingQueue<String> pending;
+    private final Thread writer;
+
+    private final Counter recorded;
+    private final Counter dropped;
+
+    public QueryLogRecorder(WarmupProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.settings = properties.getRecord();
+        this.objectMapper = objectMapper;
+        this.logFile = Path.of(properties.getQueryLog());
+        this.pending = new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity()));
+
+        this.recorded = Counter.builder("warmup.query.log.lines").tag("result", "recorded").register(meterRegistry);
+        this.dropped = Counter.builder("warmup.query.log.lines").tag("result", "dropped").register(meterRegistry);
+
+        this.writer = new Thread(this::writeLoop, "query-log-writer");
+        this.writer.setDaemon(true);
+        if (settings.isEnabled()) {
+            this.writer.start();
+        }
+    }
+
+    /**
+     * Record the criteria of a search request (sampled, never blocks)
+     */
+    public void record(SearchCriteria criteria) {
+        if (!settings.isEnabled() || ThreadLocalRandom.current().nextDouble() >= settings.getSampleRate()) {
+            return;
+        }
+
+        try {
+            if (!pending.offer(objectMapper.writeValueAsString(criteria))) {
+                dropped.increment();
+            }
+        } catch (JsonProcessingException e) {
+            log.debug("Could not record search criteria", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writer.interrupt();
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void writeLoop() {
+        try (BufferedWriter out = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            long size = Files.size(logFile);
+            while (!Thread.currentThread().isInterrupted()) {
+                String line = pending.take();
+                do {
+                    if (size >= settings.getMaxBytes()) {
+                        dropped.increment();
+                        continue;
+                    }
+                    out.write(line);
+                    out.newLine();
+                    size += line.length() + 1;
+                    recorded.increment();
+                } while ((line = pending.poll()) != null);
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("Query log recording stopped: {}", logFile, e);
+        }
+    }
+}
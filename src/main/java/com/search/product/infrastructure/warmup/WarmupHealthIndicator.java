@@ -0,0 +1,30 @@
+package com.search.product.infrastructure.warmup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports OUT_OF_SERVICE while the startup warm-up runs
+ * Part of the readiness group, so traffic is only routed to warm nodes
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmer cacheWarmer;
+
+    @Override
+    public Health health() {
+        WarmupProgress progress = cacheWarmer.getProgress();
+        Health.Builder builder = progress.isDone() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("state", progress.getState())
+                .withDetail("total", progress.getTotal())
+                .withDetail("completed", progress.getCompleted())
+                .withDetail("failed", progress.getFailed())
+                .withDetail("elapsedMs", progress.elapsedMillis())
+                .build();
+    }
+}
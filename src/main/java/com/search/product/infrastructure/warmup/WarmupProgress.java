@@ -0,0 +1,83 @@
+package com.search.product.infrastructure.warmup;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live progress of the startup warm-up
+ */
+public class WarmupProgress {
+
+    public enum State {
+        PENDING, RUNNING, COMPLETED, TIMED_OUT, SKIPPED
+    }
+
+    private volatile State state = State.PENDING;
+    private volatile int total;
+    private volatile long startedAtNanos;
+    private volatile long finishedAtNanos;
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    void start(int total) {
+        this.total = total;
+        this.startedAtNanos = System.nanoTime();
+        this.state = State.RUNNING;
+    }
+
+    void completed() {
+        completed.incrementAndGet();
+    }
+
+    void failed() {
+        failed.incrementAndGet();
+    }
+
+    void finish(State finalState) {
+        this.finishedAtNanos = System.nanoTime();
+        this.state = finalState;
+    }
+
+    /**
+     * Whether the node may report ready
+     */
+    public boolean isDone() {
+        return state != State.PENDING && state != State.RUNNING;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getCompleted() {
+        return completed.get();
+    }
+
+    public int getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Fraction of queries executed (successfully or not)
+     */
+    public double ratio() {
+        if (isDone()) {
+            return 1.0;
+        }
+        return total == 0 ? 0.0 : (double) (completed.get() + failed.get()) / total;
+    }
+
+    /**
+     * Time spent so far (or in total once finished)
+     */
+    public long elapsedMillis() {
+        if (startedAtNanos == 0) {
+            return 0;
+        }
+        long end = state == State.RUNNING ? System.nanoTime() : finishedAtNanos;
+        return (end - startedAtNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,90 @@
+package com.search.product.infrastructure.warmup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Startup warm-up and query log settings (warmup.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "warmup")
+public class WarmupProperties {
+
+    /**
+     * Replay the query log on startup before reporting ready
+     */
+    private boolean enabled = true;
+
+    /**
+     * NDJSON file of recorded search criteria (one JSON object per line)
+     */
+    private String queryLog = "query-log.ndjson";
+
+    /**
+     * Which queries of the log are replayed
+     */
+    private Mode mode = Mode.TOP;
+
+    /**
+     * Number of most frequent query shapes replayed in TOP mode
+     */
+    private int topN = 200;
+
+    /**
+     * Maximum number of log lines replayed in REPLAY mode
+     */
+    private int maxQueries = 1000;
+
+    /**
+     * Searches executed in parallel during warm-up
+     */
+    private int concurrency = 4;
+
+    /**
+     * Upper bound of the warm-up; the node reports ready afterwards regardless
+     */
+    private long timeoutSeconds = 120;
+
+    /**
+     * Query recording settings
+     */
+    private Record record = new Record();
+
+    public enum Mode {
+        /**
+         * Most frequent canonical query shapes first
+         */
+        TOP,
+
+        /**
+         * Log lines in recorded order
+         */
+        REPLAY
+    }
+
+    /**
+     * Query recording settings (warmup.record.*)
+     */
+    @Data
+    public static class Record {
+
+        private boolean enabled = true;
+
+        /**
+         * Fraction of search requests written to the log
+         */
+        private double sampleRate = 1.0;
+
+        /**
+         * Recording stops once the log reaches this size
+         */
+        private long maxBytes = 50L * 1024 * 1024;
+
+        /**
+         * Pending lines buffered for the writer; further lines are dropped
+         */
+        private int queueCapacity = 10000;
+    }
+}
@@ -0,0 +1,46 @@
+package com.search.product.application.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for BloomFilter
+ */
+class BloomFilterTest {
+
+    @Test
+    void mightContain_ShouldNeverMissAKeyThatWasPut() {
+        // Given
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("i:product-" + i);
+        }
+
+        // When & Then
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("i:product-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void mightContain_ShouldRejectAbsentKeysNearTheTargetRate() {
+        // Given
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("i:product-" + i);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("i:probe-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.02);
+    }
+}
@@ -0,0 +1,68 @@
+package com.search.product.application.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ReactiveSingleFlight
+ */
+class ReactiveSingleFlightTest {
+
+    private ReactiveSingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        singleFlight = new ReactiveSingleFlight(new SimpleMeterRegistry(), 100, 5000);
+    }
+
+    @Test
+    void execute_WithConcurrentSubscribersForSameKey_ShouldLoadOnce() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        Sinks.One<String> database = Sinks.one();
+
+        // When
+        List<String> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            singleFlight.execute("search:hot", () -> {
+                loads.incrementAndGet();
+                return database.asMono();
+            }).subscribe(results::add);
+        }
+        database.tryEmitValue("result");
+
+        // Then
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(results).hasSize(5).containsOnly("result");
+    }
+
+    @Test
+    void execute_WhenLoaderIsEmpty_ShouldCompleteFollowersEmpty() {
+        // Given
+        Sinks.One<String> database = Sinks.one();
+        List<String> results = new ArrayList<>();
+        AtomicInteger completed = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            singleFlight.execute("product:missing", database::asMono)
+                    .subscribe(results::add, error -> { }, completed::incrementAndGet);
+        }
+        database.tryEmitEmpty();
+
+        // Then
+        assertThat(results).isEmpty();
+        assertThat(completed.get()).isEqualTo(3);
+        assertThat(singleFlight.execute("product:missing", () -> Mono.just("loaded")).block())
+                .isEqualTo("loaded");
+    }
+}
@@ -0,0 +1,83 @@
+package com.search.product.application.cache;
+
+import com.search.product.domain.model.SearchCriteria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SearchAdmissionPolicy
+ */
+class SearchAdmissionPolicyTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SearchCacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new SearchCacheProperties();
+    }
+
+    @Test
+    void admit_InFrequencyMode_ShouldRejectOneOffAndAdmitRepeatedSearches() {
+        // Given
+        SearchAdmissionPolicy policy = new SearchAdmissionPolicy(properties, meterRegistry);
+        SearchCriteria listing = canonical(SearchCriteria.builder().sortBy("price").build());
+        SearchCriteria oneOff = canonical(SearchCriteria.builder().query("vintage teal lamp 1970").build());
+
+        // When
+        boolean firstListing = policy.admit(listing);
+        boolean secondListing = policy.admit(listing);
+        boolean longTail = policy.admit(oneOff);
+
+        // Then
+        assertThat(firstListing).isFalse();
+        assertThat(secondListing).isTrue();
+        assertThat(longTail).isFalse();
+        assertThat(meterRegistry.get("cache.search.admission").tag("result", "admitted").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.search.admission").tag("result", "rejected").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void admit_InStaticMode_ShouldKeepPreviousHeuristic() {
+        // Given
+        properties.getAdmission().setMode(SearchCacheProperties.AdmissionMode.STATIC);
+        SearchAdmissionPolicy policy = new SearchAdmissionPolicy(properties, meterRegistry);
+
+        // When & Then
+        assertThat(policy.admit(canonical(SearchCriteria.builder().category("Electronics").build()))).isTrue();
+        assertThat(policy.admit(canonical(SearchCriteria.builder().sortBy("price").build()))).isFalse();
+        assertThat(policy.admit(canonical(SearchCriteria.builder().category("Electronics").page(3).build())))
+                .isFalse();
+    }
+
+    @Test
+    void frequencySketch_ShouldAgeCountersOverTime() {
+        // Given
+        FrequencySketch sketch = new FrequencySketch(1024);
+        long hot = 42L;
+        for (int i = 0; i < 20; i++) {
+            sketch.increment(hot);
+        }
+        int saturated = sketch.frequency(hot);
+
+        // When
+        sketch.reset();
+
+        // Then
+        assertThat(saturated).isEqualTo(15);
+        assertThat(sketch.frequency(hot)).isEqualTo(7);
+        assertThat(sketch.frequency(7L)).isZero();
+    }
+
+    private static SearchCriteria canonical(SearchCriteria criteria) {
+        criteria.applyDefaults();
+        return SearchFingerprint.canonicalize(criteria);
+    }
+}
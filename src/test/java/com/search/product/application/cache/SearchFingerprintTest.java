@@ -0,0 +1,84 @@
+package com.search.product.application.cache;
+
+import com.search.product.domain.model.SearchCriteria;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SearchFingerprint
+ */
+class SearchFingerprintTest {
+
+    @Test
+    void of_WithEquivalentCriteria_ShouldProduceSameKey() {
+        // Given
+        SearchCriteria first = SearchCriteria.builder()
+                .query("  Gaming   Laptop ")
+                .category("Electronics ")
+                .tags(Set.of("b", "a"))
+                .maxPrice(new BigDecimal("2000.00"))
+                .build();
+        SearchCriteria second = SearchCriteria.builder()
+                .query("gaming laptop")
+                .category("Electronics")
+                .tags(Set.of("a", "b", " "))
+                .maxPrice(new BigDecimal("2E+3"))
+                .sortBy(" ")
+                .sortDirection(SearchCriteria.SortDirection.DESC)
+                .page(0)
+                .size(20)
+                .activeOnly(true)
+                .inStockOnly(false)
+                .build();
+
+        // When
+        SearchFingerprint a = SearchFingerprint.of("search:", SearchFingerprint.canonicalize(first));
+        SearchFingerprint b = SearchFingerprint.of("search:", SearchFingerprint.canonicalize(second));
+
+        // Then
+        assertThat(a.getKey()).isEqualTo(b.getKey());
+        assertThat(a.getCanonicalForm()).isEqualTo(b.getCanonicalForm());
+        assertThat(a.getKey()).hasSize("search:".length() + 43);
+    }
+
+    @Test
+    void of_WithDelimiterInsideValue_ShouldNotCollideWithOtherFields() {
+        // Given
+        SearchCriteria injected = SearchCriteria.builder()
+                .category("Books|b=5:Acme")
+                .build();
+        SearchCriteria separate = SearchCriteria.builder()
+                .category("Books")
+                .brand("Acme")
+                .build();
+
+        // When
+        SearchFingerprint a = SearchFingerprint.of("search:", SearchFingerprint.canonicalize(injected));
+        SearchFingerprint b = SearchFingerprint.of("search:", SearchFingerprint.canonicalize(separate));
+
+        // Then
+        assertThat(a.getKey()).isNotEqualTo(b.getKey());
+    }
+
+    @Test
+    void canonicalize_ShouldKeepExactMatchFieldsCaseSensitive() {
+        // When
+        SearchCriteria canonical = SearchFingerprint.canonicalize(SearchCriteria.builder()
+                .query("LAPTOP")
+                .brand("Dell")
+                .build());
+
+        // Then
+        assertThat(canonical.getQuery()).isEqualTo("laptop");
+        assertThat(canonical.getBrand()).isEqualTo("Dell");
+        // Text query without a sort: relevance order, kept apart from an explicit createdAt
+        assertThat(canonical.getSortBy()).isNull();
+        assertThat(canonical.getActiveOnly()).isTrue();
+        assertThat(SearchFingerprint.canonicalize(SearchCriteria.builder().brand("Dell").build()).getSortBy())
+                .isEqualTo("createdAt");
+    }
+}
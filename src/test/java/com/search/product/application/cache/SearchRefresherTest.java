@@ -0,0 +1,99 @@
+package com.search.product.application.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SearchRefresher
+ */
+class SearchRefresherTest {
+
+    private SearchCacheProperties properties;
+
+    private AtomicLong nanos;
+
+    private SearchRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SearchCacheProperties();
+        properties.getRefreshAhead().setHotWindowSeconds(60);
+        properties.getRefreshAhead().setHotMinAccesses(3);
+        nanos = new AtomicLong();
+        refresher = new SearchRefresher(properties, new SimpleMeterRegistry(), nanos::get);
+    }
+
+    @Test
+    void recordAccess_WithAccessesWithinTheWindow_ShouldBecomeHot() {
+        // When
+        boolean first = refresher.recordAccess("search:a");
+        advanceSeconds(20);
+        boolean second = refresher.recordAccess("search:a");
+        advanceSeconds(20);
+        boolean third = refresher.recordAccess("search:a");
+
+        // Then
+        assertThat(first).isFalse();
+        assertThat(second).isFalse();
+        assertThat(third).isTrue();
+    }
+
+    @Test
+    void recordAccess_WithSlowSteadyAccesses_ShouldNeverBecomeHot() {
+        // Given: one access every 40 seconds keeps the key tracked but never three per minute
+        boolean everHot = false;
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            everHot |= refresher.recordAccess("search:slow");
+            advanceSeconds(40);
+        }
+
+        // Then
+        assertThat(everHot).isFalse();
+    }
+
+    @Test
+    void recordAccess_AfterABurstHasAged_ShouldCoolDownUntilTheNextBurst() {
+        // Given
+        refresher.recordAccess("search:a");
+        refresher.recordAccess("search:a");
+        assertThat(refresher.recordAccess("search:a")).isTrue();
+
+        // When
+        advanceSeconds(50);
+        boolean afterPause = refresher.recordAccess("search:a");
+        advanceSeconds(50);
+        boolean afterSecondPause = refresher.recordAccess("search:a");
+        boolean burst = refresher.recordAccess("search:a");
+
+        // Then
+        assertThat(afterPause).isTrue();
+        assertThat(afterSecondPause).isFalse();
+        assertThat(burst).isTrue();
+    }
+
+    @Test
+    void recordAccess_WhenDisabled_ShouldNeverBeHot() {
+        // Given
+        properties.getRefreshAhead().setEnabled(false);
+        refresher = new SearchRefresher(properties, new SimpleMeterRegistry(), nanos::get);
+
+        // When & Then
+        for (int i = 0; i < 5; i++) {
+            assertThat(refresher.recordAccess("search:a")).isFalse();
+        }
+    }
+
+    // ========== Helper Methods ==========
+
+    private void advanceSeconds(long seconds) {
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
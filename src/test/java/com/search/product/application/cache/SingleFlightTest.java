@@ -0,0 +1,96 @@
+package com.search.product.application.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SingleFlight
+ */
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(meterRegistry, 100, 5000);
+    }
+
+    @Test
+    void execute_WithConcurrentCallersForSameKey_ShouldLoadOnce() throws Exception {
+        // Given
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("search:hot", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "result";
+            })));
+        }
+        while (meterRegistry.get("cache.single.flight.calls").tag("result", "coalesced").counter().count()
+                < callers - 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_WhenLoaderFails_ShouldPropagateAndForgetKey() {
+        // When & Then
+        assertThatThrownBy(() -> singleFlight.execute("product:1", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.execute("product:1", () -> "recovered")).isEqualTo("recovered");
+    }
+
+    @Test
+    void execute_WhenInFlightLimitReached_ShouldBypassCoalescing() {
+        // Given
+        SingleFlight bounded = new SingleFlight(meterRegistry, 0, 5000);
+
+        // When
+        String result = bounded.execute("product:1", () -> "direct");
+
+        // Then
+        assertThat(result).isEqualTo("direct");
+        assertThat(meterRegistry.get("cache.single.flight.calls").tag("result", "bypassed").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
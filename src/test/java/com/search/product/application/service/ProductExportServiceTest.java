@@ -0,0 +1,121 @@
+package com.search.product.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.search.product.application.export.CatalogExport;
+import com.search.product.application.export.ExportFormat;
+import com.search.product.application.export.ExportProperties;
+import com.search.product.domain.model.ProductSummary;
+import com.search.product.domain.model.SearchCriteria;
+import com.search.product.domain.port.outbound.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProductExportService
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductExportServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductExportService exportService;
+
+    private final AtomicBoolean cursorClosed = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        ExportProperties properties = new ExportProperties();
+        properties.setBatchSize(1);
+        exportService = new ProductExportService(productRepository, properties, new ObjectMapper());
+    }
+
+    @Test
+    void export_AsNdjson_ShouldWriteOneLinePerProductAndCloseTheCursor() throws IOException {
+        // Given
+        when(productRepository.streamSummaries(any(SearchCriteria.class), eq("65a000000000000000000001"), eq(1)))
+                .thenReturn(cursor(summary("65a000000000000000000002", "Laptop, 15\""),
+                        summary("65a000000000000000000003", "Mouse")));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long written = exportService.export(new SearchCriteria(), " 65a000000000000000000001 ", ExportFormat.NDJSON)
+                .writeTo(output);
+
+        // Then
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(written).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"id\":\"65a000000000000000000002\"");
+        assertThat(cursorClosed).isTrue();
+    }
+
+    @Test
+    void export_AsCsv_ShouldWriteHeaderAndQuoteSeparators() throws IOException {
+        // Given
+        when(productRepository.streamSummaries(any(SearchCriteria.class), isNull(), anyInt()))
+                .thenReturn(cursor(summary("65a000000000000000000002", "Laptop, 15\"")));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        exportService.export(new SearchCriteria(), null, ExportFormat.CSV).writeTo(output);
+
+        // Then
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,sku,name,brand,category,price,currency,stock,active,rating,reviewCount,thumbnailUrl\n"
+                        + "65a000000000000000000002,SKU-1,\"Laptop, 15\"\"\",,,999.90,USD,,,,,\n");
+    }
+
+    @Test
+    void export_WhenClientDisconnects_ShouldStopAndCloseTheCursor() {
+        // Given
+        when(productRepository.streamSummaries(any(SearchCriteria.class), isNull(), anyInt()))
+                .thenReturn(cursor(summary("65a000000000000000000002", "Laptop"),
+                        summary("65a000000000000000000003", "Mouse")));
+        CatalogExport export = exportService.export(new SearchCriteria(), null, ExportFormat.NDJSON);
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // When & Then
+        assertThatThrownBy(() -> export.writeTo(disconnected)).isInstanceOf(IOException.class);
+        assertThat(cursorClosed).isTrue();
+    }
+
+    // ========== Helper Methods ==========
+
+    private Stream<ProductSummary> cursor(ProductSummary... products) {
+        return Stream.of(products).onClose(() -> cursorClosed.set(true));
+    }
+
+    private static ProductSummary summary(String id, String name) {
+        return ProductSummary.builder()
+                .id(id)
+                .sku("SKU-1")
+                .name(name)
+                .price(new BigDecimal("999.90"))
+                .currency("USD")
+                .build();
+    }
+}
@@ -0,0 +1,168 @@
+package com.search.product.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.search.product.application.ingest.ImportProperties;
+import com.search.product.domain.model.BulkWriteOutcome;
+import com.search.product.domain.model.ImportReport;
+import com.search.product.domain.model.Product;
+import com.search.product.domain.port.outbound.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProductImportService
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductSearchService searchService;
+
+    @Test
+    void importNdjson_ShouldReportRejectedLinesAndImportTheRest() {
+        // Given
+        ProductImportService importService = newService(1000);
+        when(productRepository.upsertAllBySku(anyList())).thenReturn(outcome(2, 0));
+        String input = String.join("\n",
+                product("SKU-1", "Laptop"),
+                "{\"sku\": \"SKU-2\", \"name\": ",
+                "{\"sku\": \"SKU-3\", \"price\": 10}",
+                "",
+                product("SKU-4", "Monitor"));
+
+        // When
+        ImportReport report = importService.importNdjson(stream(input));
+
+        // Then
+        ArgumentCaptor<List<Product>> written = productsCaptor();
+        verify(productRepository).upsertAllBySku(written.capture());
+        assertThat(written.getValue()).extracting(Product::getSku).containsExactly("SKU-1", "SKU-4");
+
+        assertThat(report.getReceived()).isEqualTo(4);
+        assertThat(report.getInserted()).isEqualTo(2);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getBatches()).isEqualTo(1);
+        assertThat(report.getErrors()).extracting(ImportReport.RecordError::getLine).containsExactly(2L, 3L);
+        assertThat(report.getErrors().get(1).getMessage()).isEqualTo("name is required");
+    }
+
+    @Test
+    void importNdjson_ShouldWriteFullBatchesKeepingTheLastRecordPerSku() {
+        // Given
+        ProductImportService importService = newService(2);
+        when(productRepository.upsertAllBySku(anyList())).thenReturn(outcome(2, 0), outcome(0, 1));
+        String input = String.join("\n",
+                product("SKU-1", "Old name"),
+                product("SKU-1", "New name"),
+                product("SKU-2", "Mouse"),
+                product("SKU-3", "Keyboard"));
+
+        // When
+        ImportReport report = importService.importNdjson(stream(input));
+
+        // Then
+        ArgumentCaptor<List<Product>> written = productsCaptor();
+        verify(productRepository, times(2)).upsertAllBySku(written.capture());
+        assertThat(written.getAllValues().get(0)).extracting(Product::getName).containsExactly("New name", "Mouse");
+        assertThat(written.getAllValues().get(1)).extracting(Product::getSku).containsExactly("SKU-3");
+        verify(searchService, times(2)).batchWritten(anyList(), anyList(), anyList());
+
+        assertThat(report.getSuperseded()).isEqualTo(1);
+        assertThat(report.getInserted()).isEqualTo(2);
+        assertThat(report.getUpdated()).isEqualTo(1);
+        assertThat(report.getFailed()).isZero();
+    }
+
+    @Test
+    void importNdjson_WhenSomeUpsertsFail_ShouldReportThemAndInvalidateTheWrittenOnes() {
+        // Given
+        ProductImportService importService = newService(1000);
+        Product previous = Product.builder().id("id-1").sku("SKU-1").category("Laptops").build();
+        when(productRepository.findScopesBySkus(anyList())).thenReturn(List.of(previous));
+        when(productRepository.upsertAllBySku(anyList())).thenReturn(BulkWriteOutcome.builder()
+                .updated(1)
+                .failures(List.of(new BulkWriteOutcome.Failure(1, "E11000 duplicate key")))
+                .build());
+        String input = product("SKU-1", "Laptop") + "\n" + product("SKU-2", "Tablet");
+
+        // When
+        ImportReport report = importService.importNdjson(stream(input));
+
+        // Then
+        ArgumentCaptor<List<Product>> invalidated = productsCaptor();
+        verify(searchService).batchWritten(eq(List.of(previous)), invalidated.capture(), anyList());
+        assertThat(invalidated.getValue()).extracting(Product::getSku).containsExactly("SKU-1");
+
+        assertThat(report.getUpdated()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getErrors()).singleElement()
+                .satisfies(error -> {
+                    assertThat(error.getLine()).isEqualTo(2);
+                    assertThat(error.getSku()).isEqualTo("SKU-2");
+                });
+    }
+
+    @Test
+    void importNdjson_WhenABatchFails_ShouldMarkItsRecordsFailedAndContinue() {
+        // Given
+        ProductImportService importService = newService(1);
+        when(productRepository.upsertAllBySku(anyList()))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(outcome(1, 0));
+        String input = product("SKU-1", "Laptop") + "\n" + product("SKU-2", "Tablet");
+
+        // When
+        ImportReport report = importService.importNdjson(stream(input));
+
+        // Then
+        assertThat(report.getBatches()).isEqualTo(2);
+        assertThat(report.getInserted()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getErrors().get(0).getMessage()).contains("connection reset");
+        verify(searchService, times(1)).batchWritten(anyList(), anyList(), anyList());
+    }
+
+    // ========== Helper Methods ==========
+
+    private ProductImportService newService(int batchSize) {
+        ImportProperties properties = new ImportProperties();
+        properties.setBatchSize(batchSize);
+        // One partition: batches are written in input order
+        properties.setMaxInFlightBatches(1);
+        return new ProductImportService(productRepository, searchService, properties,
+                new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry());
+    }
+
+    private static String product(String sku, String name) {
+        return "{\"sku\": \"" + sku + "\", \"name\": \"" + name + "\", \"category\": \"Electronics\", \"price\": 99.9}";
+    }
+
+    private static ByteArrayInputStream stream(String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static BulkWriteOutcome outcome(int inserted, int updated) {
+        return BulkWriteOutcome.builder().inserted(inserted).updated(updated).failures(List.of()).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<Product>> productsCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+}
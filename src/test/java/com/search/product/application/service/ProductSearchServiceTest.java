@@ -1,20 +1,46 @@
 package com.search.product.application.service;
 
+import com.search.product.application.cache.CacheGenerations;
+import com.search.product.application.cache.MissingKeyProperties;
+import com.search.product.application.cache.ProductKeyFilter;
+import com.search.product.application.cache.SearchAdmissionPolicy;
+import com.search.product.application.cache.SearchCacheEntry;
+import com.search.product.application.cache.SearchCacheProperties;
+import com.search.product.application.cache.SearchFingerprint;
+import com.search.product.application.cache.SearchRefresher;
+import com.search.product.application.cache.SingleFlight;
+import com.search.product.application.execution.ExecutionProperties;
+import com.search.product.application.execution.SearchExecutor;
 import com.search.product.domain.model.PageResult;
 import com.search.product.domain.model.Product;
+import com.search.product.domain.model.ProductSummary;
 import com.search.product.domain.model.SearchCriteria;
+import com.search.product.domain.model.SearchFacets;
 import com.search.product.domain.port.outbound.CacheRepository;
+import com.search.product.domain.port.outbound.ProductChangeNotifier;
 import com.search.product.domain.port.outbound.ProductRepository;
+import com.search.product.infrastructure.persistence.memory.MemoryProductRepositoryAdapter;
+import com.search.product.infrastructure.persistence.memory.MemorySearchProperties;
+import com.search.product.infrastructure.persistence.mongodb.MongoProductRepositoryAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -32,13 +58,23 @@ class ProductSearchServiceTest {
     @Mock
     private CacheRepository cacheRepository;
     
-    @InjectMocks
+    @Mock
+    private ProductChangeNotifier changeNotifier;
+    
+    private ProductKeyFilter productKeyFilter;
+    
+    private MissingKeyProperties missingKeyProperties;
+    
     private ProductSearchService searchService;
     
     private Product testProduct;
     
+    private ProductSummary testSummary;
+    
     @BeforeEach
     void setUp() {
+        searchService = newService();
+        
         testProduct = Product.builder()
                 .id("test-id-1")
                 .name("Test Product")
@@ -50,6 +86,13 @@ class ProductSearchServiceTest {
                 .active(true)
                 .rating(4.5)
                 .build();
+        
+        testSummary = ProductSummary.builder()
+                .id("test-id-1")
+                .name("Test Product")
+                .sku("TEST-SKU-001")
+                .price(new BigDecimal("999.99"))
+                .build();
     }
     
     @Test
@@ -89,6 +132,85 @@ class ProductSearchServiceTest {
         verify(cacheRepository).put(anyString(), eq(testProduct), anyLong());
     }
     
+    @Test
+    void findById_WhenAbsentFromKeyFilter_ShouldSkipTheProductCacheButAskTheDatabase() {
+        // Given
+        when(productRepository.streamIdentities(anyInt())).thenReturn(Stream.of(testProduct));
+        productKeyFilter.rebuild();
+        when(cacheRepository.get("missing:product:65a000000000000000000099", Boolean.class))
+                .thenReturn(Optional.empty());
+        when(productRepository.findById("65a000000000000000000099")).thenReturn(Optional.empty());
+        
+        // When
+        Optional<Product> result = searchService.findById("65a000000000000000000099");
+        
+        // Then: missing, and remembered so repeated probes stop at the negative cache
+        assertThat(result).isEmpty();
+        verify(cacheRepository, never()).get("product:65a000000000000000000099", Product.class);
+        verify(cacheRepository).put("missing:product:65a000000000000000000099", Boolean.TRUE,
+                missingKeyProperties.getNegativeTtlSeconds());
+    }
+    
+    @Test
+    void findById_WhenProductIsMissingFromTheKeyFilter_ShouldFindItAndAddIt() {
+        // Given: written straight to the database after the filter was built
+        when(productRepository.streamIdentities(anyInt())).thenReturn(Stream.empty());
+        productKeyFilter.rebuild();
+        when(cacheRepository.get("missing:product:test-id-1", Boolean.class)).thenReturn(Optional.empty());
+        when(productRepository.findById("test-id-1")).thenReturn(Optional.of(testProduct));
+        
+        // When
+        Optional<Product> result = searchService.findById("test-id-1");
+        
+        // Then: found, and known to the filter from now on
+        assertThat(result).contains(testProduct);
+        assertThat(productKeyFilter.mightContainId("test-id-1")).isTrue();
+    }
+    
+    @Test
+    void findById_WhenProductDoesNotExist_ShouldCacheTheMissAndServeItFromCache() {
+        // Given
+        String productId = "missing-id";
+        String missingKey = "missing:product:" + productId;
+        when(cacheRepository.get("product:" + productId, Product.class)).thenReturn(Optional.empty());
+        when(cacheRepository.get(missingKey, Boolean.class))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(true));
+        when(productRepository.findById(productId)).thenReturn(Optional.empty());
+        
+        // When
+        Optional<Product> first = searchService.findById(productId);
+        Optional<Product> second = searchService.findById(productId);
+        
+        // Then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        verify(productRepository, times(1)).findById(productId);
+        verify(cacheRepository).put(missingKey, Boolean.TRUE, missingKeyProperties.getNegativeTtlSeconds());
+    }
+    
+    @Test
+    void save_ShouldMakeTheNewProductKnownToTheKeyFilter() {
+        // Given
+        when(productRepository.streamIdentities(anyInt())).thenReturn(Stream.empty());
+        productKeyFilter.rebuild();
+        Product newProduct = Product.builder()
+                .name("Test Product")
+                .sku("TEST-SKU-001")
+                .category("Electronics")
+                .build();
+        when(productRepository.save(newProduct)).thenReturn(testProduct);
+        
+        // When
+        searchService.save(newProduct);
+        
+        // Then
+        assertThat(productKeyFilter.mightContainId("test-id-1")).isTrue();
+        assertThat(productKeyFilter.mightContainSku("TEST-SKU-001")).isTrue();
+        verify(changeNotifier).keysAdded(List.of("i:test-id-1", "s:TEST-SKU-001"));
+        verify(cacheRepository).evictAll(List.of("missing:product:test-id-1", "missing:sku:TEST-SKU-001"));
+    }
+    
     @Test
     void search_WithValidCriteria_ShouldReturnPageResult() {
         // Given
@@ -98,8 +220,8 @@ class ProductSearchServiceTest {
                 .size(20)
                 .build();
         
-        PageResult<Product> expectedResult = PageResult.<Product>builder()
-                .content(List.of(testProduct))
+        PageResult<ProductSummary> expectedResult = PageResult.<ProductSummary>builder()
+                .content(List.of(testSummary))
                 .totalElements(1L)
                 .totalPages(1)
                 .currentPage(0)
@@ -108,13 +230,13 @@ class ProductSearchServiceTest {
                 .hasPrevious(false)
                 .build();
         
-        when(cacheRepository.get(anyString(), eq(PageResult.class)))
+        when(cacheRepository.get(anyString(), eq(SearchCacheEntry.class)))
                 .thenReturn(Optional.empty());
         when(productRepository.search(any(SearchCriteria.class)))
                 .thenReturn(expectedResult);
         
         // When
-        PageResult<Product> result = searchService.search(criteria);
+        PageResult<ProductSummary> result = searchService.search(criteria);
         
         // Then
         assertThat(result).isNotNull();
@@ -123,33 +245,262 @@ class ProductSearchServiceTest {
         verify(productRepository).search(any(SearchCriteria.class));
     }
     
+    @Test
+    void search_WithEquivalentCriteria_ShouldUseSameCacheKey() {
+        // Given
+        SearchCriteria first = SearchCriteria.builder()
+                .query("Laptop ")
+                .tags(Set.of("gaming", "portable"))
+                .minPrice(new BigDecimal("500.00"))
+                .build();
+        SearchCriteria second = SearchCriteria.builder()
+                .query("laptop")
+                .tags(new LinkedHashSet<>(List.of("portable", "gaming")))
+                .minPrice(new BigDecimal("500"))
+                .build();
+        
+        when(cacheRepository.get(anyString(), eq(SearchCacheEntry.class)))
+                .thenReturn(Optional.empty());
+        when(productRepository.search(any(SearchCriteria.class)))
+                .thenReturn(PageResult.empty(0, 20));
+        
+        // When
+        searchService.search(first);
+        searchService.search(second);
+        
+        // Then
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(cacheRepository, times(2)).get(keys.capture(), eq(SearchCacheEntry.class));
+        assertThat(keys.getAllValues().get(0))
+                .startsWith("search:")
+                .isEqualTo(keys.getAllValues().get(1));
+    }
+    
+    @Test
+    void search_WhenCachedEntryBelongsToOtherCriteria_ShouldQueryDatabase() {
+        // Given
+        SearchCriteria criteria = SearchCriteria.builder()
+                .category("Electronics")
+                .build();
+        SearchCacheEntry foreignEntry = SearchCacheEntry.builder()
+                .fingerprint("v1|other")
+                .page(PageResult.empty(0, 20))
+                .build();
+        
+        when(cacheRepository.get(anyString(), eq(SearchCacheEntry.class)))
+                .thenReturn(Optional.of(foreignEntry));
+        when(productRepository.search(any(SearchCriteria.class)))
+                .thenReturn(PageResult.empty(0, 20));
+        
+        // When
+        searchService.search(criteria);
+        
+        // Then
+        verify(productRepository).search(any(SearchCriteria.class));
+    }
+    
+    @Test
+    void search_WhenIdsEntryCached_ShouldHydrateFromSummaryCache() {
+        // Given
+        SearchCriteria criteria = SearchCriteria.builder()
+                .category("Electronics")
+                .build();
+        ArgumentCaptor<SearchCacheEntry> stored = ArgumentCaptor.forClass(SearchCacheEntry.class);
+        when(cacheRepository.get(anyString(), eq(SearchCacheEntry.class)))
+                .thenReturn(Optional.empty());
+        when(productRepository.search(any(SearchCriteria.class)))
+                .thenReturn(PageResult.<ProductSummary>builder()
+                        .content(List.of(testSummary))
+                        .totalElements(1L)
+                        .currentPage(0)
+                        .pageSize(20)
+                        .build());
+        searchService.search(criteria);
+        verify(cacheRepository).put(anyString(), stored.capture(), anyLong());
+        
+        ProductSummary updated = ProductSummary.builder().id("test-id-1").name("Updated Name").build();
+        when(cacheRepository.get(anyString(), eq(SearchCacheEntry.class)))
+                .thenReturn(Optional.of(stored.getValue()));
+        when(cacheRepository.getAll(List.of("summary:test-id-1"), ProductSummary.class))
+                .thenReturn(Map.of("summary:test-id-1", updated));
+        
+        // When
+        PageResult<ProductSummary> result = searchService.search(SearchCriteria.builder()
+                .category("Electronics")
+                .build());
+        
+        // Then
+        assertThat(stored.getValue().getProductIds()).containsExactly("test-id-1");
+        assertThat(stored.getValue().getPage().getContent()).isNull();
+        assertThat(result.getContent()).containsExactly(updated);
+        assertThat(result.getTotalElements()).isEqualTo(1L);
+        verify(productRepository, times(1)).search(any(SearchCriteria.class));
+    }
+    
+    @Test
+    void search_AfterCategoryGenerationBump_ShouldUseNewCacheKey() {
+        // Given
+        SearchCriteria criteria = SearchCriteria.builder()
+                .category("Electronics")
+                .build();
+        when(cacheRepository.get(anyString(), eq(SearchCacheEntry.class)))
+                .thenReturn(Optional.empty());
+        when(productRepository.search(any(SearchCriteria.class)))
+                .thenReturn(PageResult.empty(0, 20));
+        when(cacheRepository.getCounters(anyCollection()))
+                .thenReturn(Map.of())
+                .thenReturn(Map.of("gen:category:Electronics", 1L));
+        
+        // When
+        searchService.search(criteria);
+        searchService.search(SearchCriteria.builder().category("Electronics").build());
+        
+        // Then
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(cacheRepository, times(2)).get(keys.capture(), eq(SearchCacheEntry.class));
+        assertThat(keys.getAllValues().get(0)).isNotEqualTo(keys.getAllValues().get(1));
+    }
+    
+    @Test
+    void search_WhenHotEntrySoftExpired_ShouldServeStaleAndRefreshInBackground() {
+        // Given
+        PageResult<ProductSummary> stalePage = PageResult.<ProductSummary>builder()
+                .content(List.of(testSummary))
+                .totalElements(1L)
+                .currentPage(0)
+                .pageSize(20)
+                .build();
+        ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+        when(cacheRepository.get(key.capture(), eq(SearchCacheEntry.class)))
+                .thenReturn(Optional.empty());
+        when(productRepository.search(any(SearchCriteria.class)))
+                .thenReturn(stalePage);
+        searchService.search(SearchCriteria.builder().category("Electronics").build());
+        
+        ArgumentCaptor<SearchCacheEntry> stored = ArgumentCaptor.forClass(SearchCacheEntry.class);
+        verify(cacheRepository).put(eq(key.getValue()), stored.capture(), eq(300L));
+        SearchCacheEntry staleEntry = stored.getValue();
+        staleEntry.setSoftExpiresAt(System.currentTimeMillis() - 1);
+        when(cacheRepository.get(anyString(), eq(SearchCacheEntry.class)))
+                .thenReturn(Optional.of(staleEntry));
+        when(cacheRepository.getAll(anyCollection(), eq(ProductSummary.class)))
+                .thenReturn(Map.of("summary:test-id-1", testSummary));
+        
+        // When
+        PageResult<ProductSummary> result = searchService.search(SearchCriteria.builder().category("Electronics").build());
+        
+        // Then
+        assertThat(result.getContent()).containsExactly(testSummary);
+        verify(productRepository, timeout(2000).times(2)).search(any(SearchCriteria.class));
+    }
+    
+    @Test
+    void search_WhenColdEntrySoftExpired_ShouldReloadInline() {
+        // Given
+        when(cacheRepository.get(anyString(), eq(SearchCacheEntry.class)))
+                .thenReturn(Optional.empty());
+        when(productRepository.search(any(SearchCriteria.class)))
+                .thenReturn(PageResult.empty(0, 20));
+        searchService.search(SearchCriteria.builder().brand("TestBrand").build());
+        
+        ArgumentCaptor<SearchCacheEntry> stored = ArgumentCaptor.forClass(SearchCacheEntry.class);
+        verify(cacheRepository).put(anyString(), stored.capture(), anyLong());
+        stored.getValue().setSoftExpiresAt(System.currentTimeMillis() - 1);
+        when(cacheRepository.get(anyString(), eq(SearchCacheEntry.class)))
+                .thenReturn(Optional.of(stored.getValue()));
+        
+        // Another instance has never seen the key, so it is cold there
+        ProductSearchService otherInstance = newService();
+        
+        // When
+        otherInstance.search(SearchCriteria.builder().brand("TestBrand").build());
+        
+        // Then
+        verify(productRepository, times(2)).search(any(SearchCriteria.class));
+        verify(cacheRepository, times(2)).put(anyString(), any(SearchCacheEntry.class), anyLong());
+    }
+    
+    @Test
+    void search_WithFacets_ShouldCacheFacetsOncePerFilterAcrossPages() {
+        // Given
+        SearchFacets facets = SearchFacets.builder()
+                .brands(List.of(new SearchFacets.Bucket("TestBrand", 3)))
+                .scanned(3L)
+                .complete(true)
+                .build();
+        ArgumentCaptor<String> facetKey = ArgumentCaptor.forClass(String.class);
+        when(cacheRepository.get(anyString(), eq(SearchCacheEntry.class)))
+                .thenReturn(Optional.empty());
+        when(cacheRepository.get(facetKey.capture(), eq(SearchFacets.class)))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(facets));
+        when(productRepository.search(any(SearchCriteria.class)))
+                .thenReturn(PageResult.empty(0, 20));
+        when(productRepository.facets(any(SearchCriteria.class)))
+                .thenReturn(facets);
+        
+        // When
+        PageResult<ProductSummary> first = searchService.search(SearchCriteria.builder()
+                .category("Electronics").includeFacets(true).build());
+        PageResult<ProductSummary> second = searchService.search(SearchCriteria.builder()
+                .category("Electronics").page(1).sortBy("price").includeFacets(true).build());
+        
+        // Then
+        assertThat(first.getFacets()).isEqualTo(facets);
+        assertThat(second.getFacets()).isEqualTo(facets);
+        assertThat(facetKey.getAllValues().get(0))
+                .startsWith("facets:")
+                .isEqualTo(facetKey.getAllValues().get(1));
+        verify(productRepository, times(1)).facets(any(SearchCriteria.class));
+        verify(cacheRepository).put(facetKey.getValue(), facets, 1800L);
+    }
+    
     @Test
     void autocomplete_WithValidQuery_ShouldReturnResults() {
         // Given
         String query = "lap";
         int limit = 10;
         when(productRepository.autocomplete(query, limit))
-                .thenReturn(List.of(testProduct));
+                .thenReturn(List.of(testSummary));
         
         // When
-        List<Product> results = searchService.autocomplete(query, limit);
+        List<ProductSummary> results = searchService.autocomplete(query, limit);
         
         // Then
         assertThat(results).hasSize(1);
-        assertThat(results.get(0)).isEqualTo(testProduct);
+        assertThat(results.get(0)).isEqualTo(testSummary);
         verify(productRepository).autocomplete(query, limit);
     }
     
     @Test
     void autocomplete_WithEmptyQuery_ShouldReturnEmptyList() {
         // When
-        List<Product> results = searchService.autocomplete("", 10);
+        List<ProductSummary> results = searchService.autocomplete("", 10);
         
         // Then
         assertThat(results).isEmpty();
         verify(productRepository, never()).autocomplete(anyString(), anyInt());
     }
     
+    @Test
+    void findByIds_ShouldLoadOnlyMissingIdsAndKeepOrder() {
+        // Given
+        Product cached = Product.builder().id("id-1").name("Cached").build();
+        Product loaded = Product.builder().id("id-2").name("Loaded").build();
+        when(cacheRepository.getAll(anyCollection(), eq(Product.class)))
+                .thenReturn(Map.of("product:id-1", cached));
+        when(productRepository.findByIds(List.of("id-2", "id-3")))
+                .thenReturn(List.of(loaded));
+        
+        // When
+        List<Product> results = searchService.findByIds(List.of("id-2", "id-3", "id-1"));
+        
+        // Then
+        assertThat(results).containsExactly(loaded, cached);
+        verify(productRepository).findByIds(List.of("id-2", "id-3"));
+        verify(cacheRepository).putAll(Map.of("product:id-2", loaded), 3600L);
+    }
+    
     @Test
     void save_ShouldInvalidateCache() {
         // Given
@@ -161,7 +512,31 @@ class ProductSearchServiceTest {
         // Then
         assertThat(saved).isEqualTo(testProduct);
         verify(productRepository).save(testProduct);
-        verify(cacheRepository).evict(anyString());
+        verify(cacheRepository).evictAll(List.of("product:test-id-1", "summary:test-id-1"));
+    }
+    
+    @Test
+    void save_WhenCategoryChanges_ShouldBumpOnlyAffectedGenerations() {
+        // Given
+        Product moved = Product.builder()
+                .id("test-id-1")
+                .sku("TEST-SKU-001")
+                .brand("TestBrand")
+                .category("Computers")
+                .build();
+        when(productRepository.findById("test-id-1")).thenReturn(Optional.of(testProduct));
+        when(productRepository.save(moved)).thenReturn(moved);
+        
+        // When
+        searchService.save(moved);
+        
+        // Then
+        verify(cacheRepository).increment("gen:all");
+        verify(cacheRepository).increment("gen:category:Electronics");
+        verify(cacheRepository).increment("gen:category:Computers");
+        verify(cacheRepository).increment("gen:brand:TestBrand");
+        verify(cacheRepository, never()).increment("gen:epoch");
+        verify(cacheRepository, never()).clear();
     }
     
     @Test
@@ -169,13 +544,228 @@ class ProductSearchServiceTest {
         // Given
         String productId = "test-id-1";
         doNothing().when(productRepository).deleteById(productId);
-        doNothing().when(cacheRepository).evict(anyString());
         
         // When
         searchService.deleteById(productId);
         
         // Then
         verify(productRepository).deleteById(productId);
-        verify(cacheRepository).evict(anyString());
+        verify(cacheRepository).evictAll(List.of("product:test-id-1", "summary:test-id-1"));
+    }
+    
+    @Test
+    void search_WithSpeculationAndFastMiss_ShouldSearchTheDatabaseOnce() {
+        // Given: the probe answers within the speculative delay
+        searchService = newService(speculative(1000));
+        PageResult<ProductSummary> expected = page(testSummary);
+        when(cacheRepository.get(anyString(), eq(SearchCacheEntry.class))).thenReturn(Optional.empty());
+        when(productRepository.search(any(SearchCriteria.class))).thenReturn(expected);
+        
+        // When
+        PageResult<ProductSummary> result = searchService.search(
+                SearchCriteria.builder().category("Electronics").build());
+        
+        // Then
+        assertThat(result.getContent()).containsExactly(testSummary);
+        verify(productRepository, times(1)).search(any(SearchCriteria.class));
+        verify(cacheRepository).put(startsWith("search:"), any(SearchCacheEntry.class), anyLong());
+    }
+    
+    @Test
+    void search_WithSpeculationAndFastHit_ShouldNotSearchTheDatabase() {
+        // Given
+        searchService = newService(speculative(1000));
+        SearchCriteria criteria = SearchCriteria.builder().category("Electronics").build();
+        when(cacheRepository.get(anyString(), eq(SearchCacheEntry.class)))
+                .thenAnswer(invocation -> freshEntry(criteria, page(testSummary)));
+        
+        // When
+        PageResult<ProductSummary> result = searchService.search(criteria);
+        
+        // Then
+        assertThat(result.getContent()).containsExactly(testSummary);
+        verify(productRepository, never()).search(any(SearchCriteria.class));
+    }
+    
+    @Test
+    void search_WithSpeculationAndSlowMiss_ShouldUseTheDatabaseSearchStartedDuringTheProbe() {
+        // Given: the probe outlasts the speculative delay, then misses
+        searchService = newService(speculative(0));
+        AtomicBoolean probed = new AtomicBoolean();
+        AtomicBoolean startedDuringProbe = new AtomicBoolean();
+        when(cacheRepository.get(anyString(), eq(SearchCacheEntry.class))).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            probed.set(true);
+            return Optional.empty();
+        });
+        when(productRepository.search(any(SearchCriteria.class))).thenAnswer(invocation -> {
+            startedDuringProbe.set(!probed.get());
+            return page(testSummary);
+        });
+        
+        // When
+        PageResult<ProductSummary> result = searchService.search(
+                SearchCriteria.builder().category("Electronics").build());
+        
+        // Then
+        assertThat(result.getContent()).containsExactly(testSummary);
+        assertThat(startedDuringProbe).isTrue();
+        verify(productRepository, times(1)).search(any(SearchCriteria.class));
+        verify(cacheRepository).put(startsWith("search:"), any(SearchCacheEntry.class), anyLong());
+    }
+    
+    @Test
+    void search_WithSpeculationAndSlowHit_ShouldInterruptTheDatabaseSearchWithoutCachingIt() throws Exception {
+        // Given: the probe outlasts the speculative delay, then hits
+        searchService = newService(speculative(0));
+        SearchCriteria criteria = SearchCriteria.builder().category("Electronics").build();
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(cacheRepository.get(anyString(), eq(SearchCacheEntry.class))).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return freshEntry(criteria, page(testSummary));
+        });
+        when(productRepository.search(any(SearchCriteria.class))).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return PageResult.empty(0, 20);
+        });
+        
+        // When
+        PageResult<ProductSummary> result = searchService.search(criteria);
+        
+        // Then
+        assertThat(result.getContent()).containsExactly(testSummary);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(cacheRepository, never()).put(startsWith("search:"), any(), anyLong());
+    }
+    
+    @Test
+    void search_WhenNotAdmitted_ShouldStillServeACachedResult() {
+        // Given: seen once, below the admission frequency, but cached by another node
+        searchService = newService(productRepository, new ExecutionProperties(), 3);
+        SearchCriteria criteria = SearchCriteria.builder().category("Electronics").build();
+        when(cacheRepository.get(anyString(), eq(SearchCacheEntry.class)))
+                .thenAnswer(invocation -> freshEntry(criteria, page(testSummary)));
+        
+        // When
+        PageResult<ProductSummary> result = searchService.search(criteria);
+        
+        // Then
+        assertThat(result.getContent()).containsExactly(testSummary);
+        verify(productRepository, never()).search(any(SearchCriteria.class));
+    }
+    
+    @Test
+    void search_WhenNotAdmittedAndNotCached_ShouldSearchWithoutCaching() {
+        // Given
+        searchService = newService(productRepository, new ExecutionProperties(), 3);
+        when(cacheRepository.get(anyString(), eq(SearchCacheEntry.class))).thenReturn(Optional.empty());
+        when(productRepository.search(any(SearchCriteria.class))).thenReturn(page(testSummary));
+        
+        // When
+        PageResult<ProductSummary> result = searchService.search(
+                SearchCriteria.builder().category("Electronics").build());
+        
+        // Then
+        assertThat(result.getContent()).containsExactly(testSummary);
+        verify(cacheRepository).get(startsWith("search:"), eq(SearchCacheEntry.class));
+        verify(cacheRepository, never()).put(startsWith("search:"), any(), anyLong());
+    }
+    
+    @Test
+    void search_WithTextQueryOnMemoryEngine_ShouldRankByRelevance() {
+        // Given: the newest product only mentions the query in its description
+        MongoProductRepositoryAdapter store = mock(MongoProductRepositoryAdapter.class);
+        when(store.streamProducts(anyInt())).thenReturn(Stream.of(
+                indexed("1", "Gaming laptop", "Fast", LocalDateTime.of(2024, 1, 1, 0, 0)),
+                indexed("2", "USB cable", "Works with any laptop", LocalDateTime.of(2024, 6, 1, 0, 0)),
+                indexed("3", "Office chair", "Ergonomic", LocalDateTime.of(2024, 3, 1, 0, 0))));
+        MemoryProductRepositoryAdapter memory = new MemoryProductRepositoryAdapter(store, changeNotifier,
+                new MemorySearchProperties(), new SimpleMeterRegistry());
+        memory.rebuild();
+        ProductSearchService service = newService(memory, new ExecutionProperties());
+        
+        // When
+        PageResult<ProductSummary> result = service.search(SearchCriteria.builder().query("Laptop").build());
+        
+        // Then
+        assertThat(result.getContent()).extracting(ProductSummary::getId).containsExactly("1", "2");
+    }
+    
+    private static Product indexed(String id, String name, String description, LocalDateTime createdAt) {
+        return Product.builder()
+                .id(id)
+                .sku("SKU-" + id)
+                .name(name)
+                .description(description)
+                .price(BigDecimal.TEN)
+                .stock(1)
+                .active(true)
+                .createdAt(createdAt)
+                .build();
+    }
+    
+    private static ExecutionProperties speculative(long delayMillis) {
+        ExecutionProperties execution = new ExecutionProperties();
+        execution.setFanOut(true);
+        execution.setSpeculativeSearch(true);
+        execution.setSpeculativeDelayMillis(delayMillis);
+        return execution;
+    }
+    
+    private static PageResult<ProductSummary> page(ProductSummary summary) {
+        return PageResult.<ProductSummary>builder()
+                .content(List.of(summary))
+                .totalElements(1L)
+                .currentPage(0)
+                .pageSize(20)
+                .build();
+    }
+    
+    /**
+     * Cached entry for the criteria, fresh for five minutes (generations as an empty cache reports them)
+     */
+    private static Optional<SearchCacheEntry> freshEntry(SearchCriteria criteria, PageResult<ProductSummary> page) {
+        criteria.applyDefaults();
+        SearchFingerprint fingerprint = SearchFingerprint.of("search:",
+                SearchFingerprint.canonicalize(criteria), "0,0");
+        return Optional.of(SearchCacheEntry.full(fingerprint, page)
+                .expiring(System.currentTimeMillis(), 0, 300));
+    }
+    
+    /**
+     * Service caching every search within the page bounds (admission is tested separately)
+     */
+    private ProductSearchService newService() {
+        return newService(new ExecutionProperties());
+    }
+    
+    private ProductSearchService newService(ExecutionProperties execution) {
+        return newService(productRepository, execution);
+    }
+    
+    private ProductSearchService newService(ProductRepository productRepository, ExecutionProperties execution) {
+        return newService(productRepository, execution, 1);
+    }
+    
+    private ProductSearchService newService(ProductRepository productRepository, ExecutionProperties execution,
+                                            int admissionMinFrequency) {
+        missingKeyProperties = new MissingKeyProperties();
+        productKeyFilter = new ProductKeyFilter(productRepository, changeNotifier, missingKeyProperties,
+                new SimpleMeterRegistry());
+        SearchCacheProperties properties = new SearchCacheProperties();
+        properties.getAdmission().setMinFrequency(admissionMinFrequency);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new ProductSearchService(productRepository, cacheRepository,
+                new SingleFlight(meterRegistry, 100, 1000), properties,
+                new CacheGenerations(cacheRepository),
+                new SearchRefresher(properties, meterRegistry),
+                new SearchAdmissionPolicy(properties, meterRegistry),
+                new SearchExecutor(execution, meterRegistry, true),
+                productKeyFilter, missingKeyProperties);
     }
 }
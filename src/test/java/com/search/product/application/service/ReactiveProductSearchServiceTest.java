@@ -0,0 +1,165 @@
+package com.search.product.application.service;
+
+import com.search.product.application.cache.MissingKeyProperties;
+import com.search.product.application.cache.ProductKeyFilter;
+import com.search.product.application.cache.ReactiveSingleFlight;
+import com.search.product.application.cache.SearchAdmissionPolicy;
+import com.search.product.application.cache.SearchCacheEntry;
+import com.search.product.application.cache.SearchCacheProperties;
+import com.search.product.application.cache.SearchRefresher;
+import com.search.product.domain.model.PageResult;
+import com.search.product.domain.model.Product;
+import com.search.product.domain.model.ProductSummary;
+import com.search.product.domain.model.SearchCriteria;
+import com.search.product.domain.port.outbound.ProductChangeNotifier;
+import com.search.product.domain.port.outbound.ProductRepository;
+import com.search.product.domain.port.outbound.ReactiveCacheRepository;
+import com.search.product.domain.port.outbound.ReactiveProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReactiveProductSearchService
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactiveProductSearchServiceTest {
+    
+    @Mock
+    private ReactiveProductRepository productRepository;
+    
+    @Mock
+    private ReactiveCacheRepository cacheRepository;
+    
+    @Mock
+    private ProductRepository blockingRepository;
+    
+    @Mock
+    private ProductChangeNotifier changeNotifier;
+    
+    private ProductKeyFilter productKeyFilter;
+    
+    private ReactiveProductSearchService searchService;
+    
+    private ProductSummary testSummary;
+    
+    @BeforeEach
+    void setUp() {
+        SearchCacheProperties properties = new SearchCacheProperties();
+        properties.getAdmission().setMinFrequency(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MissingKeyProperties missingKeyProperties = new MissingKeyProperties();
+        productKeyFilter = new ProductKeyFilter(blockingRepository, changeNotifier, missingKeyProperties,
+                meterRegistry);
+        searchService = new ReactiveProductSearchService(productRepository, cacheRepository,
+                new ReactiveSingleFlight(meterRegistry, 100, 1000), properties,
+                new SearchRefresher(properties, meterRegistry),
+                new SearchAdmissionPolicy(properties, meterRegistry),
+                productKeyFilter, missingKeyProperties);
+        
+        testSummary = ProductSummary.builder()
+                .id("test-id-1")
+                .name("Test Product")
+                .sku("TEST-SKU-001")
+                .price(new BigDecimal("999.99"))
+                .build();
+        
+        lenient().when(cacheRepository.getCounters(anyCollection())).thenReturn(Mono.just(Map.of()));
+        lenient().when(cacheRepository.put(anyString(), any(), anyLong())).thenReturn(Mono.empty());
+        lenient().when(cacheRepository.putAll(anyMap(), anyLong())).thenReturn(Mono.empty());
+        lenient().when(cacheRepository.get(startsWith("missing:"), eq(Boolean.class))).thenReturn(Mono.empty());
+    }
+    
+    @Test
+    void findById_WhenCacheMiss_ShouldQueryDatabaseAndCache() {
+        // Given
+        Product product = Product.builder().id("test-id-1").name("Test Product").build();
+        when(cacheRepository.get("product:test-id-1", Product.class)).thenReturn(Mono.empty());
+        when(productRepository.findById("test-id-1")).thenReturn(Mono.just(product));
+        
+        // When
+        Product result = searchService.findById("test-id-1").block();
+        
+        // Then
+        assertThat(result).isEqualTo(product);
+        verify(cacheRepository).put("product:test-id-1", product, 3600L);
+    }
+    
+    @Test
+    void findById_WhenNotFound_ShouldCompleteEmpty() {
+        // Given
+        when(cacheRepository.get("product:missing", Product.class)).thenReturn(Mono.empty());
+        when(productRepository.findById("missing")).thenReturn(Mono.empty());
+        
+        // When
+        Product result = searchService.findById("missing").block();
+        
+        // Then
+        assertThat(result).isNull();
+        verify(cacheRepository, never()).put(eq("product:missing"), any(), anyLong());
+        verify(cacheRepository).put("missing:product:missing", Boolean.TRUE, 30L);
+    }
+    
+    @Test
+    void findById_WhenAbsentFromKeyFilter_ShouldSkipTheProductCacheButStillFindIt() {
+        // Given: written straight to the database after the filter was built
+        Product product = Product.builder().id("65a000000000000000000099").name("Direct Write").build();
+        when(blockingRepository.streamIdentities(anyInt())).thenReturn(Stream.of(
+                Product.builder().id("test-id-1").sku("TEST-SKU-001").build()));
+        productKeyFilter.rebuild();
+        when(productRepository.findById("65a000000000000000000099")).thenReturn(Mono.just(product));
+        
+        // When
+        Product result = searchService.findById("65a000000000000000000099").block();
+        
+        // Then: found, and known to the filter from now on
+        assertThat(result).isEqualTo(product);
+        verify(cacheRepository, never()).get("product:65a000000000000000000099", Product.class);
+        assertThat(productKeyFilter.mightContainId("65a000000000000000000099")).isTrue();
+    }
+    
+    @Test
+    void search_WhenCachedAsIds_ShouldHydrateFromSummaryCache() {
+        // Given: the first search misses and caches an ID-only entry
+        SearchCriteria criteria = SearchCriteria.builder().category("Electronics").page(0).size(20).build();
+        PageResult<ProductSummary> page = PageResult.<ProductSummary>builder()
+                .content(List.of(testSummary))
+                .totalElements(1L)
+                .currentPage(0)
+                .pageSize(20)
+                .build();
+        when(cacheRepository.get(anyString(), eq(SearchCacheEntry.class))).thenReturn(Mono.empty());
+        when(productRepository.search(any(SearchCriteria.class))).thenReturn(Mono.just(page));
+        searchService.search(criteria).block();
+        
+        ArgumentCaptor<SearchCacheEntry> entry = ArgumentCaptor.forClass(SearchCacheEntry.class);
+        verify(cacheRepository).put(anyString(), entry.capture(), anyLong());
+        assertThat(entry.getValue().holdsIdsOnly()).isTrue();
+        when(cacheRepository.get(anyString(), eq(SearchCacheEntry.class))).thenReturn(Mono.just(entry.getValue()));
+        when(cacheRepository.getAll(List.of("summary:test-id-1"), ProductSummary.class))
+                .thenReturn(Mono.just(Map.of("summary:test-id-1", testSummary)));
+        
+        // When
+        PageResult<ProductSummary> result = searchService.search(
+                SearchCriteria.builder().category("Electronics").page(0).size(20).build()).block();
+        
+        // Then
+        assertThat(result.getContent()).containsExactly(testSummary);
+        verify(productRepository, times(1)).search(any(SearchCriteria.class));
+        verify(productRepository, never()).findSummariesByIds(anyList());
+    }
+}
@@ -0,0 +1,115 @@
+package com.search.product.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.search.product.domain.model.PageResult;
+import com.search.product.domain.model.Product;
+import com.search.product.domain.model.ProductAttributes;
+import com.search.product.domain.model.ProductSummary;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shared, deterministic test data for the benchmarks
+ * Shaped like the catalog generated by insert-10k-products.js
+ */
+final class BenchmarkFixtures {
+
+    private static final String[] BRANDS = {"Dell", "HP", "Lenovo", "ASUS", "Apple", "MSI", "Acer", "Samsung"};
+    private static final String[] CATEGORIES = {"Electronics", "Laptops", "Gaming", "Workstation", "Monitor"};
+    private static final String[] TAGS = {"laptop", "gaming", "work", "portable", "premium", "student"};
+
+    private BenchmarkFixtures() {
+    }
+
+    static ObjectMapper objectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper;
+    }
+
+    static Product product(int i) {
+        String brand = BRANDS[i % BRANDS.length];
+        String category = CATEGORIES[i % CATEGORIES.length];
+        return Product.builder()
+                .id(String.format("65a0c0ffee%014d", i))
+                .name(brand + " Model " + String.format("%05d", i))
+                .description("High-quality " + category + " with " + brand
+                        + " technology and performance optimization")
+                .sku(brand.substring(0, Math.min(3, brand.length())).toUpperCase() + "-" + String.format("%07d", i))
+                .brand(brand)
+                .category(category)
+                .tags(Set.of(TAGS[i % TAGS.length], TAGS[(i + 1) % TAGS.length]))
+                .price(BigDecimal.valueOf(300 + (i * 37L) % 3500, 0).add(new BigDecimal("0.99")))
+                .currency("USD")
+                .stock(i % 500)
+                .active(i % 10 != 0)
+                .rating(3.0 + (i % 20) / 10.0)
+                .reviewCount(i % 1000)
+                .imageUrls(List.of("https://example.com/product-" + i + ".jpg",
+                        "https://example.com/product-" + i + "-side.jpg"))
+                .attributes(ProductAttributes.builder()
+                        .color("Silver")
+                        .size("15.6 inch")
+                        .weight(1.0 + (i % 30) / 10.0)
+                        .weightUnit("kg")
+                        .dimensions(Map.of("width", "35.7", "height", "1.8", "depth", "23.5"))
+                        .manufacturer(brand + " Inc.")
+                        .countryOfOrigin("CN")
+                        .customAttributes(Map.of("warranty", "2 years", "ports", "USB-C, HDMI"))
+                        .build())
+                .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i))
+                .updatedAt(LocalDateTime.of(2024, 6, 1, 0, 0).plusMinutes(i))
+                .build();
+    }
+
+    static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(product(i));
+        }
+        return products;
+    }
+
+    static ProductSummary summary(int i) {
+        Product product = product(i);
+        return ProductSummary.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .sku(product.getSku())
+                .brand(product.getBrand())
+                .category(product.getCategory())
+                .price(product.getPrice())
+                .currency(product.getCurrency())
+                .stock(product.getStock())
+                .active(product.getActive())
+                .rating(product.getRating())
+                .reviewCount(product.getReviewCount())
+                .thumbnailUrl(product.getImageUrls().get(0))
+                .createdAt(product.getCreatedAt())
+                .build();
+    }
+
+    static PageResult<ProductSummary> page(int size) {
+        List<ProductSummary> summaries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            summaries.add(summary(i));
+        }
+        return PageResult.<ProductSummary>builder()
+                .content(summaries)
+                .totalElements(10_000L)
+                .totalPages(10_000 / size)
+                .currentPage(0)
+                .pageSize(size)
+                .hasNext(true)
+                .hasPrevious(false)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.search.product.benchmark;
+
+import com.search.product.application.cache.SearchCacheEntry;
+import com.search.product.infrastructure.persistence.redis.codec.CacheValueSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache value codec benchmark: encode/decode time per cached search page
+ * Bytes stored per configuration are printed once per trial
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=CacheValueCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheValueCodecBenchmark {
+
+    @Param({"10", "50", "100"})
+    private int pageSize;
+
+    @Param({"json", "json+deflate", "smile", "smile+deflate"})
+    private String codec;
+
+    private CacheValueSerializer serializer;
+    private SearchCacheEntry entry;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String[] parts = codec.split("\\+");
+        boolean deflate = parts.length > 1;
+        serializer = new CacheValueSerializer(BenchmarkFixtures.objectMapper(), parts[0], deflate, 0);
+        entry = SearchCacheEntry.builder()
+                .fingerprint("v1|benchmark")
+                .page(BenchmarkFixtures.page(pageSize))
+                .build();
+        encoded = serializer.serialize(entry);
+        System.out.printf("%n[bytes] codec=%s pageSize=%d bytes=%d%n", codec, pageSize, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return serializer.serialize(entry);
+    }
+
+    @Benchmark
+    public SearchCacheEntry decode() throws IOException {
+        return serializer.deserialize(encoded, SearchCacheEntry.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CacheValueCodecBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,109 @@
+package com.search.product.benchmark;
+
+import com.search.product.domain.model.ProductSummary;
+import com.search.product.domain.model.SearchCriteria;
+import com.search.product.infrastructure.persistence.memory.ProductColumns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price and rating range filter over the whole catalog: object graph vs columns
+ * objectGraph walks ProductSummary objects comparing BigDecimal and Double
+ * fields, as a filter over domain objects does; columnScan builds the
+ * selection bitset from the primitive price and rating arrays the in-memory
+ * engine keeps. Matches are counted so both do the same work.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ColumnarRangeFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class ColumnarRangeFilterBenchmark {
+
+    @Param({"1000000", "10000000"})
+    private int products;
+
+    private List<ProductSummary> summaries;
+    private ProductColumns columns;
+    private SearchCriteria criteria;
+    private ProductColumns.Range range;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        summaries = new ArrayList<>(products);
+        columns = new ProductColumns(products);
+        for (int i = 0; i < products; i++) {
+            BigDecimal price = BigDecimal.valueOf(random.nextLong(1_000, 300_000), 2);
+            // One product in twenty has no reviews yet
+            Double rating = random.nextInt(20) == 0 ? null : random.nextInt(51) / 10.0;
+            ProductSummary summary = ProductSummary.builder()
+                    .id(Integer.toString(i))
+                    .price(price)
+                    .rating(rating)
+                    .build();
+            summaries.add(summary);
+            columns.set(i, summary);
+        }
+        criteria = SearchCriteria.builder()
+                .minPrice(new BigDecimal("500"))
+                .maxPrice(new BigDecimal("1500"))
+                .minRating(4.0)
+                .build();
+        range = ProductColumns.Range.of(criteria);
+    }
+
+    @Benchmark
+    public int objectGraph() {
+        BigDecimal minPrice = criteria.getMinPrice();
+        BigDecimal maxPrice = criteria.getMaxPrice();
+        double minRating = criteria.getMinRating();
+        int matches = 0;
+        for (ProductSummary summary : summaries) {
+            if (summary.getPrice() != null
+                    && summary.getPrice().compareTo(minPrice) >= 0
+                    && summary.getPrice().compareTo(maxPrice) <= 0
+                    && summary.getRating() != null
+                    && summary.getRating() >= minRating) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int columnScan() {
+        int matches = 0;
+        for (long word : columns.select(range)) {
+            matches += Long.bitCount(word);
+        }
+        return matches;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ColumnarRangeFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,163 @@
+package com.search.product.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.search.product.infrastructure.persistence.mongodb.entity.ProductDocument;
+import com.search.product.infrastructure.persistence.mongodb.mapper.ProductMapper;
+import com.search.product.infrastructure.rest.dto.ProductResponse;
+import com.search.product.infrastructure.rest.dto.ProductSummaryResponse;
+import com.search.product.infrastructure.rest.mapper.RestMapper;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full document vs summary projection for one search page
+ * Each benchmark covers the client side of a list response: BSON decode,
+ * document mapping, domain mapping and response mapping. BSON bytes moved
+ * from MongoDB and JSON bytes sent to the client are printed once per trial.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ProductProjectionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductProjectionBenchmark {
+
+    /**
+     * Mirrors the summary projection of MongoProductRepositoryAdapter
+     */
+    private static final String[] SUMMARY_FIELDS = {
+            "_id", "name", "sku", "brand", "category", "price", "currency",
+            "stock", "active", "rating", "reviewCount", "createdAt"
+    };
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private final DocumentCodec codec = new DocumentCodec();
+    private final ProductMapper productMapper = Mappers.getMapper(ProductMapper.class);
+    private final RestMapper restMapper = Mappers.getMapper(RestMapper.class);
+    private MappingMongoConverter converter;
+
+    private List<byte[]> fullPage;
+    private List<byte[]> summaryPage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        // Same simple types and conversions as the Spring Boot auto-configuration
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        fullPage = new ArrayList<>(pageSize);
+        summaryPage = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Document document = new Document();
+            converter.write(productMapper.toDocument(BenchmarkFixtures.product(i)), document);
+            fullPage.add(encode(document));
+            summaryPage.add(encode(project(document)));
+        }
+
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        System.out.printf("%n[bytes] pageSize=%d bson full=%d summary=%d json full=%d summary=%d%n", pageSize,
+                size(fullPage), size(summaryPage),
+                objectMapper.writeValueAsBytes(full()).length,
+                objectMapper.writeValueAsBytes(summary()).length);
+    }
+
+    @Benchmark
+    public List<ProductResponse> full() {
+        List<ProductResponse> responses = new ArrayList<>(pageSize);
+        for (byte[] bytes : fullPage) {
+            ProductDocument document = converter.read(ProductDocument.class, decode(bytes));
+            responses.add(restMapper.toResponse(productMapper.toDomain(document)));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<ProductSummaryResponse> summary() {
+        List<ProductSummaryResponse> responses = new ArrayList<>(pageSize);
+        for (byte[] bytes : summaryPage) {
+            ProductDocument document = converter.read(ProductDocument.class, decode(bytes));
+            responses.add(restMapper.toSummaryResponse(productMapper.toSummary(document)));
+        }
+        return responses;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductProjectionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * What the server returns for the summary projection ($slice keeps the first image)
+     */
+    private static Document project(Document full) {
+        Document projected = new Document();
+        for (String field : SUMMARY_FIELDS) {
+            if (full.containsKey(field)) {
+                projected.put(field, full.get(field));
+            }
+        }
+        List<?> images = full.getList("imageUrls", Object.class);
+        if (images != null) {
+            projected.put("imageUrls", images.subList(0, Math.min(1, images.size())));
+        }
+        return projected;
+    }
+
+    private byte[] encode(Document document) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        codec.encode(new BsonBinaryWriter(buffer), document, EncoderContext.builder().build());
+        return buffer.toByteArray();
+    }
+
+    private Document decode(byte[] bytes) {
+        return codec.decode(new BsonBinaryReader(ByteBuffer.wrap(bytes)), DecoderContext.builder().build());
+    }
+
+    private static int size(List<byte[]> page) {
+        return page.stream().mapToInt(bytes -> bytes.length).sum();
+    }
+}
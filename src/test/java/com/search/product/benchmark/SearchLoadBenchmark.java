@@ -0,0 +1,155 @@
+package com.search.product.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop HTTP load against a running instance, for comparing the execution
+ * modes (servlet, virtual threads, reactive) under the same traffic.
+ * Each worker sends its next request as soon as the previous one answers, over a
+ * mix of cached searches, uncached deep pages, facets and autocomplete. Prints
+ * throughput, error count and latency percentiles after a warm-up period.
+ * JDK only, so it runs against any deployment:
+ *
+ *   java -cp target/test-classes com.search.product.benchmark.SearchLoadBenchmark \
+ *       [baseUrl=http://localhost:8080] [concurrency=64] [seconds=30] [warmupSeconds=10]
+ *
+ * dev-scripts.sh compare runs it against each execution mode in turn.
+ */
+public class SearchLoadBenchmark {
+
+    private static final String[] SEARCHES = {
+            "{\"category\":\"Electronics\",\"page\":0,\"size\":20}",
+            "{\"query\":\"laptop\",\"page\":0,\"size\":20}",
+            "{\"brand\":\"Samsung\",\"sortBy\":\"price\",\"sortDirection\":\"ASC\",\"page\":0,\"size\":20}",
+            "{\"category\":\"Electronics\",\"includeFacets\":true,\"page\":0,\"size\":20}",
+            // Past the admission policy's page limit: always served by MongoDB
+            "{\"category\":\"Books\",\"page\":7,\"size\":20}"
+    };
+
+    private static final String[] AUTOCOMPLETE = {"lap", "phone", "head", "watch"};
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int warmupSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, concurrency / 8)))
+                .build();
+
+        System.out.printf("Target %s, %d concurrent clients%n", baseUrl, concurrency);
+        run(client, baseUrl, concurrency, warmupSeconds);
+        Result result = run(client, baseUrl, concurrency, seconds);
+        result.print(seconds);
+        System.exit(0);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private static Result run(HttpClient client, String baseUrl, int concurrency, int seconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Result>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            int worker = i;
+            futures.add(workers.submit(() -> drive(client, baseUrl, worker, deadline)));
+        }
+
+        Result total = new Result();
+        for (Future<Result> future : futures) {
+            total.merge(future.get());
+        }
+        workers.shutdown();
+        return total;
+    }
+
+    private static Result drive(HttpClient client, String baseUrl, int worker, long deadline) {
+        Result result = new Result();
+        int sequence = worker;
+        while (System.nanoTime() < deadline) {
+            HttpRequest request = nextRequest(baseUrl, sequence++);
+            long start = System.nanoTime();
+            try {
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                result.record(System.nanoTime() - start, response.statusCode() < 400);
+            } catch (Exception e) {
+                result.record(System.nanoTime() - start, false);
+            }
+        }
+        return result;
+    }
+
+    private static HttpRequest nextRequest(String baseUrl, int sequence) {
+        // Four searches for every autocomplete call
+        if (sequence % 5 == 4) {
+            String prefix = AUTOCOMPLETE[(sequence / 5) % AUTOCOMPLETE.length];
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/products/autocomplete?query=" + prefix))
+                    .timeout(Duration.ofSeconds(10))
+                    .GET()
+                    .build();
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/products/search"))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(SEARCHES[sequence % SEARCHES.length]))
+                .build();
+    }
+
+    /**
+     * Latencies (nanoseconds) and error count of one or more workers
+     */
+    private static final class Result {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long nanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void merge(Result other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        void print(int seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("Requests: %d, errors: %d, throughput: %.1f req/s%n",
+                    count, errors, (double) count / seconds);
+            System.out.printf("Latency ms  p50 %.2f  p95 %.2f  p99 %.2f  max %.2f%n",
+                    percentile(sorted, 0.50), percentile(sorted, 0.95),
+                    percentile(sorted, 0.99), percentile(sorted, 1.0));
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.search.product.benchmark;
+
+import com.search.product.infrastructure.persistence.memory.TopKSelector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of a price-sorted result: full sort of every match vs top-K selection
+ * fullSort orders all match positions with a comparator, as the in-memory
+ * engine did before; firstPage and deepPage pick ranks [0, 100) and
+ * [50000, 50100) with TopKSelector (bounded heap and partial quicksort).
+ * Prices have few distinct cent values, so ties fall to the ID tie breaker.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=TopKSelectionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TopKSelectionBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int DEEP_PAGE = 500;
+
+    @Param({"1000000", "5000000"})
+    private int matches;
+
+    private long[] prices;
+    private String[] ids;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        prices = new long[matches];
+        ids = new String[matches];
+        for (int i = 0; i < matches; i++) {
+            prices[i] = random.nextLong(1_000, 300_000);
+            ids[i] = Integer.toHexString(random.nextInt()) + i;
+        }
+    }
+
+    @Benchmark
+    public Integer[] fullSort() {
+        Integer[] order = new Integer[matches];
+        for (int i = 0; i < matches; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingLong(i -> prices[i]).thenComparing(i -> ids[i]));
+        return Arrays.copyOfRange(order, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public int[] firstPage() {
+        return TopKSelector.select(prices.clone(), matches, this::byId, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public int[] deepPage() {
+        return TopKSelector.select(prices.clone(), matches, this::byId,
+                DEEP_PAGE * PAGE_SIZE, (DEEP_PAGE + 1) * PAGE_SIZE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TopKSelectionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private int byId(int left, int right) {
+        return ids[left].compareTo(ids[right]);
+    }
+}
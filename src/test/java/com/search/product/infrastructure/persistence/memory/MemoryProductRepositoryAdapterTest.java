@@ -0,0 +1,108 @@
+package com.search.product.infrastructure.persistence.memory;
+
+import com.search.product.domain.model.BulkWriteOutcome;
+import com.search.product.domain.model.PageResult;
+import com.search.product.domain.model.Product;
+import com.search.product.domain.model.ProductSummary;
+import com.search.product.domain.model.SearchCriteria;
+import com.search.product.domain.port.outbound.ProductChangeNotifier;
+import com.search.product.infrastructure.persistence.mongodb.MongoProductRepositoryAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MemoryProductRepositoryAdapter
+ */
+@ExtendWith(MockitoExtension.class)
+class MemoryProductRepositoryAdapterTest {
+
+    @Mock
+    private MongoProductRepositoryAdapter store;
+
+    @Mock
+    private ProductChangeNotifier changeNotifier;
+
+    private MemoryProductRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new MemoryProductRepositoryAdapter(store, changeNotifier, new MemorySearchProperties(),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void search_ShouldUseMongoUntilTheIndexIsLoadedAndTheIndexAfterwards() {
+        // Given
+        SearchCriteria criteria = criteria("laptop");
+        when(store.search(criteria)).thenReturn(PageResult.empty(0, 20));
+        when(store.streamProducts(anyInt())).thenReturn(Stream.of(product("1", "SKU-1", "Gaming laptop")));
+
+        // When
+        PageResult<ProductSummary> before = adapter.search(criteria);
+        adapter.rebuild();
+        PageResult<ProductSummary> after = adapter.search(criteria);
+
+        // Then
+        assertThat(before.getContent()).isEmpty();
+        assertThat(after.getContent()).extracting(ProductSummary::getId).containsExactly("1");
+        verify(store, times(1)).search(any());
+    }
+
+    @Test
+    void upsertAllBySku_ShouldIndexTheStoredVersionsAndAnnounceThem() {
+        // Given
+        when(store.streamProducts(anyInt())).thenReturn(Stream.of(product("1", "SKU-1", "Old laptop")));
+        adapter.rebuild();
+        when(store.upsertAllBySku(any())).thenReturn(BulkWriteOutcome.builder()
+                .inserted(1)
+                .updated(1)
+                .insertedIds(List.of("2"))
+                .failures(List.of())
+                .build());
+        when(store.findByIds(any())).thenReturn(List.of(
+                product("1", "SKU-1", "Renamed tablet"), product("2", "SKU-2", "New tablet")));
+
+        // When
+        adapter.upsertAllBySku(List.of(
+                Product.builder().sku("SKU-1").name("Renamed tablet").build(),
+                Product.builder().sku("SKU-2").name("New tablet").build()));
+
+        // Then
+        assertThat(adapter.search(criteria("tablet")).getContent())
+                .extracting(ProductSummary::getId).containsExactlyInAnyOrder("1", "2");
+        assertThat(adapter.search(criteria("laptop")).getContent()).isEmpty();
+        verify(changeNotifier).productsChanged(argThat(ids -> ids.containsAll(List.of("1", "2"))));
+        verify(store, never()).findScopesBySkus(any());
+    }
+
+    // ========== Helper Methods ==========
+
+    private static SearchCriteria criteria(String query) {
+        SearchCriteria criteria = SearchCriteria.builder().query(query).build();
+        criteria.applyDefaults();
+        return criteria;
+    }
+
+    private static Product product(String id, String sku, String name) {
+        return Product.builder()
+                .id(id)
+                .sku(sku)
+                .name(name)
+                .price(BigDecimal.TEN)
+                .active(true)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.search.product.infrastructure.persistence.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for OrdinalBitmap
+ */
+class OrdinalBitmapTest {
+
+    @Test
+    void andOr_ShouldCombineSparseAndDenseChunks() {
+        // Given: multiples of 2 (dense chunks) and of 3 (dense) plus a few far ordinals (sparse)
+        OrdinalBitmap even = new OrdinalBitmap();
+        OrdinalBitmap thirds = new OrdinalBitmap();
+        for (int ordinal = 0; ordinal < 200_000; ordinal++) {
+            if (ordinal % 2 == 0) {
+                even.add(ordinal);
+            }
+            if (ordinal % 3 == 0) {
+                thirds.add(ordinal);
+            }
+        }
+        OrdinalBitmap sparse = new OrdinalBitmap();
+        sparse.add(6);
+        sparse.add(7);
+        sparse.add(1_000_000);
+
+        // When
+        OrdinalBitmap sixths = OrdinalBitmap.and(even, thirds);
+        OrdinalBitmap sparseEven = OrdinalBitmap.and(sparse, even);
+        OrdinalBitmap union = OrdinalBitmap.or(sparse, even);
+
+        // Then
+        assertThat(sixths.cardinality()).isEqualTo(33_334);
+        assertThat(sixths.contains(600)).isTrue();
+        assertThat(sixths.contains(602)).isFalse();
+        assertThat(ordinals(sparseEven)).containsExactly(6);
+        assertThat(union.cardinality()).isEqualTo(100_002);
+        assertThat(union.contains(7)).isTrue();
+        assertThat(union.contains(1_000_000)).isTrue();
+    }
+
+    @Test
+    void remove_ShouldShrinkDenseChunksBackAndDropEmptyOnes() {
+        // Given
+        OrdinalBitmap bitmap = new OrdinalBitmap();
+        for (int ordinal = 0; ordinal < 5000; ordinal++) {
+            bitmap.add(ordinal);
+        }
+        long denseBytes = bitmap.sizeInBytes();
+
+        // When
+        for (int ordinal = 10; ordinal < 5000; ordinal++) {
+            bitmap.remove(ordinal);
+        }
+
+        // Then
+        assertThat(ordinals(bitmap)).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(bitmap.sizeInBytes()).isLessThan(denseBytes);
+
+        for (int ordinal = 0; ordinal < 10; ordinal++) {
+            bitmap.remove(ordinal);
+        }
+        assertThat(bitmap.isEmpty()).isTrue();
+    }
+
+    // ========== Helper Methods ==========
+
+    private static List<Integer> ordinals(OrdinalBitmap bitmap) {
+        List<Integer> ordinals = new ArrayList<>();
+        bitmap.forEach(ordinals::add);
+        return ordinals;
+    }
+}
@@ -0,0 +1,134 @@
+package com.search.product.infrastructure.persistence.memory;
+
+import com.search.product.domain.model.ProductSummary;
+import com.search.product.domain.model.SearchCriteria;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ProductColumns
+ */
+class ProductColumnsTest {
+
+    @Test
+    void select_ShouldKeepInclusiveBoundsAndSkipMissingValues() {
+        // Given: ordinal 130 has no price, ordinal 131 no rating
+        ProductColumns columns = new ProductColumns(4);
+        for (int ordinal = 0; ordinal < 130; ordinal++) {
+            columns.set(ordinal, product(BigDecimal.valueOf(ordinal), ordinal % 5 + 0.5));
+        }
+        columns.set(130, product(null, 4.5));
+        columns.set(131, product(new BigDecimal("99.99"), null));
+        // Sub-cent bounds round inwards: 10.001 -> 10.01, 99.999 -> 99.99
+        ProductColumns.Range range = ProductColumns.Range.of(SearchCriteria.builder()
+                .minPrice(new BigDecimal("10.001"))
+                .maxPrice(new BigDecimal("99.999"))
+                .minRating(4.5)
+                .build());
+
+        // When
+        long[] selected = columns.select(range);
+
+        // Then: prices 14, 19, ..., 99 (rating 4.5)
+        int count = 0;
+        for (int ordinal = 0; ordinal < columns.size(); ordinal++) {
+            boolean bit = (selected[ordinal >>> 6] & (1L << ordinal)) != 0;
+            assertThat(bit).isEqualTo(columns.matches(ordinal, range));
+            count += bit ? 1 : 0;
+        }
+        assertThat(count).isEqualTo(18);
+        assertThat(columns.matches(14, range)).isTrue();
+        assertThat(columns.matches(10, range)).isFalse();
+        assertThat(columns.matches(130, range)).isFalse();
+        assertThat(columns.matches(131, range)).isFalse();
+    }
+
+    @Test
+    void rangeOf_ShouldBeNullWithoutBoundsAndMatchMissingRatingWhenOnlyPriceIsSet() {
+        // Given
+        ProductColumns columns = new ProductColumns(2);
+        columns.set(0, product(new BigDecimal("20.00"), null));
+        columns.set(1, product(null, null));
+
+        // When
+        ProductColumns.Range none = ProductColumns.Range.of(SearchCriteria.builder().build());
+        ProductColumns.Range priceOnly = ProductColumns.Range.of(SearchCriteria.builder()
+                .maxPrice(new BigDecimal("20"))
+                .build());
+
+        // Then
+        assertThat(none).isNull();
+        assertThat(columns.matches(0, priceOnly)).isTrue();
+        assertThat(columns.matches(1, priceOnly)).isFalse();
+    }
+
+    @Test
+    void select_ShouldCompareSubCentPricesExactly() {
+        // Given: prices between two cents, and one exact at the same cent
+        ProductColumns columns = new ProductColumns(4);
+        columns.set(0, product(new BigDecimal("10.002"), 4.0));
+        columns.set(1, product(new BigDecimal("10.004"), 4.0));
+        columns.set(2, product(new BigDecimal("10.00"), 4.0));
+        columns.set(3, product(new BigDecimal("10.01"), 4.0));
+        ProductColumns.Range from = ProductColumns.Range.of(SearchCriteria.builder()
+                .minPrice(new BigDecimal("10.003"))
+                .build());
+        ProductColumns.Range upTo = ProductColumns.Range.of(SearchCriteria.builder()
+                .maxPrice(new BigDecimal("10.003"))
+                .minRating(1.0)
+                .build());
+
+        // When
+        long[] fromSelected = columns.select(from);
+        long[] upToSelected = columns.select(upTo);
+
+        // Then
+        assertThat(fromSelected[0]).isEqualTo(0b1010L);
+        assertThat(upToSelected[0]).isEqualTo(0b0101L);
+        for (int ordinal = 0; ordinal < 4; ordinal++) {
+            assertThat(columns.matches(ordinal, from)).isEqualTo((fromSelected[0] & (1L << ordinal)) != 0);
+            assertThat(columns.matches(ordinal, upTo)).isEqualTo((upToSelected[0] & (1L << ordinal)) != 0);
+        }
+    }
+
+    @Test
+    void select_WithPricesAndBoundsBeyondTheLongRange_ShouldClampInsteadOfFailing() {
+        // Given
+        BigDecimal huge = new BigDecimal("1e30");
+        ProductColumns columns = new ProductColumns(3);
+        columns.set(0, product(huge, null));
+        columns.set(1, product(huge.negate(), null));
+        columns.set(2, product(new BigDecimal("5.00"), null));
+
+        // When
+        ProductColumns.Range aboveAll = ProductColumns.Range.of(SearchCriteria.builder()
+                .minPrice(new BigDecimal("1e25"))
+                .build());
+        ProductColumns.Range belowAll = ProductColumns.Range.of(SearchCriteria.builder()
+                .maxPrice(new BigDecimal("-1e25"))
+                .build());
+        ProductColumns.Range everything = ProductColumns.Range.of(SearchCriteria.builder()
+                .minPrice(new BigDecimal("-1e40"))
+                .maxPrice(new BigDecimal("1e40"))
+                .build());
+
+        // Then
+        assertThat(columns.select(aboveAll)[0]).isEqualTo(0b001L);
+        assertThat(columns.select(belowAll)[0]).isEqualTo(0b010L);
+        assertThat(columns.select(everything)[0]).isEqualTo(0b111L);
+        assertThat(columns.matches(2, aboveAll)).isFalse();
+        assertThat(columns.matches(2, belowAll)).isFalse();
+    }
+
+    // ========== Helper Methods ==========
+
+    private static ProductSummary product(BigDecimal price, Double rating) {
+        return ProductSummary.builder()
+                .price(price)
+                .rating(rating)
+                .build();
+    }
+}
@@ -0,0 +1,288 @@
+package com.search.product.infrastructure.persistence.memory;
+
+import com.search.product.domain.model.PageResult;
+import com.search.product.domain.model.Product;
+import com.search.product.domain.model.ProductSummary;
+import com.search.product.domain.model.SearchCriteria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ProductSearchIndex
+ */
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(10, 5, 1.2, 0.75, 10);
+    }
+
+    @Test
+    void search_ShouldRankNameMatchesAboveDescriptionMatches() {
+        // Given
+        index.upsert(product("1", "USB cable", "Works with any gaming laptop", "Accessories", 10));
+        index.upsert(product("2", "Gaming Laptops", "Fast and light", "Laptops", 1500));
+        index.upsert(product("3", "Office chair", "Ergonomic", "Furniture", 200));
+
+        // When
+        PageResult<ProductSummary> page = index.search(criteria("laptop"));
+
+        // Then
+        assertThat(page.getContent()).extracting(ProductSummary::getId).containsExactly("2", "1");
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getTotalExact()).isTrue();
+    }
+
+    @Test
+    void search_ShouldApplyFiltersSortAndPaging() {
+        // Given
+        index.upsert(product("1", "Laptop A", null, "Laptops", 900));
+        index.upsert(product("2", "Laptop B", null, "Laptops", 500));
+        index.upsert(product("3", "Laptop C", null, "Laptops", 700));
+        index.upsert(product("4", "Desk", null, "Furniture", 300));
+        Product inactive = product("5", "Laptop D", null, "Laptops", 100);
+        inactive.setActive(false);
+        index.upsert(inactive);
+
+        SearchCriteria criteria = SearchCriteria.builder()
+                .category("Laptops")
+                .maxPrice(new BigDecimal("800"))
+                .sortBy("price")
+                .sortDirection(SearchCriteria.SortDirection.ASC)
+                .size(1)
+                .build();
+        criteria.applyDefaults();
+
+        // When
+        PageResult<ProductSummary> page = index.search(criteria);
+
+        // Then
+        assertThat(page.getContent()).extracting(ProductSummary::getId).containsExactly("2");
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getHasNext()).isTrue();
+        assertThat(index.count(criteria)).isEqualTo(2);
+    }
+
+    @Test
+    void search_ShouldAnswerFilterOnlySearchesFromBitmapsKeptUpToDate() {
+        // Given
+        Product phone = product("1", "Phone", null, "Electronics", 300);
+        phone.setTags(Set.of("5g"));
+        Product tablet = product("2", "Tablet", null, "Electronics", 400);
+        tablet.setTags(Set.of("wifi"));
+        Product outOfStock = product("3", "Watch", null, "Electronics", 200);
+        outOfStock.setStock(0);
+        index.upsert(phone);
+        index.upsert(tablet);
+        index.upsert(outOfStock);
+
+        SearchCriteria criteria = SearchCriteria.builder()
+                .category("Electronics")
+                .tags(Set.of("5g", "wifi", "unknown"))
+                .inStockOnly(true)
+                .sortBy("price")
+                .build();
+        criteria.applyDefaults();
+
+        // When
+        PageResult<ProductSummary> before = index.search(criteria);
+        tablet.setCategory("Tablets");
+        index.upsert(tablet);
+        index.delete("1");
+        PageResult<ProductSummary> after = index.search(criteria);
+
+        // Then
+        assertThat(before.getContent()).extracting(ProductSummary::getId).containsExactly("2", "1");
+        assertThat(after.getContent()).isEmpty();
+        assertThat(index.filterBytes("category")).isPositive();
+    }
+
+    @Test
+    void upsert_ShouldReplaceThePreviousVersionAndDeleteShouldRemoveIt() {
+        // Given
+        index.upsert(product("1", "Wireless mouse", null, "Accessories", 30));
+        index.upsert(product("1", "Wireless keyboard", null, "Accessories", 50));
+
+        // When
+        PageResult<ProductSummary> mice = index.search(criteria("mouse"));
+        PageResult<ProductSummary> keyboards = index.search(criteria("keyboard"));
+        index.delete("1");
+
+        // Then
+        assertThat(mice.getContent()).isEmpty();
+        assertThat(keyboards.getContent()).extracting(ProductSummary::getName).containsExactly("Wireless keyboard");
+        assertThat(index.search(criteria("keyboard")).getContent()).isEmpty();
+        assertThat(index.size()).isZero();
+        assertThat(index.idOfSku("SKU-1")).isNull();
+    }
+
+    @Test
+    void autocomplete_ShouldCompleteWordPrefixesRankedByRatingAndReviews() {
+        // Given
+        index.upsert(rated(product("1", "Gaming Laptop", null, "Laptops", 1500), 4.0, 10));
+        index.upsert(rated(product("2", "Office laptop stand", null, "Accessories", 40), 4.8, 900));
+        index.upsert(rated(product("3", "Lapis pencil", null, "Office", 2), 3.0, 5));
+        index.upsert(rated(product("4", "Desk lamp", null, "Office", 20), 5.0, 50));
+        index.rebuildCompletions();
+
+        // When
+        List<ProductSummary> lap = index.autocomplete("lap", 10);
+        List<ProductSummary> gamingLapt = index.autocomplete("gaming lapt", 10);
+
+        // Then
+        assertThat(lap).extracting(ProductSummary::getId).containsExactly("2", "1", "3");
+        assertThat(gamingLapt).extracting(ProductSummary::getId).containsExactly("1");
+        assertThat(index.autocomplete("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    void autocomplete_ShouldIncludeProductsChangedSinceTheTrieWasBuilt() {
+        // Given
+        index.upsert(rated(product("1", "Gaming Laptop", null, "Laptops", 1500), 4.0, 10));
+        index.upsert(rated(product("2", "Laptop sleeve", null, "Accessories", 20), 3.0, 10));
+        index.rebuildCompletions();
+
+        // When
+        index.upsert(rated(product("3", "Laptop cooler", null, "Accessories", 30), 5.0, 100));
+        index.upsert(rated(product("1", "Gaming tablet", null, "Tablets", 900), 4.0, 10));
+        List<ProductSummary> pending = index.autocomplete("lapt", 10);
+        index.rebuildCompletions();
+        List<ProductSummary> rebuilt = index.autocomplete("lapt", 10);
+
+        // Then
+        assertThat(pending).extracting(ProductSummary::getId).containsExactly("3", "2");
+        assertThat(rebuilt).extracting(ProductSummary::getId).containsExactly("3", "2");
+        assertThat(index.completionBacklog()).isZero();
+    }
+
+    @Test
+    void autocomplete_WithPendingProducts_ShouldMergeThemIntoTheRankingUpToTheLimit() {
+        // Given
+        index.upsert(rated(product("1", "Laptop bag", null, "Accessories", 50), 5.0, 100));
+        index.upsert(rated(product("3", "Laptop sleeve", null, "Accessories", 20), 3.0, 100));
+        index.rebuildCompletions();
+        index.upsert(rated(product("2", "Laptop stand", null, "Accessories", 40), 4.0, 100));
+        index.upsert(rated(product("4", "Laptop lock", null, "Accessories", 10), 2.0, 100));
+
+        // When
+        List<ProductSummary> top = index.autocomplete("lap", 3);
+        List<ProductSummary> all = index.autocomplete("lap", 10);
+
+        // Then
+        assertThat(top).extracting(ProductSummary::getId).containsExactly("1", "2", "3");
+        assertThat(all).extracting(ProductSummary::getId).containsExactly("1", "2", "3", "4");
+    }
+
+    @Test
+    void autocomplete_ShouldCompletePrefixesThatLookLikeStopWordsOrPlurals() {
+        // Given
+        Product dell = rated(product("1", "Laptop XPS", null, "Laptops", 1500), 4.0, 10);
+        dell.setBrand("Dell");
+        index.upsert(dell);
+        index.upsert(rated(product("2", "Portable speaker", null, "Audio", 80), 4.5, 20));
+        index.rebuildCompletions();
+
+        // When / Then: "la", "de" and "por" are stop words as whole words, "laptops" is indexed as "laptop"
+        assertThat(index.autocomplete("la", 10)).extracting(ProductSummary::getId).containsExactly("1");
+        assertThat(index.autocomplete("de", 10)).extracting(ProductSummary::getId).containsExactly("1");
+        assertThat(index.autocomplete("por", 10)).extracting(ProductSummary::getId).containsExactly("2");
+        assertThat(index.autocomplete("Laptops", 10)).extracting(ProductSummary::getId).containsExactly("1");
+        assertThat(index.autocomplete("dell la", 10)).extracting(ProductSummary::getId).containsExactly("1");
+    }
+
+    @Test
+    void autocomplete_WithEarlierWords_ShouldFindProductsBeyondTheTopCompletionsOfThePrefix() {
+        // Given: more better-ranked "laptop" products than the trie keeps per prefix
+        for (int i = 0; i < 15; i++) {
+            index.upsert(rated(product("g" + i, "Gaming laptop " + i, null, "Laptops", 1500), 5.0, 1000));
+        }
+        index.upsert(rated(product("office", "Office laptop", null, "Laptops", 700), 2.0, 3));
+        index.rebuildCompletions();
+
+        // When
+        List<ProductSummary> officeLap = index.autocomplete("office lap", 10);
+        List<ProductSummary> gamingLap = index.autocomplete("gaming lap", 3);
+
+        // Then
+        assertThat(officeLap).extracting(ProductSummary::getId).containsExactly("office");
+        assertThat(gamingLap).extracting(ProductSummary::getId).containsExactly("g0", "g1", "g10");
+    }
+
+    @Test
+    void search_ShouldPickDeepPagesInTheSameOrderAsAFullSort() {
+        // Given: names sharing their first characters (equal sort keys) and some without a name
+        for (int i = 0; i < 2_000; i++) {
+            index.upsert(product(Integer.toString(i), i % 50 == 0 ? null : "Item " + (i * 7919 % 2_000),
+                    null, "Misc", i % 30));
+        }
+        SearchCriteria criteria = SearchCriteria.builder()
+                .sortBy("name")
+                .sortDirection(SearchCriteria.SortDirection.DESC)
+                .page(19)
+                .size(100)
+                .build();
+        criteria.applyDefaults();
+
+        // When
+        PageResult<ProductSummary> deep = index.search(criteria);
+        criteria.setPage(0);
+        PageResult<ProductSummary> first = index.search(criteria);
+
+        // Then: name descending (nulls last), then ID descending
+        Comparator<ProductSummary> descending = Comparator.comparing(ProductSummary::getName,
+                Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                .thenComparing(ProductSummary::getId)
+                .reversed();
+        SearchCriteria everything = SearchCriteria.builder()
+                .page(0)
+                .size(2_000)
+                .sortDirection(SearchCriteria.SortDirection.ASC)
+                .build();
+        List<ProductSummary> all = index.search(everything).getContent().stream().sorted(descending).toList();
+        assertThat(deep.getContent()).extracting(ProductSummary::getId)
+                .containsExactlyElementsOf(all.subList(1_900, 2_000).stream().map(ProductSummary::getId).toList());
+        assertThat(first.getContent()).extracting(ProductSummary::getId)
+                .containsExactlyElementsOf(all.subList(0, 100).stream().map(ProductSummary::getId).toList());
+        assertThat(deep.getContent().get(99).getName()).isNull();
+    }
+
+    // ========== Helper Methods ==========
+
+    private static Product rated(Product product, double rating, int reviewCount) {
+        product.setRating(rating);
+        product.setReviewCount(reviewCount);
+        return product;
+    }
+
+
+    private static SearchCriteria criteria(String query) {
+        SearchCriteria criteria = SearchCriteria.builder().query(query).build();
+        criteria.applyDefaults();
+        return criteria;
+    }
+
+    private static Product product(String id, String name, String description, String category, int price) {
+        return Product.builder()
+                .id(id)
+                .sku("SKU-" + id)
+                .name(name)
+                .description(description)
+                .category(category)
+                .tags(Set.of("sale"))
+                .price(BigDecimal.valueOf(price))
+                .stock(5)
+                .active(true)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.search.product.infrastructure.persistence.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for TopKSelector
+ */
+class TopKSelectorTest {
+
+    @Test
+    void select_ShouldMatchAFullSortOnHeapAndPartialSortPages() {
+        // Given: few distinct keys, so most comparisons fall to the tie breaker (descending item)
+        int size = 5_000;
+        long[] keys = new SplittableRandom(7).longs(size, 0, 40).toArray();
+        TopKSelector.TieBreaker ties = (left, right) -> Integer.compare(right, left);
+        int[] sorted = IntStream.range(0, size).boxed()
+                .sorted(Comparator.<Integer>comparingLong(item -> keys[item]).thenComparing(Comparator.reverseOrder()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        // When / Then: first page, last heap page, deep pages and a page past the end
+        int[][] pages = {{0, 20}, {1_000, 1_024}, {1_000, 1_100}, {2_500, 2_600}, {4_950, 5_050}, {6_000, 6_100}};
+        for (int[] page : pages) {
+            int[] selected = TopKSelector.select(keys.clone(), size, ties, page[0], page[1]);
+            int from = Math.min(page[0], size);
+            assertThat(selected).containsExactly(Arrays.copyOfRange(sorted, from, Math.min(page[1], size)));
+        }
+    }
+}
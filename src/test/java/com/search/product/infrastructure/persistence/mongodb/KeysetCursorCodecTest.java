@@ -0,0 +1,48 @@
+package com.search.product.infrastructure.persistence.mongodb;
+
+import com.search.product.domain.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for KeysetCursorCodec
+ */
+class KeysetCursorCodecTest {
+
+    private final KeysetCursorCodec codec = new KeysetCursorCodec("test-secret");
+
+    @Test
+    void decode_ShouldReturnEncodedCursor() {
+        // Given
+        KeysetCursor cursor = new KeysetCursor("price", true, "999.99", "65a0f0c2e4b0a1b2c3d4e5f6", false, "abc");
+
+        // When
+        KeysetCursor decoded = codec.decode(codec.encode(cursor));
+
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_WhenPayloadTampered_ShouldReject() {
+        // Given
+        String token = codec.encode(new KeysetCursor("price", false, "10", "id-1", false, "abc"));
+        String forged = codec.encode(new KeysetCursor("price", false, "0", "id-1", false, "abc"));
+        String tampered = forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'));
+
+        // When & Then
+        assertThatThrownBy(() -> codec.decode(tampered)).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> new KeysetCursorCodec("other-secret").decode(token))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> codec.decode("not-a-cursor")).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void constructor_WithoutSecret_ShouldFail() {
+        // When & Then
+        assertThatThrownBy(() -> new KeysetCursorCodec("")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new KeysetCursorCodec("  ")).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,333 @@
+package com.search.product.infrastructure.persistence.mongodb;
+
+import com.search.product.application.execution.ExecutionProperties;
+import com.search.product.application.execution.SearchExecutor;
+import com.search.product.domain.exception.InvalidCursorException;
+import com.search.product.domain.model.PageResult;
+import com.search.product.domain.model.ProductSummary;
+import com.search.product.domain.model.SearchCriteria;
+import com.search.product.domain.model.SearchFacets;
+import com.search.product.infrastructure.persistence.mongodb.advisor.IndexAdvisorProperties;
+import com.search.product.infrastructure.persistence.mongodb.advisor.QueryShapeAdvisor;
+import com.search.product.infrastructure.persistence.mongodb.entity.ProductDocument;
+import com.search.product.infrastructure.persistence.mongodb.mapper.ProductMapper;
+import com.search.product.infrastructure.persistence.mongodb.repository.MongoProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MongoProductRepositoryAdapter pagination and counting
+ */
+@ExtendWith(MockitoExtension.class)
+class MongoProductRepositoryAdapterTest {
+
+    @Mock
+    private MongoProductRepository mongoRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoConverter converter;
+
+    private MongoProductRepositoryAdapter adapter;
+
+    private IndexAdvisorProperties advisorProperties;
+
+    @BeforeEach
+    void setUp() {
+        advisorProperties = new IndexAdvisorProperties();
+        advisorProperties.setEnabled(false);
+        adapter = newAdapter(new ExecutionProperties());
+    }
+
+    @Test
+    void search_WithNextCursor_ShouldSeekInsteadOfSkipping() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(ProductDocument.class)))
+                .thenReturn(List.of(document("a", "10.00"), document("b", "20.00"), document("c", "30.00")))
+                .thenReturn(List.of(document("c", "30.00"), document("d", "40.00"), document("e", "50.00")));
+        PageResult<ProductSummary> first = adapter.search(criteria(null));
+
+        // When
+        PageResult<ProductSummary> second = adapter.search(criteria(first.getNextCursor()));
+
+        // Then
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(queries.capture(), eq(ProductDocument.class));
+        Query seek = queries.getAllValues().get(1);
+        assertThat(seek.getSkip()).isZero();
+        assertThat(seek.getLimit()).isEqualTo(3);
+        assertThat(seek.getQueryObject().toJson()).contains("$or").contains("20.00").contains("{\"$gt\": \"b\"}");
+
+        assertThat(second.getContent()).extracting(ProductSummary::getId).containsExactly("c", "d");
+        assertThat(second.getHasNext()).isTrue();
+        assertThat(second.getHasPrevious()).isTrue();
+        assertThat(second.getNextCursor()).isNotNull();
+        assertThat(second.getPreviousCursor()).isNotNull();
+    }
+
+    @Test
+    void search_WithPreviousCursor_ShouldScanBackwardAndRestoreOrder() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(ProductDocument.class)))
+                .thenReturn(List.of(document("c", "30.00"), document("d", "40.00")))
+                .thenReturn(List.of(document("b", "20.00"), document("a", "10.00")));
+        PageResult<ProductSummary> page = adapter.search(criteria(null, 1, null));
+
+        // When
+        PageResult<ProductSummary> previous = adapter.search(criteria(page.getPreviousCursor()));
+
+        // Then
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(queries.capture(), eq(ProductDocument.class));
+        assertThat(queries.getAllValues().get(1).getSortObject().toJson()).contains("\"price\": -1");
+        assertThat(previous.getContent()).extracting(ProductSummary::getId).containsExactly("a", "b");
+        assertThat(previous.getHasPrevious()).isFalse();
+        assertThat(previous.getHasNext()).isTrue();
+    }
+
+    @Test
+    void search_WithCursorOfAnotherSearch_ShouldReject() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(ProductDocument.class)))
+                .thenReturn(List.of(document("a", "10.00"), document("b", "20.00"), document("c", "30.00")));
+        String cursor = adapter.search(criteria(null)).getNextCursor();
+        SearchCriteria otherSearch = criteria(cursor, 0, "Other");
+
+        // When & Then
+        assertThatThrownBy(() -> adapter.search(otherSearch)).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void search_WithCappedCount_ShouldCountNextToAnIndexSortedPageFind() {
+        // Given: fan-out off (the default)
+        when(mongoTemplate.find(any(Query.class), eq(ProductDocument.class)))
+                .thenReturn(List.of(document("a", "10.00"), document("b", "20.00"), document("c", "30.00")));
+        when(mongoTemplate.count(any(Query.class), eq(ProductDocument.class))).thenReturn(1000L);
+        SearchCriteria criteria = criteria(null);
+        criteria.setCountMode(SearchCriteria.CountMode.CAPPED);
+
+        // When
+        PageResult<ProductSummary> result = adapter.search(criteria);
+
+        // Then: the page is a plain find whose sort an index can supply, never a $facet
+        ArgumentCaptor<Query> page = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Query> count = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(page.capture(), eq(ProductDocument.class));
+        verify(mongoTemplate).count(count.capture(), eq(ProductDocument.class));
+        verify(mongoTemplate, never()).aggregate(any(TypedAggregation.class), eq(Document.class));
+        assertThat(page.getValue().getSortObject()).containsOnlyKeys("price", "id");
+        assertThat(page.getValue().getLimit()).isEqualTo(3);
+        assertThat(count.getValue().getLimit()).isEqualTo(1000);
+        assertThat(result.getContent()).extracting(ProductSummary::getId).containsExactly("a", "b");
+        assertThat(result.getHasNext()).isTrue();
+        assertThat(result.getTotalElements()).isEqualTo(1000L);
+        assertThat(result.getTotalExact()).isFalse();
+    }
+
+    @Test
+    void search_WithFanOut_ShouldCountNextToThePageFind() {
+        // Given
+        ExecutionProperties execution = new ExecutionProperties();
+        execution.setFanOut(true);
+        adapter = newAdapter(execution);
+        when(mongoTemplate.find(any(Query.class), eq(ProductDocument.class)))
+                .thenReturn(List.of(document("a", "10.00"), document("b", "20.00"), document("c", "30.00")));
+        when(mongoTemplate.count(any(Query.class), eq(ProductDocument.class))).thenReturn(1000L);
+        SearchCriteria criteria = criteria(null);
+        criteria.setCountMode(SearchCriteria.CountMode.CAPPED);
+
+        // When
+        PageResult<ProductSummary> result = adapter.search(criteria);
+
+        // Then
+        ArgumentCaptor<Query> count = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).count(count.capture(), eq(ProductDocument.class));
+        verify(mongoTemplate, never()).aggregate(any(TypedAggregation.class), eq(Document.class));
+        assertThat(count.getValue().getLimit()).isEqualTo(1000);
+        assertThat(count.getValue().getSortObject()).isEmpty();
+        assertThat(result.getContent()).extracting(ProductSummary::getId).containsExactly("a", "b");
+        assertThat(result.getTotalElements()).isEqualTo(1000L);
+        assertThat(result.getTotalExact()).isFalse();
+    }
+
+    @Test
+    void streamSummaries_ShouldSeekPastTheResumeTokenInIdOrder() {
+        // Given
+        when(mongoTemplate.stream(any(Query.class), eq(ProductDocument.class)))
+                .thenReturn(Stream.of(document("65a000000000000000000002", "10.00")));
+
+        // When
+        List<ProductSummary> exported;
+        try (Stream<ProductSummary> stream = adapter.streamSummaries(
+                criteria(null), "65a000000000000000000001", 500)) {
+            exported = stream.toList();
+        }
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(query.capture(), eq(ProductDocument.class));
+        assertThat(query.getValue().getQueryObject().toJson())
+                .contains("{\"id\": {\"$gt\": {\"$oid\": \"65a000000000000000000001\"}}}");
+        assertThat(query.getValue().getSortObject().toJson()).isEqualTo("{\"id\": 1}");
+        assertThat(query.getValue().getMeta().getCursorBatchSize()).isEqualTo(500);
+        assertThat(query.getValue().getSkip()).isZero();
+        assertThat(exported).extracting(ProductSummary::getId).containsExactly("65a000000000000000000002");
+    }
+
+    @Test
+    void streamSummaries_WithMalformedResumeToken_ShouldReject() {
+        // When & Then
+        assertThatThrownBy(() -> adapter.streamSummaries(criteria(null), "not-an-id", 500))
+                .isInstanceOf(InvalidCursorException.class);
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void search_ShouldLoadSummaryFieldsOnly() {
+        // Given
+        ProductDocument full = document("a", "10.00");
+        full.setImageUrls(List.of("https://example.com/a.jpg"));
+        when(mongoTemplate.find(any(Query.class), eq(ProductDocument.class)))
+                .thenReturn(List.of(full));
+
+        // When
+        PageResult<ProductSummary> result = adapter.search(criteria(null));
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(ProductDocument.class));
+        assertThat(query.getValue().getFieldsObject().toJson())
+                .contains("\"price\": 1")
+                .contains("\"imageUrls\": {\"$slice\": 1}")
+                .doesNotContain("description")
+                .doesNotContain("attributes");
+        assertThat(result.getContent().get(0).getThumbnailUrl()).isEqualTo("https://example.com/a.jpg");
+    }
+
+    @Test
+    void search_WithConfiguredHint_ShouldHintTheShapesIndex() {
+        // Given
+        advisorProperties.getHints().put("eq:active,category;sort:price;range:-", "category_active_price_id_idx");
+        when(mongoTemplate.find(any(Query.class), eq(ProductDocument.class)))
+                .thenReturn(List.of(document("a", "10.00")));
+
+        // When
+        adapter.search(criteria(null));
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(ProductDocument.class));
+        assertThat(query.getValue().getHint()).isEqualTo("category_active_price_id_idx");
+    }
+
+    @Test
+    void search_WithoutCount_ShouldReportNoTotal() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(ProductDocument.class)))
+                .thenReturn(List.of(document("a", "10.00")));
+
+        // When
+        PageResult<ProductSummary> result = adapter.search(criteria(null));
+
+        // Then
+        verify(mongoTemplate, never()).count(any(Query.class), eq(ProductDocument.class));
+        assertThat(result.getTotalElements()).isNull();
+        assertThat(result.getTotalPages()).isNull();
+        assertThat(result.getHasNext()).isFalse();
+    }
+
+    @Test
+    void facets_ShouldComputeAllFacetsInOneBoundedAggregation() {
+        // Given
+        Document facets = new Document("brands", List.of(new Document("_id", "Dell").append("count", 7),
+                        new Document("_id", null).append("count", 2)))
+                .append("categories", List.of(new Document("_id", "Electronics").append("count", 9)))
+                .append("tags", List.of())
+                .append("price", List.of(new Document("_id", 100.0).append("count", 4),
+                        new Document("_id", 3000.0).append("count", 1),
+                        new Document("_id", "other").append("count", 3)))
+                .append("rating", List.of())
+                .append("scanned", List.of(new Document("count", 20000)));
+        when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(facets), new Document()));
+
+        // When
+        SearchFacets result = adapter.facets(criteria(null));
+
+        // Then
+        ArgumentCaptor<TypedAggregation<?>> aggregation = ArgumentCaptor.forClass(TypedAggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq(Document.class));
+        assertThat(aggregation.getValue().toString())
+                .contains("{ \"$limit\" : 20000}")
+                .contains("$sortByCount")
+                .contains("$bucket")
+                .contains("$toDouble");
+        assertThat(result.getBrands()).extracting(SearchFacets.Bucket::getValue).containsExactly("Dell");
+        assertThat(result.getCategories()).extracting(SearchFacets.Bucket::getCount).containsExactly(9L);
+        assertThat(result.getPriceRanges()).hasSize(7);
+        assertThat(result.getPriceRanges().get(1))
+                .isEqualTo(new SearchFacets.Range(new BigDecimal("100"), new BigDecimal("250"), 4));
+        assertThat(result.getPriceRanges().get(6).getTo()).isNull();
+        assertThat(result.getPriceRanges().get(6).getCount()).isEqualTo(1);
+        assertThat(result.getComplete()).isFalse();
+    }
+
+    private MongoProductRepositoryAdapter newAdapter(ExecutionProperties execution) {
+        ProductMapper mapper = Mappers.getMapper(ProductMapper.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new MongoProductRepositoryAdapter(mongoRepository, mongoTemplate, mapper,
+                new SearchQueryBuilder(mapper, new KeysetCursorCodec("test-secret"), new FacetProperties(),
+                        new QueryShapeAdvisor(mongoTemplate, advisorProperties, meterRegistry), 1000),
+                new SearchExecutor(execution, meterRegistry, true));
+    }
+
+    private static SearchCriteria criteria(String cursor) {
+        return criteria(cursor, 0, null);
+    }
+
+    private static SearchCriteria criteria(String cursor, int page, String brand) {
+        return SearchCriteria.builder()
+                .category("Electronics")
+                .brand(brand)
+                .sortBy("price")
+                .sortDirection(SearchCriteria.SortDirection.ASC)
+                .page(page)
+                .size(2)
+                .activeOnly(true)
+                .countMode(SearchCriteria.CountMode.NONE)
+                .cursor(cursor)
+                .build();
+    }
+
+    private static ProductDocument document(String id, String price) {
+        return ProductDocument.builder()
+                .id(id)
+                .name("Product " + id)
+                .price(new BigDecimal(price))
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+package com.search.product.infrastructure.persistence.mongodb;
+
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.search.product.application.execution.ExecutionProperties;
+import com.search.product.application.execution.SearchExecutor;
+import com.search.product.domain.model.SearchCriteria;
+import com.search.product.infrastructure.persistence.mongodb.SearchQueryBuilder.SearchPlan;
+import com.search.product.infrastructure.persistence.mongodb.advisor.ExplainSummary;
+import com.search.product.infrastructure.persistence.mongodb.advisor.IndexAdvisorProperties;
+import com.search.product.infrastructure.persistence.mongodb.advisor.QueryShapeAdvisor;
+import com.search.product.infrastructure.persistence.mongodb.entity.ProductDocument;
+import com.search.product.infrastructure.persistence.mongodb.mapper.ProductMapper;
+import com.search.product.infrastructure.persistence.mongodb.repository.MongoProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Explains the default search queries against a real MongoDB with the
+ * ProductDocument indexes: the page must be served in index order, never by a
+ * blocking in-memory SORT, for offset and keyset pages alike
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SearchQueryPlanTest {
+
+    @Container
+    private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+    private static SearchQueryBuilder queryBuilder;
+    private static MongoProductRepositoryAdapter adapter;
+
+    @BeforeAll
+    static void setUp() {
+        client = MongoClients.create(MONGO.getConnectionString());
+        mongoTemplate = new MongoTemplate(client, "product_search_test");
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                mongoTemplate.getConverter().getMappingContext();
+        new MongoPersistentEntityIndexResolver(mappingContext).resolveIndexFor(ProductDocument.class)
+                .forEach(index -> mongoTemplate.indexOps(ProductDocument.class).ensureIndex(index));
+
+        List<ProductDocument> documents = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            documents.add(ProductDocument.builder()
+                    .name("Product " + i)
+                    .sku("SKU-" + i)
+                    .category(i % 2 == 0 ? "Electronics" : "Books")
+                    .brand("Brand" + i % 7)
+                    .price(BigDecimal.valueOf(i % 97, 0))
+                    .rating(i % 5 + 0.5)
+                    .stock(i % 3)
+                    .active(true)
+                    .build());
+        }
+        mongoTemplate.insertAll(documents);
+
+        IndexAdvisorProperties advisorProperties = new IndexAdvisorProperties();
+        advisorProperties.setEnabled(false);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ProductMapper mapper = Mappers.getMapper(ProductMapper.class);
+        queryBuilder = new SearchQueryBuilder(mapper, new KeysetCursorCodec("test-secret"), new FacetProperties(),
+                new QueryShapeAdvisor(mongoTemplate, advisorProperties, meterRegistry), 1000);
+        adapter = new MongoProductRepositoryAdapter(mock(MongoProductRepository.class), mongoTemplate, mapper,
+                queryBuilder, new SearchExecutor(new ExecutionProperties(), meterRegistry, false));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        client.close();
+    }
+
+    @Test
+    void pageQuery_ForACountedOffsetPage_ShouldWalkAnIndexInSortOrder() {
+        // Given: EXACT count, the default
+        SearchCriteria criteria = criteria(null, 3);
+
+        // When
+        ExplainSummary explain = explain(queryBuilder.pageQuery(queryBuilder.plan(criteria)));
+
+        // Then
+        assertThat(explain.inMemorySort()).as("plan stages %s", explain.stages()).isFalse();
+        assertThat(explain.collectionScan()).isFalse();
+    }
+
+    @Test
+    void pageQuery_ForACountedKeysetPage_ShouldSeekInTheIndexWithoutSorting() {
+        // Given
+        String cursor = adapter.search(criteria(null, 0)).getNextCursor();
+        SearchCriteria criteria = criteria(cursor, 0);
+
+        // When
+        SearchPlan plan = queryBuilder.plan(criteria);
+        ExplainSummary explain = explain(queryBuilder.pageQuery(plan));
+
+        // Then: the seek bounds the index scan, so about a page is read, not the 250 matches
+        assertThat(explain.inMemorySort()).as("plan stages %s", explain.stages()).isFalse();
+        assertThat(explain.keysExamined()).isLessThan(3L * plan.fetch());
+    }
+
+    // ========== Helper Methods ==========
+
+    private static SearchCriteria criteria(String cursor, int page) {
+        SearchCriteria criteria = SearchCriteria.builder()
+                .category("Electronics")
+                .activeOnly(true)
+                .sortBy("price")
+                .sortDirection(SearchCriteria.SortDirection.ASC)
+                .page(page)
+                .size(20)
+                .cursor(cursor)
+                .build();
+        criteria.applyDefaults();
+        return criteria;
+    }
+
+    /**
+     * explain("executionStats") of a find as MongoTemplate would send it
+     */
+    private static ExplainSummary explain(Query query) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(ProductDocument.class);
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        FindIterable<Document> find = mongoTemplate.getCollection(mongoTemplate.getCollectionName(ProductDocument.class))
+                .find(queryMapper.getMappedObject(query.getQueryObject(), entity))
+                .sort(queryMapper.getMappedSort(query.getSortObject(), entity))
+                .skip((int) query.getSkip())
+                .limit(query.getLimit());
+        return ExplainSummary.parse(find.explain(ExplainVerbosity.EXECUTION_STATS));
+    }
+}
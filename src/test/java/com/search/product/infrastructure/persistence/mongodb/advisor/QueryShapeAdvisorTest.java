@@ -0,0 +1,100 @@
+package com.search.product.infrastructure.persistence.mongodb.advisor;
+
+import com.search.product.domain.model.SearchCriteria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for QueryShape and QueryShapeAdvisor
+ */
+@ExtendWith(MockitoExtension.class)
+class QueryShapeAdvisorTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private IndexAdvisorProperties properties;
+
+    private QueryShapeAdvisor advisor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IndexAdvisorProperties();
+        advisor = new QueryShapeAdvisor(mongoTemplate, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void of_ShouldIgnoreValuesAndOrderKeysEqualitySortRange() {
+        // Given
+        SearchCriteria criteria = SearchCriteria.builder()
+                .category("Electronics")
+                .activeOnly(true)
+                .minPrice(new BigDecimal("100"))
+                .minRating(4.0)
+                .tags(Set.of("gaming", "portable"))
+                .build();
+
+        // When
+        QueryShape shape = QueryShape.of(criteria, "price");
+
+        // Then
+        assertThat(shape.key()).isEqualTo("eq:active,category;sort:price;range:price,rating,tags");
+        assertThat(shape.esrIndexKeys()).containsExactly("active", "category", "price", "_id", "rating", "tags");
+        assertThat(QueryShape.of(SearchCriteria.builder().category("Books").activeOnly(true)
+                .minPrice(BigDecimal.ONE).minRating(1.0).tags(Set.of("a", "b")).build(), "price"))
+                .isEqualTo(shape);
+    }
+
+    @Test
+    void report_WhenPlanSortsInMemory_ShouldFlagShapeAndRecommendEsrIndex() {
+        // Given
+        QueryShape shape = QueryShape.of(SearchCriteria.builder().category("Electronics").activeOnly(true).build(),
+                "price");
+        Document explain = new Document("queryPlanner", new Document("winningPlan",
+                new Document("stage", "SORT").append("inputStage",
+                        new Document("stage", "FETCH").append("inputStage",
+                                new Document("stage", "IXSCAN").append("indexName", "category_active_idx")))))
+                .append("executionStats", new Document("nReturned", 21)
+                        .append("totalKeysExamined", 4800)
+                        .append("totalDocsExamined", 4800));
+
+        // When
+        advisor.record(shape, explain);
+        List<QueryShapeAdvisor.ShapeReport> report = advisor.report();
+
+        // Then
+        assertThat(report).hasSize(1);
+        QueryShapeAdvisor.ShapeReport shapeReport = report.get(0);
+        assertThat(shapeReport.lastExplain().indexName()).isEqualTo("category_active_idx");
+        assertThat(shapeReport.flags()).containsExactly(QueryShapeAdvisor.IN_MEMORY_SORT,
+                QueryShapeAdvisor.KEYS_PER_RETURNED, QueryShapeAdvisor.DOCS_PER_RETURNED);
+        assertThat(shapeReport.recommendedIndex().name()).isEqualTo("active_category_price_id_esr_idx");
+        assertThat(shapeReport.recommendedIndex().keys()).containsOnlyKeys("active", "category", "price", "_id");
+        assertThat(advisor.recommend(shape, List.of(List.of("category", "active", "price", "_id")))).isNull();
+        assertThat(advisor.recommend(shape, List.of(List.of("category", "price", "active", "_id")))).isNotNull();
+    }
+
+    @Test
+    void hintFor_ShouldReturnConfiguredHintExceptForTextSearches() {
+        // Given
+        properties.getHints().put("eq:active,brand;sort:rating;range:-", "brand_active_rating_idx");
+        SearchCriteria criteria = SearchCriteria.builder().brand("Dell").activeOnly(true).build();
+        SearchCriteria textCriteria = SearchCriteria.builder().brand("Dell").activeOnly(true).query("xps").build();
+
+        // When & Then
+        assertThat(advisor.hintFor(QueryShape.of(criteria, "rating"))).contains("brand_active_rating_idx");
+        assertThat(advisor.hintFor(QueryShape.of(textCriteria, "rating"))).isEmpty();
+    }
+}
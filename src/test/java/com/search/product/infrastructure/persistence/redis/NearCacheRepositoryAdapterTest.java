@@ -0,0 +1,227 @@
+package com.search.product.infrastructure.persistence.redis;
+
+import com.search.product.domain.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.search.product.infrastructure.persistence.redis.RedisCacheRepositoryAdapter.Encoded;
+import com.search.product.infrastructure.persistence.redis.codec.CacheValueSerializer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NearCacheRepositoryAdapter
+ */
+@ExtendWith(MockitoExtension.class)
+class NearCacheRepositoryAdapterTest {
+
+    private static final String CHANNEL = "test:invalidation";
+
+    @Mock
+    private RedisCacheRepositoryAdapter remoteCache;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CacheValueSerializer serializer;
+
+    private NearCacheRepositoryAdapter nearCache;
+
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        serializer = new CacheValueSerializer(new ObjectMapper().findAndRegisterModules(), "smile", true, 2048);
+        nearCache = new NearCacheRepositoryAdapter(remoteCache, redisTemplate, serializer, listenerContainer,
+                meterRegistry, 100, 60, CHANNEL);
+        testProduct = Product.builder().id("test-id-1").name("Test Product").build();
+    }
+
+    @Test
+    void get_AfterRemoteHit_ShouldServeSecondLookupLocally() throws IOException {
+        // Given
+        when(remoteCache.getAllEncoded(List.of("product:test-id-1")))
+                .thenReturn(Map.of("product:test-id-1", encoded(testProduct, 3_600_000)));
+
+        // When
+        Optional<Product> first = nearCache.get("product:test-id-1", Product.class);
+        Optional<Product> second = nearCache.get("product:test-id-1", Product.class);
+
+        // Then
+        assertThat(first).contains(testProduct);
+        assertThat(second).contains(testProduct);
+        verify(remoteCache, times(1)).getAllEncoded(List.of("product:test-id-1"));
+        assertThat(meterRegistry.get("cache.near.hit.ratio").tag("tier", "l1").gauge().value()).isEqualTo(0.5);
+        assertThat(meterRegistry.get("cache.near.hit.ratio").tag("tier", "l2").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void evict_ShouldInvalidateLocallyAndPublish() {
+        // Given
+        nearCache.put("product:test-id-1", testProduct, 3600);
+
+        // When
+        nearCache.evict("product:test-id-1");
+
+        // Then
+        verify(remoteCache).evict("product:test-id-1");
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), endsWith("|product:test-id-1"));
+        when(remoteCache.getAllEncoded(List.of("product:test-id-1"))).thenReturn(Map.of());
+        assertThat(nearCache.get("product:test-id-1", Product.class)).isEmpty();
+    }
+
+    @Test
+    void onMessage_FromOtherNode_ShouldInvalidateLocalEntry() {
+        // Given
+        nearCache.put("product:test-id-1", testProduct, 3600);
+        when(remoteCache.getAllEncoded(List.of("product:test-id-1"))).thenReturn(Map.of());
+
+        // When
+        nearCache.onMessage(message("other-node|product:test-id-1"), null);
+
+        // Then
+        assertThat(nearCache.get("product:test-id-1", Product.class)).isEmpty();
+        verify(remoteCache).getAllEncoded(List.of("product:test-id-1"));
+    }
+
+    @Test
+    void get_WithDifferentType_ShouldFallBackToRemote() {
+        // Given
+        nearCache.put("product:test-id-1", testProduct, 3600);
+        when(remoteCache.getAllEncoded(List.of("product:test-id-1"))).thenReturn(Map.of());
+
+        // When
+        Optional<String> result = nearCache.get("product:test-id-1", String.class);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(remoteCache).getAllEncoded(List.of("product:test-id-1"));
+    }
+
+    @Test
+    void get_AfterRemoteHit_ShouldNotOutliveTheRemainingRedisTtl() throws Exception {
+        // Given: the Redis entry expires in 50 ms, well within the 60 s local TTL
+        when(remoteCache.getAllEncoded(List.of("product:test-id-1")))
+                .thenReturn(Map.of("product:test-id-1", encoded(testProduct, 50)))
+                .thenReturn(Map.of());
+
+        // When
+        Optional<Product> first = nearCache.get("product:test-id-1", Product.class);
+        Thread.sleep(100);
+        Optional<Product> second = nearCache.get("product:test-id-1", Product.class);
+
+        // Then
+        assertThat(first).contains(testProduct);
+        assertThat(second).isEmpty();
+        verify(remoteCache, times(2)).getAllEncoded(List.of("product:test-id-1"));
+    }
+
+    @Test
+    void getAll_AfterRemoteHits_ShouldCapEachLocalCopyAtItsRedisTtl() throws Exception {
+        // Given: one entry about to expire in Redis, one without expiry
+        Product other = Product.builder().id("test-id-2").name("Other Product").build();
+        when(remoteCache.getAllEncoded(List.of("product:test-id-1", "product:test-id-2")))
+                .thenReturn(Map.of(
+                        "product:test-id-1", encoded(testProduct, 50),
+                        "product:test-id-2", encoded(other, -1)));
+        when(remoteCache.getAllEncoded(List.of("product:test-id-1"))).thenReturn(Map.of());
+
+        // When
+        Map<String, Product> first = nearCache.getAll(List.of("product:test-id-1", "product:test-id-2"), Product.class);
+        Thread.sleep(100);
+        Map<String, Product> second = nearCache.getAll(List.of("product:test-id-1", "product:test-id-2"), Product.class);
+
+        // Then
+        assertThat(first).containsOnlyKeys("product:test-id-1", "product:test-id-2");
+        assertThat(second).containsOnlyKeys("product:test-id-2");
+        assertThat(second.get("product:test-id-2")).isEqualTo(other);
+    }
+
+    @Test
+    void get_WhenInvalidatedDuringTheRemoteRead_ShouldNotCacheTheStaleValue() throws IOException {
+        // Given: another node invalidates the key after Redis answered but before the local fill
+        Product updated = Product.builder().id("test-id-1").name("Updated Product").build();
+        when(remoteCache.getAllEncoded(List.of("product:test-id-1")))
+                .thenAnswer(invocation -> {
+                    Map<String, Encoded> stale = Map.of("product:test-id-1", encoded(testProduct, 3_600_000));
+                    nearCache.onMessage(message("other-node|product:test-id-1"), null);
+                    return stale;
+                })
+                .thenReturn(Map.of("product:test-id-1", encoded(updated, 3_600_000)));
+
+        // When
+        Optional<Product> inFlight = nearCache.get("product:test-id-1", Product.class);
+        Optional<Product> next = nearCache.get("product:test-id-1", Product.class);
+
+        // Then: the in-flight caller still gets what it read, but L1 was not filled with it
+        assertThat(inFlight).contains(testProduct);
+        assertThat(next).contains(updated);
+        verify(remoteCache, times(2)).getAllEncoded(List.of("product:test-id-1"));
+    }
+
+    @Test
+    void getAll_WhenClearedDuringTheRemoteRead_ShouldNotCacheTheStaleValues() throws IOException {
+        // Given
+        when(remoteCache.getAllEncoded(List.of("product:test-id-1")))
+                .thenAnswer(invocation -> {
+                    Map<String, Encoded> stale = Map.of("product:test-id-1", encoded(testProduct, 3_600_000));
+                    nearCache.onMessage(message("other-node|*"), null);
+                    return stale;
+                })
+                .thenReturn(Map.of());
+
+        // When
+        Map<String, Product> inFlight = nearCache.getAll(List.of("product:test-id-1"), Product.class);
+        Map<String, Product> next = nearCache.getAll(List.of("product:test-id-1"), Product.class);
+
+        // Then
+        assertThat(inFlight).containsOnlyKeys("product:test-id-1");
+        assertThat(next).isEmpty();
+    }
+
+    @Test
+    void get_WhenACallerMutatesItsValue_ShouldNotAffectLaterLocalHits() {
+        // Given
+        nearCache.put("product:test-id-1", testProduct, 3600);
+
+        // When
+        nearCache.get("product:test-id-1", Product.class).get().setName("Mutated");
+        testProduct.setName("Mutated too");
+        Optional<Product> result = nearCache.get("product:test-id-1", Product.class);
+
+        // Then
+        assertThat(result.get().getName()).isEqualTo("Test Product");
+        verify(remoteCache, never()).getAllEncoded(anyCollection());
+    }
+
+    // ========== Helper Methods ==========
+
+    private Encoded encoded(Product product, long ttlMillis) throws IOException {
+        return new Encoded(serializer.serialize(product), ttlMillis);
+    }
+
+    private static DefaultMessage message(String payload) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,100 @@
+package com.search.product.infrastructure.persistence.redis.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.search.product.application.cache.SearchCacheEntry;
+import com.search.product.domain.model.PageResult;
+import com.search.product.domain.model.ProductSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for CacheValueSerializer
+ */
+class CacheValueSerializerTest {
+
+    private ObjectMapper objectMapper;
+
+    private SearchCacheEntry entry;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        List<ProductSummary> products = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            products.add(ProductSummary.builder()
+                    .id("id-" + i)
+                    .name("Test Product " + i)
+                    .thumbnailUrl("https://example.com/images/test-product-" + i + ".jpg")
+                    .price(new BigDecimal("999.99"))
+                    .rating(4.5)
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+                    .build());
+        }
+        entry = SearchCacheEntry.builder()
+                .fingerprint("v1|test")
+                .page(PageResult.<ProductSummary>builder()
+                        .content(products)
+                        .totalElements(50L)
+                        .currentPage(0)
+                        .pageSize(50)
+                        .build())
+                .build();
+    }
+
+    @Test
+    void serialize_WithSmileAndCompression_ShouldRoundTripTypedContent() throws Exception {
+        // Given
+        CacheValueSerializer serializer = new CacheValueSerializer(objectMapper, "smile", true, 256);
+
+        // When
+        byte[] encoded = serializer.serialize(entry);
+        SearchCacheEntry decoded = serializer.deserialize(encoded, SearchCacheEntry.class);
+
+        // Then
+        assertThat(encoded[0]).isEqualTo(CacheValueSerializer.MAGIC);
+        assertThat(encoded[2]).isEqualTo(SmileCacheValueCodec.ID);
+        assertThat(encoded[3] & CacheValueSerializer.FLAG_DEFLATE).isNotZero();
+        assertThat(encoded.length).isLessThan(objectMapper.writeValueAsBytes(entry).length);
+        assertThat(decoded).isEqualTo(entry);
+        assertThat(decoded.getPage().getContent().get(0)).isInstanceOf(ProductSummary.class);
+    }
+
+    @Test
+    void deserialize_ShouldReadEntriesWrittenByOtherCodecs() throws Exception {
+        // Given
+        byte[] writtenAsJson = new CacheValueSerializer(objectMapper, "json", false, 0).serialize(entry);
+        CacheValueSerializer smileReader = new CacheValueSerializer(objectMapper, "smile", true, 0);
+
+        // When
+        SearchCacheEntry decoded = smileReader.deserialize(writtenAsJson, SearchCacheEntry.class);
+
+        // Then
+        assertThat(decoded).isEqualTo(entry);
+    }
+
+    @Test
+    void deserialize_WithLegacyJsonString_ShouldStillDecode() throws Exception {
+        // Given
+        byte[] legacy = objectMapper.writeValueAsString(entry).getBytes(StandardCharsets.UTF_8);
+        CacheValueSerializer serializer = new CacheValueSerializer(objectMapper, "smile", true, 0);
+
+        // When
+        SearchCacheEntry decoded = serializer.deserialize(legacy, SearchCacheEntry.class);
+
+        // Then
+        assertThat(decoded).isEqualTo(entry);
+    }
+}
@@ -1,12 +1,17 @@
 package com.search.product.infrastructure.rest.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.search.product.application.service.ProductExportService;
+import com.search.product.application.service.ProductImportService;
 import com.search.product.application.service.ProductSearchService;
 import com.search.product.domain.model.PageResult;
 import com.search.product.domain.model.Product;
+import com.search.product.domain.model.ProductSummary;
 import com.search.product.domain.model.SearchCriteria;
+import com.search.product.infrastructure.rest.dto.ProductResponse;
 import com.search.product.infrastructure.rest.dto.SearchRequest;
 import com.search.product.infrastructure.rest.mapper.RestMapper;
+import com.search.product.infrastructure.warmup.QueryLogRecorder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +25,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,11 +45,22 @@ class ProductSearchControllerTest {
     @MockBean
     private ProductSearchService searchService;
 
+    @MockBean
+    private ProductImportService importService;
+
+    @MockBean
+    private ProductExportService exportService;
+
     @MockBean
     private RestMapper restMapper;
+    
+    @MockBean
+    private QueryLogRecorder queryLogRecorder;
 
     private Product testProduct;
 
+    private ProductSummary testSummary;
+
     @BeforeEach
     void setUp() {
         testProduct = Product.builder()
@@ -57,6 +74,12 @@ class ProductSearchControllerTest {
                 .active(true)
                 .rating(4.5)
                 .build();
+
+        testSummary = ProductSummary.builder()
+                .id("test-id-1")
+                .name("Test Product")
+                .price(new BigDecimal("999.99"))
+                .build();
     }
 
     @Test
@@ -69,8 +92,8 @@ class ProductSearchControllerTest {
                 .size(20)
                 .build();
 
-        PageResult<Product> pageResult = PageResult.<Product>builder()
-                .content(List.of(testProduct))
+        PageResult<ProductSummary> pageResult = PageResult.<ProductSummary>builder()
+                .content(List.of(testSummary))
                 .totalElements(1L)
                 .totalPages(1)
                 .currentPage(0)
@@ -79,7 +102,7 @@ class ProductSearchControllerTest {
 
         when(restMapper.toCriteria(any())).thenReturn(SearchCriteria.builder().build());
         when(searchService.search(any(SearchCriteria.class))).thenReturn(pageResult);
-        when(restMapper.toResponseList(anyList())).thenReturn(List.of());
+        when(restMapper.toSummaryResponseList(anyList())).thenReturn(List.of());
         when(restMapper.toPageResponse(any(), anyList())).thenCallRealMethod();
 
         // When & Then
@@ -91,16 +114,48 @@ class ProductSearchControllerTest {
                 .andExpect(jsonPath("$.pageSize").value(20));
     }
 
+    @Test
+    void search_WithUnknownCountMode_ShouldReturn400() throws Exception {
+        // Given
+        SearchRequest request = SearchRequest.builder()
+                .query("laptop")
+                .countMode("APPROXIMATE")
+                .build();
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/products/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void export_WithUnknownFormat_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/products/export")
+                .param("format", "xml")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(SearchRequest.builder().build())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+
+        verifyNoInteractions(exportService);
+    }
+
     @Test
     void getById_WhenProductExists_ShouldReturnProduct() throws Exception {
         // Given
         String productId = "test-id-1";
         when(searchService.findById(productId)).thenReturn(Optional.of(testProduct));
-        when(restMapper.toResponse(testProduct)).thenCallRealMethod();
+        when(restMapper.toResponse(testProduct)).thenReturn(ProductResponse.builder()
+                .id(productId)
+                .name("Test Product")
+                .build());
 
         // When & Then
         mockMvc.perform(get("/api/v1/products/{id}", productId))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(productId));
     }
 
     @Test
@@ -118,8 +173,8 @@ class ProductSearchControllerTest {
     void autocomplete_WithValidQuery_ShouldReturnResults() throws Exception {
         // Given
         String query = "lap";
-        when(searchService.autocomplete(query, 10)).thenReturn(List.of(testProduct));
-        when(restMapper.toResponseList(anyList())).thenReturn(List.of());
+        when(searchService.autocomplete(query, 10)).thenReturn(List.of(testSummary));
+        when(restMapper.toSummaryResponseList(anyList())).thenReturn(List.of());
 
         // When & Then
         mockMvc.perform(get("/api/v1/products/autocomplete")
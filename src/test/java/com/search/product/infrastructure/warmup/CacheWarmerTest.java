@@ -0,0 +1,92 @@
+package com.search.product.infrastructure.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.search.product.application.service.ProductSearchService;
+import com.search.product.domain.model.SearchCriteria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CacheWarmer
+ */
+@ExtendWith(MockitoExtension.class)
+class CacheWarmerTest {
+
+    @Mock
+    private ProductSearchService searchService;
+
+    @TempDir
+    Path tempDir;
+
+    private WarmupProperties properties;
+
+    private CacheWarmer cacheWarmer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path queryLog = tempDir.resolve("query-log.ndjson");
+        Files.write(queryLog, List.of(
+                "{\"query\":\"Laptop\"}",
+                "{\"category\":\"Electronics\"}",
+                "not json",
+                "{\"query\":\"laptop \"}",
+                "{\"query\":\"LAPTOP\",\"page\":0}"));
+
+        properties = new WarmupProperties();
+        properties.setQueryLog(queryLog.toString());
+        properties.setConcurrency(2);
+        cacheWarmer = new CacheWarmer(searchService, new ObjectMapper(), properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void warmUp_InTopMode_ShouldReplayMostFrequentShapesOnce() {
+        // Given
+        properties.setTopN(1);
+        WarmupHealthIndicator health = new WarmupHealthIndicator(cacheWarmer);
+        assertThat(health.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        // When
+        cacheWarmer.warmUp();
+
+        // Then
+        ArgumentCaptor<SearchCriteria> replayed = ArgumentCaptor.forClass(SearchCriteria.class);
+        verify(searchService, times(1)).warm(replayed.capture());
+        assertThat(replayed.getValue().getQuery()).isEqualTo("laptop");
+        assertThat(cacheWarmer.getProgress().getState()).isEqualTo(WarmupProgress.State.COMPLETED);
+        assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(health.health().getDetails()).containsEntry("completed", 1);
+    }
+
+    @Test
+    void warmUp_InReplayMode_ShouldReplayLinesInOrderAndCountFailures() {
+        // Given
+        properties.setMode(WarmupProperties.Mode.REPLAY);
+        when(searchService.warm(any(SearchCriteria.class)))
+                .thenThrow(new IllegalStateException("mongo down"))
+                .thenReturn(null);
+
+        // When
+        cacheWarmer.warmUp();
+
+        // Then
+        verify(searchService, times(4)).warm(any(SearchCriteria.class));
+        assertThat(cacheWarmer.getProgress().getFailed()).isEqualTo(1);
+        assertThat(cacheWarmer.getProgress().getCompleted()).isEqualTo(3);
+        assertThat(cacheWarmer.getProgress().isDone()).isTrue();
+    }
+}